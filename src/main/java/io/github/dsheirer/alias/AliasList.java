@@ -78,6 +78,7 @@ public class AliasList
     private Map<Integer,Alias> mUnitStatusMap = new HashMap<>();
     private Map<Integer,Alias> mUserStatusMap = new HashMap<>();
     private Map<ToneSequence,Alias> mToneSequenceMap = new HashMap<>();
+    private AliasLookupCache<String> mToneLookupCache = new AliasLookupCache<>();
     private boolean mHasAliasActions = false;
     private String mName;
     private ObservableList<Alias> mAliases = FXCollections.observableArrayList(Alias.extractor());
@@ -285,6 +286,7 @@ public class AliasList
                             else
                             {
                                 mToneSequenceMap.put(toneSequence, alias);
+                                mToneLookupCache.invalidate();
                             }
                         }
                         break;
@@ -314,6 +316,7 @@ public class AliasList
         mUnitStatusMap.values().removeAll(collection);
         mUserStatusMap.values().removeAll(collection);
         mToneSequenceMap.values().removeAll(collection);
+        mToneLookupCache.invalidate();
 
         validate();
     }
@@ -501,13 +504,8 @@ public class AliasList
 
                         if(toneSequence != null && toneSequence.hasTones())
                         {
-                            for(Map.Entry<ToneSequence,Alias> entry: mToneSequenceMap.entrySet())
-                            {
-                                if(entry.getKey().isContainedIn(toneSequence))
-                                {
-                                    return toList(entry.getValue());
-                                }
-                            }
+                            return toList(mToneLookupCache.get(toneSequence.toString(),
+                                    key -> getToneSequenceAlias(toneSequence)));
                         }
                     }
                     else if(identifier instanceof DCSIdentifier dcsIdentifier)
@@ -526,6 +524,24 @@ public class AliasList
         return Collections.emptyList();
     }
 
+    /**
+     * Finds the first alias with a tone sequence that is contained in the tone sequence argument.
+     * @param toneSequence to match
+     * @return matching alias or null
+     */
+    private Alias getToneSequenceAlias(ToneSequence toneSequence)
+    {
+        for(Map.Entry<ToneSequence,Alias> entry: mToneSequenceMap.entrySet())
+        {
+            if(entry.getKey().isContainedIn(toneSequence))
+            {
+                return entry.getValue();
+            }
+        }
+
+        return null;
+    }
+
     private static List<Alias> toList(Alias alias)
     {
         if(alias != null)
@@ -655,7 +671,9 @@ public class AliasList
     {
         private Map<String,Alias> mFullyQualifiedTalkgroupAliasMap = new HashMap<>();
         private Map<Integer,Alias> mTalkgroupAliasMap = new TreeMap<>();
-        private Map<TalkgroupRange, Alias> mTalkgroupRangeAliasMap = new HashMap<>();
+        private AliasRangeIndex<TalkgroupRange> mTalkgroupRangeIndex =
+                new AliasRangeIndex<>(TalkgroupRange::getMinTalkgroup, TalkgroupRange::getMaxTalkgroup);
+        private AliasLookupCache<Integer> mTalkgroupLookupCache = new AliasLookupCache<>();
 
         public TalkgroupAliasList()
         {
@@ -669,9 +687,15 @@ public class AliasList
                 return mFullyQualifiedTalkgroupAliasMap.get(fqti.getFullyQualifiedTalkgroupAddress());
             }
 
-            //Attempt to match the talkgroup value
-            int value = identifier.getValue();
+            return mTalkgroupLookupCache.get(identifier.getValue(), this::getValueAlias);
+        }
 
+        /**
+         * Matches the talkgroup value against the talkgroups and then against the talkgroup ranges.
+         */
+        private Alias getValueAlias(int value)
+        {
+            //Attempt to match the talkgroup value
             Alias mapValue = mTalkgroupAliasMap.get(value);
             if (mapValue != null)
             {
@@ -679,15 +703,7 @@ public class AliasList
             }
 
             //Alternatively, match the talkgroup to any talkgroup ranges
-            for(Map.Entry<TalkgroupRange, Alias> entry : mTalkgroupRangeAliasMap.entrySet())
-            {
-                if(entry.getKey().contains(value))
-                {
-                    return entry.getValue();
-                }
-            }
-
-            return null;
+            return mTalkgroupRangeIndex.get(value);
         }
 
         public void add(Talkgroup talkgroup, Alias alias)
@@ -740,13 +756,14 @@ public class AliasList
                 }
 
                 mTalkgroupAliasMap.put(talkgroup.getValue(), alias);
+                mTalkgroupLookupCache.invalidate();
             }
         }
 
         public void add(TalkgroupRange talkgroupRange, Alias alias)
         {
             //Log warning if the new talkgroup range overlaps with any existing ranges
-            for(Map.Entry<TalkgroupRange,Alias> entry: mTalkgroupRangeAliasMap.entrySet())
+            for(Map.Entry<TalkgroupRange,Alias> entry: mTalkgroupRangeIndex.entries())
             {
                 if(talkgroupRange.overlaps(entry.getKey()) && !entry.getValue().equals(alias))
                 {
@@ -755,7 +772,8 @@ public class AliasList
                 }
             }
 
-            mTalkgroupRangeAliasMap.put(talkgroupRange, alias);
+            mTalkgroupRangeIndex.put(talkgroupRange, alias);
+            mTalkgroupLookupCache.invalidate();
         }
 
         /**
@@ -764,7 +782,8 @@ public class AliasList
         public void remove(Alias alias)
         {
             mTalkgroupAliasMap.values().removeAll(Collections.singleton(alias));
-            mTalkgroupRangeAliasMap.values().removeAll(Collections.singleton(alias));
+            mTalkgroupRangeIndex.remove(alias);
+            mTalkgroupLookupCache.invalidate();
         }
     }
 
@@ -775,7 +794,9 @@ public class AliasList
     {
         private Map<String,Alias> mFullyQualifiedRadioAliasMap = new HashMap<>();
         private Map<Integer,Alias> mRadioAliasMap = new TreeMap<>();
-        private Map<RadioRange, Alias> mRadioRangeAliasMap = new HashMap<>();
+        private AliasRangeIndex<RadioRange> mRadioRangeIndex =
+                new AliasRangeIndex<>(RadioRange::getMinRadio, RadioRange::getMaxRadio);
+        private AliasLookupCache<Integer> mRadioLookupCache = new AliasLookupCache<>();
 
         public RadioAliasList()
         {
@@ -789,9 +810,15 @@ public class AliasList
                 return mFullyQualifiedRadioAliasMap.get(fqri.getFullyQualifiedRadioAddress());
             }
 
-            //Attempt to match against the radio identifier
-            int value = identifier.getValue();
+            return mRadioLookupCache.get(identifier.getValue(), this::getValueAlias);
+        }
 
+        /**
+         * Matches the radio value against the radio identifiers and then against the radio ranges.
+         */
+        private Alias getValueAlias(int value)
+        {
+            //Attempt to match against the radio identifier
             Alias mapValue = mRadioAliasMap.get(value);
             if(mapValue != null)
             {
@@ -799,15 +826,7 @@ public class AliasList
             }
 
             //Alternatively, attempt to match the radio address against any radio ranges.
-            for(Map.Entry<RadioRange, Alias> entry : mRadioRangeAliasMap.entrySet())
-            {
-                if(entry.getKey().contains(value))
-                {
-                    return entry.getValue();
-                }
-            }
-
-            return null;
+            return mRadioRangeIndex.get(value);
         }
 
         public void add(Radio radio, Alias alias)
@@ -860,13 +879,14 @@ public class AliasList
                 }
 
                 mRadioAliasMap.put(radio.getValue(), alias);
+                mRadioLookupCache.invalidate();
             }
         }
 
         public void add(RadioRange radioRange, Alias alias)
         {
             //Log warning if the new range overlaps with any existing ranges
-            for(Map.Entry<RadioRange,Alias> entry: mRadioRangeAliasMap.entrySet())
+            for(Map.Entry<RadioRange,Alias> entry: mRadioRangeIndex.entries())
             {
                 if(radioRange.overlaps(entry.getKey()) && !entry.getValue().equals(alias))
                 {
@@ -875,7 +895,8 @@ public class AliasList
                 }
             }
 
-            mRadioRangeAliasMap.put(radioRange, alias);
+            mRadioRangeIndex.put(radioRange, alias);
+            mRadioLookupCache.invalidate();
         }
 
         /**
@@ -884,7 +905,8 @@ public class AliasList
         public void remove(Alias alias)
         {
             mRadioAliasMap.values().removeAll(Collections.singleton(alias));
-            mRadioRangeAliasMap.values().removeAll(Collections.singleton(alias));
+            mRadioRangeIndex.remove(alias);
+            mRadioLookupCache.invalidate();
         }
     }
 }
@@ -0,0 +1,81 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.alias;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Thread-safe cache of positive (alias found) and negative (no alias) lookup results for an alias list.  The cache is
+ * invalidated whenever the aliases in the list change and is cleared when it reaches capacity.
+ *
+ * @param <K> lookup key type
+ */
+public class AliasLookupCache<K>
+{
+    private static final int CAPACITY = 4096;
+    private final Map<K,Optional<Alias>> mCache = new ConcurrentHashMap<>();
+    private volatile int mGeneration;
+
+    /**
+     * Returns the cached lookup result for the key, or performs the lookup and caches the result.
+     * @param key to lookup
+     * @param lookup function to find the alias for the key when it's not cached.
+     * @return alias or null
+     */
+    public Alias get(K key, Function<K,Alias> lookup)
+    {
+        Optional<Alias> cached = mCache.get(key);
+
+        if(cached != null)
+        {
+            return cached.orElse(null);
+        }
+
+        int generation = mGeneration;
+        Alias alias = lookup.apply(key);
+
+        if(mCache.size() >= CAPACITY)
+        {
+            mCache.clear();
+        }
+
+        mCache.put(key, Optional.ofNullable(alias));
+
+        //Discard the result if the aliases changed while we were performing the lookup
+        if(generation != mGeneration)
+        {
+            mCache.remove(key);
+        }
+
+        return alias;
+    }
+
+    /**
+     * Invalidates all cached lookup results.
+     */
+    public void invalidate()
+    {
+        mGeneration++;
+        mCache.clear();
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.alias;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.ToIntFunction;
+
+/**
+ * Index of alias identifier value ranges (e.g. talkgroup or radio ranges) that supports O(log n) alias lookup for an
+ * identifier value.
+ *
+ * Ranges are flattened into a sorted array of non-overlapping segments that is searched with a binary search.  When
+ * ranges overlap, the range that was added first takes precedence for the overlapped values.  The segment array is
+ * rebuilt lazily on the first lookup after the ranges change, since changes are infrequent (ie playlist load or alias
+ * edits) compared to lookups.
+ *
+ * Ranges are added and removed on a single (ie UI) thread, while lookups can occur concurrently on any thread.
+ *
+ * @param <T> range type
+ */
+public class AliasRangeIndex<T>
+{
+    private final Map<T,Alias> mRanges = new LinkedHashMap<>();
+    private final ToIntFunction<T> mMinimum;
+    private final ToIntFunction<T> mMaximum;
+    private volatile Segments mSegments = Segments.EMPTY;
+
+    /**
+     * Constructs an instance
+     * @param minimum function to extract the minimum (inclusive) value from a range
+     * @param maximum function to extract the maximum (inclusive) value from a range
+     */
+    public AliasRangeIndex(ToIntFunction<T> minimum, ToIntFunction<T> maximum)
+    {
+        mMinimum = minimum;
+        mMaximum = maximum;
+    }
+
+    /**
+     * Adds the range and associated alias to this index.
+     */
+    public synchronized void put(T range, Alias alias)
+    {
+        mRanges.put(range, alias);
+        mSegments = null;
+    }
+
+    /**
+     * Removes all ranges associated with the alias from this index.
+     */
+    public synchronized void remove(Alias alias)
+    {
+        if(mRanges.values().removeAll(Collections.singleton(alias)))
+        {
+            mSegments = null;
+        }
+    }
+
+    /**
+     * Snapshot of the ranges and associated aliases contained in this index.
+     */
+    public synchronized List<Map.Entry<T,Alias>> entries()
+    {
+        return new ArrayList<>(mRanges.entrySet());
+    }
+
+    /**
+     * Finds the alias for the range that contains the value.
+     * @param value to lookup
+     * @return matching alias or null
+     */
+    public Alias get(int value)
+    {
+        Segments segments = mSegments;
+
+        if(segments == null)
+        {
+            segments = rebuild();
+        }
+
+        return segments.get(value);
+    }
+
+    /**
+     * Rebuilds the segments array from the current set of ranges.
+     */
+    private synchronized Segments rebuild()
+    {
+        if(mSegments == null)
+        {
+            mSegments = Segments.create(mRanges, mMinimum, mMaximum);
+        }
+
+        return mSegments;
+    }
+
+    /**
+     * Immutable, sorted set of non-overlapping value segments and the alias for each segment.
+     */
+    private static class Segments
+    {
+        private static final Segments EMPTY = new Segments(new int[0], new int[0], new Alias[0]);
+        private final int[] mStarts;
+        private final int[] mEnds;
+        private final Alias[] mAliases;
+
+        private Segments(int[] starts, int[] ends, Alias[] aliases)
+        {
+            mStarts = starts;
+            mEnds = ends;
+            mAliases = aliases;
+        }
+
+        /**
+         * Lookup the alias for the segment containing the value.
+         */
+        public Alias get(int value)
+        {
+            int index = Arrays.binarySearch(mStarts, value);
+
+            if(index < 0)
+            {
+                //Insertion point minus one is the segment with the largest start value less than the value
+                index = -index - 2;
+            }
+
+            if(index >= 0 && value <= mEnds[index])
+            {
+                return mAliases[index];
+            }
+
+            return null;
+        }
+
+        /**
+         * Creates a segments set from the (possibly overlapping) ranges.  Sweeps the sorted range boundaries while
+         * tracking the active ranges in insertion order, so that each segment is assigned to the earliest added
+         * range that covers it.
+         */
+        public static <T> Segments create(Map<T,Alias> ranges, ToIntFunction<T> minimum, ToIntFunction<T> maximum)
+        {
+            if(ranges.isEmpty())
+            {
+                return EMPTY;
+            }
+
+            List<Range> sorted = new ArrayList<>();
+            long[] boundaries = new long[ranges.size() * 2];
+            int order = 0;
+
+            for(Map.Entry<T,Alias> entry: ranges.entrySet())
+            {
+                int min = minimum.applyAsInt(entry.getKey());
+                int max = maximum.applyAsInt(entry.getKey());
+
+                if(min <= max)
+                {
+                    sorted.add(new Range(min, max, order, entry.getValue()));
+                    boundaries[order * 2] = min;
+                    boundaries[order * 2 + 1] = (long)max + 1;
+                    order++;
+                }
+            }
+
+            boundaries = Arrays.stream(boundaries, 0, order * 2).sorted().distinct().toArray();
+            sorted.sort(Comparator.comparingInt(Range::min));
+
+            PriorityQueue<Range> active = new PriorityQueue<>(Comparator.comparingInt(Range::order));
+            List<int[]> bounds = new ArrayList<>();
+            List<Alias> aliases = new ArrayList<>();
+            int pointer = 0;
+
+            for(int x = 0; x < boundaries.length - 1; x++)
+            {
+                long start = boundaries[x];
+
+                while(pointer < sorted.size() && sorted.get(pointer).min() <= start)
+                {
+                    active.add(sorted.get(pointer++));
+                }
+
+                while(!active.isEmpty() && active.peek().max() < start)
+                {
+                    active.poll();
+                }
+
+                if(!active.isEmpty())
+                {
+                    Alias alias = active.peek().alias();
+                    int end = (int)(boundaries[x + 1] - 1);
+                    int last = aliases.size() - 1;
+
+                    //Merge contiguous segments that resolve to the same alias
+                    if(last >= 0 && aliases.get(last) == alias && bounds.get(last)[1] == start - 1)
+                    {
+                        bounds.get(last)[1] = end;
+                    }
+                    else
+                    {
+                        bounds.add(new int[]{(int)start, end});
+                        aliases.add(alias);
+                    }
+                }
+            }
+
+            int[] starts = new int[bounds.size()];
+            int[] ends = new int[bounds.size()];
+
+            for(int x = 0; x < bounds.size(); x++)
+            {
+                starts[x] = bounds.get(x)[0];
+                ends[x] = bounds.get(x)[1];
+            }
+
+            return new Segments(starts, ends, aliases.toArray(new Alias[0]));
+        }
+    }
+
+    /**
+     * Range with insertion order
+     */
+    private record Range(int min, int max, int order, Alias alias) {}
+}
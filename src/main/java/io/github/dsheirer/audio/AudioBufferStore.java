@@ -0,0 +1,203 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.audio;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * Append-only store of audio buffers with a single writer and multiple concurrent readers.
+ *
+ * Buffers are stored in fixed-size chunks so that appending a buffer never copies the previously stored buffers.  The
+ * chunk directory and the buffer count are published together as an immutable state after each append, so readers
+ * never lock and always see a consistent view of the store.
+ *
+ * Readers can either take a snapshot list of the buffers appended thus far, or use a cursor to incrementally read the
+ * buffers as they are appended.
+ */
+public class AudioBufferStore
+{
+    private static final int CHUNK_SIZE = 64;
+    private volatile State mState = State.EMPTY;
+
+    /**
+     * Appends the audio buffer to this store.  Note: this method must only be invoked by a single (producer) thread.
+     * @param audioBuffer to append
+     */
+    public void add(float[] audioBuffer)
+    {
+        State state = mState;
+        int size = state.size();
+        float[][][] chunks = state.chunks();
+        int chunk = size / CHUNK_SIZE;
+
+        if(chunk == chunks.length)
+        {
+            chunks = Arrays.copyOf(chunks, Math.max(4, chunks.length * 2));
+        }
+
+        if(chunks[chunk] == null)
+        {
+            chunks[chunk] = new float[CHUNK_SIZE][];
+        }
+
+        chunks[chunk][size % CHUNK_SIZE] = audioBuffer;
+        mState = new State(chunks, size + 1);
+    }
+
+    /**
+     * Number of audio buffers in this store.
+     */
+    public int size()
+    {
+        return mState.size();
+    }
+
+    /**
+     * Indicates if this store is empty.
+     */
+    public boolean isEmpty()
+    {
+        return mState.size() == 0;
+    }
+
+    /**
+     * Audio buffer at the index.
+     * @param index of the buffer
+     * @return buffer
+     * @throws IndexOutOfBoundsException if the index is not valid
+     */
+    public float[] get(int index)
+    {
+        return mState.get(index);
+    }
+
+    /**
+     * Removes all audio buffers from this store.  Existing snapshots are unaffected.
+     */
+    public void clear()
+    {
+        mState = State.EMPTY;
+    }
+
+    /**
+     * Unmodifiable snapshot list of the audio buffers appended to this store thus far.
+     */
+    public List<float[]> snapshot()
+    {
+        return new Snapshot(mState);
+    }
+
+    /**
+     * Creates a cursor, positioned at the first audio buffer, for incrementally reading the audio buffers as they are
+     * appended.  Each consumer should use its own cursor.
+     */
+    public Cursor cursor()
+    {
+        return new Cursor();
+    }
+
+    /**
+     * Immutable chunk directory and buffer count.  Chunk slots beyond the size may be written by the producer after
+     * the state is published, but readers never access them.
+     */
+    private record State(float[][][] chunks, int size)
+    {
+        private static final State EMPTY = new State(new float[0][][], 0);
+
+        public float[] get(int index)
+        {
+            if(index < 0 || index >= size)
+            {
+                throw new IndexOutOfBoundsException("Index [" + index + "] size [" + size + "]");
+            }
+
+            return chunks[index / CHUNK_SIZE][index % CHUNK_SIZE];
+        }
+    }
+
+    /**
+     * List view over a published state.
+     */
+    private static class Snapshot extends AbstractList<float[]> implements RandomAccess
+    {
+        private final State mState;
+
+        public Snapshot(State state)
+        {
+            mState = state;
+        }
+
+        @Override
+        public float[] get(int index)
+        {
+            return mState.get(index);
+        }
+
+        @Override
+        public int size()
+        {
+            return mState.size();
+        }
+    }
+
+    /**
+     * Incremental reader over the audio buffers in the store.
+     */
+    public class Cursor
+    {
+        private int mPosition = 0;
+
+        /**
+         * Indicates if an audio buffer is available to read.
+         */
+        public boolean hasNext()
+        {
+            return mPosition < mState.size();
+        }
+
+        /**
+         * Reads the next audio buffer and advances the cursor.
+         * @throws NoSuchElementException if a buffer is not available
+         */
+        public float[] next()
+        {
+            State state = mState;
+
+            if(mPosition >= state.size())
+            {
+                throw new NoSuchElementException();
+            }
+
+            return state.get(mPosition++);
+        }
+
+        /**
+         * Number of audio buffers read by this cursor.
+         */
+        public int position()
+        {
+            return mPosition;
+        }
+    }
+}
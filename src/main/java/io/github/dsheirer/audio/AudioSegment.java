@@ -36,7 +36,6 @@ import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.IntegerProperty;
@@ -70,12 +69,13 @@ public class AudioSegment implements Listener<IdentifierUpdateNotification>
     private BooleanProperty mComplete = new SimpleBooleanProperty(false);
     private BooleanProperty mDuplicate = new SimpleBooleanProperty(false);
     private BooleanProperty mEncrypted = new SimpleBooleanProperty(false);
+    private BooleanProperty mHasAudio = new SimpleBooleanProperty(false);
     private BooleanProperty mRecordAudio = new SimpleBooleanProperty(false);
     private IntegerProperty mMonitorPriority = new SimpleIntegerProperty(Priority.DEFAULT_PRIORITY);
     private ObservableSet<BroadcastChannel> mBroadcastChannels = FXCollections.observableSet(new HashSet<>());
     private MutableIdentifierCollection mIdentifierCollection = new MutableIdentifierCollection();
     private Broadcaster<IdentifierUpdateNotification> mIdentifierUpdateNotificationBroadcaster = new Broadcaster<>();
-    private List<float[]> mAudioBuffers = new CopyOnWriteArrayList();
+    private AudioBufferStore mAudioBuffers = new AudioBufferStore();
     private AtomicInteger mConsumerCount = new AtomicInteger();
     private AliasList mAliasList;
     private long mStartTimestamp = System.currentTimeMillis();
@@ -187,6 +187,15 @@ public class AudioSegment implements Listener<IdentifierUpdateNotification>
         return mComplete.get();
     }
 
+    /**
+     * Has audio property is set to true when the first audio buffer is added to this segment, allowing consumers to
+     * react to the start of audio without polling hasAudio().
+     */
+    public BooleanProperty hasAudioProperty()
+    {
+        return mHasAudio;
+    }
+
     /**
      * Duplicate call audio property.  This flag is set to true whenever a duplicate call detection function detects
      * an audio segment is a duplicate.
@@ -320,13 +329,23 @@ public class AudioSegment implements Listener<IdentifierUpdateNotification>
     }
 
     /**
-     * Unmodifiable copy of the list of audio buffers for this segment.
+     * Unmodifiable snapshot of the list of audio buffers for this segment.  The snapshot does not change when audio
+     * buffers are subsequently added to this segment.
      *
      * @return list of audio buffers
      */
     public List<float[]> getAudioBuffers()
     {
-        return Collections.unmodifiableList(mAudioBuffers);
+        return mAudioBuffers.snapshot();
+    }
+
+    /**
+     * Creates a cursor for incrementally reading the audio buffers of this segment as they are added by the producer.
+     * Each consumer should use its own cursor.
+     */
+    public AudioBufferStore.Cursor getAudioBufferCursor()
+    {
+        return mAudioBuffers.cursor();
     }
 
     /**
@@ -347,11 +366,11 @@ public class AudioSegment implements Listener<IdentifierUpdateNotification>
      */
     public float[] getAudioBuffer(int index)
     {
-        if(0 <= index && index < getAudioBufferCount())
+        try
         {
             return mAudioBuffers.get(index);
         }
-        else
+        catch(IndexOutOfBoundsException ioobe)
         {
             throw new IllegalArgumentException("Requested audio buffer at index [" + index + "] does not exist");
         }
@@ -431,6 +450,11 @@ public class AudioSegment implements Listener<IdentifierUpdateNotification>
 
         mAudioBuffers.add(audioBuffer);
         mSampleCount += audioBuffer.length;
+
+        if(!mHasAudio.get())
+        {
+            mHasAudio.set(true);
+        }
     }
 
     /**
@@ -22,6 +22,8 @@ package io.github.dsheirer.audio;
 import io.github.dsheirer.identifier.Form;
 import io.github.dsheirer.identifier.Identifier;
 import io.github.dsheirer.identifier.IdentifierClass;
+import io.github.dsheirer.identifier.IdentifierCollection;
+import io.github.dsheirer.identifier.IdentifierUpdateNotification;
 import io.github.dsheirer.identifier.Role;
 import io.github.dsheirer.identifier.configuration.SystemConfigurationIdentifier;
 import io.github.dsheirer.identifier.patch.PatchGroupIdentifier;
@@ -30,16 +32,16 @@ import io.github.dsheirer.identifier.talkgroup.TalkgroupIdentifier;
 import io.github.dsheirer.preference.UserPreferences;
 import io.github.dsheirer.preference.duplicate.ICallManagementProvider;
 import io.github.dsheirer.sample.Listener;
-import io.github.dsheirer.util.ThreadPool;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.LinkedTransferQueue;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
+import java.util.Set;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -112,23 +114,22 @@ public class DuplicateCallDetector implements Listener<AudioSegment>
     }
 
     /**
-     * System level duplicate call detector.  Uses a scheduled executor to run every 25 ms to compare all ongoing call
-     * audio segments to detect duplicates.
+     * System level duplicate call detector.  Indexes the ongoing call audio segments by TO and FROM talkgroup, patch
+     * group and radio identifier values and checks for duplicates whenever an audio segment is added, its identifiers
+     * are updated or it starts receiving audio.
      *
-     * All audio segments remain in the queue until they are flagged as complete.  While in the queue, each call is
-     * compared against the others to detect duplicates.  Once all calls are either flagged as complete or flagged as
-     * duplicate and removed, the queue is empty and the monitoring is shutdown until a new audio segment arrives and
-     * then the monitoring starts again.
+     * When two audio segments share an identifier, the earlier audio segment (in arrival order) that has audio is the
+     * original call and the later audio segment is flagged as duplicate.  Audio segments are removed from the index
+     * once they are flagged as duplicate, encrypted or complete.
      */
     public class SystemDuplicateCallDetector
     {
-        private final LinkedTransferQueue<AudioSegment> mAudioSegmentQueue = new LinkedTransferQueue<>();
-        private final List<AudioSegment> mAudioSegments = new ArrayList<>();
-        private ScheduledFuture<?> mProcessorFuture;
-        private Lock mLock = new ReentrantLock();
-        private boolean mMonitoring = false;
+        private final Map<IndexKey,List<SegmentEntry>> mIndex = new HashMap<>();
+        private final Map<AudioSegment,SegmentEntry> mEntries = new HashMap<>();
+        private final Lock mLock = new ReentrantLock();
         private final ICallManagementProvider mCallManagementProvider;
         private String mSystem;
+        private long mNextSequence;
 
         /**
          * Constructs an instance
@@ -141,7 +142,7 @@ public class DuplicateCallDetector implements Listener<AudioSegment>
         }
 
         /**
-         * Adds the audio segment to the monitoring queue.
+         * Adds the audio segment to the index and checks it for duplicates.
          * @param audioSegment to add
          */
         public void add(AudioSegment audioSegment)
@@ -150,8 +151,26 @@ public class DuplicateCallDetector implements Listener<AudioSegment>
 
             try
             {
-                mAudioSegmentQueue.add(audioSegment);
-                startMonitoring();
+                SegmentEntry entry = new SegmentEntry(audioSegment, mNextSequence++);
+                mEntries.put(audioSegment, entry);
+
+                //Register before checking state so that a state change can't slip in unobserved.
+                entry.register();
+
+                if(audioSegment.isComplete() || audioSegment.isEncrypted())
+                {
+                    remove(entry);
+                }
+                else
+                {
+                    reindex(entry);
+                    check(entry);
+                }
+            }
+            catch(Throwable t)
+            {
+                mLog.error("Unknown error while adding audio segment for duplicate call detection.  Please report " +
+                    "this to the developer.", t);
             }
             finally
             {
@@ -160,245 +179,267 @@ public class DuplicateCallDetector implements Listener<AudioSegment>
         }
 
         /**
-         * Starts the call monitoring thread if it's not already running.
-         *
-         * Note: this method should only be called from a thread with the lock acquired.
+         * Number of audio segments currently being monitored.
          */
-        private void startMonitoring()
+        public int getMonitoredCount()
         {
-            if(!mMonitoring)
+            mLock.lock();
+
+            try
             {
-                mProcessorFuture = ThreadPool.SCHEDULED.scheduleAtFixedRate(this::process,
-                    0, 25, TimeUnit.MILLISECONDS);
-                mMonitoring = true;
+                return mEntries.size();
+            }
+            finally
+            {
+                mLock.unlock();
             }
         }
 
         /**
-         * Stops the call monitoring thread if the audio segements queue is empty.
+         * Updates the index entries for the audio segment to match its current identifiers.
          *
-         * Note: this should only be called from a separate thread and not from within the scheduled monitoring thread
-         * because cancelling the scheduled timer from within the process() method would kill the thread without
-         * releasing the lock, causing a deadlock.
+         * Note: this method should only be called from a thread with the lock acquired.
          */
-        private void stopMonitoring()
+        private void reindex(SegmentEntry entry)
         {
-            mLock.lock();
+            Set<IndexKey> keys = new HashSet<>();
+            IdentifierCollection identifierCollection = entry.mAudioSegment.getIdentifierCollection();
+            addKeys(keys, Role.TO, identifierCollection.getIdentifiers(Role.TO));
+            addKeys(keys, Role.FROM, identifierCollection.getIdentifiers(Role.FROM));
 
-            try
+            for(IndexKey key: entry.mKeys)
             {
-                //Recheck the audio segments queue to make sure we didn't slip in another audio segment before we can
-                //shut down the scheduled monitoring thread.
-                if(mMonitoring && mAudioSegments.isEmpty())
+                if(!keys.contains(key))
                 {
-                    if(mProcessorFuture != null)
-                    {
-                        mProcessorFuture.cancel(true);
-                        mProcessorFuture = null;
-                    }
-
-                    mMonitoring = false;
+                    unindex(key, entry);
                 }
             }
-            finally
+
+            for(IndexKey key: keys)
             {
-                mLock.unlock();
+                if(!entry.mKeys.contains(key))
+                {
+                    mIndex.computeIfAbsent(key, k -> new ArrayList<>(2)).add(entry);
+                }
             }
+
+            entry.mKeys = keys;
         }
 
-        /**
-         * Checks if either the TO or FROM integer identifiers for the audio segments are the same
-         * @param segment1 to compare
-         * @param segment2 to compare
-         * @return true if integer identifiers are the same
-         */
-        private boolean isDuplicate(AudioSegment segment1, AudioSegment segment2)
+        private void unindex(IndexKey key, SegmentEntry entry)
         {
-            if(mCallManagementProvider.isDuplicateCallDetectionByTalkgroupEnabled())
+            List<SegmentEntry> entries = mIndex.get(key);
+
+            if(entries != null)
             {
-                //Step 1 check for duplicate TO values
-                List<Identifier> to1 = segment1.getIdentifierCollection().getIdentifiers(Role.TO);
-                List<Identifier> to2 = segment2.getIdentifierCollection().getIdentifiers(Role.TO);
+                entries.remove(entry);
 
-                if(isDuplicate(to1, to2))
+                if(entries.isEmpty())
                 {
-                    return true;
+                    mIndex.remove(key);
                 }
             }
+        }
 
-            if(mCallManagementProvider.isDuplicateCallDetectionByRadioEnabled())
+        /**
+         * Creates index keys for the talkgroup, patch group and radio identifiers.  Talkgroups and patch groups share
+         * the same key space so that a talkgroup matches a patch group with the same value.
+         */
+        private static void addKeys(Set<IndexKey> keys, Role role, List<Identifier> identifiers)
+        {
+            for(Identifier identifier: identifiers)
             {
-                //Step 2 check for duplicate FROM values
-                List<Identifier> from1 = segment1.getIdentifierCollection().getIdentifiers(Role.FROM);
-                List<Identifier> from2 = segment2.getIdentifierCollection().getIdentifiers(Role.FROM);
-
-                return isDuplicate(from1, from2);
+                if(identifier instanceof TalkgroupIdentifier tg)
+                {
+                    keys.add(new IndexKey(role, true, tg.getValue()));
+                }
+                else if(identifier instanceof PatchGroupIdentifier pg)
+                {
+                    keys.add(new IndexKey(role, true, pg.getValue().getPatchGroup().getValue()));
+                }
+                else if(identifier instanceof RadioIdentifier radio)
+                {
+                    keys.add(new IndexKey(role, false, radio.getValue()));
+                }
             }
-
-            return false;
         }
 
         /**
-         * Checks both lists of identifiers to determine if there are talkgroups or radio identifiers that are
-         * the same in both lists.  Note: talkgroup check compares both talkgroups and patch groups.
+         * Checks the audio segment against the other audio segments that share an identifier with it.
          *
-         * @param identifiers1
-         * @param identifiers2
-         * @return
+         * Note: this method should only be called from a thread with the lock acquired.
          */
-        public static boolean isDuplicate(List<Identifier> identifiers1, List<Identifier> identifiers2)
+        private void check(SegmentEntry entry)
         {
-            for(Identifier identifier1: identifiers1)
+            for(IndexKey key: new ArrayList<>(entry.mKeys))
             {
-                if(identifier1 instanceof TalkgroupIdentifier tgId1)
+                boolean enabled = key.role() == Role.TO ?
+                    mCallManagementProvider.isDuplicateCallDetectionByTalkgroupEnabled() :
+                    mCallManagementProvider.isDuplicateCallDetectionByRadioEnabled();
+
+                List<SegmentEntry> entries = mIndex.get(key);
+
+                if(!enabled || entries == null || entries.size() < 2)
                 {
-                    int tg1 = tgId1.getValue();
+                    continue;
+                }
 
-                    for(Identifier identifier2: identifiers2)
+                for(SegmentEntry other: new ArrayList<>(entries))
+                {
+                    if(other == entry || !mEntries.containsKey(other.mAudioSegment))
                     {
-                        if(identifier2 instanceof TalkgroupIdentifier tgId2 && tgId2.getValue() == tg1)
-                        {
-                            return true;
-                        }
-                        else if(identifier2 instanceof PatchGroupIdentifier pgId2 &&
-                                pgId2.getValue().getPatchGroup().getValue() == tg1)
-                        {
-                            return true;
-                        }
+                        continue;
                     }
-                }
-                else if(identifier1 instanceof PatchGroupIdentifier pgId1)
-                {
-                    int talkgroup1 = pgId1.getValue().getPatchGroup().getValue();
 
-                    for(Identifier identifier2: identifiers2)
+                    if(other.mSequence < entry.mSequence)
                     {
-                        if(identifier2 instanceof TalkgroupIdentifier tgId2 && tgId2.getValue() == talkgroup1)
-                        {
-                            return true;
-                        }
-                        else if(identifier2 instanceof PatchGroupIdentifier pgId2 &&
-                                pgId2.getValue().getPatchGroup().getValue() == talkgroup1)
+                        if(other.mAudioSegment.hasAudio())
                         {
-                            return true;
+                            flagDuplicate(entry);
+                            return;
                         }
                     }
-                }
-                else if(identifier1 instanceof RadioIdentifier raId1)
-                {
-                    int radio1 = raId1.getValue();
-
-                    for(Identifier identifier2: identifiers2)
+                    else if(entry.mAudioSegment.hasAudio())
                     {
-                        if(identifier2 instanceof RadioIdentifier raId2 && raId2.getValue() == radio1)
-                        {
-                            return true;
-                        }
+                        flagDuplicate(other);
                     }
                 }
             }
-
-            return false;
         }
 
         /**
-         * Processes audio segments to detect duplicates
+         * Flags the audio segment as duplicate and removes it from monitoring.
          */
-        private void process()
+        private void flagDuplicate(SegmentEntry entry)
         {
-            mLock.lock();
+            entry.mAudioSegment.setDuplicate(true);
+            remove(entry);
 
-            try
+            //Notify optional listener that we flagged the call as duplicate.
+            if(mDuplicateCallDetectionListener != null)
             {
-                //Transfer in newly arrived audio segments
-                mAudioSegmentQueue.drainTo(mAudioSegments);
+                mDuplicateCallDetectionListener.receive(entry.mAudioSegment);
+            }
+        }
 
-                //Remove any completed audio segments.
-                mAudioSegments.removeIf(audioSegment -> {
-                    boolean complete = audioSegment.completeProperty().get();
+        /**
+         * Removes the audio segment from monitoring and releases this detector's consumer claim on the segment.
+         *
+         * Note: this method should only be called from a thread with the lock acquired.
+         */
+        private void remove(SegmentEntry entry)
+        {
+            if(mEntries.remove(entry.mAudioSegment) != null)
+            {
+                entry.unregister();
 
-                    if(complete)
-                    {
-                        audioSegment.decrementConsumerCount();
-                    }
+                for(IndexKey key: entry.mKeys)
+                {
+                    unindex(key, entry);
+                }
 
-                    return complete;
-                });
+                entry.mKeys = Set.of();
+                entry.mAudioSegment.decrementConsumerCount();
+            }
+        }
 
-                //Remove any encrypted audio segments.
-                mAudioSegments.removeIf(audioSegment -> {
-                    boolean encrypted = audioSegment.isEncrypted();
+        /**
+         * Monitored audio segment that listens for identifier updates and for audio, complete and encrypted state
+         * changes.
+         */
+        private class SegmentEntry implements Listener<IdentifierUpdateNotification>, ChangeListener<Boolean>
+        {
+            private final AudioSegment mAudioSegment;
+            private final long mSequence;
+            private Set<IndexKey> mKeys = Set.of();
 
-                    if(encrypted)
-                    {
-                        audioSegment.decrementConsumerCount();
-                    }
+            private SegmentEntry(AudioSegment audioSegment, long sequence)
+            {
+                mAudioSegment = audioSegment;
+                mSequence = sequence;
+            }
 
+            private void register()
+            {
+                mAudioSegment.addIdentifierUpdateNotificationListener(this);
+                mAudioSegment.completeProperty().addListener(this);
+                mAudioSegment.encryptedProperty().addListener(this);
+                mAudioSegment.hasAudioProperty().addListener(this);
+            }
 
-                    return encrypted;
-                });
+            private void unregister()
+            {
+                mAudioSegment.removeIdentifierUpdateNotificationListener(this);
+                mAudioSegment.completeProperty().removeListener(this);
+                mAudioSegment.encryptedProperty().removeListener(this);
+                mAudioSegment.hasAudioProperty().removeListener(this);
+            }
 
-                //Only check for duplicates if there is more than one call
-                if(mAudioSegments.size() > 1)
-                {
-                    List<AudioSegment> duplicates = new ArrayList<>();
+            /**
+             * Identifier update - reindex and check for duplicates.
+             */
+            @Override
+            public void receive(IdentifierUpdateNotification identifierUpdateNotification)
+            {
+                mLock.lock();
 
-                    int currentIndex = 0;
-                    while(currentIndex < mAudioSegments.size() - 1)
+                try
+                {
+                    if(mEntries.get(mAudioSegment) == this)
                     {
-                        AudioSegment current = mAudioSegments.get(currentIndex);
+                        reindex(this);
+                        check(this);
+                    }
+                }
+                catch(Throwable t)
+                {
+                    mLog.error("Error processing identifier update for duplicate call detection", t);
+                }
+                finally
+                {
+                    mLock.unlock();
+                }
+            }
+
+            /**
+             * Complete, encrypted or has audio state change.
+             */
+            @Override
+            public void changed(ObservableValue<? extends Boolean> observable, Boolean oldValue, Boolean newValue)
+            {
+                mLock.lock();
 
-                        if(current.hasAudio() && !current.isDuplicate())
+                try
+                {
+                    if(mEntries.get(mAudioSegment) == this)
+                    {
+                        if(mAudioSegment.isComplete() || mAudioSegment.isEncrypted())
                         {
-                            int checkIndex = currentIndex + 1;
-
-                            while(checkIndex < mAudioSegments.size())
-                            {
-                                AudioSegment toCheck = mAudioSegments.get(checkIndex);
-
-                                if(!toCheck.isDuplicate())
-                                {
-                                    if(isDuplicate(current, toCheck))
-                                    {
-                                        toCheck.setDuplicate(true);
-                                        toCheck.decrementConsumerCount();
-                                        duplicates.add(toCheck);
-
-                                        //Notify optional listener that we flagged the call as duplicate.
-                                        if(mDuplicateCallDetectionListener != null)
-                                        {
-                                            mDuplicateCallDetectionListener.receive(toCheck);
-                                        }
-                                    }
-                                }
-
-                                checkIndex++;
-                            }
+                            remove(this);
+                        }
+                        else
+                        {
+                            check(this);
                         }
-
-                        currentIndex++;
                     }
-
-                    mAudioSegments.removeAll(duplicates);
                 }
-
-                //Finally, if the audio segment queue is now empty, shutdown monitoring until a new segment arrives.
-                //The monitor shutdown method has to be called on a separate thread so that we don't kill our current
-                // thread and fail to release the lock.
-                if(mAudioSegments.isEmpty())
+                catch(Throwable t)
                 {
-                    ThreadPool.CACHED.submit(this::stopMonitoring);
+                    mLog.error("Error processing audio segment state change for duplicate call detection", t);
+                }
+                finally
+                {
+                    mLock.unlock();
                 }
-            }
-            catch(Throwable t)
-            {
-                mLog.error("Unknown error while processing audio segments for duplicate call detection.  Please report " +
-                    "this to the developer.", t);
-            }
-            finally
-            {
-                mLock.unlock();
             }
         }
     }
+
+    /**
+     * Duplicate detection index key.
+     * @param role of the identifier (TO or FROM)
+     * @param talkgroup true for talkgroup or patch group values and false for radio values
+     * @param value of the identifier
+     */
+    private record IndexKey(Role role, boolean talkgroup, int value) {}
 }
@@ -19,10 +19,13 @@
 package io.github.dsheirer.audio.broadcast;
 
 import io.github.dsheirer.alias.id.broadcast.BroadcastChannel;
+import io.github.dsheirer.audio.convert.EncodedAudioCache;
 import io.github.dsheirer.identifier.IdentifierCollection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collection;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -37,6 +40,10 @@ public class AudioRecording implements Comparable<AudioRecording>
     private AtomicInteger mPendingReplayCount = new AtomicInteger();
     private IdentifierCollection mIdentifierCollection;
     private Collection<BroadcastChannel> mBroadcastChannels;
+    private long mCreated = System.currentTimeMillis();
+    private byte[] mID3;
+    private EncodedAudioCache.EncodedAudio mEncodedAudio;
+    private boolean mSpilled;
 
     /**
      * Audio recording that is ready to be streamed
@@ -54,16 +61,116 @@ public class AudioRecording implements Comparable<AudioRecording>
         mIdentifierCollection = identifierCollection;
         mStartTime = start;
         mRecordingLength = recordingLength;
+        mSpilled = true;
     }
 
     /**
-     * Path to the completed audio recording
+     * Audio recording that is ready to be streamed where the audio is held in memory as a shared reference to the
+     * cached encoded audio.  This recording takes ownership of the retained encoded audio reference and releases it
+     * when the recording is spilled to disk or disposed.
+     *
+     * @param id3 metadata bytes to prepend to the encoded audio, or null
+     * @param encodedAudio retained reference to the shared encoded audio
+     * @param path to use for the audio recording file if the recording is spilled to disk
+     * @param identifierCollection associated with the recording
+     * @param start time of recording in milliseconds since epoch
+     * @param recordingLength in milliseconds
+     */
+    public AudioRecording(byte[] id3, EncodedAudioCache.EncodedAudio encodedAudio, Path path,
+                          Collection<BroadcastChannel> broadcastChannels, IdentifierCollection identifierCollection,
+                          long start, long recordingLength)
+    {
+        this(path, broadcastChannels, identifierCollection, start, recordingLength);
+        mID3 = id3;
+        mEncodedAudio = encodedAudio;
+        mSpilled = false;
+    }
+
+    /**
+     * Path to the completed audio recording.  For in-memory recordings, this path is only populated with a file once
+     * the recording has been spilled to disk.
      */
     public Path getPath()
     {
         return mPath;
     }
 
+    /**
+     * Audio recording bytes including any ID3 metadata, either from the in-memory encoded audio or from the recording
+     * file once spilled to disk.
+     * @throws IOException if the recording has been disposed or the recording file can't be read
+     */
+    public synchronized byte[] getAudioBytes() throws IOException
+    {
+        if(mEncodedAudio != null)
+        {
+            byte[] audio = mEncodedAudio.getBytes();
+
+            if(mID3 == null || mID3.length == 0)
+            {
+                return audio;
+            }
+
+            byte[] bytes = new byte[mID3.length + audio.length];
+            System.arraycopy(mID3, 0, bytes, 0, mID3.length);
+            System.arraycopy(audio, 0, bytes, mID3.length, audio.length);
+            return bytes;
+        }
+
+        if(mSpilled)
+        {
+            return Files.readAllBytes(mPath);
+        }
+
+        throw new IOException("Audio recording has been disposed");
+    }
+
+    /**
+     * Indicates if the recording audio is stored in the recording file rather than in memory.
+     */
+    public synchronized boolean isSpilled()
+    {
+        return mSpilled;
+    }
+
+    /**
+     * Writes the in-memory audio to the recording file and releases the shared encoded audio reference so that
+     * recordings with long pending replay queues don't hold audio in memory.
+     * @throws IOException if there is an error writing the recording file
+     */
+    public synchronized void spill() throws IOException
+    {
+        if(!mSpilled && mEncodedAudio != null)
+        {
+            Files.write(mPath, getAudioBytes());
+            mSpilled = true;
+            mEncodedAudio.release();
+            mEncodedAudio = null;
+            mID3 = null;
+        }
+    }
+
+    /**
+     * Releases the in-memory audio reference.  Recording file cleanup, if spilled, is the responsibility of the caller.
+     */
+    public synchronized void dispose()
+    {
+        if(mEncodedAudio != null)
+        {
+            mEncodedAudio.release();
+            mEncodedAudio = null;
+            mID3 = null;
+        }
+    }
+
+    /**
+     * Time this recording was created in milliseconds since epoch
+     */
+    public long getCreated()
+    {
+        return mCreated;
+    }
+
     /**
      * Collection of broadcast channels that this recording should be streamed to
      */
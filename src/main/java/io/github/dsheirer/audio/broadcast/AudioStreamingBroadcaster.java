@@ -26,7 +26,6 @@ import io.github.dsheirer.audio.convert.MP3Setting;
 import io.github.dsheirer.identifier.IdentifierCollection;
 import io.github.dsheirer.util.ThreadPool;
 import java.io.IOException;
-import java.nio.file.Files;
 import java.util.Queue;
 import java.util.concurrent.LinkedTransferQueue;
 import java.util.concurrent.ScheduledFuture;
@@ -368,29 +367,26 @@ public abstract class AudioStreamingBroadcaster<T extends BroadcastConfiguration
 
                 try
                 {
-                    if(Files.exists(nextRecording.getPath()))
+                    byte[] audio = nextRecording.getAudioBytes();
+
+                    if(audio.length > 0)
                     {
-                        byte[] audio = Files.readAllBytes(nextRecording.getPath());
+                        switch(mBroadcastFormat)
+                        {
+                            case MP3:
+                                mInputFrames = MP3FrameTools.split(audio);
+                                break;
+                            default:
+                                throw new IllegalArgumentException("Unsupported broadcast format [" + mBroadcastFormat + "]");
+                        }
+                        mInputIdentifierCollection = nextRecording.getIdentifierCollection();
 
-                        if(audio.length > 0)
+                        if(connected())
                         {
-                            switch(mBroadcastFormat)
-                            {
-                                case MP3:
-                                    mInputFrames = MP3FrameTools.split(audio);
-                                    break;
-                                default:
-                                    throw new IllegalArgumentException("Unsupported broadcast format [" + mBroadcastFormat + "]");
-                            }
-                            mInputIdentifierCollection = nextRecording.getIdentifierCollection();
-
-                            if(connected())
-                            {
-                                broadcastMetadata(nextRecording.getIdentifierCollection());
-                            }
-
-                            metadataUpdateRequired = false;
+                            broadcastMetadata(nextRecording.getIdentifierCollection());
                         }
+
+                        metadataUpdateRequired = false;
                     }
                 }
                 catch(IOException ioe)
@@ -23,6 +23,7 @@ import io.github.dsheirer.alias.Alias;
 import io.github.dsheirer.alias.AliasList;
 import io.github.dsheirer.alias.id.broadcast.BroadcastChannel;
 import io.github.dsheirer.audio.AudioSegment;
+import io.github.dsheirer.audio.convert.EncodedAudioCache;
 import io.github.dsheirer.identifier.Identifier;
 import io.github.dsheirer.identifier.IdentifierCollection;
 import io.github.dsheirer.identifier.MutableIdentifierCollection;
@@ -31,11 +32,9 @@ import io.github.dsheirer.identifier.patch.PatchGroup;
 import io.github.dsheirer.identifier.patch.PatchGroupIdentifier;
 import io.github.dsheirer.preference.UserPreferences;
 import io.github.dsheirer.record.AudioSegmentRecorder;
-import io.github.dsheirer.record.RecordFormat;
 import io.github.dsheirer.sample.Listener;
 import io.github.dsheirer.util.ThreadPool;
 import io.github.dsheirer.util.TimeStamp;
-import java.io.IOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -49,8 +48,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Audio streaming manager monitors audio segments through completion and creates temporary streaming recordings on
- * disk and enqueues the temporary recording for streaming.
+ * Audio streaming manager monitors audio segments through completion and creates in-memory streaming recordings from
+ * the shared encoded audio cache and enqueues the recording for streaming.  Recordings are only written to disk when
+ * they remain queued for an extended period (see BroadcastModel).
  */
 public class AudioStreamingManager implements Listener<AudioSegment>
 {
@@ -60,6 +60,7 @@ public class AudioStreamingManager implements Listener<AudioSegment>
     private Listener<AudioRecording> mAudioRecordingListener;
     private BroadcastFormat mBroadcastFormat;
     private UserPreferences mUserPreferences;
+    private EncodedAudioCache mEncodedAudioCache;
     private ScheduledFuture<?> mAudioSegmentProcessorFuture;
     private int mNextRecordingNumber = 1;
 
@@ -70,10 +71,24 @@ public class AudioStreamingManager implements Listener<AudioSegment>
      * @param userPreferences to manage recording directories
      */
     public AudioStreamingManager(Listener<AudioRecording> listener, BroadcastFormat broadcastFormat, UserPreferences userPreferences)
+    {
+        this(listener, broadcastFormat, userPreferences, new EncodedAudioCache());
+    }
+
+    /**
+     * Constructs an instance
+     * @param listener to receive completed audio recordings
+     * @param broadcastFormat for temporary recordings
+     * @param userPreferences to manage recording directories
+     * @param encodedAudioCache shared with other audio consumers so that each audio segment is encoded once
+     */
+    public AudioStreamingManager(Listener<AudioRecording> listener, BroadcastFormat broadcastFormat,
+                                 UserPreferences userPreferences, EncodedAudioCache encodedAudioCache)
     {
         mAudioRecordingListener = listener;
         mBroadcastFormat = broadcastFormat;
         mUserPreferences = userPreferences;
+        mEncodedAudioCache = encodedAudioCache;
     }
 
     /**
@@ -90,6 +105,8 @@ public class AudioStreamingManager implements Listener<AudioSegment>
      */
     public void start()
     {
+        mEncodedAudioCache.start();
+
         if(mAudioSegmentProcessorFuture == null)
         {
             mAudioSegmentProcessorFuture = ThreadPool.SCHEDULED.scheduleAtFixedRate(new AudioSegmentProcessor(),
@@ -210,7 +227,7 @@ public class AudioStreamingManager implements Listener<AudioSegment>
     }
 
     /**
-     * Processes an audio segment for streaming by creating a temporary MP3 recording and submitting the recording
+     * Processes an audio segment for streaming by creating an in-memory MP3 recording and submitting the recording
      * to the specific broadcast channel(s).
      * @param audioSegment to process for streaming
      * @param identifierCollection to use for the streamed audio recording.
@@ -229,17 +246,24 @@ public class AudioStreamingManager implements Listener<AudioSegment>
 
         length /= 8; //Sample rate is 8000 samples per second, or 8 samples per millisecond.
 
+        //Each recording owns its retained reference to the shared encoded audio and releases it when disposed
+        EncodedAudioCache.EncodedAudio encodedAudio = mEncodedAudioCache.acquireMP3(audioSegment, mUserPreferences);
+
         try
         {
-            AudioSegmentRecorder.record(audioSegment, path, RecordFormat.MP3, mUserPreferences, identifierCollection);
+            //Encode now while we still hold a consumer count on the audio segment.  The segment's audio buffers are
+            //cleared once all consumers release it, which can happen before the broadcaster reads the recording.
+            encodedAudio.getBytes();
 
-            AudioRecording audioRecording = new AudioRecording(path, broadcastChannels, identifierCollection,
-                    audioSegment.getStartTimestamp(), length);
+            byte[] id3 = AudioSegmentRecorder.getMP3ID3(audioSegment, identifierCollection);
+            AudioRecording audioRecording = new AudioRecording(id3, encodedAudio, path, broadcastChannels,
+                    identifierCollection, audioSegment.getStartTimestamp(), length);
             mAudioRecordingListener.receive(audioRecording);
         }
-        catch(IOException ioe)
+        catch(Exception e)
         {
-            mLog.error("Error recording temporary stream MP3");
+            encodedAudio.release();
+            mLog.error("Error creating stream MP3 recording", e);
         }
     }
 
@@ -54,6 +54,7 @@ public class BroadcastModel extends AbstractTableModel implements Listener<Audio
 
     public static final String TEMPORARY_STREAM_DIRECTORY = "streaming";
     public static final String TEMPORARY_STREAM_FILE_SUFFIX = "temporary_streaming_file_";
+    private static final long RECORDING_SPILL_THRESHOLD_MS = 60_000;
 
     private static final String UNIQUE_NAME_REGEX = "(.*)\\((\\d*)\\)";
 
@@ -665,15 +666,21 @@ public class BroadcastModel extends AbstractTableModel implements Listener<Audio
     }
 
     /**
-     * Cleanup method to remove a temporary recording file from disk.
+     * Cleanup method to release the in-memory audio for a recording and remove the temporary recording file from disk
+     * if the recording was spilled to disk.
      *
      * @param recording to remove
      */
     private void removeRecording(AudioRecording recording)
     {
+        recording.dispose();
+
         try
         {
-            Files.delete(recording.getPath());
+            if(recording.isSpilled())
+            {
+                Files.deleteIfExists(recording.getPath());
+            }
         }
         catch(IOException ioe)
         {
@@ -758,7 +765,8 @@ public class BroadcastModel extends AbstractTableModel implements Listener<Audio
     }
 
     /**
-     * Monitors the recording queue and removes any recordings that have no pending replays by audio broadcasters
+     * Monitors the recording queue and removes any recordings that have no pending replays by audio broadcasters and
+     * spills in-memory recordings to disk that have remained pending beyond the spill threshold.
      */
     public class RecordingDeletionMonitor implements Runnable
     {
@@ -772,6 +780,7 @@ public class BroadcastModel extends AbstractTableModel implements Listener<Audio
                 Iterator<AudioRecording> it = mRecordingQueue.iterator();
 
                 AudioRecording recording;
+                long spillThreshold = System.currentTimeMillis() - RECORDING_SPILL_THRESHOLD_MS;
 
                 while(it.hasNext())
                 {
@@ -781,6 +790,17 @@ public class BroadcastModel extends AbstractTableModel implements Listener<Audio
                     {
                         recordingsToDelete.add(recording);
                     }
+                    else if(!recording.isSpilled() && recording.getCreated() < spillThreshold)
+                    {
+                        try
+                        {
+                            recording.spill();
+                        }
+                        catch(IOException ioe)
+                        {
+                            mLog.error("Error spilling pending stream recording to disk: " + recording.getPath(), ioe);
+                        }
+                    }
                 }
 
                 if(!recordingsToDelete.isEmpty())
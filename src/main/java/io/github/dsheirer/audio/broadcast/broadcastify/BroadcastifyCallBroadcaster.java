@@ -41,7 +41,6 @@ import io.github.dsheirer.identifier.patch.PatchGroupIdentifier;
 import io.github.dsheirer.identifier.radio.RadioIdentifier;
 import io.github.dsheirer.identifier.talkgroup.TalkgroupIdentifier;
 import io.github.dsheirer.util.ThreadPool;
-import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpClient;
@@ -301,11 +300,11 @@ public class BroadcastifyCallBroadcaster extends AbstractAudioBroadcaster<Broadc
 
                                     try
                                     {
-                                        filePublisher = HttpRequest.BodyPublishers.ofFile(audioRecording.getPath());
+                                        filePublisher = HttpRequest.BodyPublishers.ofByteArray(audioRecording.getAudioBytes());
                                     }
-                                    catch(FileNotFoundException fnfe)
+                                    catch(IOException ioe)
                                     {
-                                        mLog.error("Broadcastify calls API - audio recording file not found - ignoring upload");
+                                        mLog.error("Broadcastify calls API - audio recording not available - ignoring upload");
                                     }
 
                                     if(filePublisher != null)
@@ -351,7 +350,7 @@ public class BroadcastifyCallBroadcaster extends AbstractAudioBroadcaster<Broadc
                                     else
                                     {
                                         //Register an error for the file not found exception
-                                        mLog.error("Broadcastify calls API - upload file not found [" +
+                                        mLog.error("Broadcastify calls API - upload audio not available [" +
                                             audioRecording.getPath().toString() + "]");
                                         incrementErrorAudioCount();
                                         broadcast(new BroadcastEvent(BroadcastifyCallBroadcaster.this,
@@ -47,7 +47,6 @@ import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.nio.file.Files;
 import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
@@ -252,11 +251,11 @@ import org.slf4j.LoggerFactory;
 
                      try
                      {
-                         audioBytes = Files.readAllBytes(audioRecording.getPath());
+                         audioBytes = audioRecording.getAudioBytes();
                      }
                      catch(IOException e)
                      {
-                         mLog.error("OpenMHz - audio recording file not found - ignoring upload");
+                         mLog.error("OpenMHz - audio recording not available - ignoring upload");
                      }
 
                      if(audioBytes != null)
@@ -46,7 +46,6 @@ import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.nio.file.Files;
 import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
@@ -245,11 +244,11 @@ public class RdioScannerBroadcaster extends AbstractAudioBroadcaster<RdioScanner
 
                     try
                     {
-                        audioBytes = Files.readAllBytes(audioRecording.getPath());
+                        audioBytes = audioRecording.getAudioBytes();
                     }
                     catch(IOException e)
                     {
-                        mLog.error("Rdio Scanner API - audio recording file not found - ignoring upload");
+                        mLog.error("Rdio Scanner API - audio recording not available - ignoring upload");
                     }
 
                     if(audioBytes != null)
@@ -19,17 +19,28 @@
 
 package io.github.dsheirer.audio.broadcast.webstream;
 
+import io.github.dsheirer.log.LoggingSuppressor;
 import org.eclipse.jetty.websocket.api.Session;
 import org.eclipse.jetty.websocket.api.WebSocketAdapter;
+import org.eclipse.jetty.websocket.api.WriteCallback;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
 
 public class AudioWebSocket extends WebSocketAdapter
 {
     private static final Logger mLog = LoggerFactory.getLogger(AudioWebSocket.class);
+    private static final LoggingSuppressor LOGGING_SUPPRESSOR = new LoggingSuppressor(mLog);
+    private static final int MAX_QUEUED_MESSAGES = 64;
     private WebStreamAudioBroadcaster mBroadcaster;
+    private final Deque<Object> mSendQueue = new ArrayDeque<>();
+    private final WriteCallback mWriteCallback = new SendCallback();
+    private boolean mSending = false;
+    private volatile long mDroppedFrameCount = 0;
 
     public AudioWebSocket(WebStreamAudioBroadcaster broadcaster)
     {
@@ -49,6 +60,7 @@ public class AudioWebSocket extends WebSocketAdapter
     {
         super.onWebSocketClose(statusCode, reason);
         mBroadcaster.removeClient(this);
+        clearQueue();
         mLog.debug("WebSocket closed: " + statusCode + " - " + reason);
     }
 
@@ -65,35 +77,150 @@ public class AudioWebSocket extends WebSocketAdapter
         mLog.debug("Received text message: " + message);
     }
 
+    /**
+     * Queues the audio data for asynchronous delivery to the client.  When the client is not keeping up and the
+     * send queue is full, all queued audio frames are discarded so that the client skips ahead to live audio.
+     */
     public void sendAudioData(byte[] audioData)
+    {
+        enqueue(ByteBuffer.wrap(audioData));
+    }
+
+    /**
+     * Queues the JSON metadata for asynchronous delivery to the client.  Metadata is only discarded, oldest first,
+     * when the send queue is still full after discarding all queued audio frames.  The client skips the audio for
+     * any call whose metadata it didn't receive.
+     */
+    public void sendMetadata(String metadata)
+    {
+        enqueue(metadata);
+    }
+
+    /**
+     * Count of audio frames discarded because this client could not keep up with the live stream.
+     */
+    public long getDroppedFrameCount()
+    {
+        return mDroppedFrameCount;
+    }
+
+    private void enqueue(Object message)
     {
         Session session = getSession();
-        if(session != null && session.isOpen())
+
+        if(session == null || !session.isOpen())
         {
-            try
-            {
-                session.getRemote().sendBytes(ByteBuffer.wrap(audioData));
-            }
-            catch(Exception e)
+            return;
+        }
+
+        synchronized(mSendQueue)
+        {
+            if(mSendQueue.size() >= MAX_QUEUED_MESSAGES)
             {
-                mLog.error("Error sending audio data", e);
+                int dropped = 0;
+                Iterator<Object> it = mSendQueue.iterator();
+
+                while(it.hasNext())
+                {
+                    if(it.next() instanceof ByteBuffer)
+                    {
+                        it.remove();
+                        dropped++;
+                    }
+                }
+
+                mDroppedFrameCount += dropped;
+                LOGGING_SUPPRESSOR.info("slow client", 5, "WebSocket client " + session.getRemoteAddress() +
+                        " is not keeping up - discarded " + dropped + " queued audio frames to skip ahead to live audio");
+
+                //Bound the queue when it is backed up with metadata alone
+                while(mSendQueue.size() >= MAX_QUEUED_MESSAGES / 2)
+                {
+                    mSendQueue.poll();
+                }
             }
+
+            mSendQueue.add(message);
         }
+
+        sendNext();
     }
 
-    public void sendMetadata(String metadata)
+    /**
+     * Sends the next queued message if there is not already a send in progress.  Only one message is in flight at
+     * a time so that frames arrive in order and a slow client never blocks the broadcaster thread.
+     */
+    private void sendNext()
     {
+        Object message;
+
+        synchronized(mSendQueue)
+        {
+            if(mSending || mSendQueue.isEmpty())
+            {
+                return;
+            }
+
+            message = mSendQueue.poll();
+            mSending = true;
+        }
+
         Session session = getSession();
-        if(session != null && session.isOpen())
+
+        if(session == null || !session.isOpen())
+        {
+            clearQueue();
+            return;
+        }
+
+        try
         {
-            try
+            if(message instanceof ByteBuffer byteBuffer)
             {
-                session.getRemote().sendString(metadata);
+                session.getRemote().sendBytes(byteBuffer, mWriteCallback);
             }
-            catch(Exception e)
+            else
             {
-                mLog.error("Error sending metadata", e);
+                session.getRemote().sendString((String)message, mWriteCallback);
             }
         }
+        catch(Exception e)
+        {
+            mLog.error("Error sending to WebSocket client", e);
+            clearQueue();
+        }
+    }
+
+    private void clearQueue()
+    {
+        synchronized(mSendQueue)
+        {
+            mSendQueue.clear();
+            mSending = false;
+        }
+    }
+
+    /**
+     * Write completion callback that chains the next queued send.
+     */
+    private class SendCallback implements WriteCallback
+    {
+        @Override
+        public void writeSuccess()
+        {
+            synchronized(mSendQueue)
+            {
+                mSending = false;
+            }
+
+            sendNext();
+        }
+
+        @Override
+        public void writeFailed(Throwable x)
+        {
+            mLog.debug("WebSocket send failed - " + x.getMessage());
+            clearQueue();
+        }
     }
 }
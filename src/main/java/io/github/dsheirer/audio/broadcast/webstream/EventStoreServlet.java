@@ -0,0 +1,229 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.audio.broadcast.webstream;
+
+import com.google.gson.Gson;
+import io.github.dsheirer.module.decode.event.store.EventRecord;
+import io.github.dsheirer.module.decode.event.store.EventStore;
+import io.github.dsheirer.preference.webstream.WebStreamPreference;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query API for the decode event store.
+ *
+ * GET /api/events?action=query&start=&end=&talkgroup=&radio=&limit= - events in the time range, newest first
+ * GET /api/events?action=top&start=&end=&by=talkgroup|radio&count= - most active talkgroups or radios
+ * GET /api/events?action=stats - event store statistics
+ *
+ * Times are milliseconds since epoch.  The time range defaults to the last 24 hours.
+ *
+ * Requests from remote hosts are refused (403) unless remote access is enabled in the web stream preferences, since
+ * the event history exposes radio and talkgroup activity to anyone who can reach the web server.
+ */
+public class EventStoreServlet extends HttpServlet
+{
+    private static final Logger mLog = LoggerFactory.getLogger(EventStoreServlet.class);
+    private static final int DEFAULT_LIMIT = 100;
+    private static final int MAX_LIMIT = 10_000;
+    private static final int DEFAULT_TOP_COUNT = 10;
+    private EventStore mEventStore;
+    private WebStreamPreference mWebStreamPreference;
+    private Gson mGson = new Gson();
+
+    public EventStoreServlet(EventStore eventStore, WebStreamPreference webStreamPreference)
+    {
+        mEventStore = eventStore;
+        mWebStreamPreference = webStreamPreference;
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException
+    {
+        resp.setContentType("application/json");
+
+        if(!isAllowed(req))
+        {
+            sendError(resp, HttpServletResponse.SC_FORBIDDEN, "Remote event queries are disabled");
+            return;
+        }
+
+        resp.setStatus(HttpServletResponse.SC_OK);
+
+        String action = req.getParameter("action");
+
+        try
+        {
+            if("query".equals(action))
+            {
+                query(req, resp);
+            }
+            else if("top".equals(action))
+            {
+                top(req, resp);
+            }
+            else if("stats".equals(action))
+            {
+                stats(resp);
+            }
+            else
+            {
+                sendError(resp, "Unknown action");
+            }
+        }
+        catch(NumberFormatException nfe)
+        {
+            sendError(resp, "Invalid numeric parameter: " + nfe.getMessage());
+        }
+    }
+
+    private void query(HttpServletRequest req, HttpServletResponse resp) throws IOException
+    {
+        long end = getLong(req, "end", System.currentTimeMillis());
+        long start = getLong(req, "start", end - TimeUnit.DAYS.toMillis(1));
+        int limit = (int)Math.max(Math.min(getLong(req, "limit", DEFAULT_LIMIT), MAX_LIMIT), 0);
+        String talkgroup = getString(req, "talkgroup");
+        String radio = getString(req, "radio");
+
+        long started = System.nanoTime();
+        List<EventRecord> records;
+
+        try
+        {
+            records = mEventStore.query(start, end, talkgroup, radio, limit);
+        }
+        catch(IOException ioe)
+        {
+            mLog.error("Error querying event store", ioe);
+            sendError(resp, "Error querying event store: " + ioe.getMessage());
+            return;
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("events", records);
+        response.put("elapsedMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+
+        PrintWriter out = resp.getWriter();
+        out.println(mGson.toJson(response));
+    }
+
+    private void top(HttpServletRequest req, HttpServletResponse resp) throws IOException
+    {
+        long end = getLong(req, "end", System.currentTimeMillis());
+        long start = getLong(req, "start", end - TimeUnit.DAYS.toMillis(1));
+        int count = (int)Math.max(Math.min(getLong(req, "count", DEFAULT_TOP_COUNT), MAX_LIMIT), 0);
+        boolean byTalkgroup = !"radio".equals(req.getParameter("by"));
+
+        long started = System.nanoTime();
+        List<Map<String, Object>> entries = new ArrayList<>();
+
+        for(Map.Entry<String, Long> entry : mEventStore.top(start, end, byTalkgroup, count))
+        {
+            Map<String, Object> info = new HashMap<>();
+            info.put("id", entry.getKey());
+            info.put("count", entry.getValue());
+            entries.add(info);
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("by", byTalkgroup ? "talkgroup" : "radio");
+        response.put("top", entries);
+        response.put("elapsedMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+
+        PrintWriter out = resp.getWriter();
+        out.println(mGson.toJson(response));
+    }
+
+    private void stats(HttpServletResponse resp) throws IOException
+    {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("events", mEventStore.getEventCount());
+        response.put("segments", mEventStore.getSegmentCount());
+        response.put("bytes", mEventStore.getSize());
+
+        PrintWriter out = resp.getWriter();
+        out.println(mGson.toJson(response));
+    }
+
+    /**
+     * Indicates if the request is from the local host or remote access is enabled.
+     */
+    private boolean isAllowed(HttpServletRequest req)
+    {
+        if(mWebStreamPreference.isEventQueryRemoteAccess())
+        {
+            return true;
+        }
+
+        try
+        {
+            return InetAddress.getByName(req.getRemoteAddr()).isLoopbackAddress();
+        }
+        catch(UnknownHostException uhe)
+        {
+            return false;
+        }
+    }
+
+    private static long getLong(HttpServletRequest req, String name, long defaultValue)
+    {
+        String value = req.getParameter(name);
+        return value == null || value.isBlank() ? defaultValue : Long.parseLong(value.trim());
+    }
+
+    private static String getString(HttpServletRequest req, String name)
+    {
+        String value = req.getParameter(name);
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    private void sendError(HttpServletResponse resp, String message) throws IOException
+    {
+        sendError(resp, HttpServletResponse.SC_BAD_REQUEST, message);
+    }
+
+    private void sendError(HttpServletResponse resp, int status, String message) throws IOException
+    {
+        resp.setStatus(status);
+
+        Map<String, Object> error = new HashMap<>();
+        error.put("success", false);
+        error.put("error", message);
+
+        PrintWriter out = resp.getWriter();
+        out.println(mGson.toJson(error));
+    }
+}
@@ -20,13 +20,22 @@
 package io.github.dsheirer.audio.broadcast.webstream;
 
 import io.github.dsheirer.buffer.INativeBuffer;
+import io.github.dsheirer.buffer.IRetainingNativeBufferListener;
 import io.github.dsheirer.sample.Listener;
 import io.github.dsheirer.sample.complex.ComplexSamples;
 import io.github.dsheirer.source.tuner.TunerController;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class WaveformSampleTap implements Listener<INativeBuffer>
+/**
+ * Tuner buffer listener that publishes periodic sample snapshots to the waveform broadcaster.  Runs on the tuner's
+ * buffer broadcast thread, so it only copies a snapshot and never sends to clients directly.
+ *
+ * Participates in native buffer reference counting so that the tuner can recycle its buffers while a tap is attached.
+ * The buffer is only read during receive() and the broadcaster copies the samples into its snapshot, so the buffer
+ * is never held beyond the receive() call.
+ */
+public class WaveformSampleTap implements Listener<INativeBuffer>, IRetainingNativeBufferListener
 {
     private static final Logger mLog = LoggerFactory.getLogger(WaveformSampleTap.class);
     private WebStreamWaveformBroadcaster mBroadcaster;
@@ -56,6 +65,8 @@ public class WaveformSampleTap implements Listener<INativeBuffer>
         }
         mSampleCounter = 0;
 
+        buffer.retain();
+
         try
         {
             // Get the first ComplexSamples from the iterator
@@ -67,7 +78,7 @@ public class WaveformSampleTap implements Listener<INativeBuffer>
                 {
                     long centerFreq = mTunerController.getFrequency();
                     double sampleRate = mTunerController.getSampleRate();
-                    mBroadcaster.receive(samples, centerFreq, sampleRate);
+                    mBroadcaster.publish(samples, centerFreq, sampleRate);
                 }
             }
         }
@@ -75,5 +86,9 @@ public class WaveformSampleTap implements Listener<INativeBuffer>
         {
             mLog.error("Error processing waveform sample tap", e);
         }
+        finally
+        {
+            buffer.release();
+        }
     }
 }
@@ -21,15 +21,21 @@ package io.github.dsheirer.audio.broadcast.webstream;
 
 import org.eclipse.jetty.websocket.api.Session;
 import org.eclipse.jetty.websocket.api.WebSocketAdapter;
+import org.eclipse.jetty.websocket.api.WriteCallback;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class WaveformWebSocket extends WebSocketAdapter
 {
     private static final Logger mLog = LoggerFactory.getLogger(WaveformWebSocket.class);
     private WebStreamWaveformBroadcaster mBroadcaster;
+    private final AtomicReference<byte[]> mPendingFrame = new AtomicReference<>();
+    private final AtomicBoolean mSending = new AtomicBoolean();
+    private final WriteCallback mWriteCallback = new SendCallback();
 
     public WaveformWebSocket(WebStreamWaveformBroadcaster broadcaster)
     {
@@ -65,19 +71,74 @@ public class WaveformWebSocket extends WebSocketAdapter
         mLog.debug("Received waveform text message: " + message);
     }
 
+    /**
+     * Sends the waveform frame without blocking.  Only one frame is in flight at a time - if a frame is still being
+     * written, this frame replaces any frame already waiting so the client always receives the most recent frame.
+     */
     public void sendWaveformData(byte[] waveformData)
     {
-        Session session = getSession();
-        if(session != null && session.isOpen())
+        mPendingFrame.set(waveformData);
+        sendPending();
+    }
+
+    private void sendPending()
+    {
+        while(mSending.compareAndSet(false, true))
         {
+            byte[] frame = mPendingFrame.getAndSet(null);
+
+            if(frame == null)
+            {
+                mSending.set(false);
+
+                //Recheck in case a frame arrived after the pending slot was read
+                if(mPendingFrame.get() == null)
+                {
+                    return;
+                }
+
+                continue;
+            }
+
+            Session session = getSession();
+
+            if(session == null || !session.isOpen())
+            {
+                mSending.set(false);
+                return;
+            }
+
             try
             {
-                session.getRemote().sendBytes(ByteBuffer.wrap(waveformData));
+                session.getRemote().sendBytes(ByteBuffer.wrap(frame), mWriteCallback);
             }
             catch(Exception e)
             {
                 mLog.error("Error sending waveform data", e);
+                mSending.set(false);
             }
+
+            return;
+        }
+    }
+
+    /**
+     * Write completion callback that sends the next pending frame.
+     */
+    private class SendCallback implements WriteCallback
+    {
+        @Override
+        public void writeSuccess()
+        {
+            mSending.set(false);
+            sendPending();
+        }
+
+        @Override
+        public void writeFailed(Throwable x)
+        {
+            mLog.debug("Waveform send failed - " + x.getMessage());
+            mSending.set(false);
         }
     }
 }
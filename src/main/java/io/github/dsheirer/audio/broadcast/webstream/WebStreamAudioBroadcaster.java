@@ -20,23 +20,137 @@
 package io.github.dsheirer.audio.broadcast.webstream;
 
 import com.google.gson.Gson;
+import io.github.dsheirer.audio.AudioBufferStore;
 import io.github.dsheirer.audio.AudioSegment;
+import io.github.dsheirer.audio.convert.InputAudioFormat;
+import io.github.dsheirer.audio.convert.MP3AudioConverter;
+import io.github.dsheirer.audio.convert.MP3Setting;
+import io.github.dsheirer.preference.webstream.WebStreamPreference;
 import io.github.dsheirer.sample.Listener;
+import io.github.dsheirer.util.ThreadPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Broadcasts audio to web UI clients.
+ *
+ * In live streaming mode (default), audio segments are streamed incrementally while the call is in progress: a
+ * periodic task drains newly added audio buffers from each active segment and sends them to each client as small
+ * frames, so the listener hears the call within a few hundred milliseconds of it starting instead of after it ends.
+ * Up to MAX_ACTIVE_STREAMS segments are streamed concurrently so that a long call doesn't hold up calls on other
+ * channels.  Clients play the calls one at a time in arrival order, unless the listener opts in to mixing concurrent
+ * calls.
+ *
+ * Each live MP3 stream uses a single encoder for the whole call, so that the call is one continuous MP3 stream that
+ * is only finished once the call ends.  Clients decode the MP3 bytes received so far for the call and play the newly
+ * decoded audio.
+ *
+ * When live streaming is disabled, each completed segment is delivered as a single frame via receive().
+ *
+ * Each call is assigned a stream ID.  The JSON metadata message that starts a call and the JSON end message that
+ * closes it carry the stream ID, and each binary audio frame is prefixed with the 4-byte (big-endian) stream ID so
+ * that clients can separate the audio of concurrent calls.
+ *
+ * The audio format and streaming mode are managed by the web stream user preference.
+ */
 public class WebStreamAudioBroadcaster implements Listener<AudioSegment>
 {
     private static final Logger mLog = LoggerFactory.getLogger(WebStreamAudioBroadcaster.class);
+    private static final long STREAM_INTERVAL_MS = 50;
+    private static final int MAX_ACTIVE_STREAMS = 8;
+    private static final int MAX_QUEUED_SEGMENTS = 16;
+    private static final int STREAM_ID_LENGTH = 4;
+    //MP3 audio is batched to limit how often clients decode the call - 8 kHz buffers are typically 20 ms each
+    private static final int MP3_MINIMUM_BUFFERS = 15;
     private List<AudioWebSocket> mClients = new CopyOnWriteArrayList<>();
     private Gson mGson = new Gson();
+    private Queue<AudioSegment> mSegmentQueue = new ConcurrentLinkedQueue<>();
+    private List<Stream> mActiveStreams = new ArrayList<>();
+    private WebStreamPreference mPreference;
+    private ScheduledFuture<?> mStreamFuture;
+    private AtomicInteger mStreamIdCounter = new AtomicInteger();
+
+    /**
+     * Constructs an instance
+     * @param preference for the audio format and streaming mode
+     */
+    public WebStreamAudioBroadcaster(WebStreamPreference preference)
+    {
+        mPreference = preference;
+    }
+
+    /**
+     * Starts the live streaming task.
+     */
+    public synchronized void start()
+    {
+        if(mStreamFuture == null)
+        {
+            mStreamFuture = ThreadPool.SCHEDULED.scheduleAtFixedRate(new StreamProcessor(), 0, STREAM_INTERVAL_MS,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops the live streaming task and releases any queued audio segments.
+     */
+    public synchronized void stop()
+    {
+        if(mStreamFuture != null)
+        {
+            mStreamFuture.cancel(false);
+            mStreamFuture = null;
+        }
+
+        //Let a processing pass that is already underway finish before tearing down the active streams
+        synchronized(mSegmentQueue)
+        {
+            for(Stream stream: mActiveStreams)
+            {
+                stream.finish();
+            }
+
+            mActiveStreams.clear();
+        }
+
+        AudioSegment queued = mSegmentQueue.poll();
+
+        while(queued != null)
+        {
+            queued.decrementConsumerCount();
+            queued = mSegmentQueue.poll();
+        }
+    }
+
+    /**
+     * Indicates if segments are streamed live while in progress (true) or delivered once complete (false).
+     */
+    public boolean isLiveStreaming()
+    {
+        return mPreference.isLiveStreaming();
+    }
+
+    /**
+     * Audio format for streamed frames.
+     */
+    public WebStreamAudioFormat getFormat()
+    {
+        return mPreference.getAudioFormat();
+    }
 
     public void addClient(AudioWebSocket client)
     {
@@ -50,44 +164,177 @@ public class WebStreamAudioBroadcaster implements Listener<AudioSegment>
         mLog.info("WebSocket client disconnected. Total clients: " + mClients.size());
     }
 
+    /**
+     * Queues an in-progress audio segment for live streaming.  The consumer count of the segment is incremented here
+     * and decremented once the segment is complete and fully streamed, or discarded.
+     */
+    public void stream(AudioSegment audioSegment)
+    {
+        if(audioSegment == null)
+        {
+            return;
+        }
+
+        audioSegment.incrementConsumerCount();
+        mSegmentQueue.add(audioSegment);
+
+        //Don't let a backlog of calls accumulate - discard the oldest waiting segments
+        while(mSegmentQueue.size() > MAX_QUEUED_SEGMENTS)
+        {
+            AudioSegment discarded = mSegmentQueue.poll();
+
+            if(discarded != null)
+            {
+                mLog.debug("Discarding queued audio segment for channel [" + discarded.getChannelName() +
+                        "] - live stream backlog is full");
+                discarded.decrementConsumerCount();
+            }
+        }
+    }
+
+    /**
+     * Delivers a completed audio segment to all clients as a single frame (whole-call mode).
+     */
     @Override
     public void receive(AudioSegment audioSegment)
     {
         if(audioSegment != null && audioSegment.hasAudio() && !mClients.isEmpty())
         {
-            byte[] audioData = convertToBytes(audioSegment);
-            String metadata = createMetadata(audioSegment);
-            
-            for(AudioWebSocket client : mClients)
+            WebStreamAudioFormat format = getFormat();
+            int streamId = nextStreamId();
+            byte[] audioData = encode(streamId, audioSegment.getAudioBuffers(), format);
+
+            if(audioData.length > STREAM_ID_LENGTH)
             {
-                try
+                send(createMetadata(streamId, audioSegment, format, false));
+
+                for(AudioWebSocket client : mClients)
                 {
-                    client.sendMetadata(metadata);
                     client.sendAudioData(audioData);
                 }
-                catch(Exception e)
-                {
-                    mLog.error("Error sending audio to WebSocket client", e);
-                }
+
+                send(createEndMetadata(streamId));
+            }
+        }
+    }
+
+    /**
+     * Starts streaming queued segments while there is capacity and streams any newly available audio from each
+     * active segment, finishing each segment once it is complete.
+     */
+    private void process()
+    {
+        while(mActiveStreams.size() < MAX_ACTIVE_STREAMS)
+        {
+            AudioSegment audioSegment = mSegmentQueue.poll();
+
+            if(audioSegment == null)
+            {
+                break;
+            }
+
+            mActiveStreams.add(new Stream(nextStreamId(), audioSegment, getFormat()));
+        }
+
+        Iterator<Stream> it = mActiveStreams.iterator();
+
+        while(it.hasNext())
+        {
+            Stream stream = it.next();
+
+            if(stream.process())
+            {
+                stream.finish();
+                it.remove();
             }
         }
     }
 
-    private String createMetadata(AudioSegment audioSegment)
+    /**
+     * Next stream ID, skipping zero and negative values on rollover.
+     */
+    private int nextStreamId()
+    {
+        return mStreamIdCounter.updateAndGet(id -> id == Integer.MAX_VALUE ? 1 : id + 1);
+    }
+
+    /**
+     * Encodes the complete audio of a call into a single frame in the format, prefixed with the stream ID.
+     */
+    private byte[] encode(int streamId, List<float[]> audioBuffers, WebStreamAudioFormat format)
+    {
+        if(format == WebStreamAudioFormat.MP3)
+        {
+            return createFrame(streamId, createMP3Converter().convert(audioBuffers));
+        }
+
+        return convertToBytes(streamId, audioBuffers);
+    }
+
+    /**
+     * Creates an MP3 converter for the web stream audio.
+     */
+    private static MP3AudioConverter createMP3Converter()
+    {
+        return new MP3AudioConverter(InputAudioFormat.SR_8000, MP3Setting.getDefault(), false);
+    }
+
+    /**
+     * Combines the encoded audio chunks into a single frame, prefixed with the stream ID.
+     */
+    private static byte[] createFrame(int streamId, List<byte[]> encoded)
+    {
+        int length = STREAM_ID_LENGTH;
+
+        for(byte[] chunk : encoded)
+        {
+            length += chunk.length;
+        }
+
+        ByteBuffer frame = ByteBuffer.allocate(length);
+        frame.putInt(streamId);
+
+        for(byte[] chunk : encoded)
+        {
+            frame.put(chunk);
+        }
+
+        return frame.array();
+    }
+
+    private void send(String metadata)
+    {
+        for(AudioWebSocket client : mClients)
+        {
+            client.sendMetadata(metadata);
+        }
+    }
+
+    private String createMetadata(int streamId, AudioSegment audioSegment, WebStreamAudioFormat format, boolean live)
     {
         Map<String, Object> metadata = new HashMap<>();
+        metadata.put("streamId", streamId);
         metadata.put("channelName", audioSegment.getChannelName() != null ? audioSegment.getChannelName() : "Unknown");
         metadata.put("timestamp", audioSegment.getStartTimestamp());
         metadata.put("duration", audioSegment.getDuration());
         metadata.put("encrypted", audioSegment.isEncrypted());
         metadata.put("timeslot", audioSegment.getTimeslot());
+        metadata.put("format", format.getLabel());
+        metadata.put("live", live);
         
         return mGson.toJson(metadata);
     }
 
-    private byte[] convertToBytes(AudioSegment audioSegment)
+    private String createEndMetadata(int streamId)
+    {
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("streamId", streamId);
+        metadata.put("end", true);
+        return mGson.toJson(metadata);
+    }
+
+    private byte[] convertToBytes(int streamId, List<float[]> audioBuffers)
     {
-        List<float[]> audioBuffers = audioSegment.getAudioBuffers();
         int totalSamples = 0;
         
         for(float[] buffer : audioBuffers)
@@ -95,7 +342,8 @@ public class WebStreamAudioBroadcaster implements Listener<AudioSegment>
             totalSamples += buffer.length;
         }
 
-        ByteBuffer byteBuffer = ByteBuffer.allocate(totalSamples * 2);
+        ByteBuffer byteBuffer = ByteBuffer.allocate(STREAM_ID_LENGTH + totalSamples * 2);
+        byteBuffer.putInt(streamId);
         byteBuffer.order(ByteOrder.LITTLE_ENDIAN);
 
         for(float[] buffer : audioBuffers)
@@ -114,4 +362,138 @@ public class WebStreamAudioBroadcaster implements Listener<AudioSegment>
     {
         return mClients.size();
     }
+
+    /**
+     * Live stream for a single audio segment.
+     */
+    private class Stream
+    {
+        private int mStreamId;
+        private AudioSegment mAudioSegment;
+        private AudioBufferStore.Cursor mCursor;
+        private WebStreamAudioFormat mFormat;
+        private List<float[]> mPendingBuffers = new ArrayList<>();
+        private MP3AudioConverter mMP3Converter;
+        private boolean mMetadataSent;
+
+        /**
+         * Constructs an instance
+         * @param streamId for the segment
+         * @param audioSegment to stream
+         * @param format for the audio frames, fixed for the life of the stream
+         */
+        public Stream(int streamId, AudioSegment audioSegment, WebStreamAudioFormat format)
+        {
+            mStreamId = streamId;
+            mAudioSegment = audioSegment;
+            mCursor = audioSegment.getAudioBufferCursor();
+            mFormat = format;
+
+            if(mFormat == WebStreamAudioFormat.MP3)
+            {
+                mMP3Converter = createMP3Converter();
+            }
+        }
+
+        /**
+         * Streams any newly available audio from the segment.
+         * @return true if the segment is complete and fully streamed.
+         */
+        public boolean process()
+        {
+            //Capture the complete state before draining so that no buffers added before completion are missed
+            boolean complete = mAudioSegment.isComplete();
+
+            while(mCursor.hasNext())
+            {
+                mPendingBuffers.add(mCursor.next());
+            }
+
+            //Once the call is complete, the MP3 encoder is finished even with no new audio, to send the audio that the
+            //encoder holds back for partial frames
+            boolean finishEncoder = complete && mMetadataSent && mMP3Converter != null;
+
+            if(mClients.isEmpty())
+            {
+                //Nobody is listening - keep up with live audio without encoding anything
+                mPendingBuffers.clear();
+            }
+            else if((!mPendingBuffers.isEmpty() || finishEncoder) &&
+                    (complete || mFormat != WebStreamAudioFormat.MP3 || mPendingBuffers.size() >= MP3_MINIMUM_BUFFERS))
+            {
+                if(!mMetadataSent)
+                {
+                    send(createMetadata(mStreamId, mAudioSegment, mFormat, true));
+                    mMetadataSent = true;
+                }
+
+                byte[] frame;
+
+                if(mMP3Converter != null)
+                {
+                    //The call's encoder runs continuously and is only finished at the end of the call
+                    List<byte[]> encoded = mMP3Converter.encode(mPendingBuffers);
+
+                    if(complete)
+                    {
+                        encoded.addAll(mMP3Converter.flush());
+                    }
+
+                    frame = createFrame(mStreamId, encoded);
+                }
+                else
+                {
+                    frame = convertToBytes(mStreamId, mPendingBuffers);
+                }
+
+                mPendingBuffers.clear();
+
+                if(frame.length > STREAM_ID_LENGTH)
+                {
+                    for(AudioWebSocket client : mClients)
+                    {
+                        client.sendAudioData(frame);
+                    }
+                }
+            }
+
+            return complete;
+        }
+
+        /**
+         * Notifies clients that the stream has ended and releases the audio segment.
+         */
+        public void finish()
+        {
+            if(mMetadataSent)
+            {
+                send(createEndMetadata(mStreamId));
+            }
+
+            mAudioSegment.decrementConsumerCount();
+            mPendingBuffers.clear();
+        }
+    }
+
+    /**
+     * Scheduled task that runs the live streaming pass.
+     */
+    private class StreamProcessor implements Runnable
+    {
+        @Override
+        public void run()
+        {
+            try
+            {
+                synchronized(mSegmentQueue)
+                {
+                    process();
+                }
+            }
+            catch(Throwable t)
+            {
+                mLog.error("Error streaming audio to WebSocket clients", t);
+            }
+        }
+    }
 }
@@ -0,0 +1,60 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.audio.broadcast.webstream;
+
+/**
+ * Audio encoding used for frames sent to web UI audio clients.  The format label is included in the segment
+ * metadata so that the browser can select the matching decoder.
+ */
+public enum WebStreamAudioFormat
+{
+    /**
+     * Raw 16-bit little-endian PCM at 8 kHz.  Lowest latency and no encoder overhead.
+     */
+    PCM_16("pcm16", "PCM 16-bit"),
+
+    /**
+     * MP3 encoded.  Each frame is a self-contained MP3 stream that the browser can decode independently.
+     */
+    MP3("mp3", "MP3");
+
+    private String mLabel;
+    private String mDisplayName;
+
+    WebStreamAudioFormat(String label, String displayName)
+    {
+        mLabel = label;
+        mDisplayName = displayName;
+    }
+
+    /**
+     * Format label sent to clients in the segment metadata
+     */
+    public String getLabel()
+    {
+        return mLabel;
+    }
+
+    @Override
+    public String toString()
+    {
+        return mDisplayName;
+    }
+}
@@ -22,6 +22,9 @@ package io.github.dsheirer.audio.broadcast.webstream;
 import io.github.dsheirer.audio.AudioSegment;
 import io.github.dsheirer.controller.channel.ChannelModel;
 import io.github.dsheirer.controller.channel.ChannelProcessingManager;
+import io.github.dsheirer.module.decode.event.store.EventStore;
+import io.github.dsheirer.preference.UserPreferences;
+import io.github.dsheirer.preference.webstream.WebStreamPreference;
 import io.github.dsheirer.sample.Listener;
 import io.github.dsheirer.sample.complex.ComplexSamples;
 import io.github.dsheirer.source.tuner.manager.TunerManager;
@@ -54,24 +57,41 @@ public class WebStreamServer implements Listener<AudioSegment>
     private ChannelModel mChannelModel;
     private ChannelProcessingManager mChannelProcessingManager;
     private TunerManager mTunerManager;
+    private EventStore mEventStore;
+    private WebStreamPreference mWebStreamPreference;
 
     public WebStreamServer(int port, ChannelModel channelModel, ChannelProcessingManager channelProcessingManager, 
-                           TunerManager tunerManager)
+                           TunerManager tunerManager, UserPreferences userPreferences)
     {
         mPort = port;
-        mBroadcaster = new WebStreamAudioBroadcaster();
-        mWaveformBroadcaster = new WebStreamWaveformBroadcaster();
+        mWebStreamPreference = userPreferences.getWebStreamPreference();
+        mBroadcaster = new WebStreamAudioBroadcaster(userPreferences.getWebStreamPreference());
+        mWaveformBroadcaster = new WebStreamWaveformBroadcaster(userPreferences.getWebStreamPreference());
         mWaveformTaps = new HashMap<>();
         mChannelModel = channelModel;
         mChannelProcessingManager = channelProcessingManager;
         mTunerManager = tunerManager;
     }
     
+    public WebStreamAudioBroadcaster getAudioBroadcaster()
+    {
+        return mBroadcaster;
+    }
+
     public WebStreamWaveformBroadcaster getWaveformBroadcaster()
     {
         return mWaveformBroadcaster;
     }
 
+    /**
+     * Sets the decode event store to expose through the /api/events query API.  Must be set before the server is
+     * started.
+     */
+    public void setEventStore(EventStore eventStore)
+    {
+        mEventStore = eventStore;
+    }
+
     public void start() throws Exception
     {
         if(mRunning)
@@ -97,6 +117,13 @@ public class WebStreamServer implements Listener<AudioSegment>
             new ChannelControlServlet(mChannelModel, mChannelProcessingManager));
         context.addServlet(holderChannelControl, "/api/channels");
 
+        if(mEventStore != null)
+        {
+            ServletHolder holderEventStore = new ServletHolder("event-store",
+                new EventStoreServlet(mEventStore, mWebStreamPreference));
+            context.addServlet(holderEventStore, "/api/events");
+        }
+
         JettyWebSocketServletContainerInitializer.configure(context, (servletContext, wsContainer) ->
         {
             wsContainer.setMaxTextMessageSize(65535);
@@ -108,6 +135,8 @@ public class WebStreamServer implements Listener<AudioSegment>
         });
 
         mServer.start();
+        mBroadcaster.start();
+        mWaveformBroadcaster.start();
         mRunning = true;
         mLog.info("Web stream server started on port " + mPort + " (listening on all interfaces)");
         mLog.info("Access the UI at: http://localhost:" + mPort);
@@ -177,8 +206,10 @@ public class WebStreamServer implements Listener<AudioSegment>
     {
         if(mServer != null && mRunning)
         {
-            mServer.stop();
             mRunning = false;
+            mBroadcaster.stop();
+            mWaveformBroadcaster.stop();
+            mServer.stop();
             mLog.info("Web stream server stopped");
         }
     }
@@ -198,8 +229,16 @@ public class WebStreamServer implements Listener<AudioSegment>
     {
         if(mRunning && audioSegment != null)
         {
-            // Listen for when the audio segment is complete
-            audioSegment.completeProperty().addListener(new AudioSegmentCompletionMonitor(audioSegment));
+            if(mBroadcaster.isLiveStreaming())
+            {
+                // Stream the audio segment while it is in progress
+                mBroadcaster.stream(audioSegment);
+            }
+            else
+            {
+                // Listen for when the audio segment is complete
+                audioSegment.completeProperty().addListener(new AudioSegmentCompletionMonitor(audioSegment));
+            }
         }
     }
 
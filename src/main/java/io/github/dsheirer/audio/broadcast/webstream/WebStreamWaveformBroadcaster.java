@@ -19,41 +19,205 @@
 
 package io.github.dsheirer.audio.broadcast.webstream;
 
+import com.google.common.eventbus.Subscribe;
+import io.github.dsheirer.dsp.window.WindowFactory;
+import io.github.dsheirer.dsp.window.WindowType;
+import io.github.dsheirer.eventbus.MyEventBus;
+import io.github.dsheirer.preference.PreferenceType;
+import io.github.dsheirer.preference.webstream.WebStreamPreference;
 import io.github.dsheirer.sample.Listener;
 import io.github.dsheirer.sample.complex.ComplexSamples;
+import io.github.dsheirer.util.ThreadPool;
+import org.jtransforms.fft.FloatFFT_1D;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Broadcasts waveform frames to web UI clients.
+ *
+ * Tuner sample threads only publish a small snapshot of the samples into a latest-value slot via publish(), which
+ * never blocks.  A separate sender task running on the scheduled thread pool takes the latest snapshot, optionally
+ * converts it to a spectrum frame, and hands it to each client for non-blocking delivery.  Snapshots that are
+ * published faster than the sender runs simply overwrite each other.
+ *
+ * Frame format (little endian): 4 bytes frame type (0=I/Q, 1=spectrum), 4 bytes value count, 4 bytes timestamp,
+ * 8 bytes center frequency, 4 bytes sample rate, followed by interleaved I/Q float pairs or float bin magnitudes
+ * ordered from lowest to highest frequency.
+ *
+ * The frame mode, I/Q decimation factor and FFT size are read from the web stream preferences and are updated while
+ * the broadcaster is running whenever the preferences change.
+ */
 public class WebStreamWaveformBroadcaster implements Listener<ComplexSamples>
 {
     private static final Logger mLog = LoggerFactory.getLogger(WebStreamWaveformBroadcaster.class);
-    private static final int DECIMATION_FACTOR = 50; // Send every 50th sample for better horizontal resolution
+    public static final int DEFAULT_DECIMATION_FACTOR = 50; // Send every 50th sample for better horizontal resolution
     private static final int MAX_SAMPLES_PER_PACKET = 1024; // Increased from 512 to 1024
-    
-    private List<WaveformWebSocket> mClients = new ArrayList<>();
-    private int mSampleCounter = 0;
+    public static final int DEFAULT_FFT_SIZE = 1024;
+    private static final int HEADER_SIZE = 24;
+    private static final int FRAME_TYPE_IQ = 0;
+    private static final int FRAME_TYPE_SPECTRUM = 1;
+    private static final long SEND_INTERVAL_MS = 33; // Maximum of ~30 frames per second
+
+    private final WebStreamPreference mWebStreamPreference;
+    private CopyOnWriteArrayList<WaveformWebSocket> mClients = new CopyOnWriteArrayList<>();
+    private AtomicReference<Snapshot> mLatestSnapshot = new AtomicReference<>();
+    private ScheduledFuture<?> mSenderFuture;
+    private volatile Mode mMode = Mode.SPECTRUM;
+    private volatile int mDecimationFactor = DEFAULT_DECIMATION_FACTOR;
+    private volatile int mFFTSize = DEFAULT_FFT_SIZE;
+    private FloatFFT_1D mFFT;
+    private float[] mWindow;
+
+    /**
+     * Waveform frame content sent to clients.
+     */
+    public enum Mode
+    {
+        /**
+         * Decimated raw I/Q samples - the client computes the spectrum.
+         */
+        IQ("I/Q Samples"),
+
+        /**
+         * Server-side windowed FFT bin magnitudes.
+         */
+        SPECTRUM("Spectrum");
+
+        private String mLabel;
+
+        Mode(String label)
+        {
+            mLabel = label;
+        }
+
+        @Override
+        public String toString()
+        {
+            return mLabel;
+        }
+    }
+
+    /**
+     * Constructs an instance
+     * @param webStreamPreference for the waveform mode, decimation factor and FFT size settings.
+     */
+    public WebStreamWaveformBroadcaster(WebStreamPreference webStreamPreference)
+    {
+        mWebStreamPreference = webStreamPreference;
+        applyPreferences();
+    }
+
+    /**
+     * Applies the waveform settings from the web stream preferences.
+     */
+    private void applyPreferences()
+    {
+        setMode(mWebStreamPreference.getWaveformMode());
+        setDecimationFactor(mWebStreamPreference.getWaveformDecimationFactor());
+        setFFTSize(mWebStreamPreference.getWaveformFFTSize());
+    }
+
+    /**
+     * Updates the waveform settings when the web stream preferences change.
+     */
+    @Subscribe
+    public void preferenceUpdated(PreferenceType preferenceType)
+    {
+        if(preferenceType == PreferenceType.WEB_STREAM)
+        {
+            applyPreferences();
+        }
+    }
+
+    /**
+     * Starts the sender task.
+     */
+    public synchronized void start()
+    {
+        if(mSenderFuture == null)
+        {
+            MyEventBus.getGlobalEventBus().register(this);
+
+            mSenderFuture = ThreadPool.SCHEDULED.scheduleAtFixedRate(new Sender(), 0, SEND_INTERVAL_MS,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops the sender task and discards any pending snapshot.
+     */
+    public synchronized void stop()
+    {
+        if(mSenderFuture != null)
+        {
+            MyEventBus.getGlobalEventBus().unregister(this);
+            mSenderFuture.cancel(false);
+            mSenderFuture = null;
+        }
+
+        mLatestSnapshot.set(null);
+    }
+
+    public Mode getMode()
+    {
+        return mMode;
+    }
+
+    public void setMode(Mode mode)
+    {
+        mMode = mode;
+    }
+
+    /**
+     * Sets the decimation factor applied to I/Q frames.
+     */
+    public void setDecimationFactor(int decimationFactor)
+    {
+        if(decimationFactor < 1)
+        {
+            throw new IllegalArgumentException("Decimation factor must be positive: " + decimationFactor);
+        }
+
+        mDecimationFactor = decimationFactor;
+    }
+
+    /**
+     * Sets the FFT size used for spectrum frames.
+     */
+    public void setFFTSize(int fftSize)
+    {
+        if(fftSize < 2 || Integer.bitCount(fftSize) != 1)
+        {
+            throw new IllegalArgumentException("FFT size must be a power of two: " + fftSize);
+        }
 
-    public synchronized void addClient(WaveformWebSocket client)
+        mFFTSize = fftSize;
+    }
+
+    public void addClient(WaveformWebSocket client)
     {
-        if(!mClients.contains(client))
+        if(mClients.addIfAbsent(client))
         {
-            mClients.add(client);
             mLog.info("Waveform client added. Total clients: " + mClients.size());
         }
     }
 
-    public synchronized void removeClient(WaveformWebSocket client)
+    public void removeClient(WaveformWebSocket client)
     {
-        mClients.remove(client);
-        mLog.info("Waveform client removed. Total clients: " + mClients.size());
+        if(mClients.remove(client))
+        {
+            mLog.info("Waveform client removed. Total clients: " + mClients.size());
+        }
     }
 
-    public synchronized int getClientCount()
+    public int getClientCount()
     {
         return mClients.size();
     }
@@ -61,85 +225,164 @@ public class WebStreamWaveformBroadcaster implements Listener<ComplexSamples>
     @Override
     public void receive(ComplexSamples samples)
     {
-        receive(samples, 0, 0);
+        publish(samples, 0, 0);
     }
-    
-    public void receive(ComplexSamples samples, long centerFrequency, double sampleRate)
+
+    /**
+     * Publishes a snapshot of the samples for delivery by the sender task.  Only copies the samples needed for one
+     * frame in the current mode and never blocks, so it is safe to call from a tuner sample thread.
+     */
+    public void publish(ComplexSamples samples, long centerFrequency, double sampleRate)
     {
-        if(samples == null || getClientCount() == 0)
+        if(samples == null || mClients.isEmpty())
         {
             return;
         }
 
-        try
+        float[] iSamples = samples.i();
+        float[] qSamples = samples.q();
+        int totalSamples = Math.min(iSamples.length, qSamples.length);
+        float[] interleaved;
+        Mode mode = mMode;
+
+        if(mode == Mode.SPECTRUM)
         {
-            float[] iSamples = samples.i();
-            float[] qSamples = samples.q();
-            
-            int totalSamples = Math.min(iSamples.length, qSamples.length);
-            int decimatedSamples = Math.min(totalSamples / DECIMATION_FACTOR, MAX_SAMPLES_PER_PACKET);
-            
-            if(decimatedSamples == 0)
+            int fftSize = mFFTSize;
+
+            if(totalSamples < fftSize)
             {
                 return;
             }
 
-            // Create byte buffer with extended header for frequency info
-            // Header: 4 bytes sample count + 4 bytes timestamp + 8 bytes center freq + 4 bytes sample rate
-            ByteBuffer buffer = ByteBuffer.allocate(20 + decimatedSamples * 8);
-            buffer.order(ByteOrder.LITTLE_ENDIAN);
-            
-            // Header
-            buffer.putInt(decimatedSamples);
-            buffer.putInt((int)(samples.timestamp() & 0xFFFFFFFF));
-            buffer.putLong(centerFrequency); // Center frequency in Hz
-            buffer.putFloat((float)sampleRate); // Sample rate in Hz
-            
-            // Write decimated I/Q samples as 32-bit floats
-            for(int i = 0; i < decimatedSamples; i++)
+            interleaved = new float[fftSize * 2];
+
+            for(int i = 0; i < fftSize; i++)
             {
-                int index = i * DECIMATION_FACTOR;
-                if(index < totalSamples)
-                {
-                    buffer.putFloat(iSamples[index]);
-                    buffer.putFloat(qSamples[index]);
-                }
+                interleaved[2 * i] = iSamples[i];
+                interleaved[2 * i + 1] = qSamples[i];
             }
-            
-            byte[] data = buffer.array();
-            broadcastToClients(data);
-            
-            if(mLog.isDebugEnabled() && System.currentTimeMillis() % 5000 < 100)
+        }
+        else
+        {
+            int decimation = mDecimationFactor;
+            int decimatedSamples = Math.min(totalSamples / decimation, MAX_SAMPLES_PER_PACKET);
+
+            if(decimatedSamples == 0)
             {
-                mLog.debug("Broadcasting waveform packet with {} samples to {} clients", decimatedSamples, getClientCount());
+                return;
             }
+
+            interleaved = new float[decimatedSamples * 2];
+
+            for(int i = 0; i < decimatedSamples; i++)
+            {
+                int index = i * decimation;
+                interleaved[2 * i] = iSamples[index];
+                interleaved[2 * i + 1] = qSamples[index];
+            }
+        }
+
+        mLatestSnapshot.set(new Snapshot(mode, interleaved, samples.timestamp(), centerFrequency, sampleRate));
+    }
+
+    /**
+     * Creates the frame for the snapshot.  Invoked only on the sender thread.
+     */
+    private byte[] createFrame(Snapshot snapshot)
+    {
+        float[] values;
+        int frameType;
+
+        if(snapshot.mode() == Mode.SPECTRUM)
+        {
+            values = computeSpectrum(snapshot.samples());
+            frameType = FRAME_TYPE_SPECTRUM;
+        }
+        else
+        {
+            values = snapshot.samples();
+            frameType = FRAME_TYPE_IQ;
+        }
+
+        int count = frameType == FRAME_TYPE_SPECTRUM ? values.length : values.length / 2;
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + values.length * 4);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(frameType);
+        buffer.putInt(count);
+        buffer.putInt((int)(snapshot.timestamp() & 0xFFFFFFFF));
+        buffer.putLong(snapshot.centerFrequency()); // Center frequency in Hz
+        buffer.putFloat((float)snapshot.sampleRate()); // Sample rate in Hz
+        buffer.asFloatBuffer().put(values);
+        return buffer.array();
+    }
+
+    /**
+     * Calculates windowed FFT bin magnitudes from the interleaved samples, reordered so that the first bin is the
+     * lowest (most negative) frequency and the center bin is the tuned frequency.
+     */
+    private float[] computeSpectrum(float[] interleaved)
+    {
+        int fftSize = interleaved.length / 2;
+
+        if(mFFT == null || mWindow == null || mWindow.length != interleaved.length)
+        {
+            mFFT = new FloatFFT_1D(fftSize);
+            mWindow = WindowFactory.getWindow(WindowType.BLACKMAN_HARRIS_7, fftSize * 2);
         }
-        catch(Exception e)
+
+        WindowFactory.apply(mWindow, interleaved);
+        mFFT.complexForward(interleaved);
+
+        float[] magnitudes = new float[fftSize];
+        int half = fftSize / 2;
+
+        for(int bin = 0; bin < fftSize; bin++)
         {
-            mLog.error("Error processing waveform samples", e);
+            float real = interleaved[2 * bin];
+            float imaginary = interleaved[2 * bin + 1];
+            float magnitude = (float)Math.sqrt(real * real + imaginary * imaginary) / fftSize;
+            magnitudes[(bin + half) % fftSize] = magnitude;
         }
+
+        return magnitudes;
     }
 
-    private synchronized void broadcastToClients(byte[] data)
+    /**
+     * Sample snapshot captured by publish() for the sender task.
+     * @param mode of the frame to produce
+     * @param samples interleaved I/Q samples
+     * @param timestamp of the samples
+     * @param centerFrequency of the tuner in Hz
+     * @param sampleRate of the tuner in Hz
+     */
+    private record Snapshot(Mode mode, float[] samples, long timestamp, long centerFrequency, double sampleRate) {}
+
+    /**
+     * Sender task that delivers the most recent snapshot to all clients.
+     */
+    private class Sender implements Runnable
     {
-        List<WaveformWebSocket> clientsToRemove = new ArrayList<>();
-        
-        for(WaveformWebSocket client : mClients)
+        @Override
+        public void run()
         {
             try
             {
-                client.sendWaveformData(data);
+                Snapshot snapshot = mLatestSnapshot.getAndSet(null);
+
+                if(snapshot != null && !mClients.isEmpty())
+                {
+                    byte[] frame = createFrame(snapshot);
+
+                    for(WaveformWebSocket client : mClients)
+                    {
+                        client.sendWaveformData(frame);
+                    }
+                }
             }
-            catch(Exception e)
+            catch(Throwable t)
             {
-                mLog.error("Error broadcasting to waveform client, marking for removal", e);
-                clientsToRemove.add(client);
+                mLog.error("Error sending waveform frame", t);
             }
         }
-        
-        for(WaveformWebSocket client : clientsToRemove)
-        {
-            removeClient(client);
-        }
     }
 }
@@ -268,6 +268,19 @@ public class WebUIServlet extends HttpServlet
             box-shadow: none;
         }
         
+        .mix-toggle {
+            display: flex;
+            align-items: center;
+            gap: 8px;
+            padding: 0 15px;
+            font-weight: bold;
+            color: #00ff00;
+            border: 2px solid #00ff00;
+            border-radius: 8px;
+            cursor: pointer;
+            white-space: nowrap;
+        }
+        
         .channel-display {
             background: #000;
             border: 2px solid #00ff00;
@@ -705,6 +718,9 @@ public class WebUIServlet extends HttpServlet
             <button id="connectBtn" onclick="connect()">CONNECT</button>
             <button id="playBtn" onclick="play()" disabled>MONITOR</button>
             <button id="stopBtn" onclick="stop()" disabled>MUTE</button>
+            <label class="mix-toggle" title="Play overlapping calls together instead of one at a time">
+                <input type="checkbox" id="mixCallsToggle" onchange="setMixCalls(this.checked)"> MIX CALLS
+            </label>
         </div>
         
         <div class="dashboard-grid">
@@ -751,12 +767,16 @@ public class WebUIServlet extends HttpServlet
         let ws = null;
         let waveformWs = null;
         let audioContext = null;
-        let audioQueue = [];
+        // Calls play one at a time in arrival order on a shared timeline, unless mixing is enabled
+        let callQueue = [];
+        const playbackTimeline = {nextStartTime: 0};
+        const MAX_WAITING_CALLS = 8;
+        let mixCalls = false;
         let isPlaying = false;
-        let nextStartTime = 0;
         let packetCount = 0;
         const sampleRate = 8000;
         let currentChannelName = '---';
+        const streams = new Map();
         let channelListExpanded = false;
         
         // Waveform visualization - Waterfall/Spectrogram
@@ -1131,10 +1151,11 @@ public class WebUIServlet extends HttpServlet
         
         function drawWaveform(data) {
             const view = new DataView(data);
-            const sampleCount = view.getInt32(0, true);
-            const timestamp = view.getUint32(4, true);
-            const centerFrequency = Number(view.getBigInt64(8, true)); // Hz
-            const sampleRate = view.getFloat32(16, true); // Hz
+            const frameType = view.getInt32(0, true); // 0 = I/Q samples, 1 = spectrum magnitudes
+            const sampleCount = view.getInt32(4, true);
+            const timestamp = view.getUint32(8, true);
+            const centerFrequency = Number(view.getBigInt64(12, true)); // Hz
+            const sampleRate = view.getFloat32(20, true); // Hz
             
             document.getElementById('waveformSamples').textContent = sampleCount;
             
@@ -1143,18 +1164,26 @@ public class WebUIServlet extends HttpServlet
             const width = waveformCanvas.width;
             const height = waveformCanvas.height;
             
-            // Extract I and Q samples (now starting at offset 20 due to extended header)
-            const iSamples = new Float32Array(sampleCount);
-            const qSamples = new Float32Array(sampleCount);
+            let magnitudes;
             
-            for (let i = 0; i < sampleCount; i++) {
-                const offset = 20 + i * 8;
-                iSamples[i] = view.getFloat32(offset, true);
-                qSamples[i] = view.getFloat32(offset + 4, true);
+            if (frameType === 1) {
+                // Server computed spectrum - bins ordered from lowest to highest frequency
+                magnitudes = new Float32Array(data, 24, sampleCount);
+            } else {
+                // Extract I and Q samples (starting at offset 24 after the header)
+                const iSamples = new Float32Array(sampleCount);
+                const qSamples = new Float32Array(sampleCount);
+                
+                for (let i = 0; i < sampleCount; i++) {
+                    const offset = 24 + i * 8;
+                    iSamples[i] = view.getFloat32(offset, true);
+                    qSamples[i] = view.getFloat32(offset + 4, true);
+                }
+                
+                // Compute FFT to get frequency spectrum
+                magnitudes = computeFFT(iSamples, qSamples);
             }
             
-            // Compute FFT to get frequency spectrum
-            const magnitudes = computeFFT(iSamples, qSamples);
             const numBins = magnitudes.length;
             
             if (numBins === 0) {
@@ -1276,7 +1305,6 @@ public class WebUIServlet extends HttpServlet
                 audioContext = new (window.AudioContext || window.webkitAudioContext)({
                     sampleRate: sampleRate
                 });
-                nextStartTime = audioContext.currentTime;
             }
             
             isPlaying = true;
@@ -1289,42 +1317,153 @@ public class WebUIServlet extends HttpServlet
         
         function stop() {
             isPlaying = false;
-            audioQueue = [];
+            streams.forEach(stream => stream.pending = []);
             updateStatus('CONNECTED', 'connected');
             document.getElementById('playBtn').disabled = false;
             document.getElementById('stopBtn').disabled = true;
         }
         
+        function setMixCalls(enabled) {
+            mixCalls = enabled;
+            processQueue();
+        }
+        
         function processMetadata(jsonString) {
             try {
                 const metadata = JSON.parse(jsonString);
-                if (metadata.channelName) {
-                    currentChannelName = metadata.channelName;
-                    document.getElementById('channelName').textContent = metadata.channelName;
+                if (metadata.end) {
+                    const stream = streams.get(metadata.streamId);
+                    if (stream) {
+                        stream.decodeChain.then(() => {
+                            stream.ended = true;
+                            streams.delete(metadata.streamId);
+                            processQueue();
+                        });
+                    }
+                    return;
+                }
+                const stream = {
+                    channelName: metadata.channelName,
+                    format: metadata.format || 'pcm16',
+                    pending: [],
+                    mp3Chunks: [],
+                    mp3Length: 0,
+                    decodedSamples: 0,
+                    nextStartTime: 0,
+                    started: false,
+                    ended: false,
+                    decodeChain: Promise.resolve()
+                };
+                streams.set(metadata.streamId, stream);
+                callQueue.push(stream);
+                
+                // Don't let a backlog of waiting calls build up - skip the oldest call that hasn't started playing
+                while (callQueue.length > MAX_WAITING_CALLS + 1) {
+                    const index = callQueue.findIndex(queued => !queued.started);
+                    const skipped = callQueue.splice(index < 0 ? 0 : index, 1)[0];
+                    skipped.pending = [];
+                    streams.forEach((value, key) => {
+                        if (value === skipped) {
+                            streams.delete(key);
+                        }
+                    });
                 }
             } catch (e) {
                 console.error('Error parsing metadata:', e);
             }
         }
         
+        function decodeMP3(stream) {
+            // The call is one continuous MP3 stream, so the bytes received so far are decoded as a whole and only the
+            // newly decoded audio is queued.  Chunks can't be decoded on their own without gaps at the boundaries.
+            const bytes = new Uint8Array(stream.mp3Length);
+            let offset = 0;
+            for (const chunk of stream.mp3Chunks) {
+                bytes.set(chunk, offset);
+                offset += chunk.length;
+            }
+            return audioContext.decodeAudioData(bytes.buffer).then(decoded => {
+                const samples = decoded.getChannelData(0);
+                if (samples.length > stream.decodedSamples) {
+                    if (isPlaying) {
+                        stream.pending.push(samples.slice(stream.decodedSamples));
+                    }
+                    stream.decodedSamples = samples.length;
+                }
+                processQueue();
+            });
+        }
+        
         function processAudioData(arrayBuffer) {
-            const int16Array = new Int16Array(arrayBuffer);
+            // Each audio frame starts with the 4-byte id of the call stream that it belongs to
+            const streamId = new DataView(arrayBuffer).getUint32(0);
+            const stream = streams.get(streamId);
+            if (!stream) {
+                // The call's metadata was discarded because this client fell behind - skip the call
+                return;
+            }
+            const payload = arrayBuffer.slice(4);
+            
+            if (stream.format === 'mp3') {
+                stream.mp3Chunks.push(new Uint8Array(payload));
+                stream.mp3Length += payload.byteLength;
+                if (audioContext) {
+                    stream.decodeChain = stream.decodeChain
+                        .then(() => decodeMP3(stream))
+                        .catch(e => console.error('Error decoding MP3 audio:', e));
+                }
+                return;
+            }
+            
+            if (!isPlaying) {
+                return;
+            }
+            
+            const int16Array = new Int16Array(payload);
             const float32Array = new Float32Array(int16Array.length);
             
             for (let i = 0; i < int16Array.length; i++) {
                 float32Array[i] = int16Array[i] / 32768.0;
             }
             
-            audioQueue.push(float32Array);
+            stream.pending.push(float32Array);
+            processQueue();
+        }
+        
+        function processQueue() {
+            if (!isPlaying || !audioContext) {
+                return;
+            }
+            
+            if (mixCalls) {
+                // Each call is scheduled on its own timeline so that overlapping calls play together
+                callQueue.forEach(stream => scheduleAudio(stream, stream));
+                callQueue = callQueue.filter(stream => !stream.ended);
+                return;
+            }
             
-            if (isPlaying) {
-                processQueue();
+            // Play the oldest call and move on to the next call once the oldest call has ended
+            while (callQueue.length > 0) {
+                const stream = callQueue[0];
+                scheduleAudio(stream, playbackTimeline);
+                if (!stream.ended) {
+                    break;
+                }
+                callQueue.shift();
             }
         }
         
-        function processQueue() {
-            while (audioQueue.length > 0 && isPlaying) {
-                const audioData = audioQueue.shift();
+        function scheduleAudio(stream, timeline) {
+            if (!stream.started) {
+                stream.started = true;
+                if (stream.channelName) {
+                    currentChannelName = stream.channelName;
+                    document.getElementById('channelName').textContent = stream.channelName;
+                }
+            }
+            
+            while (stream.pending.length > 0) {
+                const audioData = stream.pending.shift();
                 const audioBuffer = audioContext.createBuffer(1, audioData.length, sampleRate);
                 audioBuffer.getChannelData(0).set(audioData);
                 
@@ -1333,12 +1472,12 @@ public class WebUIServlet extends HttpServlet
                 source.connect(audioContext.destination);
                 
                 const currentTime = audioContext.currentTime;
-                if (nextStartTime < currentTime) {
-                    nextStartTime = currentTime;
+                if (timeline.nextStartTime < currentTime) {
+                    timeline.nextStartTime = currentTime;
                 }
                 
-                source.start(nextStartTime);
-                nextStartTime += audioBuffer.duration;
+                source.start(timeline.nextStartTime);
+                timeline.nextStartTime += audioBuffer.duration;
             }
         }
         
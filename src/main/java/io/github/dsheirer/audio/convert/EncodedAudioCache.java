@@ -0,0 +1,244 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.audio.convert;
+
+import io.github.dsheirer.audio.AudioSegment;
+import io.github.dsheirer.preference.UserPreferences;
+import io.github.dsheirer.preference.mp3.MP3Preference;
+import io.github.dsheirer.util.ThreadPool;
+import java.io.ByteArrayOutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Shared in-memory cache of MP3 encoded audio segments so that each completed call is encoded once, regardless of how
+ * many broadcasters stream it and whether it is also recorded locally.
+ *
+ * Entries are keyed by audio segment (identity) and encoder settings and are reference counted.  Each consumer
+ * acquires an entry, reads the encoded audio and releases it when finished.  Entries are evicted once they have no
+ * remaining references and have been idle for the idle timeout, which allows a consumer that processes the segment
+ * slightly later (e.g. the recorder) to reuse the encoding produced by an earlier consumer (e.g. the streamer).
+ *
+ * Encoded audio does not include ID3 metadata, since each consumer may apply a different identifier collection.
+ */
+public class EncodedAudioCache
+{
+    private static final Logger mLog = LoggerFactory.getLogger(EncodedAudioCache.class);
+    private static final long IDLE_EVICTION_MS = 30_000;
+    private final Map<Key,EncodedAudio> mCache = new ConcurrentHashMap<>();
+    private ScheduledFuture<?> mEvictionFuture;
+
+    /**
+     * Starts the scheduled eviction of idle entries.
+     */
+    public synchronized void start()
+    {
+        if(mEvictionFuture == null)
+        {
+            mEvictionFuture = ThreadPool.SCHEDULED.scheduleAtFixedRate(() -> evict(System.currentTimeMillis()),
+                    IDLE_EVICTION_MS, IDLE_EVICTION_MS / 2, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops the scheduled eviction and clears the cache.
+     */
+    public synchronized void stop()
+    {
+        if(mEvictionFuture != null)
+        {
+            mEvictionFuture.cancel(true);
+            mEvictionFuture = null;
+        }
+
+        mCache.clear();
+    }
+
+    /**
+     * Acquires a reference to the MP3 encoded audio for the segment using the MP3 preference settings.  The caller
+     * must release the returned entry when finished with it.
+     * @param audioSegment to encode
+     * @param userPreferences for MP3 encoder settings
+     * @return retained encoded audio entry
+     */
+    public EncodedAudio acquireMP3(AudioSegment audioSegment, UserPreferences userPreferences)
+    {
+        MP3Preference preference = userPreferences.getMP3Preference();
+        return acquireMP3(audioSegment, preference.getAudioSampleRate(), preference.getMP3Setting(),
+                preference.isNormalizeAudioBeforeEncode());
+    }
+
+    /**
+     * Acquires a reference to the MP3 encoded audio for the segment and encoder settings.  The caller must release
+     * the returned entry when finished with it.
+     * @param audioSegment to encode
+     * @param inputAudioFormat for the encoder
+     * @param mp3Setting for the encoder
+     * @param normalizeAudio before encoding
+     * @return retained encoded audio entry
+     */
+    public EncodedAudio acquireMP3(AudioSegment audioSegment, InputAudioFormat inputAudioFormat, MP3Setting mp3Setting,
+                                   boolean normalizeAudio)
+    {
+        Key key = new Key(audioSegment, inputAudioFormat, mp3Setting, normalizeAudio);
+
+        while(true)
+        {
+            EncodedAudio encodedAudio = mCache.computeIfAbsent(key, EncodedAudio::new);
+
+            if(encodedAudio.retain())
+            {
+                return encodedAudio;
+            }
+
+            //Entry was evicted between lookup and retain - remove it and try again
+            mCache.remove(key, encodedAudio);
+        }
+    }
+
+    /**
+     * Number of entries currently cached.
+     */
+    public int size()
+    {
+        return mCache.size();
+    }
+
+    /**
+     * Evicts entries that have no references and have been idle longer than the idle timeout.
+     * @param now current time in milliseconds
+     */
+    void evict(long now)
+    {
+        Iterator<EncodedAudio> it = mCache.values().iterator();
+
+        while(it.hasNext())
+        {
+            if(it.next().evictIfIdle(now))
+            {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Cache key - audio segments are compared by identity.
+     */
+    private record Key(AudioSegment audioSegment, InputAudioFormat inputAudioFormat, MP3Setting mp3Setting,
+                       boolean normalizeAudio) {}
+
+    /**
+     * Reference counted MP3 encoding of an audio segment.  The audio is encoded on first access and the encoded
+     * bytes are shared by all consumers and must not be modified.
+     */
+    public static class EncodedAudio
+    {
+        private final Key mKey;
+        private byte[] mBytes;
+        private int mReferenceCount;
+        private long mLastReleased;
+        private boolean mEvicted;
+
+        private EncodedAudio(Key key)
+        {
+            mKey = key;
+        }
+
+        /**
+         * Encoded MP3 audio, encoding the audio segment on first access.  The first access must occur while the caller
+         * holds a consumer count on the audio segment, since the segment's audio buffers are cleared once disposed.
+         */
+        public synchronized byte[] getBytes()
+        {
+            if(mEvicted)
+            {
+                throw new IllegalStateException("Encoded audio has been evicted from the cache");
+            }
+
+            if(mBytes == null)
+            {
+                mBytes = encode();
+            }
+
+            return mBytes;
+        }
+
+        /**
+         * Releases a reference to this entry.
+         */
+        public synchronized void release()
+        {
+            if(mReferenceCount > 0)
+            {
+                mReferenceCount--;
+                mLastReleased = System.currentTimeMillis();
+            }
+        }
+
+        private synchronized boolean retain()
+        {
+            if(mEvicted)
+            {
+                return false;
+            }
+
+            mReferenceCount++;
+            return true;
+        }
+
+        private synchronized boolean evictIfIdle(long now)
+        {
+            if(mReferenceCount == 0 && (now - mLastReleased) > IDLE_EVICTION_MS)
+            {
+                mEvicted = true;
+                mBytes = null;
+                return true;
+            }
+
+            return false;
+        }
+
+        private byte[] encode()
+        {
+            MP3AudioConverter converter = new MP3AudioConverter(mKey.inputAudioFormat(), mKey.mp3Setting(),
+                    mKey.normalizeAudio());
+            ByteArrayOutputStream stream = new ByteArrayOutputStream();
+            List<byte[]> mp3Frames = converter.convert(mKey.audioSegment().getAudioBuffers());
+
+            for(byte[] mp3Frame: mp3Frames)
+            {
+                stream.writeBytes(mp3Frame);
+            }
+
+            for(byte[] lastFrame: converter.flush())
+            {
+                stream.writeBytes(lastFrame);
+            }
+
+            return stream.toByteArray();
+        }
+    }
+}
@@ -79,11 +79,32 @@ public class MP3AudioConverter implements IAudioConverter
     }
 
     /**
-     * Converts the list of PCM audio packets to MP3 encoded.
+     * Converts the list of PCM audio packets to MP3 encoded and finishes the MP3 stream.
      * @param audioPackets of PCM audio sampled at 8 kHz
      * @return encoded MP3 audio
      */
     public List<byte[]> convert(List<float[]> audioPackets)
+    {
+        List<byte[]> converted = encode(audioPackets);
+
+        int finalChunkSize = mEncoder.encodeFinish(mOutputFramesBuffer);
+
+        if(finalChunkSize > 0)
+        {
+            converted.add(Arrays.copyOf(mOutputFramesBuffer, finalChunkSize));
+        }
+
+        return converted;
+    }
+
+    /**
+     * Encodes the list of PCM audio packets to MP3 without finishing the MP3 stream, so that audio can be encoded
+     * incrementally as one continuous stream.  The encoder holds back audio for partial frames, so invoke flush()
+     * after the final audio packets to obtain the remainder of the stream.
+     * @param audioPackets of PCM audio sampled at 8 kHz
+     * @return encoded MP3 audio, which may be empty.
+     */
+    public List<byte[]> encode(List<float[]> audioPackets)
     {
         List<byte[]> converted = new ArrayList<>();
 
@@ -135,13 +156,6 @@ public class MP3AudioConverter implements IAudioConverter
             }
         }
 
-        int finalChunkSize = mEncoder.encodeFinish(mOutputFramesBuffer);
-
-        if(finalChunkSize > 0)
-        {
-            converted.add(Arrays.copyOf(mOutputFramesBuffer, finalChunkSize));
-        }
-
         return converted;
     }
 
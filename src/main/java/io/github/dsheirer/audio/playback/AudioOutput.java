@@ -19,6 +19,7 @@
 package io.github.dsheirer.audio.playback;
 
 import com.google.common.eventbus.Subscribe;
+import io.github.dsheirer.audio.AudioBufferStore;
 import io.github.dsheirer.audio.AudioEvent;
 import io.github.dsheirer.audio.AudioSegment;
 import io.github.dsheirer.controller.NamingThreadFactory;
@@ -74,7 +75,7 @@ public abstract class AudioOutput implements LineListener, Listener<IdentifierUp
     private boolean mCanProcessAudio = false;
     private LinkedTransferQueue<AudioSegment> mAudioSegmentQueue = new LinkedTransferQueue<>();
     private AudioSegment mCurrentAudioSegment;
-    private int mCurrentBufferIndex = 0;
+    private AudioBufferStore.Cursor mCurrentBufferCursor;
     private UserPreferences mUserPreferences;
     private ByteBuffer mAudioSegmentStartTone;
     private ByteBuffer mAudioSegmentDropTone;
@@ -384,7 +385,15 @@ public abstract class AudioOutput implements LineListener, Listener<IdentifierUp
             broadcast(mCurrentAudioSegment.getIdentifierCollection());
         }
 
-        mCurrentBufferIndex = 0;
+        mCurrentBufferCursor = audioSegment != null ? audioSegment.getAudioBufferCursor() : null;
+    }
+
+    /**
+     * Number of audio buffers played from the current audio segment.
+     */
+    private int getCurrentBufferPosition()
+    {
+        return mCurrentBufferCursor != null ? mCurrentBufferCursor.position() : 0;
     }
 
     /**
@@ -413,7 +422,7 @@ public abstract class AudioOutput implements LineListener, Listener<IdentifierUp
         //Evaluate current audio segment to see if the status has changed for duplicate or do-not-monitor.
         while(isThrowaway(mCurrentAudioSegment))
         {
-            if(mCurrentBufferIndex > 0)
+            if(getCurrentBufferPosition() > 0)
             {
                 playAudio(mAudioSegmentDropTone);
             }
@@ -422,12 +431,12 @@ public abstract class AudioOutput implements LineListener, Listener<IdentifierUp
             loadNextAudioSegment();
         }
 
-        while(mCurrentAudioSegment != null && mCurrentBufferIndex < mCurrentAudioSegment.getAudioBufferCount())
+        while(mCurrentAudioSegment != null && mCurrentBufferCursor.hasNext())
         {
             //Continuously evaluate current audio segment to see if the status has changed for duplicate or do-not-monitor.
             if(isThrowaway(mCurrentAudioSegment))
             {
-                if(mCurrentBufferIndex > 0)
+                if(getCurrentBufferPosition() > 0)
                 {
                     playAudio(mAudioSegmentDropTone);
                 }
@@ -436,14 +445,14 @@ public abstract class AudioOutput implements LineListener, Listener<IdentifierUp
             }
             else
             {
-                if(mCurrentBufferIndex == 0)
+                if(getCurrentBufferPosition() == 0)
                 {
                     playAudio(mAudioSegmentStartTone);
                 }
 
                 try
                 {
-                    float[] audioBuffer = mCurrentAudioSegment.getAudioBuffers().get(mCurrentBufferIndex++);
+                    float[] audioBuffer = mCurrentBufferCursor.next();
 
                     if(audioBuffer != null)
                     {
@@ -462,7 +471,7 @@ public abstract class AudioOutput implements LineListener, Listener<IdentifierUp
         //Check for completed and fully-played audio segment to closeout
         if(mCurrentAudioSegment != null &&
            mCurrentAudioSegment.isComplete() &&
-           (mCurrentBufferIndex >= mCurrentAudioSegment.getAudioBufferCount()))
+           !mCurrentBufferCursor.hasNext())
         {
             disposeCurrentAudioSegment();
         }
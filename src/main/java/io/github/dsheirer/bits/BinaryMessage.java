@@ -21,7 +21,9 @@ package io.github.dsheirer.bits;
 import io.github.dsheirer.edac.CRC;
 import java.io.UnsupportedEncodingException;
 import java.nio.charset.Charset;
+import java.util.Arrays;
 import java.util.BitSet;
+import java.util.function.LongBinaryOperator;
 import org.apache.commons.lang3.Validate;
 import org.apache.commons.math3.util.FastMath;
 import org.slf4j.Logger;
@@ -55,6 +57,13 @@ public class BinaryMessage extends BitSet
      */
     private CRC mCRC;
 
+    /**
+     * Snapshot of the bitset as little-endian long words (bit n is bit n % 64 of word n / 64) used for word-wise field
+     * extraction.  Created lazily on the first field read and updated in place by the bit and bit range set, clear
+     * and flip methods.  Discarded by the whole bitset logical operations (and, or, xor, andNot).
+     */
+    private transient volatile long[] mWords;
+
     /**
      * Constructs a bitset that buffers bits added one at a time, up to the size
      * of the this bitset.
@@ -319,6 +328,247 @@ public class BinaryMessage extends BitSet
         return sb.toString();
     }
 
+    /**
+     * Word snapshot of this bitset for field extraction, created on demand after the bitset is modified.
+     */
+    private long[] words()
+    {
+        long[] words = mWords;
+
+        if(words == null)
+        {
+            words = toLongArray();
+            mWords = words;
+        }
+
+        return words;
+    }
+
+    /**
+     * Applies a bit range modification to the word snapshot, when one exists, so that the snapshot stays current
+     * without rebuilding it from the bitset.
+     * @param fromIndex of the first bit, inclusive
+     * @param toIndex of the last bit, exclusive
+     * @param operator to combine each word with the mask of the bits in range
+     * @param setsBits true if the modification can set bits beyond the end of the snapshot (set, flip)
+     */
+    private void update(int fromIndex, int toIndex, LongBinaryOperator operator, boolean setsBits)
+    {
+        long[] words = mWords;
+
+        if(words == null || fromIndex >= toIndex)
+        {
+            return;
+        }
+
+        int firstWord = fromIndex >>> 6;
+        int lastWord = (toIndex - 1) >>> 6;
+        int endWord = lastWord;
+
+        if(lastWord >= words.length)
+        {
+            if(setsBits)
+            {
+                //Snapshot only extends to the highest set bit at the time it was created
+                words = Arrays.copyOf(words, lastWord + 1);
+            }
+            else
+            {
+                //Bits beyond the end of the snapshot are already clear
+                endWord = words.length - 1;
+            }
+        }
+
+        for(int x = firstWord; x <= endWord; x++)
+        {
+            long mask = -1L;
+
+            if(x == firstWord)
+            {
+                mask &= -1L << fromIndex;
+            }
+
+            if(x == lastWord)
+            {
+                mask &= -1L >>> -toIndex;
+            }
+
+            words[x] = operator.applyAsLong(words[x], mask);
+        }
+
+        mWords = words;
+    }
+
+    /**
+     * Discards the word snapshot after a modification to the whole bitset.
+     */
+    private void invalidate()
+    {
+        if(mWords != null)
+        {
+            mWords = null;
+        }
+    }
+
+    /**
+     * Extracts width bits starting at the start index, treating the start index as the MSB of the returned value.
+     * @param words snapshot of this bitset
+     * @param start index of the most significant bit
+     * @param width of the field, 1 - 64 bits
+     * @return field value
+     */
+    private static long extract(long[] words, int start, int width)
+    {
+        if(start < 0)
+        {
+            throw new IndexOutOfBoundsException("bitIndex < 0: " + start);
+        }
+
+        int wordIndex = start >>> 6;
+        int shift = start & 0x3F;
+        long bits = wordIndex < words.length ? words[wordIndex] >>> shift : 0;
+
+        if(shift != 0 && shift + width > 64 && wordIndex + 1 < words.length)
+        {
+            bits |= words[wordIndex + 1] << (64 - shift);
+        }
+
+        //Bit start is in the LSB position - reverse so that it becomes the MSB of the field
+        return Long.reverse(bits) >>> (64 - width);
+    }
+
+    /**
+     * Value (0 or 1) of the bit at the index from the word snapshot.
+     */
+    private static int bit(long[] words, int index)
+    {
+        if(index < 0)
+        {
+            throw new IndexOutOfBoundsException("bitIndex < 0: " + index);
+        }
+
+        int wordIndex = index >>> 6;
+        return wordIndex < words.length ? (int)(words[wordIndex] >>> index) & 1 : 0;
+    }
+
+    /**
+     * Gathers the bits at the indices, offset by the offset argument, with the first index as the MSB of the value.
+     */
+    private long gather(int[] indices, int offset)
+    {
+        long[] words = words();
+        long value = 0;
+
+        for(int index : indices)
+        {
+            value = (value << 1) | bit(words, index + offset);
+        }
+
+        return value;
+    }
+
+    /**
+     * Extracts the fragmented field using its precomputed gather plan of contiguous runs.
+     */
+    private int gather(FragmentedIntField fragmentedField, int offset)
+    {
+        long[] words = words();
+        int[] runs = fragmentedField.runs();
+        long value = 0;
+
+        for(int x = 0; x < runs.length; x += 2)
+        {
+            int width = runs[x + 1];
+            value = (value << width) | extract(words, runs[x] + offset, width);
+        }
+
+        return (int)value;
+    }
+
+    @Override
+    public void set(int bitIndex)
+    {
+        super.set(bitIndex);
+        update(bitIndex, bitIndex + 1, (word, mask) -> word | mask, true);
+    }
+
+    @Override
+    public void set(int bitIndex, boolean value)
+    {
+        //Parent method delegates to set(int) or clear(int) which update the word snapshot
+        super.set(bitIndex, value);
+    }
+
+    @Override
+    public void set(int fromIndex, int toIndex)
+    {
+        super.set(fromIndex, toIndex);
+        update(fromIndex, toIndex, (word, mask) -> word | mask, true);
+    }
+
+    @Override
+    public void set(int fromIndex, int toIndex, boolean value)
+    {
+        //Parent method delegates to set(int, int) or clear(int, int) which update the word snapshot
+        super.set(fromIndex, toIndex, value);
+    }
+
+    @Override
+    public void clear(int bitIndex)
+    {
+        super.clear(bitIndex);
+        update(bitIndex, bitIndex + 1, (word, mask) -> word & ~mask, false);
+    }
+
+    @Override
+    public void clear(int fromIndex, int toIndex)
+    {
+        super.clear(fromIndex, toIndex);
+        update(fromIndex, toIndex, (word, mask) -> word & ~mask, false);
+    }
+
+    @Override
+    public void flip(int bitIndex)
+    {
+        super.flip(bitIndex);
+        update(bitIndex, bitIndex + 1, (word, mask) -> word ^ mask, true);
+    }
+
+    @Override
+    public void flip(int fromIndex, int toIndex)
+    {
+        super.flip(fromIndex, toIndex);
+        update(fromIndex, toIndex, (word, mask) -> word ^ mask, true);
+    }
+
+    @Override
+    public void and(BitSet set)
+    {
+        super.and(set);
+        invalidate();
+    }
+
+    @Override
+    public void or(BitSet set)
+    {
+        super.or(set);
+        invalidate();
+    }
+
+    @Override
+    public void xor(BitSet set)
+    {
+        super.xor(set);
+        invalidate();
+    }
+
+    @Override
+    public void andNot(BitSet set)
+    {
+        super.andNot(set);
+        invalidate();
+    }
+
     /**
      * Overrides the parent method which returns a BitSet so that we can return a BinaryMessage
      * @param from inclusive
@@ -450,19 +700,7 @@ public class BinaryMessage extends BitSet
                     + "or less to fit into a primitive integer value");
         }
 
-        int value = 0;
-
-        for(int index : bits)
-        {
-            value = Integer.rotateLeft(value, 1);
-
-            if(get(index))
-            {
-                value++;
-            }
-        }
-
-        return value;
+        return (int)gather(bits, 0);
     }
 
     /**
@@ -472,19 +710,7 @@ public class BinaryMessage extends BitSet
      */
     public int getInt(IntField intField)
     {
-        int value = 0;
-
-        for(int index = intField.start(); index <= intField.end(); index++)
-        {
-            value = Integer.rotateLeft(value, 1);
-
-            if(get(index))
-            {
-                value++;
-            }
-        }
-
-        return value;
+        return getInt(intField.start(), intField.end());
     }
 
     /**
@@ -494,19 +720,7 @@ public class BinaryMessage extends BitSet
      */
     public int getInt(FragmentedIntField fragmentedField)
     {
-        int value = 0;
-
-        for(int index: fragmentedField.indices())
-        {
-            value = Integer.rotateLeft(value, 1);
-
-            if(get(index))
-            {
-                value++;
-            }
-        }
-
-        return value;
+        return gather(fragmentedField, 0);
     }
 
     /**
@@ -546,19 +760,7 @@ public class BinaryMessage extends BitSet
      */
     public int getInt(IntField intField, int offset)
     {
-        int value = 0;
-
-        for(int index = intField.start() + offset; index <= intField.end() + offset; index++)
-        {
-            value = Integer.rotateLeft(value, 1);
-
-            if(get(index))
-            {
-                value++;
-            }
-        }
-
-        return value;
+        return getInt(intField.start() + offset, intField.end() + offset);
     }
 
     /**
@@ -570,19 +772,7 @@ public class BinaryMessage extends BitSet
      */
     public int getInt(FragmentedIntField fragmentedField, int offset)
     {
-        int value = 0;
-
-        for(int index: fragmentedField.indices())
-        {
-            value = Integer.rotateLeft(value, 1);
-
-            if(get(index + offset))
-            {
-                value++;
-            }
-        }
-
-        return value;
+        return gather(fragmentedField, offset);
     }
 
     /**
@@ -622,19 +812,7 @@ public class BinaryMessage extends BitSet
      */
     public long getLong(LongField intField)
     {
-        long value = 0;
-
-        for(int index = intField.start(); index <= intField.end(); index++)
-        {
-            value = Long.rotateLeft(value, 1);
-
-            if(get(index))
-            {
-                value++;
-            }
-        }
-
-        return value;
+        return getLong(intField.start(), intField.end());
     }
 
     /**
@@ -646,19 +824,7 @@ public class BinaryMessage extends BitSet
      */
     public long getLong(LongField intField, int offset)
     {
-        long value = 0;
-
-        for(int index = intField.start() + offset; index <= intField.end() + offset; index++)
-        {
-            value = Long.rotateLeft(value, 1);
-
-            if(get(index))
-            {
-                value++;
-            }
-        }
-
-        return value;
+        return getLong(intField.start() + offset, intField.end() + offset);
     }
 
 
@@ -679,19 +845,7 @@ public class BinaryMessage extends BitSet
                     + "or less to fit into a primitive integer value");
         }
 
-        int value = 0;
-
-        for(int index : bits)
-        {
-            value = Integer.rotateLeft(value, 1);
-
-            if(get(index + offset))
-            {
-                value++;
-            }
-        }
-
-        return value;
+        return (int)gather(bits, offset);
     }
 
     public void setInt(int value, int[] indices)
@@ -909,19 +1063,7 @@ public class BinaryMessage extends BitSet
                     + "or less to fit into a primitive long value");
         }
 
-        long value = 0;
-
-        for(int index : bits)
-        {
-            value = Long.rotateLeft(value, 1);
-
-            if(get(index))
-            {
-                value++;
-            }
-        }
-
-        return value;
+        return gather(bits, 0);
     }
 
     /**
@@ -941,19 +1083,7 @@ public class BinaryMessage extends BitSet
                     + "or less to fit into a primitive long value");
         }
 
-        long value = 0;
-
-        for(int index : bits)
-        {
-            value = Long.rotateLeft(value, 1);
-
-            if(get(index + offset))
-            {
-                value++;
-            }
-        }
-
-        return value;
+        return gather(bits, offset);
     }
 
     /**
@@ -1050,6 +1180,11 @@ public class BinaryMessage extends BitSet
                     + "or less to fit into a primitive integer value");
         }
 
+        if(start <= end && end - start < 32)
+        {
+            return (int)extract(words(), start, end - start + 1);
+        }
+
         int value = 0;
 
         if(start < end)
@@ -1125,6 +1260,11 @@ public class BinaryMessage extends BitSet
                     + "or less to fit into a primitive long value");
         }
 
+        if(start <= end && end - start < 64)
+        {
+            return extract(words(), start, end - start + 1);
+        }
+
         long value = 0;
 
         if(start < end)
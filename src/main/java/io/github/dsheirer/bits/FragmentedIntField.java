@@ -19,11 +19,19 @@
 
 package io.github.dsheirer.bits;
 
+import java.util.Arrays;
+
 /**
  * Defines a fragmented or non-contiguous bit field within a binary message.
+ *
+ * The runs array is a gather plan precomputed from the indices: each consecutive run of ascending indices is stored
+ * as a (start index, width) pair so that the field can be extracted with one shift/mask per run instead of one bit
+ * read per index.
+ *
  * @param indices for the bits in the field.
+ * @param runs gather plan of (start, width) pairs derived from the indices.
  */
-public record FragmentedIntField(int... indices)
+public record FragmentedIntField(int[] indices, int[] runs)
 {
     public FragmentedIntField
     {
@@ -33,6 +41,15 @@ public record FragmentedIntField(int... indices)
         }
     }
 
+    /**
+     * Constructs an instance and computes the gather plan for the indices.
+     * @param indices for the bits in the field.
+     */
+    public FragmentedIntField(int... indices)
+    {
+        this(indices, createRuns(indices));
+    }
+
     /**
      * Utility constructor method.
      * @param indices (inclusive)
@@ -42,4 +59,31 @@ public record FragmentedIntField(int... indices)
     {
         return new FragmentedIntField(indices);
     }
+
+    /**
+     * Creates the gather plan of (start, width) pairs for each run of consecutive ascending indices.
+     */
+    private static int[] createRuns(int[] indices)
+    {
+        int[] runs = new int[indices.length * 2];
+        int count = 0;
+        int x = 0;
+
+        while(x < indices.length)
+        {
+            int start = indices[x];
+            int width = 1;
+
+            while(x + width < indices.length && indices[x + width] == start + width)
+            {
+                width++;
+            }
+
+            runs[count++] = start;
+            runs[count++] = width;
+            x += width;
+        }
+
+        return Arrays.copyOf(runs, count);
+    }
 }
@@ -19,13 +19,21 @@
 
 package io.github.dsheirer.buffer;
 
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
 /**
  * Base native buffer class.
+ *
+ * Provides reference counting for buffers whose sample arrays are drawn from a NativeArrayPool.  The reference count
+ * starts at one for the producer and the recycle() method is invoked once the count drops to zero.
  */
 public abstract class AbstractNativeBuffer implements INativeBuffer
 {
+    private static final AtomicIntegerFieldUpdater<AbstractNativeBuffer> REFERENCE_COUNT_UPDATER =
+            AtomicIntegerFieldUpdater.newUpdater(AbstractNativeBuffer.class, "mReferenceCount");
     private long mTimestamp;
     private float mSamplesPerMillisecond;
+    private volatile int mReferenceCount = 1;
 
     /**
      * Constructs an instance
@@ -67,4 +75,28 @@ public abstract class AbstractNativeBuffer implements INativeBuffer
     {
         return getTimestamp() + (long)(samplesPointer / 2 / getSamplesPerMillisecond());
     }
+
+    @Override
+    public void retain()
+    {
+        REFERENCE_COUNT_UPDATER.incrementAndGet(this);
+    }
+
+    @Override
+    public void release()
+    {
+        if(REFERENCE_COUNT_UPDATER.decrementAndGet(this) == 0)
+        {
+            recycle();
+        }
+    }
+
+    /**
+     * Invoked once all references to this buffer are released.  Subclasses that draw their sample arrays from a pool
+     * override this method to return the arrays to the pool.
+     */
+    protected void recycle()
+    {
+        //no-op
+    }
 }
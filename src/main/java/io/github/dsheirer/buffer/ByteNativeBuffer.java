@@ -31,6 +31,7 @@ public class ByteNativeBuffer extends AbstractNativeBuffer
 {
     private static final int FRAGMENT_SIZE = 8192;
     private final static float[] LOOKUP_VALUES;
+    private static final NativeArrayPool<float[]> FRAGMENT_POOL = NativeArrayPool.floats();
     private float mAverageDc;
 
     //Creates a static lookup table that converts the 8-bit valued range from 0 - 255 into scaled float values
@@ -46,6 +47,7 @@ public class ByteNativeBuffer extends AbstractNativeBuffer
     }
 
     private byte[] mSamples;
+    private NativeArrayPool<byte[]> mSamplesPool;
 
     /**
      * Constructs an instance
@@ -55,6 +57,20 @@ public class ByteNativeBuffer extends AbstractNativeBuffer
      * @param samplesPerMillisecond to calculate derivative timestamps for sub-buffers.
      */
     public ByteNativeBuffer(byte[] samples, long timestamp, float averageDc, float samplesPerMillisecond)
+    {
+        this(samples, timestamp, averageDc, samplesPerMillisecond, null);
+    }
+
+    /**
+     * Constructs an instance that returns the samples array to the pool once all references are released.
+     * @param samples to process
+     * @param timestamp of the samples
+     * @param averageDc measured from sample stream
+     * @param samplesPerMillisecond to calculate derivative timestamps for sub-buffers.
+     * @param samplesPool to receive the samples array once released, or null.
+     */
+    public ByteNativeBuffer(byte[] samples, long timestamp, float averageDc, float samplesPerMillisecond,
+                            NativeArrayPool<byte[]> samplesPool)
     {
         super(timestamp, samplesPerMillisecond);
         //Ensure we're an even multiple of the fragment size.  Typically, this will be 64k or 128k
@@ -65,6 +81,7 @@ public class ByteNativeBuffer extends AbstractNativeBuffer
 
         mSamples = samples;
         mAverageDc = averageDc;
+        mSamplesPool = samplesPool;
     }
 
     @Override
@@ -82,7 +99,22 @@ public class ByteNativeBuffer extends AbstractNativeBuffer
     @Override
     public Iterator<InterleavedComplexSamples> iteratorInterleaved()
     {
-        return new InterleavedComplexSamplesIterator();
+        return new InterleavedComplexSamplesIterator(false);
+    }
+
+    @Override
+    public Iterator<InterleavedComplexSamples> iteratorInterleavedReusable()
+    {
+        return new InterleavedComplexSamplesIterator(true);
+    }
+
+    @Override
+    protected void recycle()
+    {
+        if(mSamplesPool != null)
+        {
+            mSamplesPool.recycle(mSamples);
+        }
     }
 
     private class ComplexSamplesIterator implements Iterator<ComplexSamples>
@@ -121,11 +153,33 @@ public class ByteNativeBuffer extends AbstractNativeBuffer
     private class InterleavedComplexSamplesIterator implements Iterator<InterleavedComplexSamples>
     {
         private int mSamplesPointer = 0;
+        private boolean mReusable;
+        private float[] mReusableSamples;
+
+        /**
+         * Constructs an instance
+         * @param reusable to reuse a single pooled fragment array across calls to next()
+         */
+        public InterleavedComplexSamplesIterator(boolean reusable)
+        {
+            mReusable = reusable;
+        }
 
         @Override
         public boolean hasNext()
         {
-            return mSamplesPointer < mSamples.length;
+            if(mSamplesPointer < mSamples.length)
+            {
+                return true;
+            }
+
+            if(mReusableSamples != null)
+            {
+                FRAGMENT_POOL.recycle(mReusableSamples);
+                mReusableSamples = null;
+            }
+
+            return false;
         }
 
         @Override
@@ -133,7 +187,21 @@ public class ByteNativeBuffer extends AbstractNativeBuffer
         {
             long timestamp = getFragmentTimestamp(mSamplesPointer);
 
-            float[] converted = new float[FRAGMENT_SIZE * 2];
+            float[] converted;
+
+            if(mReusable)
+            {
+                if(mReusableSamples == null)
+                {
+                    mReusableSamples = FRAGMENT_POOL.get(FRAGMENT_SIZE * 2);
+                }
+
+                converted = mReusableSamples;
+            }
+            else
+            {
+                converted = new float[FRAGMENT_SIZE * 2];
+            }
 
             int samplesPointer = mSamplesPointer;
 
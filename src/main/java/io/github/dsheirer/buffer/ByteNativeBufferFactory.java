@@ -27,11 +27,12 @@ import java.nio.ByteBuffer;
 public class ByteNativeBufferFactory extends AbstractNativeBufferFactory
 {
     private DcCorrectionManager mDcCorrectionManager = new DcCorrectionManager();
+    private NativeArrayPool<byte[]> mSamplesPool = NativeArrayPool.bytes();
 
     @Override
     public INativeBuffer getBuffer(ByteBuffer samples, long timestamp)
     {
-        byte[] copy = new byte[samples.capacity()];
+        byte[] copy = mSamplesPool.get(samples.capacity());
         samples.get(copy);
 
         if(mDcCorrectionManager.shouldCalculateDc())
@@ -39,7 +40,8 @@ public class ByteNativeBufferFactory extends AbstractNativeBufferFactory
             calculateDc(copy);
         }
 
-        return new ByteNativeBuffer(copy, timestamp, mDcCorrectionManager.getAverageDc(), getSamplesPerMillisecond());
+        return new ByteNativeBuffer(copy, timestamp, mDcCorrectionManager.getAverageDc(), getSamplesPerMillisecond(),
+                mSamplesPool);
     }
 
     /**
@@ -40,6 +40,18 @@ public interface INativeBuffer
      */
     Iterator<InterleavedComplexSamples> iteratorInterleaved();
 
+    /**
+     * Provides an iterator that converts the raw samples to interleaved complex samples format, reusing a single
+     * samples array across calls to next().  The samples array of each fragment is only valid until the next call to
+     * next() or hasNext(), so this iterator is only suitable for consumers that copy each fragment synchronously.
+     *
+     * Default implementation returns the standard interleaved iterator.
+     */
+    default Iterator<InterleavedComplexSamples> iteratorInterleavedReusable()
+    {
+        return iteratorInterleaved();
+    }
+
     /**
      * Total number of complex samples for this buffer
      */
@@ -50,4 +62,22 @@ public interface INativeBuffer
      * @return millis since epoch
      */
     long getTimestamp();
+
+    /**
+     * Increments the reference count for this buffer.  Listeners that implement IRetainingNativeBufferListener must
+     * invoke this method before holding the buffer beyond the scope of the receive() method call.
+     */
+    default void retain()
+    {
+        //no-op
+    }
+
+    /**
+     * Decrements the reference count for this buffer.  Once the count reaches zero, the buffer may recycle its
+     * internal sample arrays and must no longer be accessed.
+     */
+    default void release()
+    {
+        //no-op
+    }
 }
@@ -0,0 +1,32 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.buffer;
+
+/**
+ * Marker interface for native buffer listeners that participate in native buffer reference counting.  Implementers
+ * must invoke retain() on any buffer that is held beyond the scope of the receive() method call and invoke release()
+ * once the buffer is no longer needed.
+ *
+ * A tuner controller only recycles a native buffer when every listener that received the buffer implements this
+ * interface.  Otherwise, the buffer is left for garbage collection.
+ */
+public interface IRetainingNativeBufferListener
+{
+}
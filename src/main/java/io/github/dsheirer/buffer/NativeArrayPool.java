@@ -0,0 +1,126 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.buffer;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Bounded, thread-safe pool of recyclable sample arrays used by native buffer factories to avoid allocating a new
+ * array for each transfer from the tuner.  Arrays are returned to the pool by the native buffer once all listeners
+ * have released the buffer.  Arrays that are never returned are simply garbage collected.
+ *
+ * @param <T> array type
+ */
+public class NativeArrayPool<T>
+{
+    /**
+     * Default quantity of arrays retained by a pool.
+     */
+    public static final int DEFAULT_CAPACITY = 32;
+
+    private final Queue<T> mArrays = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger mSize = new AtomicInteger();
+    private final IntFunction<T> mAllocator;
+    private final ToIntFunction<T> mLength;
+    private final int mCapacity;
+
+    /**
+     * Constructs an instance
+     * @param allocator to create a new array of a requested length
+     * @param length function to determine the length of an array
+     * @param capacity maximum number of arrays retained by this pool
+     */
+    public NativeArrayPool(IntFunction<T> allocator, ToIntFunction<T> length, int capacity)
+    {
+        mAllocator = allocator;
+        mLength = length;
+        mCapacity = capacity;
+    }
+
+    /**
+     * Creates a byte array pool with the default capacity.
+     */
+    public static NativeArrayPool<byte[]> bytes()
+    {
+        return new NativeArrayPool<>(byte[]::new, array -> array.length, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a short array pool with the default capacity.
+     */
+    public static NativeArrayPool<short[]> shorts()
+    {
+        return new NativeArrayPool<>(short[]::new, array -> array.length, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a float array pool with the default capacity.
+     */
+    public static NativeArrayPool<float[]> floats()
+    {
+        return new NativeArrayPool<>(float[]::new, array -> array.length, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Provides a recycled array of the requested length or allocates a new array when none are available.  Pooled
+     * arrays of a different length (ie after a transfer size change) are discarded.
+     * @param length of the array
+     * @return array with undefined contents
+     */
+    public T get(int length)
+    {
+        T array;
+
+        while((array = mArrays.poll()) != null)
+        {
+            mSize.decrementAndGet();
+
+            if(mLength.applyAsInt(array) == length)
+            {
+                return array;
+            }
+        }
+
+        return mAllocator.apply(length);
+    }
+
+    /**
+     * Returns the array to this pool for reuse.  The array is discarded if the pool is at capacity.
+     * @param array to recycle
+     */
+    public void recycle(T array)
+    {
+        if(array != null)
+        {
+            if(mSize.incrementAndGet() <= mCapacity)
+            {
+                mArrays.offer(array);
+            }
+            else
+            {
+                mSize.decrementAndGet();
+            }
+        }
+    }
+}
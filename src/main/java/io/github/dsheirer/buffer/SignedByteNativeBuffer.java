@@ -31,6 +31,7 @@ public class SignedByteNativeBuffer extends AbstractNativeBuffer
 {
     private static final int FRAGMENT_SIZE = 2048;
     private final static float[] LOOKUP_VALUES;
+    private static final NativeArrayPool<float[]> FRAGMENT_POOL = NativeArrayPool.floats();
 
     //Creates a static lookup table that converts the signed byte values as:
     // Index   0 - 127: 0.0f to 1.0f
@@ -46,6 +47,7 @@ public class SignedByteNativeBuffer extends AbstractNativeBuffer
     }
 
     private byte[] mSamples;
+    private NativeArrayPool<byte[]> mSamplesPool;
     private float mIAverageDc;
     private float mQAverageDc;
 
@@ -58,6 +60,21 @@ public class SignedByteNativeBuffer extends AbstractNativeBuffer
      * @param samplesPerMillisecond to calculate sub-buffer timestamps
      */
     public SignedByteNativeBuffer(byte[] samples, long timestamp, float iAverageDc, float qAverageDc, float samplesPerMillisecond)
+    {
+        this(samples, timestamp, iAverageDc, qAverageDc, samplesPerMillisecond, null);
+    }
+
+    /**
+     * Constructs an instance that returns the samples array to the pool once all references are released.
+     * @param samples to process
+     * @param timestamp of the samples
+     * @param iAverageDc of the sample stream
+     * @param qAverageDc of the sample stream
+     * @param samplesPerMillisecond to calculate sub-buffer timestamps
+     * @param samplesPool to receive the samples array once released, or null.
+     */
+    public SignedByteNativeBuffer(byte[] samples, long timestamp, float iAverageDc, float qAverageDc,
+                                  float samplesPerMillisecond, NativeArrayPool<byte[]> samplesPool)
     {
         super(timestamp, samplesPerMillisecond);
 
@@ -70,6 +87,7 @@ public class SignedByteNativeBuffer extends AbstractNativeBuffer
         mSamples = samples;
         mIAverageDc = iAverageDc;
         mQAverageDc = qAverageDc;
+        mSamplesPool = samplesPool;
     }
 
     @Override
@@ -87,7 +105,22 @@ public class SignedByteNativeBuffer extends AbstractNativeBuffer
     @Override
     public Iterator<InterleavedComplexSamples> iteratorInterleaved()
     {
-        return new InterleavedComplexSamplesIterator();
+        return new InterleavedComplexSamplesIterator(false);
+    }
+
+    @Override
+    public Iterator<InterleavedComplexSamples> iteratorInterleavedReusable()
+    {
+        return new InterleavedComplexSamplesIterator(true);
+    }
+
+    @Override
+    protected void recycle()
+    {
+        if(mSamplesPool != null)
+        {
+            mSamplesPool.recycle(mSamples);
+        }
     }
 
     /**
@@ -129,11 +162,33 @@ public class SignedByteNativeBuffer extends AbstractNativeBuffer
     private class InterleavedComplexSamplesIterator implements Iterator<InterleavedComplexSamples>
     {
         private int mSamplesPointer = 0;
+        private boolean mReusable;
+        private float[] mReusableSamples;
+
+        /**
+         * Constructs an instance
+         * @param reusable to reuse a single pooled fragment array across calls to next()
+         */
+        public InterleavedComplexSamplesIterator(boolean reusable)
+        {
+            mReusable = reusable;
+        }
 
         @Override
         public boolean hasNext()
         {
-            return mSamplesPointer < mSamples.length;
+            if(mSamplesPointer < mSamples.length)
+            {
+                return true;
+            }
+
+            if(mReusableSamples != null)
+            {
+                FRAGMENT_POOL.recycle(mReusableSamples);
+                mReusableSamples = null;
+            }
+
+            return false;
         }
 
         @Override
@@ -141,7 +196,21 @@ public class SignedByteNativeBuffer extends AbstractNativeBuffer
         {
             long timestamp = getFragmentTimestamp(mSamplesPointer);
 
-            float[] converted = new float[FRAGMENT_SIZE * 2];
+            float[] converted;
+
+            if(mReusable)
+            {
+                if(mReusableSamples == null)
+                {
+                    mReusableSamples = FRAGMENT_POOL.get(FRAGMENT_SIZE * 2);
+                }
+
+                converted = mReusableSamples;
+            }
+            else
+            {
+                converted = new float[FRAGMENT_SIZE * 2];
+            }
 
             int samplesOffset = mSamplesPointer;
 
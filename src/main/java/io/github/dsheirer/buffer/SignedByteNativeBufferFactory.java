@@ -67,10 +67,15 @@ public class SignedByteNativeBufferFactory extends AbstractNativeBufferFactory
      */
     private float mQAverageDc = 0.0f;
 
+    /**
+     * Pool of recycled sample arrays
+     */
+    private NativeArrayPool<byte[]> mSamplesPool = NativeArrayPool.bytes();
+
     @Override
     public INativeBuffer getBuffer(ByteBuffer samples, long timestamp)
     {
-        byte[] copy = new byte[samples.capacity()];
+        byte[] copy = mSamplesPool.get(samples.capacity());
         samples.get(copy);
 
         if(shouldCalculateDc())
@@ -78,7 +83,8 @@ public class SignedByteNativeBufferFactory extends AbstractNativeBufferFactory
             calculateDc(copy);
         }
 
-        return new SignedByteNativeBuffer(copy, timestamp, mIAverageDc, mQAverageDc, getSamplesPerMillisecond());
+        return new SignedByteNativeBuffer(copy, timestamp, mIAverageDc, mQAverageDc, getSamplesPerMillisecond(),
+                mSamplesPool);
     }
 
     /**
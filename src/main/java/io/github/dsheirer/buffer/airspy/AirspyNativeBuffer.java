@@ -20,6 +20,7 @@
 package io.github.dsheirer.buffer.airspy;
 
 import io.github.dsheirer.buffer.AbstractNativeBuffer;
+import io.github.dsheirer.buffer.NativeArrayPool;
 import io.github.dsheirer.sample.complex.ComplexSamples;
 import io.github.dsheirer.sample.complex.InterleavedComplexSamples;
 import io.github.dsheirer.vector.calibrate.Implementation;
@@ -36,6 +37,7 @@ public class AirspyNativeBuffer extends AbstractNativeBuffer
     private float mAverageDc;
     private Implementation mInterleavedImplementation;
     private Implementation mNonInterleavedImplementation;
+    private NativeArrayPool<short[]> mSamplesPool;
 
     /**
      * Constructs an instance
@@ -51,6 +53,27 @@ public class AirspyNativeBuffer extends AbstractNativeBuffer
     public AirspyNativeBuffer(short[] samples, short[] residualI, short[] residualQ, float averageDc,
                               long timestamp, Implementation interleavedImplementation,
                               Implementation nonInterleavedImplementation, float samplesPerMillisecond)
+    {
+        this(samples, residualI, residualQ, averageDc, timestamp, interleavedImplementation,
+                nonInterleavedImplementation, samplesPerMillisecond, null);
+    }
+
+    /**
+     * Constructs an instance that returns the samples array to the pool once all references are released.
+     * @param samples (non-packed) from the airspy device
+     * @param residualI samples from previous buffer
+     * @param residualQ samples from previous buffer
+     * @param averageDc measured
+     * @param timestamp of the buffer
+     * @param interleavedImplementation optimal, scalar vs vector SIMD
+     * @param nonInterleavedImplementation optimal, scalar vs vector SIMD
+     * @param samplesPerMillisecond used to calculate sub-buffer fragment timestamp offsets from the start of this buffer.
+     * @param samplesPool to receive the samples array once released, or null.
+     */
+    public AirspyNativeBuffer(short[] samples, short[] residualI, short[] residualQ, float averageDc,
+                              long timestamp, Implementation interleavedImplementation,
+                              Implementation nonInterleavedImplementation, float samplesPerMillisecond,
+                              NativeArrayPool<short[]> samplesPool)
     {
         super(timestamp, samplesPerMillisecond);
 
@@ -67,6 +90,16 @@ public class AirspyNativeBuffer extends AbstractNativeBuffer
         mAverageDc = averageDc;
         mInterleavedImplementation = interleavedImplementation;
         mNonInterleavedImplementation = nonInterleavedImplementation;
+        mSamplesPool = samplesPool;
+    }
+
+    @Override
+    protected void recycle()
+    {
+        if(mSamplesPool != null)
+        {
+            mSamplesPool.recycle(mSamples);
+        }
     }
 
     @Override
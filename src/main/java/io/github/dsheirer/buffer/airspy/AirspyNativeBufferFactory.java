@@ -21,6 +21,7 @@ package io.github.dsheirer.buffer.airspy;
 
 import io.github.dsheirer.buffer.AbstractNativeBufferFactory;
 import io.github.dsheirer.buffer.INativeBuffer;
+import io.github.dsheirer.buffer.NativeArrayPool;
 import io.github.dsheirer.vector.calibrate.CalibrationManager;
 import io.github.dsheirer.vector.calibrate.CalibrationType;
 import io.github.dsheirer.vector.calibrate.Implementation;
@@ -38,6 +39,7 @@ public class AirspyNativeBufferFactory extends AbstractNativeBufferFactory
     private IAirspySampleConverter mConverter;
     private Implementation mInterleavedIteratorImplementation;
     private Implementation mNonInterleavedIteratorImplementation;
+    private NativeArrayPool<short[]> mSamplesPool = NativeArrayPool.shorts();
 
     /**
      * Constructs an instance
@@ -100,12 +102,13 @@ public class AirspyNativeBufferFactory extends AbstractNativeBufferFactory
     @Override
     public INativeBuffer getBuffer(ByteBuffer buffer, long timestamp)
     {
-        short[] samples = mConverter.convert(buffer);
+        short[] samples = mConverter.convert(buffer, mSamplesPool::get);
 
         INativeBuffer nativeBuffer = new AirspyNativeBuffer(samples,
                 Arrays.copyOf(mResidualI, mResidualI.length),
                 Arrays.copyOf(mResidualQ, mResidualQ.length), mConverter.getAverageDc(), timestamp,
-                mInterleavedIteratorImplementation, mNonInterleavedIteratorImplementation, getSamplesPerMillisecond());
+                mInterleavedIteratorImplementation, mNonInterleavedIteratorImplementation, getSamplesPerMillisecond(),
+                mSamplesPool);
 
         extractResidual(samples);
 
@@ -20,6 +20,7 @@
 package io.github.dsheirer.buffer.airspy;
 
 import java.nio.ByteBuffer;
+import java.util.function.IntFunction;
 
 /**
  * Interface to convert airspy samples from a byte buffer to an array of shorts.
@@ -31,7 +32,19 @@ public interface IAirspySampleConverter
      * @param buffer of airspy samples
      * @return converted samples
      */
-    short[] convert(ByteBuffer buffer);
+    default short[] convert(ByteBuffer buffer)
+    {
+        return convert(buffer, short[]::new);
+    }
+
+    /**
+     * Converts the airspy byte samples contained in the byte buffer to their short-valued representation, using the
+     * allocator to obtain the (possibly recycled) samples array.
+     * @param buffer of airspy samples
+     * @param allocator to provide a samples array of the requested length
+     * @return converted samples
+     */
+    short[] convert(ByteBuffer buffer, IntFunction<short[]> allocator);
 
     /**
      * Current DC average of the samples that have been processed thus far.
@@ -21,6 +21,7 @@ package io.github.dsheirer.buffer.airspy;
 
 import io.github.dsheirer.buffer.DcCorrectionManager;
 import java.nio.ByteBuffer;
+import java.util.function.IntFunction;
 
 /**
  * Scalar implementation of airspy sample converter for un-packed samples.
@@ -33,7 +34,7 @@ public class ScalarPackedSampleConverter implements IAirspySampleConverter
     private DcCorrectionManager mDcCalculationManager = new DcCorrectionManager();
 
     @Override
-    public short[] convert(ByteBuffer buffer)
+    public short[] convert(ByteBuffer buffer, IntFunction<short[]> allocator)
     {
         boolean shouldCalculateDc = mDcCalculationManager.shouldCalculateDc();
 
@@ -42,7 +43,7 @@ public class ScalarPackedSampleConverter implements IAirspySampleConverter
         short[] samples;
         byte b1, b2, b3;
 
-        samples = new short[buffer.capacity() / 3 * 2];
+        samples = allocator.apply(buffer.capacity() / 3 * 2);
 
         if(shouldCalculateDc)
         {
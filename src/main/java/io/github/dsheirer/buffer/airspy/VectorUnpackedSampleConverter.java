@@ -21,6 +21,7 @@ package io.github.dsheirer.buffer.airspy;
 
 import io.github.dsheirer.buffer.DcCorrectionManager;
 import java.nio.ByteBuffer;
+import java.util.function.IntFunction;
 import jdk.incubator.vector.ShortVector;
 import jdk.incubator.vector.VectorOperators;
 import jdk.incubator.vector.VectorSpecies;
@@ -38,7 +39,7 @@ public class VectorUnpackedSampleConverter implements IAirspySampleConverter
     private DcCorrectionManager mDcCalculationManager = new DcCorrectionManager();
 
     @Override
-    public short[] convert(ByteBuffer buffer)
+    public short[] convert(ByteBuffer buffer, IntFunction<short[]> allocator)
     {
         boolean shouldCalculateDc = mDcCalculationManager.shouldCalculateDc();
 
@@ -46,7 +47,7 @@ public class VectorUnpackedSampleConverter implements IAirspySampleConverter
         short[] samples;
         byte b1, b2;
 
-        samples = new short[buffer.capacity() / 2];
+        samples = allocator.apply(buffer.capacity() / 2);
 
         int bytesOffset;
         int rawPointer = 0;
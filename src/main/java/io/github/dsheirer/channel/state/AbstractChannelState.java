@@ -54,6 +54,8 @@ public abstract class AbstractChannelState extends Module implements IChannelEve
     private HeartbeatReceiver mHeartbeatReceiver = new HeartbeatReceiver();
     protected boolean mTeardownSequenceStarted = false;
     protected boolean mTeardownSequenceCompleted = false;
+    private volatile long mHeartbeatTimestamp = System.currentTimeMillis();
+    private volatile long mHeartbeatReceived = mHeartbeatTimestamp;
 
     //TODO: remove the IOverflowListener code from this class
 
@@ -105,6 +107,18 @@ public abstract class AbstractChannelState extends Module implements IChannelEve
      */
     protected abstract void checkState();
 
+    /**
+     * Current time for channel state timers, derived from the timestamp of the most recent heartbeat plus the system
+     * time that has elapsed since that heartbeat arrived.  Heartbeats carry the system time, except when the source
+     * replays a recording faster than real time, where they carry the sample timestamps so that fade and teardown
+     * timers follow the recording timeline.
+     * @return current time in milliseconds
+     */
+    protected long getCurrentTime()
+    {
+        return mHeartbeatTimestamp + (System.currentTimeMillis() - mHeartbeatReceived);
+    }
+
     /**
      * Indicates if any timeslot is currently in a TEARDOWN state.
      */
@@ -222,6 +236,8 @@ public abstract class AbstractChannelState extends Module implements IChannelEve
         @Override
         public void receive(Heartbeat heartbeat)
         {
+            mHeartbeatReceived = System.currentTimeMillis();
+            mHeartbeatTimestamp = heartbeat.getTimestamp();
             checkState();
         }
     }
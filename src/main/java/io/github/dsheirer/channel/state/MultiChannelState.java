@@ -109,6 +109,7 @@ public class MultiChannelState extends AbstractChannelState implements IDecoderS
             mutableIdentifierCollection.setIdentifierUpdateListener(mIdentifierUpdateNotificationProxy);
 
             StateMachine stateMachine = new StateMachine(timeslot, State.MULTI_CHANNEL_ACTIVE_STATES);
+            stateMachine.setClock(this::getCurrentTime);
             mStateMachineMap.put(timeslot, stateMachine);
             stateMachine.addListener(this);
 
@@ -102,6 +102,7 @@ public class SingleChannelState extends AbstractChannelState implements IDecoder
         mIdentifierCollection.setIdentifierUpdateListener(mIdentifierUpdateNotificationProxy);
         createConfigurationIdentifiers(channel);
 
+        mStateMachine.setClock(this::getCurrentTime);
         mStateMachine.addListener(this);
         mStateMachine.addListener(mSquelchController);
         mStateMachine.setIdentifierUpdateListener(mIdentifierCollection);
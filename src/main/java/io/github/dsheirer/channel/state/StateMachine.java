@@ -29,6 +29,7 @@ import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.function.LongSupplier;
 
 /**
  * State machine for tracking a channel state.
@@ -47,6 +48,7 @@ public class StateMachine
     private Channel.ChannelType mChannelType = Channel.ChannelType.STANDARD;
     private List<IStateMachineListener> mStateMachineListeners = new ArrayList<>();
     private Listener<IdentifierUpdateNotification> mIdentifierUpdateListener;
+    private LongSupplier mClock = System::currentTimeMillis;
 
     /**
      * Constructs an instance
@@ -85,6 +87,15 @@ public class StateMachine
         mIdentifierUpdateListener = listener;
     }
 
+    /**
+     * Sets the clock used for the fade and end timeouts.  Defaults to the system time.
+     * @param clock providing the current time in milliseconds
+     */
+    public void setClock(LongSupplier clock)
+    {
+        mClock = clock;
+    }
+
     /**
      * Sets the channel type for this state machine
      */
@@ -98,11 +109,13 @@ public class StateMachine
      */
     public void checkState()
     {
-        if(mActiveStates.contains(mState) && mFadeTimeout <= System.currentTimeMillis())
+        long now = mClock.getAsLong();
+
+        if(mActiveStates.contains(mState) && mFadeTimeout <= now)
         {
             setState(State.FADE);
         }
-        else if(mState == State.FADE && mEndTimeout <= System.currentTimeMillis())
+        else if(mState == State.FADE && mEndTimeout <= now)
         {
             setState(State.TEARDOWN);
         }
@@ -205,11 +218,11 @@ public class StateMachine
     }
 
     /**
-     * Updates the fade timeout to current time plus the fade timeout buffer value.
+     * Updates the fade timeout to the current clock time plus the fade timeout buffer value.
      */
     private void updateFadeTimeout()
     {
-        mFadeTimeout = System.currentTimeMillis() + mFadeTimeoutBufferMilliseconds;
+        mFadeTimeout = mClock.getAsLong() + mFadeTimeoutBufferMilliseconds;
     }
 
     /**
@@ -240,11 +253,11 @@ public class StateMachine
     }
 
     /**
-     * Updates the end timeout value to current system time plus the end timeout buffer value.
+     * Updates the end timeout value to the current clock time plus the end timeout buffer value.
      */
     private void updateEndTimeout()
     {
-        mEndTimeout = System.currentTimeMillis() + mEndTimeoutBufferMilliseconds;
+        mEndTimeout = mClock.getAsLong() + mEndTimeoutBufferMilliseconds;
     }
 
     /**
@@ -29,6 +29,7 @@ import io.github.dsheirer.controller.channel.event.ChannelStartProcessingRequest
 import io.github.dsheirer.controller.channel.event.ChannelStopProcessingRequest;
 import io.github.dsheirer.controller.channel.event.PreloadDataContent;
 import io.github.dsheirer.controller.channel.map.ChannelMapModel;
+import io.github.dsheirer.dsp.squelch.ISquelchIdleGateProvider;
 import io.github.dsheirer.identifier.Form;
 import io.github.dsheirer.identifier.Identifier;
 import io.github.dsheirer.identifier.IdentifierClass;
@@ -38,6 +39,7 @@ import io.github.dsheirer.module.Module;
 import io.github.dsheirer.module.ProcessingChain;
 import io.github.dsheirer.module.decode.DecoderFactory;
 import io.github.dsheirer.module.decode.event.IDecodeEvent;
+import io.github.dsheirer.module.decode.traffic.TrafficChannelManager;
 import io.github.dsheirer.module.log.EventLogManager;
 import io.github.dsheirer.preference.UserPreferences;
 import io.github.dsheirer.record.RecorderFactory;
@@ -56,6 +58,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ScheduledFuture;
@@ -91,8 +94,11 @@ public class ChannelProcessingManager implements Listener<ChannelEvent>
     private TunerManager mTunerManager;
     private AliasModel mAliasModel;
     private UserPreferences mUserPreferences;
-    private List<Long> mLoggedFrequencies = new ArrayList<>();
-    private List<ScheduledFuture<?>> mDelayedChannelStartTasks = new ArrayList<>();
+    private List<Long> mLoggedFrequencies = new CopyOnWriteArrayList<>();
+    private List<ScheduledFuture<?>> mDelayedChannelStartTasks = new CopyOnWriteArrayList<>();
+    private Set<Channel> mStartingChannels = ConcurrentHashMap.newKeySet();
+    private ProcessingChainPool mProcessingChainPool;
+    private ChannelStartupMetrics mChannelStartupMetrics = new ChannelStartupMetrics();
 
     /**
      * Constructs the channel processing manager
@@ -112,6 +118,23 @@ public class ChannelProcessingManager implements Listener<ChannelEvent>
         mAliasModel = aliasModel;
         mUserPreferences = userPreferences;
         mChannelMetadataModel = new ChannelMetadataModel();
+        mProcessingChainPool = new ProcessingChainPool(channelMapModel, aliasModel, userPreferences);
+    }
+
+    /**
+     * Channel startup latency histograms.
+     */
+    public ChannelStartupMetrics getChannelStartupMetrics()
+    {
+        return mChannelStartupMetrics;
+    }
+
+    /**
+     * Pool of pre-built traffic channel decoder modules.
+     */
+    public ProcessingChainPool getProcessingChainPool()
+    {
+        return mProcessingChainPool;
     }
 
     /**
@@ -376,11 +399,40 @@ public class ChannelProcessingManager implements Listener<ChannelEvent>
     }
 
     /**
-     * Starts a channel processing
+     * Starts a channel processing.
+     *
+     * Different channels can be started concurrently, for example traffic channel grants from the control channels of
+     * several systems.  Concurrent requests to start the same channel are ignored while that channel is starting.
+     *
      * @param request containing channel and other details
      * @throws ChannelException if a source is not available for the channel
      */
-    private synchronized void startProcessing(ChannelStartProcessingRequest request) throws ChannelException
+    private void startProcessing(ChannelStartProcessingRequest request) throws ChannelException
+    {
+        Channel channel = request.getChannel();
+
+        if(isProcessing(channel) || !mStartingChannels.add(channel))
+        {
+            return;
+        }
+
+        try
+        {
+            startProcessing(request, System.nanoTime());
+        }
+        finally
+        {
+            mStartingChannels.remove(channel);
+        }
+    }
+
+    /**
+     * Starts a channel processing.  Access to this method is serialized per channel by the calling method.
+     * @param request containing channel and other details
+     * @param requestTimestamp System.nanoTime() when the request started, for startup latency metrics
+     * @throws ChannelException if a source is not available for the channel
+     */
+    private void startProcessing(ChannelStartProcessingRequest request, long requestTimestamp) throws ChannelException
     {
         Channel channel = request.getChannel();
 
@@ -464,9 +516,17 @@ public class ChannelProcessingManager implements Listener<ChannelEvent>
         //Register channel to receive frequency correction events to show in the spectral display (hack!)
         processingChain.addFrequencyChangeListener(channel);
 
-        /* Processing Modules */
-        List<Module> modules = DecoderFactory.getModules(mChannelMapModel, channel, mAliasModel, mUserPreferences,
-            request.getTrafficChannelManager(), request.getChannelDescriptor());
+        /* Processing Modules - use pre-built traffic channel decoder modules when available */
+        List<Module> modules = mProcessingChainPool.checkout(channel, request.getTrafficChannelManager(),
+            request.getChannelDescriptor());
+        boolean prebuilt = modules != null;
+
+        if(!prebuilt)
+        {
+            modules = DecoderFactory.getModules(mChannelMapModel, channel, mAliasModel, mUserPreferences,
+                request.getTrafficChannelManager(), request.getChannelDescriptor());
+        }
+
         processingChain.addModules(modules);
 
         //Post preload data from the request to the event bus.  Modules that can handle preload data will annotate
@@ -546,6 +606,18 @@ public class ChannelProcessingManager implements Listener<ChannelEvent>
                 mLog.error("Error caught during processing chain startup - continuing", t);
             }
 
+            mChannelStartupMetrics.record(channel.getDecodeConfiguration().getDecoderType(), prebuilt,
+                System.nanoTime() - requestTimestamp);
+
+            //Pre-build decoder modules for the traffic channels of any traffic channel manager in this chain
+            for(Module module: processingChain.getModules())
+            {
+                if(module instanceof TrafficChannelManager trafficChannelManager)
+                {
+                    mProcessingChainPool.register(trafficChannelManager);
+                }
+            }
+
             if(GraphicsEnvironment.isHeadless())
             {
                 channel.setProcessing(true);
@@ -677,6 +749,15 @@ public class ChannelProcessingManager implements Listener<ChannelEvent>
             try
             {
                 processingChain.stop();
+
+                for(Module module: processingChain.getModules())
+                {
+                    if(module instanceof TrafficChannelManager trafficChannelManager)
+                    {
+                        mProcessingChainPool.deregister(trafficChannelManager);
+                    }
+                }
+
                 processingChain.removeEventLoggingModules();
                 processingChain.removeRecordingModules();
 
@@ -692,6 +773,9 @@ public class ChannelProcessingManager implements Listener<ChannelEvent>
                 //Unregister for event bus requests and notifications
                 processingChain.getEventBus().unregister(ChannelProcessingManager.this);
                 processingChain.dispose();
+
+                //Traffic channel is idle again and eligible for pre-built decoder modules
+                mProcessingChainPool.release(channel);
             }
             catch(Exception e)
             {
@@ -726,6 +810,8 @@ public class ChannelProcessingManager implements Listener<ChannelEvent>
                 mLog.error("Error stopping channel [" + channel.getName() + "] - " + ce.getMessage());
             }
         }
+
+        mProcessingChainPool.dispose();
     }
 
     /**
@@ -908,6 +994,11 @@ public class ChannelProcessingManager implements Listener<ChannelEvent>
         StringBuilder sb = new StringBuilder();
         sb.append("Channel Processing Manager - Diagnostics Report\n\n");
         sb.append(DIVIDER);
+        sb.append(mChannelStartupMetrics.getReport());
+        sb.append("\tProcessing Chain Pool - Pre-Built:").append(mProcessingChainPool.getPrebuiltCount());
+        sb.append(" Hits:").append(mProcessingChainPool.getHitCount());
+        sb.append(" Misses:").append(mProcessingChainPool.getMissCount()).append("\n");
+        sb.append(DIVIDER);
         sb.append("\tChannel to Processing Chain Map Contents\n");
         Map<Channel,ProcessingChain> mapCopy = new HashMap<>(mProcessingChainsMap);
         for(Map.Entry<Channel,ProcessingChain> entry: mapCopy.entrySet())
@@ -941,6 +1032,14 @@ public class ChannelProcessingManager implements Listener<ChannelEvent>
                 {
                     sb.append("Channel Source: (null)\n");
                 }
+
+                for(Module module: chain.getModules())
+                {
+                    if(module instanceof ISquelchIdleGateProvider provider)
+                    {
+                        sb.append(provider.getSquelchIdleGate().getStatistics()).append("\n");
+                    }
+                }
             }
             catch(Throwable t)
             {
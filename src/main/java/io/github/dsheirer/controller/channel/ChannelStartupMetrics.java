@@ -0,0 +1,191 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.controller.channel;
+
+import io.github.dsheirer.module.decode.DecoderType;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Channel startup latency histograms, tracked per decoder type and split by whether the processing chain was taken
+ * from the pre-built processing chain pool or constructed on demand.  Latency is measured from receipt of the start
+ * request until the processing chain is started, which includes tuner channel source allocation.
+ */
+public class ChannelStartupMetrics
+{
+    /**
+     * Upper bound (inclusive) in milliseconds for each histogram bucket.  A final overflow bucket collects anything
+     * larger than the last bound.
+     */
+    private static final long[] BUCKET_BOUNDS_MS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000};
+    private final Map<DecoderType,Histogram> mPrebuiltHistograms = new EnumMap<>(DecoderType.class);
+    private final Map<DecoderType,Histogram> mOnDemandHistograms = new EnumMap<>(DecoderType.class);
+
+    /**
+     * Constructs an instance with an empty histogram for each decoder type.
+     */
+    public ChannelStartupMetrics()
+    {
+        for(DecoderType decoderType: DecoderType.values())
+        {
+            mPrebuiltHistograms.put(decoderType, new Histogram());
+            mOnDemandHistograms.put(decoderType, new Histogram());
+        }
+    }
+
+    /**
+     * Records a channel startup latency.
+     * @param decoderType of the started channel
+     * @param prebuilt true if the processing chain was checked out of the processing chain pool
+     * @param latencyNanos elapsed time to start the channel
+     */
+    public void record(DecoderType decoderType, boolean prebuilt, long latencyNanos)
+    {
+        Histogram histogram = prebuilt ? mPrebuiltHistograms.get(decoderType) : mOnDemandHistograms.get(decoderType);
+
+        if(histogram != null)
+        {
+            histogram.record(latencyNanos);
+        }
+    }
+
+    /**
+     * Histogram of pre-built processing chain startup latencies for the decoder type.
+     */
+    public Histogram getPrebuiltHistogram(DecoderType decoderType)
+    {
+        return mPrebuiltHistograms.get(decoderType);
+    }
+
+    /**
+     * Histogram of on-demand processing chain startup latencies for the decoder type.
+     */
+    public Histogram getOnDemandHistogram(DecoderType decoderType)
+    {
+        return mOnDemandHistograms.get(decoderType);
+    }
+
+    /**
+     * Creates a diagnostic report listing the histogram of each decoder type that has at least one recorded startup.
+     */
+    public String getReport()
+    {
+        StringBuilder sb = new StringBuilder();
+        sb.append("\tChannel Startup Latency (milliseconds)\n");
+
+        for(DecoderType decoderType: DecoderType.values())
+        {
+            append(sb, decoderType, "Pre-Built", mPrebuiltHistograms.get(decoderType));
+            append(sb, decoderType, "On-Demand", mOnDemandHistograms.get(decoderType));
+        }
+
+        return sb.toString();
+    }
+
+    private static void append(StringBuilder sb, DecoderType decoderType, String label, Histogram histogram)
+    {
+        if(histogram.getCount() == 0)
+        {
+            return;
+        }
+
+        sb.append("\t\t").append(decoderType.getShortDisplayString()).append(" ").append(label);
+        sb.append(" Count:").append(histogram.getCount());
+        sb.append(" Mean:").append(String.format("%.2f", histogram.getMeanMilliseconds()));
+        sb.append(" Max:").append(String.format("%.2f", histogram.getMaxMilliseconds()));
+        sb.append(" Buckets:");
+
+        for(int x = 0; x < BUCKET_BOUNDS_MS.length; x++)
+        {
+            sb.append(" <=").append(BUCKET_BOUNDS_MS[x]).append(":").append(histogram.getBucketCount(x));
+        }
+
+        sb.append(" >").append(BUCKET_BOUNDS_MS[BUCKET_BOUNDS_MS.length - 1]).append(":")
+            .append(histogram.getBucketCount(BUCKET_BOUNDS_MS.length));
+        sb.append("\n");
+    }
+
+    /**
+     * Lock-free fixed bucket latency histogram.
+     */
+    public static class Histogram
+    {
+        private final AtomicLongArray mBuckets = new AtomicLongArray(BUCKET_BOUNDS_MS.length + 1);
+        private final AtomicLongArray mTotals = new AtomicLongArray(3); //Count, sum nanos, max nanos
+
+        /**
+         * Records a latency value.
+         * @param latencyNanos to record
+         */
+        public void record(long latencyNanos)
+        {
+            int bucket = BUCKET_BOUNDS_MS.length;
+
+            for(int x = 0; x < BUCKET_BOUNDS_MS.length; x++)
+            {
+                if(latencyNanos <= BUCKET_BOUNDS_MS[x] * 1_000_000)
+                {
+                    bucket = x;
+                    break;
+                }
+            }
+
+            mBuckets.incrementAndGet(bucket);
+            mTotals.incrementAndGet(0);
+            mTotals.addAndGet(1, latencyNanos);
+            mTotals.accumulateAndGet(2, latencyNanos, Math::max);
+        }
+
+        /**
+         * Number of recorded values.
+         */
+        public long getCount()
+        {
+            return mTotals.get(0);
+        }
+
+        /**
+         * Count of values recorded in the bucket.
+         * @param bucket index where the final index is the overflow bucket
+         */
+        public long getBucketCount(int bucket)
+        {
+            return mBuckets.get(bucket);
+        }
+
+        /**
+         * Mean recorded latency in milliseconds.
+         */
+        public double getMeanMilliseconds()
+        {
+            long count = getCount();
+            return count > 0 ? mTotals.get(1) / (double)count / 1E6 : 0.0;
+        }
+
+        /**
+         * Maximum recorded latency in milliseconds.
+         */
+        public double getMaxMilliseconds()
+        {
+            return mTotals.get(2) / 1E6;
+        }
+    }
+}
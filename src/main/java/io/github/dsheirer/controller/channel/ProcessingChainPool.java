@@ -0,0 +1,471 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.controller.channel;
+
+import io.github.dsheirer.alias.AliasModel;
+import io.github.dsheirer.channel.IChannelDescriptor;
+import io.github.dsheirer.channel.state.DecoderState;
+import io.github.dsheirer.controller.channel.map.ChannelMapModel;
+import io.github.dsheirer.module.Module;
+import io.github.dsheirer.module.decode.DecoderFactory;
+import io.github.dsheirer.module.decode.DecoderType;
+import io.github.dsheirer.module.decode.traffic.TrafficChannelManager;
+import io.github.dsheirer.preference.UserPreferences;
+import io.github.dsheirer.util.ThreadPool;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pool of pre-built processing chain decoder modules for the traffic channels owned by traffic channel managers.
+ *
+ * Traffic channel managers reuse a fixed set of traffic channel configurations across channel grants.  This pool
+ * builds the decoder modules (demodulator, decoder states, audio codec) for a few of those traffic channels on a
+ * background thread, ahead of a channel grant, so that the channel processing manager can assemble the processing
+ * chain for a grant without waiting on filter design or audio codec loading.  Decoder modules are single use: when a
+ * traffic channel stops, its modules are disposed with the processing chain and the pool builds a fresh set for the
+ * next idle traffic channel.
+ *
+ * The pre-built traffic channels for a manager are divided between the manager's decoder types (e.g. P25 Phase 1
+ * and Phase 2) in proportion to the channel grants observed for each decoder type.  Until grants are observed, the
+ * pre-built channels are divided evenly.  Pre-built modules that exceed a decoder type's share are disposed.
+ *
+ * Only decoder types whose traffic channel modules are independent of the channel grant, other than the channel
+ * descriptor, are pooled.  Other decoder types are built on demand by the channel processing manager.
+ */
+public class ProcessingChainPool
+{
+    private static final Logger mLog = LoggerFactory.getLogger(ProcessingChainPool.class);
+
+    /**
+     * Maximum number of idle traffic channels per traffic channel manager that have pre-built decoder modules.
+     */
+    public static final int PREBUILT_CHANNELS_PER_MANAGER = 4;
+
+    private final ChannelMapModel mChannelMapModel;
+    private final AliasModel mAliasModel;
+    private final UserPreferences mUserPreferences;
+    private final Map<TrafficChannelManager,List<Channel>> mManagedChannels = new ConcurrentHashMap<>();
+    private final Map<Channel,PrebuiltModules> mPrebuiltModules = new ConcurrentHashMap<>();
+    private final Set<Channel> mCheckedOutChannels = ConcurrentHashMap.newKeySet();
+    private final Map<TrafficChannelManager,Map<DecoderType,AtomicLong>> mGrantCounts = new ConcurrentHashMap<>();
+    private final BiFunction<Channel,TrafficChannelManager,List<Module>> mModuleBuilder;
+    private final AtomicLong mHitCount = new AtomicLong();
+    private final AtomicLong mMissCount = new AtomicLong();
+
+    /**
+     * Constructs an instance
+     * @param channelMapModel for decoder factory channel map lookups
+     * @param aliasModel for decoder factory alias list lookups
+     * @param userPreferences for decoder factory settings
+     */
+    public ProcessingChainPool(ChannelMapModel channelMapModel, AliasModel aliasModel, UserPreferences userPreferences)
+    {
+        mChannelMapModel = channelMapModel;
+        mAliasModel = aliasModel;
+        mUserPreferences = userPreferences;
+        mModuleBuilder = (channel, manager) -> DecoderFactory.getModules(mChannelMapModel, channel, mAliasModel,
+                mUserPreferences, manager, null);
+    }
+
+    /**
+     * Constructs an instance that uses the module builder to build the decoder modules for a traffic channel.
+     * @param moduleBuilder to build decoder modules for a traffic channel and manager
+     */
+    ProcessingChainPool(BiFunction<Channel,TrafficChannelManager,List<Module>> moduleBuilder)
+    {
+        mChannelMapModel = null;
+        mAliasModel = null;
+        mUserPreferences = null;
+        mModuleBuilder = moduleBuilder;
+    }
+
+    /**
+     * Indicates if the decoder modules for the channel can be pre-built.
+     * @param channel to test
+     * @return true if the channel is a traffic channel with a poolable decoder type.
+     */
+    public static boolean isPoolable(Channel channel)
+    {
+        if(channel != null && channel.isTrafficChannel() && channel.getDecodeConfiguration() != null)
+        {
+            DecoderType decoderType = channel.getDecodeConfiguration().getDecoderType();
+            return decoderType == DecoderType.P25_PHASE1 || decoderType == DecoderType.P25_PHASE2;
+        }
+
+        return false;
+    }
+
+    /**
+     * Registers a traffic channel manager and starts pre-building decoder modules for its managed traffic channels.
+     * @param manager to register
+     */
+    public void register(TrafficChannelManager manager)
+    {
+        List<Channel> channels = new ArrayList<>();
+
+        for(Channel channel: manager.getManagedTrafficChannels())
+        {
+            if(isPoolable(channel))
+            {
+                channels.add(channel);
+            }
+        }
+
+        if(!channels.isEmpty() && mManagedChannels.putIfAbsent(manager, channels) == null)
+        {
+            manager.setProcessingChainPool(this);
+            replenish(manager);
+        }
+    }
+
+    /**
+     * Deregisters the traffic channel manager and disposes any pre-built decoder modules for its traffic channels.
+     * @param manager to deregister
+     */
+    public void deregister(TrafficChannelManager manager)
+    {
+        List<Channel> channels = mManagedChannels.remove(manager);
+
+        if(channels != null)
+        {
+            manager.setProcessingChainPool(null);
+            mGrantCounts.remove(manager);
+
+            for(Channel channel: channels)
+            {
+                discard(mPrebuiltModules.remove(channel));
+            }
+        }
+    }
+
+    /**
+     * Deregisters all traffic channel managers and disposes all pre-built decoder modules.
+     */
+    public void dispose()
+    {
+        for(TrafficChannelManager manager: new ArrayList<>(mManagedChannels.keySet()))
+        {
+            deregister(manager);
+        }
+    }
+
+    /**
+     * Indicates if the channel has pre-built decoder modules that are ready to be checked out.
+     * @param channel to test
+     */
+    public boolean isPrebuilt(Channel channel)
+    {
+        PrebuiltModules prebuilt = mPrebuiltModules.get(channel);
+        return prebuilt != null && prebuilt.isReady();
+    }
+
+    /**
+     * Checks out the pre-built decoder modules for the traffic channel and applies the channel descriptor from the
+     * channel grant to the decoder states.  The channel is tracked as checked out until it is released.
+     *
+     * @param channel for the traffic channel grant
+     * @param manager that issued the channel grant
+     * @param channelDescriptor for the channel grant, may be null
+     * @return pre-built decoder modules or null if none are ready, in which case the caller should build them.
+     */
+    public List<Module> checkout(Channel channel, TrafficChannelManager manager, IChannelDescriptor channelDescriptor)
+    {
+        if(!isPoolable(channel))
+        {
+            return null;
+        }
+
+        mCheckedOutChannels.add(channel);
+
+        if(manager != null)
+        {
+            mGrantCounts.computeIfAbsent(manager, key -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(channel.getDecodeConfiguration().getDecoderType(), key -> new AtomicLong())
+                    .incrementAndGet();
+        }
+
+        List<Module> modules = null;
+        PrebuiltModules prebuilt = mPrebuiltModules.remove(channel);
+
+        if(prebuilt != null && prebuilt.manager() == manager && prebuilt.isReady())
+        {
+            modules = prebuilt.modules().join();
+
+            for(Module module: modules)
+            {
+                if(module instanceof DecoderState decoderState)
+                {
+                    decoderState.setCurrentChannel(channelDescriptor);
+                }
+            }
+
+            mHitCount.incrementAndGet();
+        }
+        else
+        {
+            discard(prebuilt);
+            mMissCount.incrementAndGet();
+        }
+
+        //Build modules for another idle traffic channel to replace the ones that were just checked out
+        if(manager != null)
+        {
+            replenish(manager);
+        }
+
+        return modules;
+    }
+
+    /**
+     * Releases a traffic channel that was previously checked out once the channel has stopped processing, making it
+     * eligible for pre-built decoder modules again.
+     * @param channel that stopped
+     */
+    public void release(Channel channel)
+    {
+        if(mCheckedOutChannels.remove(channel))
+        {
+            for(Map.Entry<TrafficChannelManager,List<Channel>> entry: mManagedChannels.entrySet())
+            {
+                if(entry.getValue().contains(channel))
+                {
+                    replenish(entry.getKey());
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Number of traffic channel starts that used pre-built decoder modules.
+     */
+    public long getHitCount()
+    {
+        return mHitCount.get();
+    }
+
+    /**
+     * Number of poolable traffic channel starts that had to build decoder modules on demand.
+     */
+    public long getMissCount()
+    {
+        return mMissCount.get();
+    }
+
+    /**
+     * Number of traffic channels with pre-built (or building) decoder modules.
+     */
+    public int getPrebuiltCount()
+    {
+        return mPrebuiltModules.size();
+    }
+
+    /**
+     * Number of traffic channels of the decoder type with pre-built (or building) decoder modules.
+     */
+    public int getPrebuiltCount(DecoderType decoderType)
+    {
+        int count = 0;
+
+        for(Channel channel: mPrebuiltModules.keySet())
+        {
+            if(channel.getDecodeConfiguration().getDecoderType() == decoderType)
+            {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Starts building decoder modules for idle traffic channels of the manager until each of the manager's decoder
+     * types has its share of the pre-built traffic channels, and disposes pre-built modules in excess of the share.
+     */
+    private synchronized void replenish(TrafficChannelManager manager)
+    {
+        List<Channel> channels = mManagedChannels.get(manager);
+
+        if(channels == null)
+        {
+            return;
+        }
+
+        Map<DecoderType,List<Channel>> channelsByType = new EnumMap<>(DecoderType.class);
+
+        for(Channel channel: channels)
+        {
+            channelsByType.computeIfAbsent(channel.getDecodeConfiguration().getDecoderType(),
+                    key -> new ArrayList<>()).add(channel);
+        }
+
+        Map<DecoderType,Integer> quotas = getQuotas(manager, channelsByType.keySet());
+
+        for(Map.Entry<DecoderType,List<Channel>> entry: channelsByType.entrySet())
+        {
+            int quota = quotas.get(entry.getKey());
+            int prebuiltCount = 0;
+
+            for(Channel channel: entry.getValue())
+            {
+                if(mPrebuiltModules.containsKey(channel))
+                {
+                    if(prebuiltCount < quota)
+                    {
+                        prebuiltCount++;
+                    }
+                    else
+                    {
+                        discard(mPrebuiltModules.remove(channel));
+                    }
+                }
+            }
+
+            for(Channel channel: entry.getValue())
+            {
+                if(prebuiltCount >= quota)
+                {
+                    break;
+                }
+
+                if(!mPrebuiltModules.containsKey(channel) && !mCheckedOutChannels.contains(channel))
+                {
+                    CompletableFuture<List<Module>> future = CompletableFuture.supplyAsync(() -> build(channel,
+                            manager), ThreadPool.CACHED);
+                    mPrebuiltModules.put(channel, new PrebuiltModules(manager, future));
+                    prebuiltCount++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Divides the pre-built traffic channels for the manager between the decoder types in proportion to the channel
+     * grants observed for each type.  Each type is weighted by its grant count plus one so that the channels are
+     * divided evenly before any grants are observed.  Remaining channels after the proportional division are assigned
+     * by largest fractional share.
+     * @param manager for observed grant counts
+     * @param decoderTypes of the manager's traffic channels
+     * @return quota of pre-built traffic channels for each decoder type
+     */
+    private Map<DecoderType,Integer> getQuotas(TrafficChannelManager manager, Set<DecoderType> decoderTypes)
+    {
+        Map<DecoderType,AtomicLong> grantCounts = mGrantCounts.getOrDefault(manager, Collections.emptyMap());
+        Map<DecoderType,Long> weights = new EnumMap<>(DecoderType.class);
+        long totalWeight = 0;
+
+        for(DecoderType decoderType: decoderTypes)
+        {
+            AtomicLong grantCount = grantCounts.get(decoderType);
+            long weight = (grantCount != null ? grantCount.get() : 0) + 1;
+            weights.put(decoderType, weight);
+            totalWeight += weight;
+        }
+
+        Map<DecoderType,Integer> quotas = new EnumMap<>(DecoderType.class);
+        Map<DecoderType,Long> remainders = new EnumMap<>(DecoderType.class);
+        int assigned = 0;
+
+        for(Map.Entry<DecoderType,Long> entry: weights.entrySet())
+        {
+            long share = entry.getValue() * PREBUILT_CHANNELS_PER_MANAGER;
+            quotas.put(entry.getKey(), (int)(share / totalWeight));
+            remainders.put(entry.getKey(), share % totalWeight);
+            assigned += (int)(share / totalWeight);
+        }
+
+        while(assigned < PREBUILT_CHANNELS_PER_MANAGER)
+        {
+            DecoderType largest = null;
+
+            for(Map.Entry<DecoderType,Long> entry: remainders.entrySet())
+            {
+                if(largest == null || entry.getValue() > remainders.get(largest))
+                {
+                    largest = entry.getKey();
+                }
+            }
+
+            quotas.merge(largest, 1, Integer::sum);
+            remainders.put(largest, -1L);
+            assigned++;
+        }
+
+        return quotas;
+    }
+
+    /**
+     * Builds the decoder modules for the traffic channel.
+     */
+    private List<Module> build(Channel channel, TrafficChannelManager manager)
+    {
+        try
+        {
+            return mModuleBuilder.apply(channel, manager);
+        }
+        catch(Throwable t)
+        {
+            mLog.error("Error pre-building decoder modules for traffic channel [" + channel.getName() + "]", t);
+            throw t;
+        }
+    }
+
+    /**
+     * Disposes the pre-built modules, once they finish building if they are still being built.
+     */
+    private static void discard(PrebuiltModules prebuilt)
+    {
+        if(prebuilt != null)
+        {
+            prebuilt.modules().thenAccept(modules -> {
+                for(Module module: modules)
+                {
+                    module.dispose();
+                }
+            });
+        }
+    }
+
+    /**
+     * Decoder modules being built or built for a traffic channel.
+     * @param manager that owns the traffic channel and that the decoder states are bound to
+     * @param modules future
+     */
+    private record PrebuiltModules(TrafficChannelManager manager, CompletableFuture<List<Module>> modules)
+    {
+        /**
+         * Indicates if the modules finished building without error.
+         */
+        public boolean isReady()
+        {
+            return modules.isDone() && !modules.isCompletedExceptionally();
+        }
+    }
+}
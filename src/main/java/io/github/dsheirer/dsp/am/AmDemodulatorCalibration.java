@@ -33,7 +33,6 @@ import org.apache.commons.math3.stat.descriptive.moment.Mean;
 public class AmDemodulatorCalibration extends Calibration
 {
     private static final int BUFFER_SIZE = 2048;
-    private static final int ITERATION_DURATION_MS = 1000;
     private static final int WARMUP_ITERATIONS = 5;
     private static final int TEST_ITERATIONS = 5;
     private IMagnitudeCalculator mMagnitudeCalculator = MagnitudeFactory.getMagnitudeCalculator();
@@ -196,7 +195,7 @@ public class AmDemodulatorCalibration extends Calibration
 
         long start = System.currentTimeMillis();
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             float[] demodulated = mScalarDemodulator.demodulateMagnitude(magnitude);
             accumulator += demodulated[1];
@@ -212,7 +211,7 @@ public class AmDemodulatorCalibration extends Calibration
         long count = 0;
         long start = System.currentTimeMillis();
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             float[] demodulated = mVectorDemodulator64.demodulateMagnitude(magnitude);
             accumulator += demodulated[1];
@@ -228,7 +227,7 @@ public class AmDemodulatorCalibration extends Calibration
         long count = 0;
         long start = System.currentTimeMillis();
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             float[] demodulated = mVectorDemodulator128.demodulateMagnitude(magnitude);
             accumulator += demodulated[1];
@@ -244,7 +243,7 @@ public class AmDemodulatorCalibration extends Calibration
         long count = 0;
         long start = System.currentTimeMillis();
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             float[] demodulated = mVectorAMDemodulator256.demodulateMagnitude(magnitude);
             accumulator += demodulated[1];
@@ -260,7 +259,7 @@ public class AmDemodulatorCalibration extends Calibration
         long count = 0;
         long start = System.currentTimeMillis();
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             float[] demodulated = mVectorAMDemodulator512.demodulateMagnitude(magnitude);
             accumulator += demodulated[1];
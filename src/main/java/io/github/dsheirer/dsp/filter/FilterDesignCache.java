@@ -0,0 +1,306 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.dsp.filter;
+
+import io.github.dsheirer.dsp.filter.design.FilterDesignException;
+import io.github.dsheirer.dsp.filter.fir.remez.RemezFIRFilterDesigner;
+import io.github.dsheirer.dsp.filter.fir.remez.RemezFIRFilterDesignerWithLagrange;
+import io.github.dsheirer.dsp.window.WindowFactory;
+import io.github.dsheirer.properties.SystemProperties;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Process-wide cache of designed filter coefficients, keyed by the complete filter design specification, so that
+ * the same filter is only designed once and is shared by every channel, decoder and channelizer that needs it.
+ *
+ * The cache can be loaded from and saved to a file so that filters designed in a previous session are available at
+ * startup without running the filter designer.  The file header carries a design fingerprint made from the cache
+ * format version, the application version and build, and a checksum of the filter design algorithm classes.  A file
+ * with a different fingerprint is discarded so that designs from a changed filter design algorithm are never reused.
+ *
+ * The cache holds at most MAX_ENTRIES designs and evicts the least recently used design when full.
+ */
+public class FilterDesignCache
+{
+    private static final Logger mLog = LoggerFactory.getLogger(FilterDesignCache.class);
+    private static final int CACHE_FILE_MAGIC = 0x46444331; //FDC1
+    private static final int CACHE_VERSION = 2;
+    private static final int MAX_ENTRIES = 2048;
+    private static final Class<?>[] DESIGN_CLASSES = {FilterFactory.class, RemezFIRFilterDesigner.class,
+        RemezFIRFilterDesignerWithLagrange.class, WindowFactory.class};
+    private static final FilterDesignCache sInstance = new FilterDesignCache();
+    private final Map<String,float[]> mDesigns = new LinkedHashMap<>(16, 0.75f, true)
+    {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String,float[]> eldest)
+        {
+            return size() > MAX_ENTRIES;
+        }
+    };
+    private final AtomicBoolean mModified = new AtomicBoolean();
+    private String mFingerprint;
+
+    /**
+     * Singleton constructor
+     */
+    private FilterDesignCache()
+    {
+    }
+
+    /**
+     * Singleton instance
+     */
+    public static FilterDesignCache getInstance()
+    {
+        return sInstance;
+    }
+
+    /**
+     * Retrieves a previously designed filter, or designs and caches the filter.  Failed or null designs are not
+     * cached.
+     *
+     * @param key that fully describes the filter design inputs
+     * @param designer to design the filter when it is not cached
+     * @return a copy of the filter coefficients, or null if the designer produced a null design.
+     * @throws FilterDesignException if the designer can't design the filter
+     */
+    public float[] get(String key, Designer designer) throws FilterDesignException
+    {
+        float[] coefficients;
+
+        synchronized(mDesigns)
+        {
+            coefficients = mDesigns.get(key);
+        }
+
+        if(coefficients == null)
+        {
+            coefficients = designer.design();
+
+            if(coefficients == null)
+            {
+                return null;
+            }
+
+            synchronized(mDesigns)
+            {
+                if(mDesigns.putIfAbsent(key, coefficients.clone()) == null)
+                {
+                    mModified.set(true);
+                }
+            }
+        }
+
+        //Callers are free to modify their coefficients, so never hand out the cached array
+        return coefficients.clone();
+    }
+
+    /**
+     * Number of cached filter designs.
+     */
+    public int size()
+    {
+        synchronized(mDesigns)
+        {
+            return mDesigns.size();
+        }
+    }
+
+    /**
+     * Removes all cached filter designs.
+     */
+    public void clear()
+    {
+        synchronized(mDesigns)
+        {
+            mDesigns.clear();
+        }
+
+        mModified.set(true);
+    }
+
+    /**
+     * Fingerprint of the filter design inputs and algorithm used to validate a cache file.  Combines the cache format
+     * version, the application version and build, and a checksum of the filter design algorithm classes so that a
+     * cache file is only reused by the same filter design code that produced it.
+     */
+    private synchronized String getFingerprint()
+    {
+        if(mFingerprint == null)
+        {
+            CRC32 crc = new CRC32();
+
+            for(Class<?> designClass: DESIGN_CLASSES)
+            {
+                String resource = designClass.getSimpleName() + ".class";
+
+                try(InputStream in = designClass.getResourceAsStream(resource))
+                {
+                    if(in != null)
+                    {
+                        crc.update(in.readAllBytes());
+                    }
+                }
+                catch(IOException ioe)
+                {
+                    mLog.warn("Unable to read filter design class [" + resource + "] for cache fingerprint");
+                }
+            }
+
+            mFingerprint = CACHE_VERSION + "|" + SystemProperties.getInstance().getApplicationName() + "|" +
+                Long.toHexString(crc.getValue());
+        }
+
+        return mFingerprint;
+    }
+
+    /**
+     * Loads cached filter designs from the file, if it exists.  A file with an unrecognized format or a different
+     * design fingerprint is ignored.
+     * @param path to the cache file
+     */
+    public void load(Path path)
+    {
+        if(path == null || !Files.exists(path))
+        {
+            return;
+        }
+
+        try(DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path))))
+        {
+            if(in.readInt() != CACHE_FILE_MAGIC || in.readInt() != CACHE_VERSION ||
+                !getFingerprint().equals(in.readUTF()))
+            {
+                mLog.info("Ignoring filter design cache file with unrecognized format or version [" + path + "]");
+                return;
+            }
+
+            int count = in.readInt();
+
+            for(int x = 0; x < count; x++)
+            {
+                String key = in.readUTF();
+                float[] coefficients = new float[in.readInt()];
+
+                for(int y = 0; y < coefficients.length; y++)
+                {
+                    coefficients[y] = in.readFloat();
+                }
+
+                synchronized(mDesigns)
+                {
+                    mDesigns.putIfAbsent(key, coefficients);
+                }
+            }
+
+            mLog.info("Loaded [" + count + "] filter designs from cache");
+        }
+        catch(IOException ioe)
+        {
+            mLog.warn("Error reading filter design cache file [" + path + "] - " + ioe.getMessage());
+        }
+    }
+
+    /**
+     * Saves the cached filter designs to the file when designs have been added since the last load or save.  Designs
+     * are written from least to most recently used so that loading the file restores the eviction order.
+     * @param path to the cache file
+     */
+    public void save(Path path)
+    {
+        if(path == null || !mModified.getAndSet(false))
+        {
+            return;
+        }
+
+        List<Map.Entry<String,float[]>> snapshot;
+
+        synchronized(mDesigns)
+        {
+            snapshot = new ArrayList<>(mDesigns.size());
+
+            for(Map.Entry<String,float[]> entry: mDesigns.entrySet())
+            {
+                snapshot.add(Map.entry(entry.getKey(), entry.getValue()));
+            }
+        }
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+
+        try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp))))
+        {
+            out.writeInt(CACHE_FILE_MAGIC);
+            out.writeInt(CACHE_VERSION);
+            out.writeUTF(getFingerprint());
+            out.writeInt(snapshot.size());
+
+            for(Map.Entry<String,float[]> entry: snapshot)
+            {
+                out.writeUTF(entry.getKey());
+                out.writeInt(entry.getValue().length);
+
+                for(float coefficient: entry.getValue())
+                {
+                    out.writeFloat(coefficient);
+                }
+            }
+        }
+        catch(IOException ioe)
+        {
+            mLog.warn("Error writing filter design cache file [" + path + "] - " + ioe.getMessage());
+            mModified.set(true);
+            return;
+        }
+
+        try
+        {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch(IOException ioe)
+        {
+            mLog.warn("Error replacing filter design cache file [" + path + "] - " + ioe.getMessage());
+            mModified.set(true);
+        }
+    }
+
+    /**
+     * Filter designer invoked when a filter design is not cached.
+     */
+    public interface Designer
+    {
+        float[] design() throws FilterDesignException;
+    }
+}
@@ -697,13 +697,23 @@ public class FilterFactory
     }
 
     /**
-     * Creates a filter from the filter specification using the remez exchange design algorithm
+     * Creates a filter from the filter specification using the remez exchange design algorithm, or reuses a previous
+     * design of the same specification from the filter design cache.
      *
      * @param specification
      * @return filter coefficients
      * @throws FilterDesignException if the filter cannot be designed
      */
     public static float[] getTaps(FIRFilterSpecification specification) throws FilterDesignException
+    {
+        return FilterDesignCache.getInstance().get("remez:" + specification.getDesignKey(),
+            () -> designTaps(specification));
+    }
+
+    /**
+     * Designs a filter from the filter specification using the remez exchange design algorithm.
+     */
+    private static float[] designTaps(FIRFilterSpecification specification) throws FilterDesignException
     {
         RemezFIRFilterDesigner designer = new RemezFIRFilterDesigner(specification);
 
@@ -789,6 +799,18 @@ public class FilterFactory
      */
     public static float[] getSincM2Synthesizer(double channelSampleRate, double channelBandwidth, int channels,
                                                int tapsPerChannel) throws FilterDesignException
+    {
+        String key = "sincM2Synthesizer:" + channelSampleRate + "," + channelBandwidth + "," + channels + "," +
+            tapsPerChannel;
+        return FilterDesignCache.getInstance().get(key,
+            () -> designSincM2Synthesizer(channelSampleRate, channelBandwidth, channels, tapsPerChannel));
+    }
+
+    /**
+     * Designs the polyphase M2 synthesizer sync filter.
+     */
+    private static float[] designSincM2Synthesizer(double channelSampleRate, double channelBandwidth, int channels,
+                                                   int tapsPerChannel) throws FilterDesignException
     {
         int filterLength = (channels * tapsPerChannel) - 1;
 
@@ -842,6 +864,18 @@ public class FilterFactory
      */
     public static float[] getSincM2Channelizer(double channelBandwidth, int channels, int tapsPerChannel,
                                                boolean logResults) throws FilterDesignException
+    {
+        String key = "sincM2Channelizer:" + channelBandwidth + "," + channels + "," + tapsPerChannel;
+        return FilterDesignCache.getInstance().get(key,
+            () -> designSincM2Channelizer(channelBandwidth, channels, tapsPerChannel, logResults));
+    }
+
+    /**
+     * Designs the polyphase M2 channelizer sync filter.  The design results are only logged when the filter is
+     * designed, not when it is reused from the filter design cache.
+     */
+    private static float[] designSincM2Channelizer(double channelBandwidth, int channels, int tapsPerChannel,
+                                                   boolean logResults) throws FilterDesignException
     {
         int currentTapsPerChannel = tapsPerChannel;
         int filterLength = (channels * currentTapsPerChannel) - 1;
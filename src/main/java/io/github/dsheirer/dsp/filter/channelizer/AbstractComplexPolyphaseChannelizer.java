@@ -98,15 +98,83 @@ public abstract class AbstractComplexPolyphaseChannelizer implements Listener<In
     }
 
     /**
-     * Dispatches the processed channel samples to any registered polyphase channel outputs.
+     * Transposes the processed channel sample rows into per-channel contiguous sample arrays and dispatches the
+     * per-channel arrays to any registered polyphase channel outputs.  Only the channel indexes that are currently
+     * used by a registered channel output are extracted, so each output processor receives just its own samples
+     * instead of walking every full-width row.
+     *
+     * Note: the rows in the channel results list are not retained after this method returns and can be reused.
      *
      * @param channelResultsList a list of arrays of I/Q samples per channel
      */
     protected void dispatch(List<float[]> channelResultsList)
     {
+        if(mChannels.isEmpty() || channelResultsList.isEmpty())
+        {
+            return;
+        }
+
+        boolean[] registered = new boolean[mChannelCount];
+        int registeredCount = 0;
+
+        for(PolyphaseChannelSource channel : mChannels)
+        {
+            //Apply any pending output processor update on this thread so that the channel indexes can't change
+            //between the transpose and the hand-off to the channel
+            try
+            {
+                channel.applyPendingOutputProcessorUpdate();
+            }
+            catch(Exception e)
+            {
+                mLog.error("Error updating polyphase channel source output processor", e);
+            }
+
+            for(Integer index : channel.getOutputProcessorIndexes())
+            {
+                if(index >= 0 && index < mChannelCount && !registered[index])
+                {
+                    registered[index] = true;
+                    registeredCount++;
+                }
+            }
+        }
+
+        int[] indexes = new int[registeredCount];
+        int pointer = 0;
+
+        for(int x = 0; x < registered.length; x++)
+        {
+            if(registered[x])
+            {
+                indexes[pointer++] = x;
+            }
+        }
+
+        float[][] channelResults = new float[mChannelCount][];
+        int length = channelResultsList.size() * 2;
+
+        for(int index : indexes)
+        {
+            channelResults[index] = new float[length];
+        }
+
+        int offset = 0;
+
+        for(float[] row : channelResultsList)
+        {
+            for(int index : indexes)
+            {
+                channelResults[index][offset] = row[2 * index];
+                channelResults[index][offset + 1] = row[2 * index + 1];
+            }
+
+            offset += 2;
+        }
+
         for(PolyphaseChannelSource channel : mChannels)
         {
-            channel.receiveChannelResults(channelResultsList, mCurrentSamplesTimestamp);
+            channel.receiveChannelResults(channelResults, mCurrentSamplesTimestamp);
         }
     }
 
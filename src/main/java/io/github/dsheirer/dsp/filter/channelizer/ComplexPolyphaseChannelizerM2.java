@@ -25,6 +25,8 @@ import io.github.dsheirer.util.Dispatcher;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
 import org.apache.commons.math3.util.FastMath;
 import org.jtransforms.fft.FloatFFT_1D;
 import org.slf4j.Logger;
@@ -38,18 +40,20 @@ import org.slf4j.LoggerFactory;
  * Processing for Communications Systems, p230-233.
  *
  * Samples are loaded into this filter one block at a time (1/2 channel count) and a filtered output is calculated
- * to produce an overall 2x oversampled channel sample rate.  Each sample block load is preceded by a serpentine
- * shift of the existing sample blocks.  We use the java System.arrayCopy() method which is able to leverage
- * native processor intrinsics for efficiency.
+ * to produce an overall 2x oversampled channel sample rate.  The sample history is held in a doubled buffer where
+ * each new block is loaded immediately ahead of the current history window and the window start simply moves back
+ * by one block, which effects the serpentine shift without moving any samples.  Once the window reaches the start
+ * of the buffer, the retained history is copied back to the end of the buffer in a single System.arrayCopy(), so
+ * the copy cost is amortized across a full buffer of blocks rather than incurred for every block.
  *
  * The prototype filter for the channelizer is rearranged to align with the structure of the sample buffer.
  *
  * Instead of using an array of channel filters as described in the Harris text, this filter and the sample buffer
  * are arranged as a contiguous array to maximize Java's ability to leverage native processor Single Instruction
- * Multiple Data (SIMD) intrinsics (since Java 8).  The filter process is broken into four steps:
+ * Multiple Data (SIMD) intrinsics.  The filter process is broken into three steps:
  *
- *   -Multiply the inline array of samples and filter coefficients
- *   -Accumulate the results for each sub-channel
+ *   -Multiply and accumulate (fused) the inline array of samples and filter coefficients for each sub-channel using
+ *    the scalar or vector accumulator implementation selected via calibration
  *   -Rearrange the sub-channel results to correctly order the sub-channels
  *   -Perform IFFT
  *
@@ -68,11 +72,20 @@ public class ComplexPolyphaseChannelizerM2 extends AbstractComplexPolyphaseChann
      */
     private static final int PROCESSED_CHANNEL_RESULTS_THRESHOLD = 1024;
 
+    /**
+     * Maximum number of processed channel results arrays to retain for reuse once they've been dispatched.
+     */
+    private static final int RECYCLED_CHANNEL_RESULTS_CAPACITY = PROCESSED_CHANNEL_RESULTS_THRESHOLD * 4;
+
     //Sized to process 40 times per second
     private IFFTProcessorDispatcher mIFFTProcessorDispatcher = new IFFTProcessorDispatcher(25);
     private FloatFFT_1D mFFT;
+    private IPolyphaseAccumulator mAccumulator = PolyphaseAccumulatorFactory.getAccumulator();
     private float[] mInlineSamples;
     private float[] mInlineFilter;
+    private float[] mFilterAccumulator;
+    private int mHistoryOffset;
+    private int mHistoryLength;
     private boolean mTopBlockIndicator = true;
     private int[] mTopBlockMap;
     private int[] mMiddleBlockMap;
@@ -80,6 +93,7 @@ public class ComplexPolyphaseChannelizerM2 extends AbstractComplexPolyphaseChann
     private int mSamplesPerBlock;
     private int mTapsPerChannel;
     private List<float[]> mProcessedChannelResultsList = new ArrayList<>();
+    private Queue<float[]> mRecycledChannelResults = new ArrayBlockingQueue<>(RECYCLED_CHANNEL_RESULTS_CAPACITY);
 
     /**
      * Creates a NMDPFB channelizer instance.
@@ -210,7 +224,8 @@ public class ComplexPolyphaseChannelizerM2 extends AbstractComplexPolyphaseChann
                     samplesToCopy = samplesDiff;
                 }
 
-                System.arraycopy(samples, samplesPointer, mInlineSamples, mSampleBufferPointer, samplesToCopy);
+                System.arraycopy(samples, samplesPointer, mInlineSamples, mHistoryOffset + mSampleBufferPointer,
+                    samplesToCopy);
 
                 mSampleBufferPointer += samplesToCopy;
                 samplesPointer += samplesToCopy;
@@ -227,13 +242,33 @@ public class ComplexPolyphaseChannelizerM2 extends AbstractComplexPolyphaseChann
                     mProcessedChannelResultsList.clear();
                 }
 
-                //Right-shift the samples in the buffer over to make room for a new block of samples
-                System.arraycopy(mInlineSamples, 0, mInlineSamples, mSamplesPerBlock, (mInlineSamples.length - mSamplesPerBlock));
+                advanceHistory();
                 mSampleBufferPointer = 0;
             }
         }
     }
 
+    /**
+     * Moves the sample history window back by one block so that the next block of samples is loaded immediately
+     * ahead of the current history, effectively right-shifting the history by one block.  When the window reaches
+     * the start of the buffer, the retained history (all but the oldest block) is copied to the end of the buffer and
+     * the window resumes from there.
+     */
+    private void advanceHistory()
+    {
+        if(mHistoryOffset < mSamplesPerBlock)
+        {
+            int retained = mHistoryLength - mSamplesPerBlock;
+            int reloadOffset = mInlineSamples.length - mHistoryLength;
+            System.arraycopy(mInlineSamples, mHistoryOffset, mInlineSamples, reloadOffset + mSamplesPerBlock, retained);
+            mHistoryOffset = reloadOffset;
+        }
+        else
+        {
+            mHistoryOffset -= mSamplesPerBlock;
+        }
+    }
+
     /**
      * Creates a top-block processing accumulator map that maps each interim filter and sample index product
      * to the corresponding final output index for the array that will feed the IFFT.
@@ -332,49 +367,26 @@ public class ComplexPolyphaseChannelizerM2 extends AbstractComplexPolyphaseChann
 
     /**
      * Processes the sample buffer for each new block of sample data that is loaded and distributes the results to any
-     * registered channel listeners.
+     * registered channel listeners.  The returned array is reused from the recycled arrays queue when available.
      */
     private float[] process()
     {
-        int bufferLength = getSubChannelCount() * mTapsPerChannel;
-        float[] inlineInterimOutput = new float[bufferLength];
-
-        //Multiply each of the samples by the corresponding filter tap
-        for(int x = 0; x < mInlineSamples.length; x++)
-        {
-            inlineInterimOutput[x] = mInlineSamples[x] * mInlineFilter[x];
-        }
+        mAccumulator.accumulate(mInlineSamples, mHistoryOffset, mInlineFilter, mFilterAccumulator,
+            getSubChannelCount());
 
-        float[] filterAccumulator = new float[getSubChannelCount()];
+        float[] processed = mRecycledChannelResults.poll();
 
-        int tapOffset = 0;
-
-        //Accumulate the sample/filter product results into each of the I/Q sub-channels
-        for(int tap = 0; tap < mTapsPerChannel; tap++)
+        //Recycled arrays can be sized for a previous channel count after a sample rate change
+        if(processed == null || processed.length != getSubChannelCount())
         {
-            tapOffset = tap * getSubChannelCount();
-
-            for(int channel = 0; channel < getSubChannelCount(); channel++)
-            {
-                filterAccumulator[channel] += inlineInterimOutput[tapOffset + channel];
-            }
+            processed = new float[getSubChannelCount()];
         }
 
-        float[] processed = new float[getSubChannelCount()];
+        int[] map = mTopBlockIndicator ? mTopBlockMap : mMiddleBlockMap;
 
-        if(mTopBlockIndicator)
+        for(int x = 0; x < processed.length; x++)
         {
-            for(int x = 0; x < getSubChannelCount(); x++)
-            {
-                processed[x] = filterAccumulator[mTopBlockMap[x]];
-            }
-        }
-        else
-        {
-            for(int x = 0; x < getSubChannelCount(); x++)
-            {
-                processed[x] = filterAccumulator[mMiddleBlockMap[x]];
-            }
+            processed[x] = mFilterAccumulator[map[x]];
         }
 
         mTopBlockIndicator = !mTopBlockIndicator;
@@ -396,7 +408,13 @@ public class ComplexPolyphaseChannelizerM2 extends AbstractComplexPolyphaseChann
         mTopBlockMap = getTopBlockMap(channelCount);
         mMiddleBlockMap = getMiddleBlockMap(channelCount);
         mInlineFilter = getAlignedFilter(coefficients, channelCount, mTapsPerChannel);
-        mInlineSamples = new float[bufferLength];
+        mFilterAccumulator = new float[getSubChannelCount()];
+
+        //Doubled history buffer - the history window starts at the end of the buffer and walks back toward the start
+        mHistoryLength = bufferLength;
+        mInlineSamples = new float[bufferLength * 2];
+        mHistoryOffset = bufferLength;
+        mSampleBufferPointer = 0;
     }
 
     /**
@@ -413,23 +431,27 @@ public class ComplexPolyphaseChannelizerM2 extends AbstractComplexPolyphaseChann
             //We create a listener interface to receive the batched channel results arrays from the scheduled thread pool
             //dispatcher thread that is part of this continuous buffer processor.  We perform an IFFT on each
             //channel results array contained in each results buffer and then dispatch the buffer
-            //so that it can be distributed to each channel listener.
+            //so that it can be distributed to each channel listener.  Once dispatched, the channel results arrays
+            //are returned to the recycle queue for reuse by the filter stage.
             setListener(list -> {
                 try
                 {
-                    List<float[]> processedChannelResults = new ArrayList<>();
+                    for(float[] channelResults: list)
+                    {
+                        //Rotate each of the channels to the correct phase using the IFFT
+                        mFFT.complexInverse(channelResults, true);
+                    }
+
+                    //Dispatch transposes the results into per-channel arrays, so the rows can be reused afterward
+                    dispatch(list);
 
                     for(float[] channelResults: list)
                     {
-                        if(channelResults != null)
+                        if(!mRecycledChannelResults.offer(channelResults))
                         {
-                            //Rotate each of the channels to the correct phase using the IFFT
-                            mFFT.complexInverse(channelResults, true);
-                            processedChannelResults.add(channelResults);
+                            break;
                         }
                     }
-
-                    dispatch(processedChannelResults);
                 }
                 catch(Throwable t)
                 {
@@ -0,0 +1,39 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.dsp.filter.channelizer;
+
+/**
+ * Polyphase channelizer filter stage that performs a fused multiply-accumulate of the inline sample history against
+ * the inline (aligned) prototype filter, producing one accumulated value for each of the I/Q sub-channels.
+ */
+public interface IPolyphaseAccumulator
+{
+    /**
+     * Multiplies each sample by the corresponding filter coefficient and accumulates the products for each sub-channel
+     * into the accumulator array.  Both the sample window and the filter are arranged as tapsPerChannel rows of
+     * subChannelCount values.  The accumulator is overwritten (not added to).
+     *
+     * @param samples array containing the sample history window
+     * @param offset to the start of the sample history window within the samples array
+     * @param filter coefficients aligned to the sample history window, length: subChannelCount * tapsPerChannel
+     * @param accumulator to receive the results, length: subChannelCount
+     * @param subChannelCount number of I/Q sub-channels (2 x channel count)
+     */
+    void accumulate(float[] samples, int offset, float[] filter, float[] accumulator, int subChannelCount);
+}
@@ -0,0 +1,55 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.dsp.filter.channelizer;
+
+import io.github.dsheirer.vector.calibrate.CalibrationManager;
+import io.github.dsheirer.vector.calibrate.CalibrationType;
+import io.github.dsheirer.vector.calibrate.Implementation;
+
+/**
+ * Factory for creating polyphase channelizer multiply-accumulate implementations
+ */
+public class PolyphaseAccumulatorFactory
+{
+    /**
+     * Creates a polyphase accumulator implementation using calibration data to select the optimal
+     * implementation from scalar and vector options.
+     * @return accumulator instance
+     */
+    public static IPolyphaseAccumulator getAccumulator()
+    {
+        Implementation implementation = CalibrationManager.getInstance()
+                .getImplementation(CalibrationType.CHANNELIZER_POLYPHASE_ACCUMULATOR);
+
+        switch(implementation)
+        {
+            case VECTOR_SIMD_64:
+                return new VectorPolyphaseAccumulator64();
+            case VECTOR_SIMD_128:
+                return new VectorPolyphaseAccumulator128();
+            case VECTOR_SIMD_256:
+                return new VectorPolyphaseAccumulator256();
+            case VECTOR_SIMD_512:
+                return new VectorPolyphaseAccumulator512();
+            case SCALAR:
+            default:
+                return new ScalarPolyphaseAccumulator();
+        }
+    }
+}
@@ -20,6 +20,7 @@ package io.github.dsheirer.dsp.filter.channelizer;
 
 import io.github.dsheirer.buffer.INativeBuffer;
 import io.github.dsheirer.buffer.INativeBufferProvider;
+import io.github.dsheirer.buffer.IRetainingNativeBufferListener;
 import io.github.dsheirer.controller.channel.event.ChannelStopProcessingRequest;
 import io.github.dsheirer.dsp.filter.design.FilterDesignException;
 import io.github.dsheirer.eventbus.MyEventBus;
@@ -71,6 +72,8 @@ public class PolyphaseChannelManager implements ISourceEventProcessor
     private static final double MINIMUM_CHANNEL_BANDWIDTH = 25000.0;
     private static final double CHANNEL_OVERSAMPLING = 2.0;
     private static final int POLYPHASE_CHANNELIZER_TAPS_PER_CHANNEL = 9;
+    private static final int FAST_REPLAY_CHANNEL_QUEUE_LIMIT = 4;
+    private static final long FAST_REPLAY_CHANNEL_QUEUE_POLL_MS = 2;
 
     private Broadcaster<SourceEvent> mSourceEventBroadcaster = new Broadcaster<>();
     private INativeBufferProvider mNativeBufferProvider;
@@ -80,9 +83,11 @@ public class PolyphaseChannelManager implements ISourceEventProcessor
     private ComplexPolyphaseChannelizerM2 mPolyphaseChannelizer;
     private ChannelSourceEventListener mChannelSourceEventListener = new ChannelSourceEventListener();
     private NativeBufferReceiver mNativeBufferReceiver = new NativeBufferReceiver();
+    private NativeBufferRetainer mNativeBufferRetainer = new NativeBufferRetainer();
     private Dispatcher mBufferDispatcher;
     private Map<Integer,float[]> mOutputProcessorFilters = new HashMap<>();
     private boolean mRunning = true;
+    private boolean mFastReplay;
 
     /**
      * Creates a polyphase channel manager instance.
@@ -110,7 +115,9 @@ public class PolyphaseChannelManager implements ISourceEventProcessor
         }
 
         mChannelCalculator = new ChannelCalculator(sampleRate, channelCount, frequency, CHANNEL_OVERSAMPLING);
-        mBufferDispatcher = new Dispatcher("sdrtrunk polyphase buffer processor", 10);
+        //The channelizer filter and IFFT for the full tuner bandwidth is long-running - use a dedicated thread so that it
+        //doesn't occupy a shared dispatcher pool thread needed by the channels.
+        mBufferDispatcher = new Dispatcher("sdrtrunk polyphase buffer processor", 10, true);
         mBufferDispatcher.setListener(mNativeBufferReceiver);
     }
 
@@ -122,6 +129,7 @@ public class PolyphaseChannelManager implements ISourceEventProcessor
     public PolyphaseChannelManager(TunerController tunerController)
     {
         this(tunerController, tunerController.getFrequency(), tunerController.getSampleRate());
+        mFastReplay = tunerController.isFastReplay();
     }
 
     /**
@@ -203,6 +211,11 @@ public class PolyphaseChannelManager implements ISourceEventProcessor
                 channelSource = new PolyphaseChannelSource(tunerChannel, mChannelCalculator, mFilterManager,
                         mChannelSourceEventListener, threadName);
 
+                if(mFastReplay)
+                {
+                    channelSource.useSampleTimestampHeartbeats();
+                }
+
                 mChannelSources.add(channelSource);
             }
             catch(IllegalArgumentException iae)
@@ -215,6 +228,42 @@ public class PolyphaseChannelManager implements ISourceEventProcessor
         return channelSource;
     }
 
+    /**
+     * Waits until each channel has no more than a few batches of channel results queued for processing.  Invoked
+     * for fast replay tuners before releasing each sample buffer, so that the replay is paced by the slowest channel
+     * and the channel queues stay bounded.
+     */
+    private void waitForChannelQueues()
+    {
+        while(mBufferDispatcher.isRunning() && getMaximumChannelQueueSize() > FAST_REPLAY_CHANNEL_QUEUE_LIMIT)
+        {
+            try
+            {
+                Thread.sleep(FAST_REPLAY_CHANNEL_QUEUE_POLL_MS);
+            }
+            catch(InterruptedException ie)
+            {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Largest quantity of channel results batches that are queued for processing by any one channel.
+     */
+    private int getMaximumChannelQueueSize()
+    {
+        int maximum = 0;
+
+        for(PolyphaseChannelSource channelSource: mChannelSources)
+        {
+            maximum = Math.max(maximum, channelSource.getQueueSize());
+        }
+
+        return maximum;
+    }
+
     /**
      * Starts/adds the channel source to receive channelized sample buffers, registering with the tuner to receive
      * sample buffers when this is the first channel.
@@ -234,7 +283,7 @@ public class PolyphaseChannelManager implements ISourceEventProcessor
             //If this is the first channel, register to start the sample buffers flowing
             if(mPolyphaseChannelizer.getRegisteredChannelCount() == 1)
             {
-                mNativeBufferProvider.addBufferListener(mBufferDispatcher);
+                mNativeBufferProvider.addBufferListener(mNativeBufferRetainer);
                 mPolyphaseChannelizer.start();
                 mBufferDispatcher.start();
             }
@@ -263,7 +312,7 @@ public class PolyphaseChannelManager implements ISourceEventProcessor
             //If this is the last/only channel, deregister to stop the sample buffers
             if(mPolyphaseChannelizer != null && mPolyphaseChannelizer.getRegisteredChannelCount() == 0)
             {
-                mNativeBufferProvider.removeBufferListener(mBufferDispatcher);
+                mNativeBufferProvider.removeBufferListener(mNativeBufferRetainer);
                 mBufferDispatcher.stop();
                 mPolyphaseChannelizer.stop();
             }
@@ -517,22 +566,53 @@ public class PolyphaseChannelManager implements ISourceEventProcessor
                 mOutputProcessorUpdateRequired = false;
             }
 
-            if(mPolyphaseChannelizer != null)
+            try
             {
-                Iterator<InterleavedComplexSamples> iterator = nativeBuffer.iteratorInterleaved();
-
-                while(iterator.hasNext())
+                if(mPolyphaseChannelizer != null)
                 {
-                    try
+                    //The channelizer copies each fragment, so we can use the reusable fragment iterator
+                    Iterator<InterleavedComplexSamples> iterator = nativeBuffer.iteratorInterleavedReusable();
+
+                    while(iterator.hasNext())
                     {
-                        mPolyphaseChannelizer.receive(iterator.next());
+                        try
+                        {
+                            mPolyphaseChannelizer.receive(iterator.next());
+                        }
+                        catch(Throwable throwable)
+                        {
+                            mLog.error("Error", throwable);
+                        }
                     }
-                    catch(Throwable throwable)
+
+                    if(mFastReplay)
                     {
-                        mLog.error("Error", throwable);
+                        waitForChannelQueues();
                     }
                 }
             }
+            finally
+            {
+                nativeBuffer.release();
+            }
+        }
+    }
+
+    /**
+     * Tuner buffer listener that retains each native buffer before enqueueing it on the buffer dispatcher.  The
+     * native buffer receiver releases the buffer once the channelizer has processed it.
+     */
+    public class NativeBufferRetainer implements Listener<INativeBuffer>, IRetainingNativeBufferListener
+    {
+        @Override
+        public void receive(INativeBuffer nativeBuffer)
+        {
+            //The dispatcher ignores buffers when it's not running, so only retain buffers that it will process
+            if(mBufferDispatcher.isRunning())
+            {
+                nativeBuffer.retain();
+                mBufferDispatcher.receive(nativeBuffer);
+            }
         }
     }
 }
\ No newline at end of file
@@ -263,14 +263,11 @@ public class PolyphaseChannelSource extends TunerChannelSource implements Listen
     }
 
     /**
-     * Primary method for receiving channel results output from a polyphase channelizer.  The results buffer will be
-     * queued for processing to extract the target channel samples, process them for frequency correction and/or
-     * channel aggregation, and dispatch the results to the downstream sample listener/consumer.
-     *
-     * @param channelResultsList containing a list of polyphase channelizer output arrays.
-     * @param currentSamplesTimestamp for the samples
+     * Applies any pending output processor update.  This method must be invoked on the channel results calling
+     * thread, prior to the channelizer reading the output processor indexes for a batch of channel results.
+     * @throws IllegalArgumentException if the channel is no longer viable with the updated channel calculator.
      */
-    public void receiveChannelResults(List<float[]> channelResultsList, long currentSamplesTimestamp)
+    public void applyPendingOutputProcessorUpdate() throws IllegalArgumentException
     {
         if(mPendingOutputProcessorUpdate != null)
         {
@@ -279,12 +276,24 @@ public class PolyphaseChannelSource extends TunerChannelSource implements Listen
             mPendingOutputProcessorUpdate = null;
             doUpdateOutputProcessor(channelCalculator, filterManager);
         }
+    }
 
+    /**
+     * Primary method for receiving channel results output from a polyphase channelizer.  The results will be
+     * queued for processing to extract the target channel samples, process them for frequency correction and/or
+     * channel aggregation, and dispatch the results to the downstream sample listener/consumer.
+     *
+     * @param channelResults array indexed by polyphase channel index, where each non-null entry contains the
+     * interleaved I/Q samples for that channel index.
+     * @param currentSamplesTimestamp for the samples
+     */
+    public void receiveChannelResults(float[][] channelResults, long currentSamplesTimestamp)
+    {
         try
         {
             if(mPolyphaseChannelOutputProcessor != null)
             {
-                mPolyphaseChannelOutputProcessor.receiveChannelResults(channelResultsList, currentSamplesTimestamp);
+                mPolyphaseChannelOutputProcessor.receiveChannelResults(channelResults, currentSamplesTimestamp);
             }
         }
         catch(Exception e)
@@ -293,6 +302,28 @@ public class PolyphaseChannelSource extends TunerChannelSource implements Listen
         }
     }
 
+    /**
+     * Quantity of channel results batches that are queued for this channel and waiting to be processed.
+     */
+    public int getQueueSize()
+    {
+        IPolyphaseChannelOutputProcessor outputProcessor = mPolyphaseChannelOutputProcessor;
+        return outputProcessor != null ? outputProcessor.getQueueSize() : 0;
+    }
+
+    /**
+     * Timestamps the heartbeats for this channel with the timestamp of the samples that were most recently processed,
+     * instead of the system time.  Use when the tuner replays recorded samples faster than real time, so that the
+     * channel state timers follow the recording timeline.
+     */
+    public void useSampleTimestampHeartbeats()
+    {
+        getHeartbeatManager().setClock(() -> {
+            IPolyphaseChannelOutputProcessor outputProcessor = mPolyphaseChannelOutputProcessor;
+            return outputProcessor != null ? outputProcessor.getCurrentSampleTimestamp() : System.currentTimeMillis();
+        });
+    }
+
     /**
      * Downstream channel sample rate
      *
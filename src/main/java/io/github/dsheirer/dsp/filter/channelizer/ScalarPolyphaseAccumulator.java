@@ -0,0 +1,45 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.dsp.filter.channelizer;
+
+import java.util.Arrays;
+
+/**
+ * Scalar implementation of the polyphase channelizer multiply-accumulate filter stage.
+ */
+public class ScalarPolyphaseAccumulator implements IPolyphaseAccumulator
+{
+    @Override
+    public void accumulate(float[] samples, int offset, float[] filter, float[] accumulator, int subChannelCount)
+    {
+        Arrays.fill(accumulator, 0, subChannelCount, 0.0f);
+
+        int sampleOffset;
+
+        for(int tapOffset = 0; tapOffset < filter.length; tapOffset += subChannelCount)
+        {
+            sampleOffset = offset + tapOffset;
+
+            for(int channel = 0; channel < subChannelCount; channel++)
+            {
+                accumulator[channel] += samples[sampleOffset + channel] * filter[tapOffset + channel];
+            }
+        }
+    }
+}
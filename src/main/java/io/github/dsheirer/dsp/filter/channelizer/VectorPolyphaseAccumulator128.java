@@ -0,0 +1,78 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.dsp.filter.channelizer;
+
+import io.github.dsheirer.vector.VectorUtilities;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD vector implementation of the polyphase channelizer multiply-accumulate filter stage.  Each group of
+ * sub-channels is accumulated in a vector register across all filter taps using fused multiply-add and then stored
+ * once, so no interim product array is needed.
+ */
+public class VectorPolyphaseAccumulator128 implements IPolyphaseAccumulator
+{
+    private static final VectorSpecies<Float> VECTOR_SPECIES = FloatVector.SPECIES_128;
+
+    /**
+     * Constructs an instance
+     */
+    public VectorPolyphaseAccumulator128()
+    {
+        VectorUtilities.checkSpecies(VECTOR_SPECIES);
+    }
+
+    @Override
+    public void accumulate(float[] samples, int offset, float[] filter, float[] accumulator, int subChannelCount)
+    {
+        int vectorBound = VECTOR_SPECIES.loopBound(subChannelCount);
+
+        FloatVector accumulatorVector, sampleVector, filterVector;
+
+        for(int channel = 0; channel < vectorBound; channel += VECTOR_SPECIES.length())
+        {
+            accumulatorVector = FloatVector.zero(VECTOR_SPECIES);
+
+            for(int tapOffset = 0; tapOffset < filter.length; tapOffset += subChannelCount)
+            {
+                sampleVector = FloatVector.fromArray(VECTOR_SPECIES, samples, offset + tapOffset + channel);
+                filterVector = FloatVector.fromArray(VECTOR_SPECIES, filter, tapOffset + channel);
+                accumulatorVector = sampleVector.fma(filterVector, accumulatorVector);
+            }
+
+            accumulatorVector.intoArray(accumulator, channel);
+        }
+
+        //Scalar processing for any sub-channels that don't fill a complete vector
+        float sum;
+
+        for(int channel = vectorBound; channel < subChannelCount; channel++)
+        {
+            sum = 0.0f;
+
+            for(int tapOffset = 0; tapOffset < filter.length; tapOffset += subChannelCount)
+            {
+                sum += samples[offset + tapOffset + channel] * filter[tapOffset + channel];
+            }
+
+            accumulator[channel] = sum;
+        }
+    }
+}
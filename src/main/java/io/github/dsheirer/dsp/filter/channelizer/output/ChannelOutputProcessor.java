@@ -22,7 +22,6 @@ import io.github.dsheirer.sample.Listener;
 import io.github.dsheirer.sample.complex.ComplexSamples;
 import io.github.dsheirer.source.heartbeat.HeartbeatManager;
 import io.github.dsheirer.util.Dispatcher;
-import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -30,11 +29,11 @@ public abstract class ChannelOutputProcessor implements IPolyphaseChannelOutputP
 {
     private final static Logger mLog = LoggerFactory.getLogger(ChannelOutputProcessor.class);
 
-    private Dispatcher<List<float[]>> mChannelResultsDispatcher;
+    private Dispatcher<ChannelResults> mChannelResultsDispatcher;
     private HeartbeatManager mHeartbeatManager;
     protected Listener<ComplexSamples> mComplexSamplesListener;
     private int mInputChannelCount;
-    private long mCurrentSampleTimestamp = System.currentTimeMillis();
+    private volatile long mCurrentSampleTimestamp = System.currentTimeMillis();
 
     /**
      * Base class for polyphase channelizer output channel processing.  Provides built-in frequency translation
@@ -49,11 +48,12 @@ public abstract class ChannelOutputProcessor implements IPolyphaseChannelOutputP
         mInputChannelCount = inputChannelCount;
         //Process 1/10th of the sample rate per second at a rate of 20 times a second (200% of anticipated rate)
         mHeartbeatManager = heartbeatManager;
-        mChannelResultsDispatcher = new Dispatcher(threadName,50, mHeartbeatManager);
-        mChannelResultsDispatcher.setListener(floats -> {
+        mChannelResultsDispatcher = new Dispatcher<>(threadName,50, mHeartbeatManager);
+        mChannelResultsDispatcher.setListener(channelResults -> {
             try
             {
-                process(floats);
+                mCurrentSampleTimestamp = channelResults.timestamp();
+                process(channelResults.results());
             }
             catch(Throwable t)
             {
@@ -63,14 +63,21 @@ public abstract class ChannelOutputProcessor implements IPolyphaseChannelOutputP
     }
 
     /**
-     * Timestamp for the current series of samples.
+     * Timestamp for the series of samples that is currently being processed, or was most recently processed.
      * @return time in milliseconds to use with assembled complex sample buffers.
      */
-    protected long getCurrentSampleTimestamp()
+    @Override
+    public long getCurrentSampleTimestamp()
     {
         return mCurrentSampleTimestamp;
     }
 
+    @Override
+    public int getQueueSize()
+    {
+        return mChannelResultsDispatcher.getQueueSize();
+    }
+
     @Override
     public void start()
     {
@@ -103,21 +110,25 @@ public abstract class ChannelOutputProcessor implements IPolyphaseChannelOutputP
     }
 
     @Override
-    public void receiveChannelResults(List<float[]> channelResultsList, long timestamp)
+    public void receiveChannelResults(float[][] channelResults, long timestamp)
     {
-        mChannelResultsDispatcher.receive(channelResultsList);
-        mCurrentSampleTimestamp = timestamp;
+        mChannelResultsDispatcher.receive(new ChannelResults(channelResults, timestamp));
     }
 
     /**
-     * Sub-class implementation to process one polyphase channelizer result array.
-     * @param channelResults to process
+     * Sub-class implementation to process one batch of polyphase channelizer results.
+     * @param channelResults to process, indexed by polyphase channel index.
      */
-    public abstract void process(List<float[]> channelResults);
+    public abstract void process(float[][] channelResults);
 
     @Override
     public int getInputChannelCount()
     {
         return mInputChannelCount;
     }
+
+    /**
+     * Batch of polyphase channelizer results and the timestamp of the samples that produced them.
+     */
+    private record ChannelResults(float[][] results, long timestamp) {}
 }
@@ -40,10 +40,22 @@ public interface IPolyphaseChannelOutputProcessor
     void stop();
     /**
      * Receive and enqueue output results from the polyphase analysis channelizer
-     * @param channelResults to enqueue
+     * @param channelResults to enqueue, indexed by polyphase channel index where each non-null entry contains the
+     * interleaved I/Q samples (I0,Q0,I1,Q1...In,Qn) for that channel index.
      * @param timestamp for the first channel results buffer
      */
-    void receiveChannelResults(List<float[]> channelResults, long timestamp);
+    void receiveChannelResults(float[][] channelResults, long timestamp);
+
+    /**
+     * Quantity of channel results batches that are queued and waiting to be processed.
+     */
+    int getQueueSize();
+
+    /**
+     * Timestamp of the channel results that are currently being processed, or were most recently processed.
+     * @return timestamp in milliseconds
+     */
+    long getCurrentSampleTimestamp();
 
     /**
      * Listener to receive assembled complex samples buffers
@@ -28,7 +28,7 @@ public class OneChannelOutputProcessor extends ChannelOutputProcessor
 {
     private final static Logger mLog = LoggerFactory.getLogger(OneChannelOutputProcessor.class);
     private final OneChannelMixerAssembler mMixerAssembler;
-    private int mChannelOffset;
+    private int mChannelIndex;
 
     /**
      * Processor to extract a single channel from a polyphase channelizer and produce an output I/Q complex sample
@@ -54,7 +54,7 @@ public class OneChannelOutputProcessor extends ChannelOutputProcessor
     {
         StringBuilder sb = new StringBuilder();
         sb.append("One Channel Output Processor");
-        sb.append("\n\tIndex (doubled) [").append(mChannelOffset).append("]");
+        sb.append("\n\tIndex [").append(mChannelIndex).append("]");
         sb.append("\n\tMixer Assembler: none");
         return sb.toString();
     }
@@ -78,9 +78,7 @@ public class OneChannelOutputProcessor extends ChannelOutputProcessor
                 "process - provided indexes " + indexes);
         }
 
-        //Set the channelized output results offset to twice the channel index to account for each channel having
-        //an I/Q pair
-        mChannelOffset = indexes.get(0) * 2;
+        mChannelIndex = indexes.get(0);
     }
 
     @Override
@@ -93,14 +91,21 @@ public class OneChannelOutputProcessor extends ChannelOutputProcessor
      * Extract the channel from the channel results array and pass to the assembler.  The assembler will
      * apply frequency translation and gain and indicate when a buffer is fully assembled.
      *
-     * @param channelResultsList to process containing a list of a list of channel array of I/Q sample pairs (I0,Q0,I1,Q1...In,Qn)
+     * @param channelResults to process, indexed by channel index, containing I/Q sample pairs (I0,Q0,I1,Q1...In,Qn)
      */
     @Override
-    public void process(List<float[]> channelResultsList)
+    public void process(float[][] channelResults)
     {
-        for(float[] channelResults: channelResultsList)
+        float[] samples = mChannelIndex < channelResults.length ? channelResults[mChannelIndex] : null;
+
+        if(samples == null)
+        {
+            return;
+        }
+
+        for(int x = 0; x < samples.length; x += 2)
         {
-            mMixerAssembler.receive(channelResults[mChannelOffset], channelResults[mChannelOffset + 1]);
+            mMixerAssembler.receive(samples[x], samples[x + 1]);
 
             if(mMixerAssembler.hasBuffer())
             {
@@ -28,8 +28,8 @@ public class TwoChannelOutputProcessor extends ChannelOutputProcessor
 {
     private final static Logger mLog = LoggerFactory.getLogger(TwoChannelOutputProcessor.class);
     private TwoChannelMixerAssembler mMixerAssembler;
-    private int mChannelOffset1;
-    private int mChannelOffset2;
+    private int mChannelIndex1;
+    private int mChannelIndex2;
 
     /**
      * Processor to extract two channels from a polyphase channelizer, synthesize/recombine the channels, apply
@@ -59,7 +59,7 @@ public class TwoChannelOutputProcessor extends ChannelOutputProcessor
     {
         StringBuilder sb = new StringBuilder();
         sb.append("Two Channel Output Processor");
-        sb.append("\n\tIndices (doubled) 1 [").append(mChannelOffset1).append("] 2 [").append(mChannelOffset2).append("]");
+        sb.append("\n\tIndices 1 [").append(mChannelIndex1).append("] 2 [").append(mChannelIndex2).append("]");
         sb.append("\n\tMixer Assembler: ").append(mMixerAssembler.getStateDescription());
         return sb.toString();
     }
@@ -95,25 +95,35 @@ public class TwoChannelOutputProcessor extends ChannelOutputProcessor
                 "process - provided indexes " + indexes);
         }
 
-        //Set the channelized output results offsets to twice the channel index to account for each channel having
-        //an I/Q pair
-        mChannelOffset1 = indexes.get(0) * 2;
-        mChannelOffset2 = indexes.get(1) * 2;
+        mChannelIndex1 = indexes.get(0);
+        mChannelIndex2 = indexes.get(1);
     }
 
     /**
      * Extract the channel from the channel results array, apply frequency translation, and deliver the
      * extracted frequency-corrected channel I/Q sample set to the complex sample listener.
      *
-     * @param channelResultsList to process containing a list of a list of an array of channel I/Q sample pairs (I0,Q0,I1,Q1...In,Qn)
+     * @param channelResults to process, indexed by channel index, containing I/Q sample pairs (I0,Q0,I1,Q1...In,Qn)
      */
     @Override
-    public void process(List<float[]> channelResultsList)
+    public void process(float[][] channelResults)
     {
-        for(float[] channelResults : channelResultsList)
+        if(mChannelIndex1 >= channelResults.length || mChannelIndex2 >= channelResults.length)
         {
-            mMixerAssembler.receive(channelResults[mChannelOffset1], channelResults[mChannelOffset1 + 1],
-                    channelResults[mChannelOffset2], channelResults[mChannelOffset2 + 1]);
+            return;
+        }
+
+        float[] samples1 = channelResults[mChannelIndex1];
+        float[] samples2 = channelResults[mChannelIndex2];
+
+        if(samples1 == null || samples2 == null)
+        {
+            return;
+        }
+
+        for(int x = 0; x < samples1.length; x += 2)
+        {
+            mMixerAssembler.receive(samples1[x], samples1[x + 1], samples2[x], samples2[x + 1]);
 
             if(mMixerAssembler.hasBuffer())
             {
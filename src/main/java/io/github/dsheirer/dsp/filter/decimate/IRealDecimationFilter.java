@@ -25,4 +25,14 @@ package io.github.dsheirer.dsp.filter.decimate;
 public interface IRealDecimationFilter
 {
     float[] decimateReal(float[] samples);
+
+    /**
+     * Decimates the samples into the caller-supplied output array so that the caller can reuse the output array
+     * across sample buffers instead of allocating a new array for each buffer.
+     * @param samples to decimate
+     * @param output array to receive the decimated samples, with a length of the samples array length divided by
+     * the decimation rate
+     * @return output array
+     */
+    float[] decimateReal(float[] samples, float[] output);
 }
@@ -29,4 +29,11 @@ public class RealDecimateX0Filter implements IRealDecimationFilter
     {
         return samples;
     }
+
+    @Override
+    public float[] decimateReal(float[] samples, float[] output)
+    {
+        System.arraycopy(samples, 0, output, 0, samples.length);
+        return output;
+    }
 }
@@ -21,6 +21,7 @@ package io.github.dsheirer.dsp.filter.decimate;
 
 import io.github.dsheirer.dsp.filter.FilterFactory;
 import io.github.dsheirer.dsp.window.WindowType;
+import io.github.dsheirer.sample.buffer.ScratchBuffer;
 
 /**
  * Decimate by 16 filter for real valued sample buffers.
@@ -31,6 +32,7 @@ public class RealDecimateX16Filter extends RealDecimateX8Filter
     private static final int DECIMATE_BY_16_FILTER_LENGTH = 15;
     private static final WindowType DECIMATE_BY_16_WINDOW_TYPE = WindowType.BLACKMAN;
     private IRealDecimationFilter mFilter;
+    private ScratchBuffer mDecimated = new ScratchBuffer();
 
     /**
      * Constructs the decimation filter.
@@ -43,10 +45,17 @@ public class RealDecimateX16Filter extends RealDecimateX8Filter
 
     @Override
     public float[] decimateReal(float[] samples)
+    {
+        return decimateReal(samples, new float[samples.length / VALIDATION_LENGTH]);
+    }
+
+    @Override
+    public float[] decimateReal(float[] samples, float[] output)
     {
         validate(samples, VALIDATION_LENGTH);
 
-        //Decimate by this filter, then by the parent decimation filter
-        return super.decimateReal(mFilter.decimateReal(samples));
+        //Decimate by this filter into the scratch buffer, then by the parent decimation filter into the output
+        float[] decimated = mFilter.decimateReal(samples, mDecimated.get(samples.length / 2));
+        return super.decimateReal(decimated, output);
     }
 }
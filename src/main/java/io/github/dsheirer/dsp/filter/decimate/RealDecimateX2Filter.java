@@ -45,6 +45,12 @@ public class RealDecimateX2Filter implements IRealDecimationFilter
         return mFilter.decimateReal(samples);
     }
 
+    @Override
+    public float[] decimateReal(float[] samples, float[] output)
+    {
+        return mFilter.decimateReal(samples, output);
+    }
+
     /**
      * Validates that the samples length is an integer multiple of the specified validation multiple argument.
      * @param samples to validate
@@ -61,6 +61,30 @@ public class FIRFilterSpecification
         return sb.toString();
     }
 
+    /**
+     * Creates a key that uniquely identifies the filter design produced from this specification, for use with the
+     * filter design cache.  The key includes the filter type, order, grid density and the edges, amplitude, ripple and
+     * effective weight of each frequency band.
+     */
+    public String getDesignKey()
+    {
+        StringBuilder sb = new StringBuilder();
+        sb.append(mRemezFilterType.name()).append(",").append(mOrder).append(",").append(mGridDensity);
+
+        double maxRippleAmplitude = getMaxBandAmplitude();
+
+        for(FrequencyBand band : mFrequencyBands)
+        {
+            sb.append(";").append(band.getStart());
+            sb.append(",").append(band.getEnd());
+            sb.append(",").append(band.getAmplitude());
+            sb.append(",").append(band.getRippleDB());
+            sb.append(",").append(band.getWeight(maxRippleAmplitude));
+        }
+
+        return sb.toString();
+    }
+
     public void addFrequencyBand(FrequencyBand band)
     {
         mFrequencyBands.add(band);
@@ -25,4 +25,13 @@ package io.github.dsheirer.dsp.filter.fir.real;
 public interface IRealFilter
 {
     float[] filter(float[] samples);
+
+    /**
+     * Filters the samples into the caller-supplied output array so that the caller can reuse the output array across
+     * sample buffers instead of allocating a new array for each buffer.
+     * @param samples to filter
+     * @param output array to receive the filtered samples, with the same length as the samples array
+     * @return output array
+     */
+    float[] filter(float[] samples, float[] output);
 }
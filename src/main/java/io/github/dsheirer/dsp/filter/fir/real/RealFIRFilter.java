@@ -60,6 +60,23 @@ public class RealFIRFilter implements IRealFilter
      */
     public float[] filter(float[] samples)
     {
+        return filter(samples, new float[samples.length]);
+    }
+
+    /**
+     * Filters the sample array into the output array.
+     * @param samples to filter
+     * @param output array to receive the filtered samples, with the same length as the samples array
+     * @return output array
+     */
+    public float[] filter(float[] samples, float[] output)
+    {
+        if(output.length != samples.length)
+        {
+            throw new IllegalArgumentException("Output array length [" + output.length +
+                "] must match the samples array length [" + samples.length + "]");
+        }
+
         int bufferLength = samples.length + mBufferOverlap;
 
         //Resize the data buffer if needed.  This shouldn't happen more than once since all buffers should be same size
@@ -79,17 +96,22 @@ public class RealFIRFilter implements IRealFilter
         //Copy new sample array into end of buffer
         System.arraycopy(samples, 0, mBuffer, mBufferOverlap, samples.length);
 
-        float[] filtered = new float[samples.length];
+        float accumulator;
 
         for(int bufferPointer = 0; bufferPointer < samples.length; bufferPointer++)
         {
+            //Accumulate locally since the output array may contain samples from a previous invocation
+            accumulator = 0.0f;
+
             for(int coefficientPointer = 0; coefficientPointer < mCoefficients.length; coefficientPointer++)
             {
-                filtered[bufferPointer] += mBuffer[bufferPointer + coefficientPointer] * mCoefficients[coefficientPointer];
+                accumulator += mBuffer[bufferPointer + coefficientPointer] * mCoefficients[coefficientPointer];
             }
+
+            output[bufferPointer] = accumulator;
         }
 
-        return filtered;
+        return output;
     }
 
     public static void main(String[] args)
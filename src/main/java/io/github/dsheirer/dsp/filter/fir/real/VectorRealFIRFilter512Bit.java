@@ -72,6 +72,23 @@ public class VectorRealFIRFilter512Bit implements IRealFilter
      */
     public float[] filter(float[] samples)
     {
+        return filter(samples, new float[samples.length]);
+    }
+
+    /**
+     * Filters the sample array into the output array.
+     * @param samples to filter
+     * @param output array to receive the filtered samples, with the same length as the samples array
+     * @return output array
+     */
+    public float[] filter(float[] samples, float[] output)
+    {
+        if(output.length != samples.length)
+        {
+            throw new IllegalArgumentException("Output array length [" + output.length +
+                "] must match the samples array length [" + samples.length + "]");
+        }
+
         int bufferLength = samples.length + mBufferOverlap;
 
         //Resize the data buffer if needed.  This shouldn't happen more than once since all buffers should be same size
@@ -91,8 +108,6 @@ public class VectorRealFIRFilter512Bit implements IRealFilter
         //Copy new sample array to end of buffer
         System.arraycopy(samples, 0, mBuffer, mBufferOverlap, samples.length);
 
-        float[] filtered = new float[samples.length];
-
         FloatVector accumulator, buffer, filter;
 
         for(int bufferPointer = 0; bufferPointer < samples.length; bufferPointer++)
@@ -106,9 +121,9 @@ public class VectorRealFIRFilter512Bit implements IRealFilter
                 accumulator = filter.fma(buffer, accumulator);
             }
 
-            filtered[bufferPointer] = accumulator.reduceLanes(VectorOperators.ADD);
+            output[bufferPointer] = accumulator.reduceLanes(VectorOperators.ADD);
         }
 
-        return filtered;
+        return output;
     }
 }
\ No newline at end of file
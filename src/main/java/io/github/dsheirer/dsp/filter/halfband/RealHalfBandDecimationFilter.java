@@ -59,12 +59,22 @@ public class RealHalfBandDecimationFilter implements IRealDecimationFilter
     }
 
     public float[] decimateReal(float[] samples)
+    {
+        return decimateReal(samples, new float[samples.length / 2]);
+    }
+
+    public float[] decimateReal(float[] samples, float[] output)
     {
         if(samples.length % 2 != 0)
         {
             throw new IllegalArgumentException("Samples array length must be an integer multiple of 2");
         }
 
+        if(output.length != samples.length / 2)
+        {
+            throw new IllegalArgumentException("Output array length must be half of the samples array length");
+        }
+
         int bufferLength = samples.length + mBufferOverlap;
 
         if(mBuffer == null)
@@ -87,8 +97,6 @@ public class RealHalfBandDecimationFilter implements IRealDecimationFilter
         //Copy new sample array into end of buffer
         System.arraycopy(samples, 0, mBuffer, mBufferOverlap, samples.length);
 
-        float[] filtered = new float[samples.length / 2];
-
         float accumulator = 0.0f;
         int half = mBufferOverlap / 2;
 
@@ -107,10 +115,10 @@ public class RealHalfBandDecimationFilter implements IRealDecimationFilter
 
             accumulator += mBuffer[bufferPointer + half] * CENTER_COEFFICIENT;
 
-            filtered[bufferPointer / 2] = accumulator;
+            output[bufferPointer / 2] = accumulator;
         }
 
-        return filtered;
+        return output;
     }
 
     public static void main(String[] args)
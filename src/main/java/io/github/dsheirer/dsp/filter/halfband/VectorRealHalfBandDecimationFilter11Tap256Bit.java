@@ -65,12 +65,22 @@ public class VectorRealHalfBandDecimationFilter11Tap256Bit implements IRealDecim
     }
 
     public float[] decimateReal(float[] samples)
+    {
+        return decimateReal(samples, new float[samples.length / 2]);
+    }
+
+    public float[] decimateReal(float[] samples, float[] output)
     {
         if(samples.length % 2 != 0)
         {
             throw new IllegalArgumentException("Samples array length must be an integer multiple of 2");
         }
 
+        if(output.length != samples.length / 2)
+        {
+            throw new IllegalArgumentException("Output array length must be half of the samples array length");
+        }
+
         int bufferLength = samples.length + mBufferOverlap;
 
         if(mBuffer == null)
@@ -93,8 +103,6 @@ public class VectorRealHalfBandDecimationFilter11Tap256Bit implements IRealDecim
         //Copy new sample array into end of buffer
         System.arraycopy(samples, 0, mBuffer, mBufferOverlap, samples.length);
 
-        float[] filtered = new float[samples.length / 2];
-
         FloatVector filter1 = FloatVector.fromArray(VECTOR_SPECIES, mCoefficients, 0);
         FloatVector filter2 = FloatVector.fromArray(VECTOR_SPECIES, mCoefficients, 8);
 
@@ -104,9 +112,9 @@ public class VectorRealHalfBandDecimationFilter11Tap256Bit implements IRealDecim
         {
             product1 = filter1.mul(FloatVector.fromArray(VECTOR_SPECIES, mBuffer, bufferPointer));
             product2 = filter2.mul(FloatVector.fromArray(VECTOR_SPECIES, mBuffer, bufferPointer + 3));
-            filtered[bufferPointer / 2] = product1.add(product2).reduceLanes(VectorOperators.ADD);
+            output[bufferPointer / 2] = product1.add(product2).reduceLanes(VectorOperators.ADD);
         }
 
-        return filtered;
+        return output;
     }
 }
@@ -66,12 +66,22 @@ public class VectorRealHalfBandDecimationFilter15Tap128Bit implements IRealDecim
     }
 
     public float[] decimateReal(float[] samples)
+    {
+        return decimateReal(samples, new float[samples.length / 2]);
+    }
+
+    public float[] decimateReal(float[] samples, float[] output)
     {
         if(samples.length % 2 != 0)
         {
             throw new IllegalArgumentException("Samples array length must be an integer multiple of 2");
         }
 
+        if(output.length != samples.length / 2)
+        {
+            throw new IllegalArgumentException("Output array length must be half of the samples array length");
+        }
+
         int bufferLength = samples.length + mBufferOverlap;
 
         if(mBuffer == null)
@@ -94,8 +104,6 @@ public class VectorRealHalfBandDecimationFilter15Tap128Bit implements IRealDecim
         //Copy new sample array into end of buffer
         System.arraycopy(samples, 0, mBuffer, mBufferOverlap, samples.length);
 
-        float[] filtered = new float[samples.length / 2];
-
         FloatVector filter1 = FloatVector.fromArray(VECTOR_SPECIES, mCoefficients, 0);
         FloatVector filter2 = FloatVector.fromArray(VECTOR_SPECIES, mCoefficients, 4);
         FloatVector filter3 = FloatVector.fromArray(VECTOR_SPECIES, mCoefficients, 8);
@@ -110,9 +118,9 @@ public class VectorRealHalfBandDecimationFilter15Tap128Bit implements IRealDecim
             product3 = filter3.mul(FloatVector.fromArray(VECTOR_SPECIES, mBuffer, bufferPointer + 8));
             product4 = filter4.mul(FloatVector.fromArray(VECTOR_SPECIES, mBuffer, bufferPointer + 12));
 
-            filtered[bufferPointer / 2] = product1.add(product2).add(product3).add(product4).reduceLanes(VectorOperators.ADD);
+            output[bufferPointer / 2] = product1.add(product2).add(product3).add(product4).reduceLanes(VectorOperators.ADD);
         }
 
-        return filtered;
+        return output;
     }
 }
@@ -66,12 +66,22 @@ public class VectorRealHalfBandDecimationFilter15Tap512Bit implements IRealDecim
     }
 
     public float[] decimateReal(float[] samples)
+    {
+        return decimateReal(samples, new float[samples.length / 2]);
+    }
+
+    public float[] decimateReal(float[] samples, float[] output)
     {
         if(samples.length % 2 != 0)
         {
             throw new IllegalArgumentException("Samples array length must be an integer multiple of 2");
         }
 
+        if(output.length != samples.length / 2)
+        {
+            throw new IllegalArgumentException("Output array length must be half of the samples array length");
+        }
+
         int bufferLength = samples.length + mBufferOverlap;
 
         if(mBuffer == null)
@@ -94,8 +104,6 @@ public class VectorRealHalfBandDecimationFilter15Tap512Bit implements IRealDecim
         //Copy new sample array into end of buffer
         System.arraycopy(samples, 0, mBuffer, mBufferOverlap, samples.length);
 
-        float[] filtered = new float[samples.length / 2];
-
         FloatVector filter = FloatVector.fromArray(VECTOR_SPECIES, mCoefficients, 0);
 
         FloatVector product;
@@ -103,9 +111,9 @@ public class VectorRealHalfBandDecimationFilter15Tap512Bit implements IRealDecim
         for(int bufferPointer = 0; bufferPointer < samples.length; bufferPointer += 2)
         {
             product = filter.mul(FloatVector.fromArray(VECTOR_SPECIES, mBuffer, bufferPointer));
-            filtered[bufferPointer / 2] = product.reduceLanes(VectorOperators.ADD);
+            output[bufferPointer / 2] = product.reduceLanes(VectorOperators.ADD);
         }
 
-        return filtered;
+        return output;
     }
 }
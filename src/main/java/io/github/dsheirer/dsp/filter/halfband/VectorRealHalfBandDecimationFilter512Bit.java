@@ -67,12 +67,22 @@ public class VectorRealHalfBandDecimationFilter512Bit implements IRealDecimation
     }
 
     public float[] decimateReal(float[] samples)
+    {
+        return decimateReal(samples, new float[samples.length / 2]);
+    }
+
+    public float[] decimateReal(float[] samples, float[] output)
     {
         if(samples.length % 2 != 0)
         {
             throw new IllegalArgumentException("Samples array length must be an integer multiple of 2");
         }
 
+        if(output.length != samples.length / 2)
+        {
+            throw new IllegalArgumentException("Output array length must be half of the samples array length");
+        }
+
         int bufferLength = samples.length + mBufferOverlap;
 
         if(mBuffer == null)
@@ -95,8 +105,6 @@ public class VectorRealHalfBandDecimationFilter512Bit implements IRealDecimation
         //Copy new sample array into end of buffer
         System.arraycopy(samples, 0, mBuffer, mBufferOverlap, samples.length);
 
-        float[] filtered = new float[samples.length / 2];
-
         FloatVector accumulator, buffer, filter;
 
         for(int bufferPointer = 0; bufferPointer < samples.length; bufferPointer += 2)
@@ -110,9 +118,9 @@ public class VectorRealHalfBandDecimationFilter512Bit implements IRealDecimation
                 accumulator = filter.fma(buffer, accumulator);
             }
 
-            filtered[bufferPointer / 2] = accumulator.reduceLanes(VectorOperators.ADD);
+            output[bufferPointer / 2] = accumulator.reduceLanes(VectorOperators.ADD);
         }
 
-        return filtered;
+        return output;
     }
 }
@@ -31,4 +31,24 @@ public interface IDemodulator
      * @return demodulated samples.
      */
     float[] demodulate(float[] i, float[] q);
+
+    /**
+     * Demodulate the complex sample array into the caller-supplied output array so that the caller can reuse the
+     * output array across sample buffers.
+     *
+     * Note: the default implementation demodulates into a new array and copies the result to the output array.
+     * Implementations should override this method to demodulate directly into the output array.
+     *
+     * @param i samples to demodulate
+     * @param q samples to demodulate
+     * @param output array to receive the demodulated samples, with the same length as the sample arrays.  The output
+     * array must not be one of the sample arrays.
+     * @return output array
+     */
+    default float[] demodulate(float[] i, float[] q, float[] output)
+    {
+        float[] demodulated = demodulate(i, q);
+        System.arraycopy(demodulated, 0, output, 0, demodulated.length);
+        return output;
+    }
 }
@@ -48,8 +48,12 @@ public class ScalarFMDemodulator implements IDemodulator
 
     public float[] demodulate(float[] i, float[] q)
     {
-        float[] demodulated = new float[i.length];
+        return demodulate(i, q, new float[i.length]);
+    }
 
+    @Override
+    public float[] demodulate(float[] i, float[] q, float[] demodulated)
+    {
         float demodI, demodQ;
 
         //Demodulate the first sample
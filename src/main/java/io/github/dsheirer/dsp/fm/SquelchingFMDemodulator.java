@@ -81,10 +81,23 @@ public class SquelchingFMDemodulator implements ISquelchingDemodulator, Listener
      */
     @Override
     public float[] demodulate(float[] i, float[] q)
+    {
+        return demodulate(i, q, new float[i.length]);
+    }
+
+    /**
+     * Demodulates the complex (I/Q) sample arrays into the demodulated array
+     * @param i inphase samples
+     * @param q quadrature samples
+     * @param demodulated array to receive the demodulated real samples
+     * @return demodulated real samples
+     */
+    @Override
+    public float[] demodulate(float[] i, float[] q, float[] demodulated)
     {
         setSquelchChanged(false);
 
-        float[] demodulated = mFmDemodulator.demodulate(i, q);
+        mFmDemodulator.demodulate(i, q, demodulated);
         float[] magnitude = mMagnitude.calculate(i, q);
 
         for(int x = 0; x < magnitude.length; x++)
@@ -45,11 +45,17 @@ public class VectorFMDemodulator64 extends VectorFMDemodulator
 
     @Override
     public float[] demodulate(float[] i, float[] q)
+    {
+        return demodulate(i, q, new float[i.length]);
+    }
+
+    @Override
+    public float[] demodulate(float[] i, float[] q, float[] demodulated)
     {
         //Fallback to scalar implementation if the buffer size is not a multiple of the vector implementation.
         if(i.length % VECTOR_SPECIES.length() != 0)
         {
-            return getScalarImplementation().demodulate(i,q);
+            return getScalarImplementation().demodulate(i, q, demodulated);
         }
 
         if(mIBuffer.length != (i.length + BUFFER_OVERLAP))
@@ -66,8 +72,6 @@ public class VectorFMDemodulator64 extends VectorFMDemodulator
         System.arraycopy(i, 0, mIBuffer, 1, i.length);
         System.arraycopy(q, 0, mQBuffer, 1, q.length);
 
-        float[] demodulated = new float[i.length];
-
         FloatVector currentI, currentQ, previousI, previousQ, demod, demodI, demodQ;
 
         for(int bufferPointer = 0; bufferPointer < mIBuffer.length - 1; bufferPointer += VECTOR_SPECIES.length())
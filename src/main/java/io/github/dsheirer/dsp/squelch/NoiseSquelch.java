@@ -25,6 +25,7 @@ import io.github.dsheirer.dsp.filter.fir.real.IRealFilter;
 import io.github.dsheirer.dsp.filter.fir.real.RealFIRFilter;
 import io.github.dsheirer.dsp.window.WindowType;
 import io.github.dsheirer.sample.Listener;
+import io.github.dsheirer.sample.buffer.ScratchBuffer;
 import java.util.Arrays;
 
 /**
@@ -49,6 +50,7 @@ public class NoiseSquelch implements INoiseSquelchController
     public static final float MAXIMUM_NOISE_THRESHOLD = 0.5f;
     private float[] mFilteredBuffer = new float[0];
     private float[] mAudioBuffer = new float[0];
+    private ScratchBuffer mHighPassFiltered = new ScratchBuffer();
     private float mMeanAccumulator;
     private float mNoiseOpenThreshold = DEFAULT_NOISE_OPEN_THRESHOLD;
     private float mNoiseCloseThreshold = DEFAULT_NOISE_CLOSE_THRESHOLD;
@@ -89,6 +91,22 @@ public class NoiseSquelch implements INoiseSquelchController
         return mSquelch;
     }
 
+    /**
+     * Indicates if the manual squelch override is turned on.
+     */
+    public boolean isSquelchOverride()
+    {
+        return mSquelchOverride;
+    }
+
+    /**
+     * Indicates if a noise squelch state listener is registered (ie the user is viewing the squelch state).
+     */
+    public boolean hasNoiseSquelchStateListener()
+    {
+        return mNoiseSquelchStateListener != null;
+    }
+
     /**
      * Sets the manual squelch override.
      * @param override (true) or (false) to turn off manual squelch override.
@@ -233,7 +251,8 @@ public class NoiseSquelch implements INoiseSquelchController
 
     public void process(float[] samples)
     {
-        float[] filtered = mHighPassFilter.filter(samples);
+        //The high-pass filtered samples are copied into the delay buffer, so we can reuse the filter output array
+        float[] filtered = mHighPassFilter.filter(samples, mHighPassFiltered.get(samples.length));
 
         int requiredLength = filtered.length + (mVarianceWindowSize * (mHysteresisCloseThreshold + 2));
 
@@ -0,0 +1,327 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+
+package io.github.dsheirer.dsp.squelch;
+
+import io.github.dsheirer.preference.source.TunerPreference;
+import io.github.dsheirer.sample.Listener;
+import io.github.dsheirer.sample.complex.ComplexSamples;
+import java.text.DecimalFormat;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Squelch-gated idle mode for conventional (analog) channel decoders.
+ *
+ * Sits between the decoder's decimation and baseband filter stages and its demodulation stages.  The gate receives
+ * decimated, channel filtered sample buffers and passes them to the decoder's demodulation, squelch and audio
+ * processing chain while the channel is active.  Once the squelch has been closed for the configured idle timeout, the
+ * gate enters idle mode and only measures the power of each filtered buffer, comparing it against a tracked noise
+ * floor.  Measuring after the baseband filter ensures that out-of-channel energy within the wider channel sample rate
+ * doesn't wake the channel or inflate the noise floor.  Idle buffers are copied into a short look-back queue so that
+ * when activity is detected, the look-back buffers are replayed through the demodulation chain, oldest first, to
+ * avoid clipping the start of the transmission.
+ *
+ * Idle mode is disabled by default and is enabled via the squelch idle settings in the tuner preferences.
+ */
+public class SquelchIdleGate
+{
+    //Noise floor smoothing - the floor tracks decreases quickly and increases slowly so that a slow rise in power
+    //(ie a weak signal fading in) isn't absorbed into the floor before it triggers a wake.
+    private static final float NOISE_FLOOR_ALPHA_FALLING = 0.1f;
+    private static final float NOISE_FLOOR_ALPHA_RISING = 0.01f;
+
+    private final Listener<ComplexSamples> mProcessor;
+    private final BooleanSupplier mIdleAllowed;
+    private final ArrayDeque<ComplexSamples> mLookback = new ArrayDeque<>();
+    private final int mIdleTimeoutSeconds;
+    private final int mLookbackMilliseconds;
+    private final float mWakeThreshold;
+    private long mIdleTimeoutSamples = Long.MAX_VALUE;
+    private long mLookbackSamples;
+    private long mLookbackQueuedSamples;
+    private long mSquelchedSamples;
+    private float mNoiseFloor;
+    private boolean mIdle;
+
+    //CPU savings statistics
+    private long mActiveNanos;
+    private long mActiveSamples;
+    private long mIdleNanos;
+    private long mIdleSamples;
+    private long mIdleBufferCount;
+    private long mWakeCount;
+
+    /**
+     * Constructs an instance using the tuner preference squelch idle settings.
+     * @param processor for the demodulation chain
+     * @param idleAllowed indicates if the decoder is squelched and can drop into idle mode.  This is checked for each
+     * buffer and idle mode is exited immediately if it is no longer allowed (ie squelch override was turned on).
+     * @param tunerPreference for the squelch idle settings, or null to disable idle mode.
+     */
+    public SquelchIdleGate(Listener<ComplexSamples> processor, BooleanSupplier idleAllowed,
+                           TunerPreference tunerPreference)
+    {
+        this(processor, idleAllowed,
+            (tunerPreference != null && tunerPreference.isSquelchIdleEnabled()) ?
+                tunerPreference.getSquelchIdleTimeoutSeconds() : 0,
+            tunerPreference != null ? tunerPreference.getSquelchIdleWakeThresholdDb() :
+                TunerPreference.DEFAULT_SQUELCH_IDLE_WAKE_THRESHOLD_DB,
+            tunerPreference != null ? tunerPreference.getSquelchIdleLookbackMilliseconds() :
+                TunerPreference.DEFAULT_SQUELCH_IDLE_LOOKBACK_MILLISECONDS);
+    }
+
+    /**
+     * Constructs an instance
+     * @param processor for the demodulation chain
+     * @param idleAllowed indicates if the decoder is squelched and can drop into idle mode.
+     * @param idleTimeoutSeconds squelch closed duration before entering idle mode, or zero to disable idle mode.
+     * @param wakeThresholdDb power increase over the noise floor that wakes the demodulation chain
+     * @param lookbackMilliseconds duration of buffered samples to replay when waking.
+     */
+    public SquelchIdleGate(Listener<ComplexSamples> processor, BooleanSupplier idleAllowed, int idleTimeoutSeconds,
+                           int wakeThresholdDb, int lookbackMilliseconds)
+    {
+        mProcessor = processor;
+        mIdleAllowed = idleAllowed;
+        mIdleTimeoutSeconds = Math.max(idleTimeoutSeconds, 0);
+        mWakeThreshold = (float)Math.pow(10.0, wakeThresholdDb / 10.0);
+        mLookbackMilliseconds = Math.max(lookbackMilliseconds, 0);
+    }
+
+    /**
+     * Indicates if idle mode is enabled for this gate.
+     */
+    public boolean isEnabled()
+    {
+        return mIdleTimeoutSeconds > 0;
+    }
+
+    /**
+     * Sets the sample rate of the incoming decimated and filtered sample buffers.
+     * @param sampleRate of the incoming sample buffers
+     */
+    public void setSampleRate(double sampleRate)
+    {
+        mIdleTimeoutSamples = mIdleTimeoutSeconds > 0 ? (long)(sampleRate * mIdleTimeoutSeconds) : Long.MAX_VALUE;
+        mLookbackSamples = (long)(sampleRate * mLookbackMilliseconds / 1000.0);
+        wake(false);
+    }
+
+    /**
+     * Indicates if the gate is currently in idle mode.
+     */
+    public boolean isIdle()
+    {
+        return mIdle;
+    }
+
+    /**
+     * Processes the filtered sample buffer, either through the demodulation chain or through the idle energy detector.
+     * @param samples to process.  The sample arrays are copied if they are retained for look-back, so the caller can
+     * reuse the arrays once this method returns.
+     * @return true if the samples (and any look-back samples) were processed by the demodulation chain, or false
+     * if the samples were absorbed by the idle energy detector.
+     */
+    public boolean receive(ComplexSamples samples)
+    {
+        if(mIdle)
+        {
+            long start = System.nanoTime();
+
+            if(!mIdleAllowed.getAsBoolean())
+            {
+                mLookback.addLast(samples);
+                wake(true);
+                return true;
+            }
+
+            float power = getPower(samples);
+
+            if(power > mNoiseFloor * mWakeThreshold)
+            {
+                mLookback.addLast(samples);
+                wake(true);
+                return true;
+            }
+
+            updateNoiseFloor(power);
+            addLookback(samples);
+
+            mIdleBufferCount++;
+            mIdleSamples += samples.i().length;
+            mIdleNanos += System.nanoTime() - start;
+            return false;
+        }
+
+        process(samples);
+        return true;
+    }
+
+    /**
+     * Processes the samples through the demodulation chain and monitors the squelch state for the idle timeout.
+     */
+    private void process(ComplexSamples samples)
+    {
+        if(!isEnabled())
+        {
+            mProcessor.receive(samples);
+            return;
+        }
+
+        long start = System.nanoTime();
+        mProcessor.receive(samples);
+        mActiveNanos += System.nanoTime() - start;
+        mActiveSamples += samples.i().length;
+
+        if(mIdleAllowed.getAsBoolean())
+        {
+            //Track the noise floor while squelched so that it's ready when we enter idle mode
+            updateNoiseFloor(getPower(samples));
+            mSquelchedSamples += samples.i().length;
+
+            if(mSquelchedSamples >= mIdleTimeoutSamples)
+            {
+                mIdle = true;
+            }
+        }
+        else
+        {
+            mSquelchedSamples = 0;
+        }
+    }
+
+    /**
+     * Exits idle mode.
+     * @param replay true to replay the look-back buffers through the demodulation chain, or false to discard them.
+     */
+    private void wake(boolean replay)
+    {
+        boolean wasIdle = mIdle;
+        mIdle = false;
+        mSquelchedSamples = 0;
+
+        if(wasIdle && replay)
+        {
+            mWakeCount++;
+
+            while(!mLookback.isEmpty())
+            {
+                process(mLookback.pollFirst());
+            }
+        }
+
+        mLookback.clear();
+        mLookbackQueuedSamples = 0;
+    }
+
+    /**
+     * Adds a copy of the samples to the look-back queue and removes the oldest buffers that are no longer needed to
+     * cover the look-back duration.
+     */
+    private void addLookback(ComplexSamples samples)
+    {
+        mLookback.addLast(new ComplexSamples(Arrays.copyOf(samples.i(), samples.i().length),
+            Arrays.copyOf(samples.q(), samples.q().length), samples.timestamp()));
+        mLookbackQueuedSamples += samples.i().length;
+
+        while(mLookback.size() > 1 && (mLookbackQueuedSamples - mLookback.peekFirst().i().length) >= mLookbackSamples)
+        {
+            mLookbackQueuedSamples -= mLookback.pollFirst().i().length;
+        }
+    }
+
+    /**
+     * Updates the noise floor estimate from the buffer power.
+     */
+    private void updateNoiseFloor(float power)
+    {
+        if(mNoiseFloor <= 0.0f)
+        {
+            mNoiseFloor = power;
+        }
+        else
+        {
+            float alpha = power < mNoiseFloor ? NOISE_FLOOR_ALPHA_FALLING : NOISE_FLOOR_ALPHA_RISING;
+            mNoiseFloor += alpha * (power - mNoiseFloor);
+        }
+    }
+
+    /**
+     * Calculates the mean power of the filtered sample buffer.
+     */
+    private float getPower(ComplexSamples samples)
+    {
+        float[] i = samples.i();
+        float[] q = samples.q();
+        float accumulator = 0.0f;
+
+        for(int x = 0; x < i.length; x++)
+        {
+            accumulator += (i[x] * i[x]) + (q[x] * q[x]);
+        }
+
+        //Use a tiny floor value so that an all-zero buffer doesn't lock the noise floor at zero
+        return i.length > 0 ? Math.max(accumulator / i.length, Float.MIN_NORMAL) : Float.MIN_NORMAL;
+    }
+
+    /**
+     * Number of sample buffers absorbed by the idle energy detector.
+     */
+    public long getIdleBufferCount()
+    {
+        return mIdleBufferCount;
+    }
+
+    /**
+     * Number of times that activity woke the demodulation chain from idle mode.
+     */
+    public long getWakeCount()
+    {
+        return mWakeCount;
+    }
+
+    /**
+     * Estimated processing time saved by idle mode, calculated from the average demodulation chain cost per sample
+     * applied to the idle samples, minus the cost of the idle energy detector.
+     * @return estimated nanoseconds saved.
+     */
+    public long getEstimatedSavedNanos()
+    {
+        if(mActiveSamples == 0)
+        {
+            return 0;
+        }
+
+        double activeNanosPerSample = (double)mActiveNanos / mActiveSamples;
+        return Math.max((long)(activeNanosPerSample * mIdleSamples) - mIdleNanos, 0);
+    }
+
+    /**
+     * Summary of the idle mode statistics for diagnostics.
+     */
+    public String getStatistics()
+    {
+        DecimalFormat df = new DecimalFormat("0.000");
+        return "Squelch Idle Gate - Enabled:" + isEnabled() + " Idle:" + mIdle + " Idle Buffers:" + mIdleBufferCount + " Wakes:" + mWakeCount +
+            " Estimated CPU Saved:" + df.format(getEstimatedSavedNanos() / 1E9) + " seconds";
+    }
+}
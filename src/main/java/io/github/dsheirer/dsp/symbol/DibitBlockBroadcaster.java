@@ -0,0 +1,130 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.dsp.symbol;
+
+import io.github.dsheirer.sample.Listener;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Distributes the per-symbol dibit decisions from a demodulator.
+ *
+ * The symbol listener (i.e. the message framer) is invoked directly for each symbol, since framer feedback to the
+ * demodulator (e.g. PLL phase inversion correction and frequency correction sync monitoring) must be applied before
+ * the next symbol is demodulated.  Listeners that don't provide feedback (e.g. byte buffer assembly) receive the
+ * dibits collected into a primitive block, so that they are invoked once per block instead of once per symbol.
+ *
+ * The decoder invokes flush() after each sample buffer has been demodulated.  Blocks are also dispatched whenever
+ * the maximum block size is reached.
+ *
+ * Scope: used by the P25 Phase 1 and Phase 2 decoders, where the saving is the removal of the per-symbol listener list
+ * iteration and the per-symbol calls into the byte buffer assembler.  The message framers and their sync detectors
+ * still consume one Dibit per call, because of the demodulator feedback described above.  The DMR decoder doesn't use
+ * this class, since its soft symbol processor already calls the framer directly.  Blocks carry hard dibit decisions
+ * only, because the P25 demodulators don't produce soft values.
+ */
+public class DibitBlockBroadcaster implements Listener<Dibit>
+{
+    //96 dibits is 20 milliseconds at 4800 baud
+    public static final int DEFAULT_MAXIMUM_BLOCK_SIZE = 96;
+    private final List<IDibitBlockListener> mListeners = new CopyOnWriteArrayList<>();
+    private Listener<Dibit> mSymbolListener;
+    private final byte[] mBlock;
+    private int mCount;
+
+    /**
+     * Constructs an instance
+     * @param maximumBlockSize in dibits
+     */
+    public DibitBlockBroadcaster(int maximumBlockSize)
+    {
+        mBlock = new byte[maximumBlockSize];
+    }
+
+    /**
+     * Constructs an instance with the default maximum block size.
+     */
+    public DibitBlockBroadcaster()
+    {
+        this(DEFAULT_MAXIMUM_BLOCK_SIZE);
+    }
+
+    /**
+     * Sends the dibit to the symbol listener and adds the dibit to the current block, dispatching the block when full.
+     */
+    @Override
+    public void receive(Dibit dibit)
+    {
+        if(mSymbolListener != null)
+        {
+            mSymbolListener.receive(dibit);
+        }
+
+        mBlock[mCount++] = (byte)dibit.getValue();
+
+        if(mCount == mBlock.length)
+        {
+            flush();
+        }
+    }
+
+    /**
+     * Dispatches any dibits in the current block to the registered listeners.
+     */
+    public void flush()
+    {
+        if(mCount > 0)
+        {
+            for(IDibitBlockListener listener : mListeners)
+            {
+                listener.receive(mBlock, mCount);
+            }
+
+            mCount = 0;
+        }
+    }
+
+    /**
+     * Sets or clears the listener that receives each dibit as it is demodulated.  This listener is intended for the
+     * message framer, which provides per-symbol feedback to the demodulator.
+     * @param listener to receive dibits, or null to clear the listener
+     */
+    public void setSymbolListener(Listener<Dibit> listener)
+    {
+        mSymbolListener = listener;
+    }
+
+    /**
+     * Registers the listener to receive dibit blocks.  Block listeners receive dibits up to one block after they are
+     * demodulated and should not provide feedback to the demodulator.
+     */
+    public void addListener(IDibitBlockListener listener)
+    {
+        mListeners.add(listener);
+    }
+
+    /**
+     * Removes the listener from receiving dibit blocks.
+     */
+    public void removeListener(IDibitBlockListener listener)
+    {
+        mListeners.remove(listener);
+    }
+}
@@ -27,7 +27,7 @@ import org.slf4j.LoggerFactory;
 /**
  * Assembles reusable byte buffers from an incoming stream of Dibits.
  */
-public class DibitToByteBufferAssembler implements Listener<Dibit>, IByteBufferProvider
+public class DibitToByteBufferAssembler implements Listener<Dibit>, IDibitBlockListener, IByteBufferProvider
 {
     private final static Logger mLog = LoggerFactory.getLogger(DibitToByteBufferAssembler.class);
 
@@ -63,6 +63,27 @@ public class DibitToByteBufferAssembler implements Listener<Dibit>, IByteBufferP
         mCurrentBuffer = ByteBuffer.allocate(mBufferSize);
     }
 
+    @Override
+    public void receive(byte[] dibits, int length)
+    {
+        for(int x = 0; x < length; x++)
+        {
+            mCurrentByte = (byte)((mCurrentByte << 2) | dibits[x]);
+
+            if(++mDibitCount >= 4)
+            {
+                mCurrentBuffer.put(mCurrentByte);
+                mCurrentByte = 0x00;
+                mDibitCount = 0;
+
+                if(!mCurrentBuffer.hasRemaining())
+                {
+                    getNextBuffer();
+                }
+            }
+        }
+    }
+
     @Override
     public void receive(Dibit dibit)
     {
@@ -0,0 +1,34 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.dsp.symbol;
+
+/**
+ * Listener for blocks of dibit symbol decisions.
+ */
+public interface IDibitBlockListener
+{
+    /**
+     * Processes a block of dibit symbol decisions.  The array is reused by the producer and is only valid for the
+     * duration of this call.
+     * @param dibits array of dibit values (0 - 3, see Dibit.getValue()) in received order.
+     * @param length number of valid dibits in the array, starting at index 0.
+     */
+    void receive(byte[] dibits, int length);
+}
@@ -26,12 +26,14 @@ import io.github.dsheirer.audio.broadcast.AudioStreamingManager;
 import io.github.dsheirer.audio.broadcast.BroadcastFormat;
 import io.github.dsheirer.audio.broadcast.BroadcastStatusPanel;
 import io.github.dsheirer.audio.broadcast.webstream.WebStreamServer;
+import io.github.dsheirer.audio.convert.EncodedAudioCache;
 import io.github.dsheirer.audio.playback.AudioPlaybackManager;
 import io.github.dsheirer.controller.ControllerPanel;
 import io.github.dsheirer.controller.channel.Channel;
 import io.github.dsheirer.controller.channel.ChannelAutoStartFrame;
 import io.github.dsheirer.controller.channel.ChannelException;
 import io.github.dsheirer.controller.channel.ChannelSelectionManager;
+import io.github.dsheirer.dsp.filter.FilterDesignCache;
 import io.github.dsheirer.eventbus.MyEventBus;
 import io.github.dsheirer.gui.icon.ViewIconManagerRequest;
 import io.github.dsheirer.gui.playlist.ViewPlaylistRequest;
@@ -43,7 +45,9 @@ import io.github.dsheirer.gui.viewer.ViewRecordingViewerRequest;
 import io.github.dsheirer.icon.IconModel;
 import io.github.dsheirer.log.ApplicationLog;
 import io.github.dsheirer.map.MapService;
+import io.github.dsheirer.module.decode.event.store.EventStore;
 import io.github.dsheirer.module.log.EventLogManager;
+import io.github.dsheirer.module.log.EventLogWriter;
 import io.github.dsheirer.monitor.DiagnosticMonitor;
 import io.github.dsheirer.monitor.ResourceMonitor;
 import io.github.dsheirer.playlist.PlaylistManager;
@@ -61,6 +65,7 @@ import io.github.dsheirer.source.tuner.ui.TunerSpectralDisplayManager;
 import io.github.dsheirer.spectrum.DisableSpectrumWaterfallMenuItem;
 import io.github.dsheirer.spectrum.ShowTunerMenuItem;
 import io.github.dsheirer.spectrum.SpectralDisplayPanel;
+import io.github.dsheirer.util.Dispatcher;
 import io.github.dsheirer.util.ThreadPool;
 import io.github.dsheirer.util.TimeStamp;
 import io.github.dsheirer.vector.calibrate.CalibrationManager;
@@ -84,6 +89,8 @@ import java.nio.file.Path;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.prefs.Preferences;
 import javafx.application.Platform;
 import javafx.embed.swing.JFXPanel;
@@ -120,12 +127,18 @@ public class SDRTrunk implements Listener<TunerEvent>
     private static final String CONTROLLER_PANEL_IDENTIFIER = BASE_WINDOW_NAME + ".control.panel";
     private static final String SPECTRAL_PANEL_IDENTIFIER = BASE_WINDOW_NAME + ".spectral.panel";
     private static final String WINDOW_FRAME_IDENTIFIER = BASE_WINDOW_NAME + ".frame";
+    private static final String FILTER_DESIGN_CACHE_FOLDER = "cache";
+    private static final String FILTER_DESIGN_CACHE_FILE = "filter_designs.dat";
 
     private boolean mBroadcastStatusVisible;
     private boolean mResourceStatusVisible;
     private boolean mNowPlayingDetailsVisible;
     private AudioRecordingManager mAudioRecordingManager;
     private AudioStreamingManager mAudioStreamingManager;
+    private EncodedAudioCache mEncodedAudioCache;
+    private EventStore mEventStore;
+    private Path mFilterDesignCachePath;
+    private ScheduledFuture<?> mFilterDesignCacheSaveFuture;
     private WebStreamServer mWebStreamServer;
     private BroadcastStatusPanel mBroadcastStatusPanel;
     private ControllerPanel mControllerPanel;
@@ -181,6 +194,7 @@ public class SDRTrunk implements Listener<TunerEvent>
         }
 
         ThreadPool.logSettings();
+        Dispatcher.setSharedPoolEnabled(mUserPreferences.getTunerPreference().isSharedDispatcherPool());
 
         //Load properties file
         loadProperties();
@@ -191,6 +205,13 @@ public class SDRTrunk implements Listener<TunerEvent>
         //Register FontAwesome so we can use the fonts in Swing windows
         IconFontSwing.register(FontAwesome.getIconFont());
 
+        //Load previously designed filters before tuners and channels start designing their filters
+        mFilterDesignCachePath = SystemProperties.getInstance().getApplicationFolder(FILTER_DESIGN_CACHE_FOLDER)
+            .resolve(FILTER_DESIGN_CACHE_FILE);
+        FilterDesignCache.getInstance().load(mFilterDesignCachePath);
+        mFilterDesignCacheSaveFuture = ThreadPool.SCHEDULED.scheduleAtFixedRate(() ->
+            FilterDesignCache.getInstance().save(mFilterDesignCachePath), 1, 10, TimeUnit.MINUTES);
+
         mTunerManager = new TunerManager(mUserPreferences);
         mTunerManager.start();
 
@@ -219,15 +240,28 @@ public class SDRTrunk implements Listener<TunerEvent>
 
         AudioPlaybackManager audioPlaybackManager = new AudioPlaybackManager(mUserPreferences);
 
-        mAudioRecordingManager = new AudioRecordingManager(mUserPreferences);
+        //Shared by the recording and streaming managers so that each audio segment is MP3 encoded once
+        mEncodedAudioCache = new EncodedAudioCache();
+
+        mAudioRecordingManager = new AudioRecordingManager(mUserPreferences, mEncodedAudioCache);
         mAudioRecordingManager.start();
 
         mAudioStreamingManager = new AudioStreamingManager(mPlaylistManager.getBroadcastModel(), BroadcastFormat.MP3,
-            mUserPreferences);
+            mUserPreferences, mEncodedAudioCache);
         mAudioStreamingManager.start();
 
+        if(mUserPreferences.getDecodeEventPreference().isEventStoreEnabled())
+        {
+            mEventStore = new EventStore(mUserPreferences.getDirectoryPreference().getDirectoryEventLog().resolve("store"));
+            mEventStore.setRetention(TimeUnit.DAYS.toMillis(mUserPreferences.getDecodeEventPreference()
+                .getEventStoreRetentionDays()));
+            mEventStore.start();
+            mPlaylistManager.getChannelProcessingManager().addDecodeEventListener(mEventStore);
+        }
+
         mWebStreamServer = new WebStreamServer(8080, mPlaylistManager.getChannelModel(), 
-            mPlaylistManager.getChannelProcessingManager(), mTunerManager);
+            mPlaylistManager.getChannelProcessingManager(), mTunerManager, mUserPreferences);
+        mWebStreamServer.setEventStore(mEventStore);
         try
         {
             mWebStreamServer.start();
@@ -662,7 +696,14 @@ public class SDRTrunk implements Listener<TunerEvent>
         mJavaFxWindowManager.shutdown();
         mLog.info("Stopping channels ...");
         mPlaylistManager.getChannelProcessingManager().shutdown();
+        mPlaylistManager.shutdown();
+        EventLogWriter.getInstance().shutdown();
         mAudioRecordingManager.stop();
+        mEncodedAudioCache.stop();
+        if(mEventStore != null)
+        {
+            mEventStore.stop();
+        }
         mResourceMonitor.stop();
 
         if(mWebStreamServer != null && mWebStreamServer.isRunning())
@@ -682,6 +723,8 @@ public class SDRTrunk implements Listener<TunerEvent>
         mSpectralPanel.clearTuner();
         mLog.info("Stopping tuners ...");
         mTunerManager.stop();
+        mFilterDesignCacheSaveFuture.cancel(false);
+        FilterDesignCache.getInstance().save(mFilterDesignCachePath);
         mLog.info("Shutdown complete.");
         mApplicationLog.stop();
     }
@@ -349,7 +349,8 @@ public class ChannelSpectrumPanel extends JPanel implements Listener<ProcessingC
                     mSplitPane.setRightComponent(mNoiseSquelchPanel);
                 }
 
-                mNoiseSquelchView.setController(nbfmDecoder);
+                mNoiseSquelchView.setController(nbfmDecoder,
+                    mPlaylistManager.getChannelProcessingManager().getChannel(mProcessingChain));
                 mSignalPowerView.setProcessingChain(null);
             }
             else if(primaryDecoder instanceof AMDecoder)
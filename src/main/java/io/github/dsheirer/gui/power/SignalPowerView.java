@@ -127,7 +127,7 @@ public class SignalPowerView extends JPanel
             if(channel != null && channel.getDecodeConfiguration() instanceof ISquelchConfiguration configuration)
             {
                 configuration.setSquelchThreshold(threshold);
-                mPlaylistManager.schedulePlaylistSave();
+                mPlaylistManager.schedulePlaylistSave(channel);
             }
         }
     }
@@ -143,7 +143,7 @@ public class SignalPowerView extends JPanel
         if(channel != null && channel.getDecodeConfiguration() instanceof ISquelchConfiguration configuration)
         {
             configuration.setSquelchAutoTrack(autoTrack);
-            mPlaylistManager.schedulePlaylistSave();
+            mPlaylistManager.schedulePlaylistSave(channel);
         }
     }
 
@@ -21,8 +21,10 @@ import io.github.dsheirer.preference.UserPreferences;
 import io.github.dsheirer.preference.event.DecodeEventPreference;
 import javafx.geometry.HPos;
 import javafx.geometry.Insets;
+import javafx.scene.control.CheckBox;
 import javafx.scene.control.ChoiceBox;
 import javafx.scene.control.Label;
+import javafx.scene.control.Spinner;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
 
@@ -38,6 +40,11 @@ public class DecodeEventViewPreferenceEditor extends HBox
     private GridPane mEditorPane;
     private ChoiceBox<DisplayableTimestamp> mTimestampFormatChoiceBox;
     private Label mTimestampFormatLabel;
+    private CheckBox mEventLogCompressCheckBox;
+    private CheckBox mEventLogRotateDailyCheckBox;
+    private CheckBox mEventStoreEnabledCheckBox;
+    private Label mEventStoreRetentionLabel;
+    private Spinner<Integer> mEventStoreRetentionSpinner;
 
     public DecodeEventViewPreferenceEditor(UserPreferences userPreferences)
     {
@@ -50,11 +57,19 @@ public class DecodeEventViewPreferenceEditor extends HBox
         if(mEditorPane == null)
         {
             mEditorPane = new GridPane();
+            mEditorPane.setVgap(10);
             mEditorPane.setPadding(new Insets(10, 10, 10, 10));
             GridPane.setMargin(getTimestampFormatLabel(), new Insets(0, 10, 0, 0));
             GridPane.setHalignment(getTimestampFormatLabel(), HPos.LEFT);
             mEditorPane.add(getTimestampFormatLabel(), 0, 0);
             mEditorPane.add(getTimestampFormatChoiceBox(), 1, 0);
+            mEditorPane.add(getEventLogCompressCheckBox(), 0, 1, 2, 1);
+            mEditorPane.add(getEventLogRotateDailyCheckBox(), 0, 2, 2, 1);
+            mEditorPane.add(getEventStoreEnabledCheckBox(), 0, 3, 2, 1);
+            GridPane.setMargin(getEventStoreRetentionLabel(), new Insets(0, 10, 0, 0));
+            GridPane.setHalignment(getEventStoreRetentionLabel(), HPos.LEFT);
+            mEditorPane.add(getEventStoreRetentionLabel(), 0, 4);
+            mEditorPane.add(getEventStoreRetentionSpinner(), 1, 4);
         }
 
         return mEditorPane;
@@ -101,6 +116,72 @@ public class DecodeEventViewPreferenceEditor extends HBox
         return mTimestampFormatChoiceBox;
     }
 
+    private CheckBox getEventLogCompressCheckBox()
+    {
+        if(mEventLogCompressCheckBox == null)
+        {
+            mEventLogCompressCheckBox = new CheckBox("Compress Event Log Files (gzip)");
+            mEventLogCompressCheckBox.setSelected(mDecodeEventPreference.isEventLogCompress());
+            mEventLogCompressCheckBox.setOnAction(event ->
+                mDecodeEventPreference.setEventLogCompress(mEventLogCompressCheckBox.isSelected()));
+        }
+
+        return mEventLogCompressCheckBox;
+    }
+
+    private CheckBox getEventLogRotateDailyCheckBox()
+    {
+        if(mEventLogRotateDailyCheckBox == null)
+        {
+            mEventLogRotateDailyCheckBox = new CheckBox("Start A New Event Log File Each Day");
+            mEventLogRotateDailyCheckBox.setSelected(mDecodeEventPreference.isEventLogRotateDaily());
+            mEventLogRotateDailyCheckBox.setOnAction(event ->
+                mDecodeEventPreference.setEventLogRotateDaily(mEventLogRotateDailyCheckBox.isSelected()));
+        }
+
+        return mEventLogRotateDailyCheckBox;
+    }
+
+    private CheckBox getEventStoreEnabledCheckBox()
+    {
+        if(mEventStoreEnabledCheckBox == null)
+        {
+            mEventStoreEnabledCheckBox = new CheckBox("Save Events To Event History Store (requires restart)");
+            mEventStoreEnabledCheckBox.setSelected(mDecodeEventPreference.isEventStoreEnabled());
+            mEventStoreEnabledCheckBox.setOnAction(event -> {
+                mDecodeEventPreference.setEventStoreEnabled(mEventStoreEnabledCheckBox.isSelected());
+                getEventStoreRetentionSpinner().setDisable(!mEventStoreEnabledCheckBox.isSelected());
+            });
+        }
+
+        return mEventStoreEnabledCheckBox;
+    }
+
+    private Label getEventStoreRetentionLabel()
+    {
+        if(mEventStoreRetentionLabel == null)
+        {
+            mEventStoreRetentionLabel = new Label("Event History Retention (days)");
+        }
+
+        return mEventStoreRetentionLabel;
+    }
+
+    private Spinner<Integer> getEventStoreRetentionSpinner()
+    {
+        if(mEventStoreRetentionSpinner == null)
+        {
+            mEventStoreRetentionSpinner = new Spinner<>(DecodeEventPreference.MINIMUM_EVENT_STORE_RETENTION_DAYS,
+                DecodeEventPreference.MAXIMUM_EVENT_STORE_RETENTION_DAYS,
+                mDecodeEventPreference.getEventStoreRetentionDays(), 1);
+            mEventStoreRetentionSpinner.setDisable(!mDecodeEventPreference.isEventStoreEnabled());
+            mEventStoreRetentionSpinner.valueProperty().addListener((observable, oldValue, newValue) ->
+                mDecodeEventPreference.setEventStoreRetentionDays(newValue));
+        }
+
+        return mEventStoreRetentionSpinner;
+    }
+
     public class DisplayableTimestamp
     {
         private TimestampFormat mTimestampFormat;
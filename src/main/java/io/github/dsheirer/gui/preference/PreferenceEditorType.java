@@ -35,6 +35,7 @@ public enum PreferenceEditorType
     SOURCE_TUNERS("Tuners"),
     TALKGROUP_FORMAT("Talkgroup & Radio ID"),
     VECTOR_CALIBRATION("Vector Calibration"),
+    WEB_STREAM("Web Stream"),
     DEFAULT("Default");
 
     private String mLabel;
@@ -27,9 +27,11 @@ import javafx.geometry.Insets;
 import javafx.geometry.Orientation;
 import javafx.scene.Node;
 import javafx.scene.control.Alert;
+import javafx.scene.control.CheckBox;
 import javafx.scene.control.ChoiceBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.Separator;
+import javafx.scene.control.Spinner;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
 
@@ -43,6 +45,13 @@ public class TunerPreferenceEditor extends HBox
         "channelizer is more efficient when decoding 3 or more channels.";
     private static final String HELP_TEXT_HETERODYNE = "Processes each channel on-demand.  This " +
         "channelizer may work better for computers with constrained resources when processing a small number of channels.";
+    private static final String HELP_TEXT_SHARED_DISPATCHER = "Processes channel samples on a shared thread pool " +
+        "sized to the number of CPU cores instead of a dedicated thread for each channel.  This can reduce thread " +
+        "count and context switching when decoding a large number of channels.";
+    private static final String HELP_TEXT_SQUELCH_IDLE = "Conventional NBFM and AM channels skip demodulation and " +
+        "only monitor channel power once the squelch has been closed for the idle timeout.  The channel wakes when " +
+        "the power rises above the noise floor by the wake threshold and replays the look-back audio.  Changes take " +
+        "effect when a channel is started.";
 
     private TunerPreference mTunerPreference;
     private GridPane mEditorPane;
@@ -54,6 +63,13 @@ public class TunerPreferenceEditor extends HBox
     private Label mHelpTextHeterodyneLabel;
     private ChoiceBox<RspDuoSelectionMode> mRspDuoTunerModeChoiceBox;
     private Label mRspDuoModeLabel;
+    private CheckBox mSharedDispatcherCheckBox;
+    private Label mHelpTextSharedDispatcherLabel;
+    private CheckBox mSquelchIdleCheckBox;
+    private Label mHelpTextSquelchIdleLabel;
+    private Spinner<Integer> mSquelchIdleTimeoutSpinner;
+    private Spinner<Integer> mSquelchIdleWakeThresholdSpinner;
+    private Spinner<Integer> mSquelchIdleLookbackSpinner;
 
     public TunerPreferenceEditor(UserPreferences userPreferences)
     {
@@ -83,6 +99,26 @@ public class TunerPreferenceEditor extends HBox
             mEditorPane.add(new Separator(Orientation.HORIZONTAL), 0, row, 2, 1);
             mEditorPane.add(getRspDuoModeLabel(), 0, ++row);
             mEditorPane.add(getRspDuoTunerModeChoiceBox(), 1, row);
+            mEditorPane.add(new Separator(Orientation.HORIZONTAL), 0, ++row, 2, 1);
+            mEditorPane.add(getSharedDispatcherCheckBox(), 0, ++row, 2, 1);
+            mEditorPane.add(getHelpTextSharedDispatcherLabel(), 0, ++row, 2, 3);
+            row += 3;
+            mEditorPane.add(new Separator(Orientation.HORIZONTAL), 0, row, 2, 1);
+            mEditorPane.add(getSquelchIdleCheckBox(), 0, ++row, 2, 1);
+            mEditorPane.add(getHelpTextSquelchIdleLabel(), 0, ++row, 2, 3);
+            row += 3;
+            Label timeoutLabel = new Label("Idle Timeout (seconds)");
+            GridPane.setHalignment(timeoutLabel, HPos.RIGHT);
+            mEditorPane.add(timeoutLabel, 0, row);
+            mEditorPane.add(getSquelchIdleTimeoutSpinner(), 1, row);
+            Label thresholdLabel = new Label("Wake Threshold (dB)");
+            GridPane.setHalignment(thresholdLabel, HPos.RIGHT);
+            mEditorPane.add(thresholdLabel, 0, ++row);
+            mEditorPane.add(getSquelchIdleWakeThresholdSpinner(), 1, row);
+            Label lookbackLabel = new Label("Look-back (milliseconds)");
+            GridPane.setHalignment(lookbackLabel, HPos.RIGHT);
+            mEditorPane.add(lookbackLabel, 0, ++row);
+            mEditorPane.add(getSquelchIdleLookbackSpinner(), 1, row);
         }
 
         return mEditorPane;
@@ -201,4 +237,122 @@ public class TunerPreferenceEditor extends HBox
 
         return mRspDuoModeLabel;
     }
+
+    private CheckBox getSharedDispatcherCheckBox()
+    {
+        if(mSharedDispatcherCheckBox == null)
+        {
+            mSharedDispatcherCheckBox = new CheckBox("Use Shared Channel Processing Thread Pool");
+            mSharedDispatcherCheckBox.setSelected(mTunerPreference.isSharedDispatcherPool());
+            mSharedDispatcherCheckBox.setOnAction(event -> {
+                mTunerPreference.setSharedDispatcherPool(mSharedDispatcherCheckBox.isSelected());
+
+                Label label = new Label("Please restart the application for this change to take effect");
+                label.setWrapText(true);
+                Alert alert = new Alert(Alert.AlertType.WARNING);
+                alert.getDialogPane().setContent(label);
+                alert.initOwner(((Node)getSharedDispatcherCheckBox()).getScene().getWindow());
+                alert.show();
+            });
+        }
+
+        return mSharedDispatcherCheckBox;
+    }
+
+    private Label getHelpTextSharedDispatcherLabel()
+    {
+        if(mHelpTextSharedDispatcherLabel == null)
+        {
+            mHelpTextSharedDispatcherLabel = new Label(HELP_TEXT_SHARED_DISPATCHER);
+            mHelpTextSharedDispatcherLabel.setWrapText(true);
+        }
+
+        return mHelpTextSharedDispatcherLabel;
+    }
+
+    private CheckBox getSquelchIdleCheckBox()
+    {
+        if(mSquelchIdleCheckBox == null)
+        {
+            mSquelchIdleCheckBox = new CheckBox("Idle Squelched Conventional Channels");
+            mSquelchIdleCheckBox.setSelected(mTunerPreference.isSquelchIdleEnabled());
+            mSquelchIdleCheckBox.setOnAction(event -> {
+                mTunerPreference.setSquelchIdleEnabled(mSquelchIdleCheckBox.isSelected());
+                updateSquelchIdleControls();
+            });
+        }
+
+        return mSquelchIdleCheckBox;
+    }
+
+    private Label getHelpTextSquelchIdleLabel()
+    {
+        if(mHelpTextSquelchIdleLabel == null)
+        {
+            mHelpTextSquelchIdleLabel = new Label(HELP_TEXT_SQUELCH_IDLE);
+            mHelpTextSquelchIdleLabel.setWrapText(true);
+        }
+
+        return mHelpTextSquelchIdleLabel;
+    }
+
+    /**
+     * Spinner to select the squelch idle timeout in range 5-300 seconds.
+     */
+    private Spinner<Integer> getSquelchIdleTimeoutSpinner()
+    {
+        if(mSquelchIdleTimeoutSpinner == null)
+        {
+            mSquelchIdleTimeoutSpinner = new Spinner<>(5, 300, mTunerPreference.getSquelchIdleTimeoutSeconds(), 5);
+            mSquelchIdleTimeoutSpinner.setDisable(!mTunerPreference.isSquelchIdleEnabled());
+            mSquelchIdleTimeoutSpinner.valueProperty().addListener((observable, oldValue, newValue) ->
+                mTunerPreference.setSquelchIdleTimeoutSeconds(newValue));
+        }
+
+        return mSquelchIdleTimeoutSpinner;
+    }
+
+    /**
+     * Spinner to select the squelch idle wake threshold in range 1-20 dB.
+     */
+    private Spinner<Integer> getSquelchIdleWakeThresholdSpinner()
+    {
+        if(mSquelchIdleWakeThresholdSpinner == null)
+        {
+            mSquelchIdleWakeThresholdSpinner = new Spinner<>(1, 20, mTunerPreference.getSquelchIdleWakeThresholdDb(), 1);
+            mSquelchIdleWakeThresholdSpinner.setDisable(!mTunerPreference.isSquelchIdleEnabled());
+            mSquelchIdleWakeThresholdSpinner.valueProperty().addListener((observable, oldValue, newValue) ->
+                mTunerPreference.setSquelchIdleWakeThresholdDb(newValue));
+        }
+
+        return mSquelchIdleWakeThresholdSpinner;
+    }
+
+    /**
+     * Spinner to select the squelch idle look-back duration in range 0-1000 milliseconds.
+     */
+    private Spinner<Integer> getSquelchIdleLookbackSpinner()
+    {
+        if(mSquelchIdleLookbackSpinner == null)
+        {
+            mSquelchIdleLookbackSpinner = new Spinner<>(0, 1000, mTunerPreference.getSquelchIdleLookbackMilliseconds(),
+                50);
+            mSquelchIdleLookbackSpinner.setDisable(!mTunerPreference.isSquelchIdleEnabled());
+            mSquelchIdleLookbackSpinner.valueProperty().addListener((observable, oldValue, newValue) ->
+                mTunerPreference.setSquelchIdleLookbackMilliseconds(newValue));
+        }
+
+        return mSquelchIdleLookbackSpinner;
+    }
+
+    /**
+     * Enables the squelch idle setting controls when squelch idle mode is enabled.
+     */
+    private void updateSquelchIdleControls()
+    {
+        boolean disabled = !mTunerPreference.isSquelchIdleEnabled();
+        getSquelchIdleTimeoutSpinner().setDisable(disabled);
+        getSquelchIdleWakeThresholdSpinner().setDisable(disabled);
+        getSquelchIdleLookbackSpinner().setDisable(disabled);
+    }
 }
@@ -0,0 +1,206 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.gui.preference.webstream;
+
+import io.github.dsheirer.audio.broadcast.webstream.WebStreamAudioFormat;
+import io.github.dsheirer.audio.broadcast.webstream.WebStreamWaveformBroadcaster;
+import io.github.dsheirer.preference.UserPreferences;
+import io.github.dsheirer.preference.webstream.WebStreamPreference;
+import javafx.geometry.Insets;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.Label;
+import javafx.scene.control.Separator;
+import javafx.scene.control.Spinner;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+
+/**
+ * Preference settings for streaming to the web UI
+ */
+public class WebStreamPreferenceEditor extends HBox
+{
+    private static final String HELP_TEXT_LIVE_STREAMING = "Streams each call to web UI clients while the call is in " +
+        "progress.  When disabled, each call is sent to the clients once the call is complete.";
+    private static final String HELP_TEXT_AUDIO_FORMAT = "PCM has the lowest latency and no encoding overhead.  MP3 " +
+        "reduces the network bandwidth used by each client.";
+    private static final String HELP_TEXT_WAVEFORM = "Spectrum mode computes the spectrum on the server with the " +
+        "selected FFT size.  I/Q mode sends every Nth tuner sample, per the decimation factor, and the web UI " +
+        "computes the spectrum.";
+    private static final String HELP_TEXT_EVENT_QUERY_REMOTE_ACCESS = "The event history API (/api/events) answers " +
+        "requests from this computer only.  When enabled, any host that can reach the web UI can query the decode " +
+        "event history.";
+    private static final Integer[] FFT_SIZES = {256, 512, 1024, 2048, 4096, 8192};
+
+    private WebStreamPreference mWebStreamPreference;
+    private GridPane mEditorPane;
+    private CheckBox mLiveStreamingCheckBox;
+    private ComboBox<WebStreamAudioFormat> mAudioFormatComboBox;
+    private ComboBox<WebStreamWaveformBroadcaster.Mode> mWaveformModeComboBox;
+    private ComboBox<Integer> mWaveformFFTSizeComboBox;
+    private Spinner<Integer> mWaveformDecimationSpinner;
+    private CheckBox mEventQueryRemoteAccessCheckBox;
+
+    public WebStreamPreferenceEditor(UserPreferences userPreferences)
+    {
+        mWebStreamPreference = userPreferences.getWebStreamPreference();
+        HBox.setHgrow(getEditorPane(), Priority.ALWAYS);
+        getChildren().add(getEditorPane());
+    }
+
+    private GridPane getEditorPane()
+    {
+        if(mEditorPane == null)
+        {
+            mEditorPane = new GridPane();
+            mEditorPane.setPadding(new Insets(10, 10, 10, 10));
+            mEditorPane.setHgap(10);
+            mEditorPane.setVgap(10);
+
+            int row = 0;
+
+            mEditorPane.add(getLiveStreamingCheckBox(), 0, row, 2, 1);
+            Label liveStreamingHelp = new Label(HELP_TEXT_LIVE_STREAMING);
+            liveStreamingHelp.setWrapText(true);
+            mEditorPane.add(liveStreamingHelp, 0, ++row, 2, 1);
+
+            mEditorPane.add(new Label("Audio Format:"), 0, ++row);
+            mEditorPane.add(getAudioFormatComboBox(), 1, row);
+            Label audioFormatHelp = new Label(HELP_TEXT_AUDIO_FORMAT);
+            audioFormatHelp.setWrapText(true);
+            mEditorPane.add(audioFormatHelp, 0, ++row, 2, 1);
+
+            mEditorPane.add(new Separator(), 0, ++row, 2, 1);
+            mEditorPane.add(new Label("Waveform Mode:"), 0, ++row);
+            mEditorPane.add(getWaveformModeComboBox(), 1, row);
+            mEditorPane.add(new Label("FFT Size:"), 0, ++row);
+            mEditorPane.add(getWaveformFFTSizeComboBox(), 1, row);
+            mEditorPane.add(new Label("I/Q Decimation Factor:"), 0, ++row);
+            mEditorPane.add(getWaveformDecimationSpinner(), 1, row);
+            Label waveformHelp = new Label(HELP_TEXT_WAVEFORM);
+            waveformHelp.setWrapText(true);
+            mEditorPane.add(waveformHelp, 0, ++row, 2, 1);
+
+            mEditorPane.add(new Separator(), 0, ++row, 2, 1);
+            mEditorPane.add(getEventQueryRemoteAccessCheckBox(), 0, ++row, 2, 1);
+            Label eventQueryHelp = new Label(HELP_TEXT_EVENT_QUERY_REMOTE_ACCESS);
+            eventQueryHelp.setWrapText(true);
+            mEditorPane.add(eventQueryHelp, 0, ++row, 2, 1);
+        }
+
+        return mEditorPane;
+    }
+
+    private CheckBox getLiveStreamingCheckBox()
+    {
+        if(mLiveStreamingCheckBox == null)
+        {
+            mLiveStreamingCheckBox = new CheckBox("Stream Calls Live");
+            mLiveStreamingCheckBox.setSelected(mWebStreamPreference.isLiveStreaming());
+            mLiveStreamingCheckBox.setOnAction(event ->
+                mWebStreamPreference.setLiveStreaming(mLiveStreamingCheckBox.isSelected()));
+        }
+
+        return mLiveStreamingCheckBox;
+    }
+
+    private CheckBox getEventQueryRemoteAccessCheckBox()
+    {
+        if(mEventQueryRemoteAccessCheckBox == null)
+        {
+            mEventQueryRemoteAccessCheckBox = new CheckBox("Allow Event History Queries From Remote Hosts");
+            mEventQueryRemoteAccessCheckBox.setSelected(mWebStreamPreference.isEventQueryRemoteAccess());
+            mEventQueryRemoteAccessCheckBox.setOnAction(event ->
+                mWebStreamPreference.setEventQueryRemoteAccess(mEventQueryRemoteAccessCheckBox.isSelected()));
+        }
+
+        return mEventQueryRemoteAccessCheckBox;
+    }
+
+    private ComboBox<WebStreamAudioFormat> getAudioFormatComboBox()
+    {
+        if(mAudioFormatComboBox == null)
+        {
+            mAudioFormatComboBox = new ComboBox<>();
+            mAudioFormatComboBox.getItems().addAll(WebStreamAudioFormat.values());
+            mAudioFormatComboBox.getSelectionModel().select(mWebStreamPreference.getAudioFormat());
+            mAudioFormatComboBox.getSelectionModel().selectedItemProperty().addListener((observable, oldValue, newValue) -> {
+                if(newValue != null)
+                {
+                    mWebStreamPreference.setAudioFormat(newValue);
+                }
+            });
+        }
+
+        return mAudioFormatComboBox;
+    }
+
+    private ComboBox<WebStreamWaveformBroadcaster.Mode> getWaveformModeComboBox()
+    {
+        if(mWaveformModeComboBox == null)
+        {
+            mWaveformModeComboBox = new ComboBox<>();
+            mWaveformModeComboBox.getItems().addAll(WebStreamWaveformBroadcaster.Mode.values());
+            mWaveformModeComboBox.getSelectionModel().select(mWebStreamPreference.getWaveformMode());
+            mWaveformModeComboBox.getSelectionModel().selectedItemProperty().addListener((observable, oldValue, newValue) -> {
+                if(newValue != null)
+                {
+                    mWebStreamPreference.setWaveformMode(newValue);
+                }
+            });
+        }
+
+        return mWaveformModeComboBox;
+    }
+
+    private ComboBox<Integer> getWaveformFFTSizeComboBox()
+    {
+        if(mWaveformFFTSizeComboBox == null)
+        {
+            mWaveformFFTSizeComboBox = new ComboBox<>();
+            mWaveformFFTSizeComboBox.getItems().addAll(FFT_SIZES);
+            mWaveformFFTSizeComboBox.getSelectionModel().select(Integer.valueOf(mWebStreamPreference.getWaveformFFTSize()));
+            mWaveformFFTSizeComboBox.getSelectionModel().selectedItemProperty().addListener((observable, oldValue, newValue) -> {
+                if(newValue != null)
+                {
+                    mWebStreamPreference.setWaveformFFTSize(newValue);
+                }
+            });
+        }
+
+        return mWaveformFFTSizeComboBox;
+    }
+
+    /**
+     * Spinner to select the I/Q waveform decimation factor in range 1-500.
+     */
+    private Spinner<Integer> getWaveformDecimationSpinner()
+    {
+        if(mWaveformDecimationSpinner == null)
+        {
+            mWaveformDecimationSpinner = new Spinner<>(1, 500, mWebStreamPreference.getWaveformDecimationFactor(), 1);
+            mWaveformDecimationSpinner.valueProperty().addListener((observable, oldValue, newValue) ->
+                mWebStreamPreference.setWaveformDecimationFactor(newValue));
+        }
+
+        return mWaveformDecimationSpinner;
+    }
+}
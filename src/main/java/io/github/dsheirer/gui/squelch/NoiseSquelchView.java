@@ -19,6 +19,7 @@
 
 package io.github.dsheirer.gui.squelch;
 
+import io.github.dsheirer.controller.channel.Channel;
 import io.github.dsheirer.dsp.squelch.INoiseSquelchController;
 import io.github.dsheirer.dsp.squelch.NoiseSquelch;
 import io.github.dsheirer.dsp.squelch.NoiseSquelchState;
@@ -107,6 +108,7 @@ public class NoiseSquelchView extends VBox implements Listener<NoiseSquelchState
     private final PlaylistManager mPlaylistManager;
     private final List<NoiseSquelchState> mSquelchStateHistory = new ArrayList<>();
     private INoiseSquelchController mController;
+    private Channel mChannel;
     private ScheduledFuture<?> mTimerFuture;
 
     private ToggleButton mSquelchOverrideButton;
@@ -495,6 +497,20 @@ public class NoiseSquelchView extends VBox implements Listener<NoiseSquelchState
      * @param controller to set (non-null) or clear (null).
      */
     public void setController(INoiseSquelchController controller)
+    {
+        setController(controller, null);
+    }
+
+    /**
+     * Sets the noise squelch controller for this view and the channel that the controller updates, so that squelch
+     * changes only save the channel to the playlist.
+     *
+     * Note: this method is invoked by the Swing UI thread in response to user action.
+     *
+     * @param controller to set (non-null) or clear (null).
+     * @param channel configuration that is updated by the controller, or null.
+     */
+    public void setController(INoiseSquelchController controller, Channel channel)
     {
         try
         {
@@ -515,6 +531,7 @@ public class NoiseSquelchView extends VBox implements Listener<NoiseSquelchState
                 reset();
 
                 mController = controller;
+                mChannel = controller != null ? channel : null;
 
                 if(mController != null)
                 {
@@ -618,7 +635,7 @@ public class NoiseSquelchView extends VBox implements Listener<NoiseSquelchState
             //The controller updates the channel configuration so schedule a playlist save
             if(mPlaylistManager != null)
             {
-                mPlaylistManager.schedulePlaylistSave();
+                mPlaylistManager.schedulePlaylistSave(mChannel);
             }
         }
     }
@@ -684,7 +701,7 @@ public class NoiseSquelchView extends VBox implements Listener<NoiseSquelchState
                 //The controller updates the channel configuration so schedule a playlist save
                 if(mPlaylistManager != null)
                 {
-                    mPlaylistManager.schedulePlaylistSave();
+                    mPlaylistManager.schedulePlaylistSave(mChannel);
                 }
             }
         }
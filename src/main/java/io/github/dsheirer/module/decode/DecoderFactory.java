@@ -183,14 +183,14 @@ public class DecoderFactory
         switch(decodeConfig.getDecoderType())
         {
             case AM:
-                processAM(channel, modules, aliasList, decodeConfig);
+                processAM(channel, userPreferences, modules, aliasList, decodeConfig);
                 break;
             case DMR:
                 processDMR(channel, userPreferences, modules, aliasList, (DecodeConfigDMR)decodeConfig,
                     trafficChannelManager, channelDescriptor);
                 break;
             case NBFM:
-                processNBFM(channel, modules, aliasList, decodeConfig);
+                processNBFM(channel, userPreferences, modules, aliasList, decodeConfig);
                 break;
             case LTR:
                 processLTRStandard(channel, modules, aliasList, (DecodeConfigLTRStandard) decodeConfig);
@@ -440,11 +440,13 @@ public class DecoderFactory
     /**
      * Creates decoder modules for Narrow Band FM decoder
      * @param channel configuration
+     * @param userPreferences for squelch idle mode settings
      * @param modules collection to add to
      * @param aliasList for the channel
      * @param decodeConfig for the channel
      */
-    private static void processNBFM(Channel channel, List<Module> modules, AliasList aliasList, DecodeConfiguration decodeConfig)
+    private static void processNBFM(Channel channel, UserPreferences userPreferences, List<Module> modules,
+                                    AliasList aliasList, DecodeConfiguration decodeConfig)
     {
         if(!(decodeConfig instanceof DecodeConfigNBFM))
         {
@@ -453,7 +455,7 @@ public class DecoderFactory
         }
 
         DecodeConfigNBFM decodeConfigNBFM = (DecodeConfigNBFM)decodeConfig;
-        modules.add(new NBFMDecoder(decodeConfigNBFM));
+        modules.add(new NBFMDecoder(decodeConfigNBFM, userPreferences.getTunerPreference()));
         modules.add(new NBFMDecoderState(channel.getName(), decodeConfigNBFM));
         modules.add(new AudioModule(aliasList, 0, 60000, decodeConfigNBFM.isAudioFilter()));
     }
@@ -461,15 +463,17 @@ public class DecoderFactory
     /**
      * Creates decoder modules for AM decoder
      * @param channel configuration
+     * @param userPreferences for squelch idle mode settings
      * @param modules collection to add to
      * @param aliasList for the channel
      * @param decodeConfig for the channel
      */
-    private static void processAM(Channel channel, List<Module> modules, AliasList aliasList, DecodeConfiguration decodeConfig)
+    private static void processAM(Channel channel, UserPreferences userPreferences, List<Module> modules,
+                                  AliasList aliasList, DecodeConfiguration decodeConfig)
     {
         if(decodeConfig instanceof DecodeConfigAM configAM)
         {
-            modules.add(new AMDecoder(configAM));
+            modules.add(new AMDecoder(configAM, userPreferences.getTunerPreference()));
             modules.add(new AMDecoderState(channel.getName(), configAM));
             modules.add(new AudioModule(aliasList, 0, 60000, AUDIO_FILTER_ENABLE));
         }
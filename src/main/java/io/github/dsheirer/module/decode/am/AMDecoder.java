@@ -32,11 +32,14 @@ import io.github.dsheirer.dsp.filter.resample.RealResampler;
 import io.github.dsheirer.dsp.fm.ISquelchingDemodulator;
 import io.github.dsheirer.dsp.gain.AudioGainAndDcFilter;
 import io.github.dsheirer.dsp.squelch.INoiseSquelchController;
+import io.github.dsheirer.dsp.squelch.ISquelchIdleGateProvider;
 import io.github.dsheirer.dsp.squelch.NoiseSquelch;
 import io.github.dsheirer.dsp.squelch.NoiseSquelchState;
+import io.github.dsheirer.dsp.squelch.SquelchIdleGate;
 import io.github.dsheirer.dsp.window.WindowType;
 import io.github.dsheirer.module.decode.DecoderType;
 import io.github.dsheirer.module.decode.PrimaryDecoder;
+import io.github.dsheirer.preference.source.TunerPreference;
 import io.github.dsheirer.sample.Listener;
 import io.github.dsheirer.sample.complex.ComplexSamples;
 import io.github.dsheirer.sample.complex.IComplexSamplesListener;
@@ -52,7 +55,7 @@ import org.slf4j.LoggerFactory;
  */
 public class AMDecoder extends PrimaryDecoder implements ISourceEventListener, ISourceEventProvider,
         IComplexSamplesListener, Listener<ComplexSamples>, IRealBufferProvider,
-        IDecoderStateEventProvider, INoiseSquelchController
+        IDecoderStateEventProvider, INoiseSquelchController, ISquelchIdleGateProvider
 {
     private final static Logger mLog = LoggerFactory.getLogger(AMDecoder.class);
     private static final float DEMODULATOR_GAIN = 150.0f;
@@ -74,6 +77,7 @@ public class AMDecoder extends PrimaryDecoder implements ISourceEventListener, I
     private final double mChannelBandwidth;
     protected boolean mSquelch = true;
     private final NoiseSquelch mNoiseSquelch = new NoiseSquelch(0.1f, 0.2f, 4, 6);
+    private final SquelchIdleGate mSquelchIdleGate;
 
     /**
      * Constructs an instance
@@ -81,11 +85,24 @@ public class AMDecoder extends PrimaryDecoder implements ISourceEventListener, I
      * @param config to setup the AM decoder
      */
     public AMDecoder(DecodeConfigAM config)
+    {
+        this(config, null);
+    }
+
+    /**
+     * Constructs an instance
+     *
+     * @param config to setup the AM decoder
+     * @param tunerPreference for the squelch idle mode settings, or null to disable squelch idle mode.
+     */
+    public AMDecoder(DecodeConfigAM config, TunerPreference tunerPreference)
     {
         super(config);
         mDemodulator = new SquelchingAMDemodulator(DEMODULATOR_GAIN, SQUELCH_ALPHA_DECAY, config.getSquelchThreshold(),
                 config.isSquelchAutoTrack());
 		mChannelBandwidth = config.getBandwidth().getValue();
+        mSquelchIdleGate = new SquelchIdleGate(this::demodulate, () -> mSquelch && !mNoiseSquelch.isSquelchOverride() &&
+                !mNoiseSquelch.hasNoiseSquelchStateListener(), tunerPreference);
     }
 
     @Override
@@ -94,6 +111,12 @@ public class AMDecoder extends PrimaryDecoder implements ISourceEventListener, I
         return DecoderType.AM;
     }
 
+    @Override
+    public SquelchIdleGate getSquelchIdleGate()
+    {
+        return mSquelchIdleGate;
+    }
+
     @Override
     public void setSquelchOverride(boolean override)
     {
@@ -206,7 +229,19 @@ public class AMDecoder extends PrimaryDecoder implements ISourceEventListener, I
         float[] filteredI = mIBasebandFilter.filter(decimatedI);
         float[] filteredQ = mQBasebandFilter.filter(decimatedQ);
 
-        float[] demodulated = mDemodulator.demodulate(filteredI, filteredQ);
+        //Samples absorbed by the idle energy detector while squelched = Continue IDLE
+        if(!mSquelchIdleGate.receive(new ComplexSamples(filteredI, filteredQ, samples.timestamp())))
+        {
+            notifyIdle();
+        }
+    }
+
+    /**
+     * Demodulates the decimated and baseband filtered sample buffer and processes it through the squelch chain.
+     */
+    private void demodulate(ComplexSamples filtered)
+    {
+        float[] demodulated = mDemodulator.demodulate(filtered.i(), filtered.q());
 
         mNoiseSquelch.process(demodulated);
 
@@ -408,6 +443,7 @@ public class AMDecoder extends PrimaryDecoder implements ISourceEventListener, I
                     mDemodulator.setSampleRate((int) decimatedSampleRate);
 
                     mNoiseSquelch.setSampleRate(decimatedSampleRate);
+                    mSquelchIdleGate.setSampleRate(decimatedSampleRate);
 
                     int passBandStop = (int) (mChannelBandwidth * .8);
                     int stopBandStart = (int) mChannelBandwidth;
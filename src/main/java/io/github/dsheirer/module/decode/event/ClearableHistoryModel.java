@@ -19,19 +19,36 @@
 
 package io.github.dsheirer.module.decode.event;
 
+import io.github.dsheirer.util.ThreadPool;
 import java.awt.EventQueue;
-import java.util.LinkedList;
+import java.util.IdentityHashMap;
 import java.util.List;
-
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import javax.swing.table.AbstractTableModel;
 
 /**
  * AbstractTableModel implementation supporting clearable method options.
+ *
+ * Rows are stored newest-first in an array ring buffer with an identity map of item to insertion sequence number, so
+ * that row access and item lookup are constant time operations.  Items submitted from producer threads via the
+ * enqueue() method are buffered and applied on the Swing event dispatch thread at a fixed frame rate, with a single
+ * table event for each type of change (insert, update, delete) per frame.
  */
 public abstract class ClearableHistoryModel<T> extends AbstractTableModel
 {
     public static final int DEFAULT_HISTORY_SIZE = 200;
-    private LinkedList<T> mItems = new LinkedList<>();
+    private static final long FRAME_INTERVAL_MILLISECONDS = 50;
+    private final Queue<T> mPendingItems = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean mFlushScheduled = new AtomicBoolean();
+    private final Map<T,Long> mSequenceMap = new IdentityHashMap<>();
+    private Object[] mItems = new Object[DEFAULT_HISTORY_SIZE];
+    private int mHead = -1;
+    private int mCount;
+    private long mSequence;
     private int mHistorySize = DEFAULT_HISTORY_SIZE;
 
     /**
@@ -39,39 +56,196 @@ public abstract class ClearableHistoryModel<T> extends AbstractTableModel
      * @param index to retrieve
      * @return item or null
      */
+    @SuppressWarnings("unchecked")
     public T getItem(int index)
     {
-        if(index < mItems.size())
+        if(index >= 0 && index < mCount)
         {
-            return mItems.get(index);
+            return (T)mItems[toArrayIndex(index)];
         }
 
         return null;
     }
 
+    /**
+     * Model row index for the item
+     * @param item to lookup
+     * @return row index or -1 if the item is not in the model
+     */
+    public int getRow(T item)
+    {
+        Long sequence = mSequenceMap.get(item);
+        return sequence != null ? (int)(mSequence - sequence) : -1;
+    }
+
     /**
      * Adds the item to the top of the item list and removes any tail items while the item list size exceeds the
-     * maximum history size for this model.
+     * maximum history size for this model.  If the item is already in the model, the item's row is updated.
+     *
+     * Note: this method must be invoked on the Swing event dispatch thread.  Producer threads should use enqueue().
      * @param item to add
      */
     public void add(T item)
     {
-        if(mItems.contains(item))
+        int itemRow = getRow(item);
+
+        if(itemRow >= 0)
         {
-            int itemRow = mItems.indexOf(item);
             fireTableRowsUpdated(itemRow, itemRow);
         }
         else
         {
-            mItems.addFirst(item);
+            addFirst(item);
             fireTableRowsInserted(0, 0);
+            trim();
+        }
+    }
+
+    /**
+     * Queues the item to be added to (or updated in) the model on the Swing event dispatch thread during the next
+     * frame update.  This method is thread safe.
+     * @param item to add
+     */
+    public void enqueue(T item)
+    {
+        mPendingItems.offer(item);
+
+        if(mFlushScheduled.compareAndSet(false, true))
+        {
+            ThreadPool.SCHEDULED.schedule(() -> EventQueue.invokeLater(this::flush), FRAME_INTERVAL_MILLISECONDS,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Applies the queued items to the model and fires a single table event for the inserted rows, the updated rows
+     * and the deleted rows.  Invoked on the Swing event dispatch thread.
+     */
+    private void flush()
+    {
+        //Clear the flag before draining so that items that arrive during the flush schedule the next frame
+        mFlushScheduled.set(false);
+
+        int inserted = 0;
+        long oldestUpdatedSequence = Long.MAX_VALUE;
+        long newestUpdatedSequence = Long.MIN_VALUE;
+
+        T item;
+
+        while((item = mPendingItems.poll()) != null)
+        {
+            Long sequence = mSequenceMap.get(item);
+
+            if(sequence != null)
+            {
+                oldestUpdatedSequence = Math.min(oldestUpdatedSequence, sequence);
+                newestUpdatedSequence = Math.max(newestUpdatedSequence, sequence);
+            }
+            else
+            {
+                addFirst(item);
+                inserted++;
+            }
+        }
+
+        if(inserted > 0)
+        {
+            fireTableRowsInserted(0, inserted - 1);
+        }
+
+        if(oldestUpdatedSequence != Long.MAX_VALUE)
+        {
+            //Updated items that were inserted before this frame are below the newly inserted rows.
+            int firstRow = (int)(mSequence - newestUpdatedSequence);
+            int lastRow = Math.min((int)(mSequence - oldestUpdatedSequence), mCount - 1);
+
+            if(firstRow <= lastRow)
+            {
+                fireTableRowsUpdated(firstRow, lastRow);
+            }
+        }
+
+        trim();
+    }
 
-            while(mItems.size() > mHistorySize)
+    /**
+     * Inserts the item at the top (row 0) of the ring buffer, growing the buffer if needed.  Does not fire a table
+     * event.
+     */
+    private void addFirst(T item)
+    {
+        if(mCount == mItems.length)
+        {
+            //Copy rows into the new array so that the newest row is at the end and the oldest row is at index 0
+            Object[] items = new Object[Math.max(mItems.length * 2, 16)];
+
+            for(int row = 0; row < mCount; row++)
             {
-                mItems.removeLast();
-                fireTableRowsDeleted(mItems.size() - 1, mItems.size() - 1);
+                items[mCount - 1 - row] = mItems[toArrayIndex(row)];
             }
+
+            mItems = items;
+            mHead = mCount - 1;
         }
+
+        mHead = (mHead + 1) % mItems.length;
+        mItems[mHead] = item;
+        mCount++;
+        mSequenceMap.put(item, ++mSequence);
+    }
+
+    /**
+     * Removes the oldest rows while the row count exceeds the history size and fires a single rows deleted event.
+     */
+    private void trim()
+    {
+        int lastRow = mCount - 1;
+
+        if(removeOldest())
+        {
+            fireTableRowsDeleted(mCount, lastRow);
+        }
+    }
+
+    /**
+     * Removes the oldest rows while the row count exceeds the history size.  Does not fire a table event.
+     * @return true if any rows were removed.
+     */
+    private boolean removeOldest()
+    {
+        boolean removed = false;
+
+        while(mCount > mHistorySize)
+        {
+            int index = toArrayIndex(mCount - 1);
+            mSequenceMap.remove(mItems[index]);
+            mItems[index] = null;
+            mCount--;
+            removed = true;
+        }
+
+        return removed;
+    }
+
+    /**
+     * Converts the model row index to the ring buffer array index.
+     */
+    private int toArrayIndex(int row)
+    {
+        int index = mHead - row;
+        return index < 0 ? index + mItems.length : index;
+    }
+
+    /**
+     * Removes all rows without firing a table event.
+     */
+    private void removeAll()
+    {
+        mPendingItems.clear();
+        mSequenceMap.clear();
+        mItems = new Object[Math.max(mHistorySize, 16)];
+        mHead = -1;
+        mCount = 0;
     }
 
     /**
@@ -80,7 +254,7 @@ public abstract class ClearableHistoryModel<T> extends AbstractTableModel
     public void clear()
     {
         EventQueue.invokeLater(() -> {
-            mItems.clear();
+            removeAll();
             fireTableDataChanged();
         });
     }
@@ -91,12 +265,19 @@ public abstract class ClearableHistoryModel<T> extends AbstractTableModel
     public void clearAndSet(List<T> items)
     {
         EventQueue.invokeLater(() -> {
-            mItems.clear();
-            fireTableDataChanged();
+            removeAll();
+
             for(T item: items)
             {
-                add(item);
+                if(!mSequenceMap.containsKey(item))
+                {
+                    addFirst(item);
+                }
             }
+
+            //Trim before notifying since the table is completely reloaded.
+            removeOldest();
+            fireTableDataChanged();
         });
     }
 
@@ -121,6 +302,6 @@ public abstract class ClearableHistoryModel<T> extends AbstractTableModel
     @Override
     public int getRowCount()
     {
-        return mItems.size();
+        return mCount;
     }
 }
@@ -19,19 +19,42 @@
 
 package io.github.dsheirer.module.decode.event;
 
+import io.github.dsheirer.identifier.Identifier;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 /**
  * Provides duplicate decode event detection support
+ *
+ * Events are tracked per decode event type, each with its own lock, so that decoder threads producing different
+ * event types don't contend.  Each tracker hashes events by a composite key of the TO identifier and the event
+ * details and expires tracked events through a hashed timer wheel, so that age-off only visits the events that are
+ * due to expire instead of every tracked event on every call.
  */
 public class DecodeEventDuplicateDetector
 {
     private static final long EVENT_MAX_AGE_MILLISECONDS = Duration.ofMinutes(1).toMillis();
-    private Map<DecodeEventType,DecodeEventTracker> mTrackerMap = new HashMap<>();
+    private static final long TICK_MILLISECONDS = 1000;
+    private static final int WHEEL_SIZE = 64;
+    private final Map<DecodeEventType,DecodeEventTracker> mTrackerMap = new EnumMap<>(DecodeEventType.class);
+
+    /**
+     * Constructs an instance
+     */
+    public DecodeEventDuplicateDetector()
+    {
+        for(DecodeEventType type: DecodeEventType.values())
+        {
+            if(!type.isVoiceCallEvent())
+            {
+                mTrackerMap.put(type, new DecodeEventTracker());
+            }
+        }
+    }
 
     /**
      * Indicates if the event is a duplicate event.
@@ -39,7 +62,7 @@ public class DecodeEventDuplicateDetector
      * @param timestamp of a current message to trigger time-based event age off.
      * @return true if the event is a duplicate.
      */
-    public synchronized boolean isDuplicate(IDecodeEvent event, long timestamp)
+    public boolean isDuplicate(IDecodeEvent event, long timestamp)
     {
         //Null event types and voice call event types are not tracked by this detector
         if(event.getEventType() == null || event.getEventType().isVoiceCallEvent())
@@ -47,90 +70,167 @@ public class DecodeEventDuplicateDetector
             return false;
         }
 
-        if(!mTrackerMap.containsKey(event.getEventType()))
+        return mTrackerMap.get(event.getEventType()).isDuplicate(event, timestamp);
+    }
+
+    /**
+     * Number of events currently tracked across all event types.
+     */
+    public int getTrackedCount()
+    {
+        int count = 0;
+
+        for(DecodeEventTracker tracker: mTrackerMap.values())
         {
-            mTrackerMap.put(event.getEventType(), new DecodeEventTracker());
+            count += tracker.size();
         }
 
-        boolean duplicate = mTrackerMap.get(event.getEventType()).isDuplicate(event);
+        return count;
+    }
 
-        for(DecodeEventTracker tracker: mTrackerMap.values())
+    /**
+     * Composite event key of the TO identifier and event details with a precomputed hash.
+     */
+    private static final class EventKey
+    {
+        private final Identifier mTo;
+        private final String mDetails;
+        private final int mHash;
+
+        private EventKey(Identifier to, String details)
+        {
+            mTo = to;
+            mDetails = details;
+            mHash = 31 * to.hashCode() + details.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o)
         {
-            tracker.ageOff(timestamp);
+            return this == o || (o instanceof EventKey other && mHash == other.mHash &&
+                mDetails.equals(other.mDetails) && mTo.equals(other.mTo));
         }
 
-        return duplicate;
+        @Override
+        public int hashCode()
+        {
+            return mHash;
+        }
     }
 
+    /**
+     * Tracked event with its expiration time.
+     */
+    private record TrackedEvent(EventKey key, long expiration) {}
+
     /**
      * Tracks all decode events for a given decode event type
      */
-    private class DecodeEventTracker
+    private static class DecodeEventTracker
     {
-        private Map<String,IDecodeEvent> mDecodeEventMap = new HashMap<>();
+        private final Map<EventKey,TrackedEvent> mDecodeEventMap = new HashMap<>();
+        private final List<List<TrackedEvent>> mWheel = new ArrayList<>(WHEEL_SIZE);
+        private long mCurrentTick = Long.MIN_VALUE;
+
+        private DecodeEventTracker()
+        {
+            for(int x = 0; x < WHEEL_SIZE; x++)
+            {
+                mWheel.add(new ArrayList<>());
+            }
+        }
 
         /**
          * Checks the event for duplicate
          * @param event to check
+         * @param timestamp of the current message
          * @return true if duplicate
          */
-        public boolean isDuplicate(IDecodeEvent event)
+        public synchronized boolean isDuplicate(IDecodeEvent event, long timestamp)
         {
-            if(event.getIdentifierCollection().getToIdentifier() == null || event.getDetails() == null)
-            {
-                return false;
-            }
+            advance(timestamp);
 
-            String key = getKey(event);
+            Identifier to = event.getIdentifierCollection().getToIdentifier();
+            String details = event.getDetails();
 
-            if(key == null || key.isEmpty())
+            if(to == null || details == null)
             {
                 return false;
             }
 
-            if(mDecodeEventMap.containsKey(key))
+            EventKey key = new EventKey(to, details);
+            TrackedEvent tracked = mDecodeEventMap.get(key);
+
+            //Tracked events that have expired but not yet been visited by the wheel are not duplicates
+            if(tracked != null && tracked.expiration() >= timestamp)
             {
                 return true;
             }
-            else
-            {
-                mDecodeEventMap.put(key, event);
-            }
 
+            TrackedEvent trackedEvent = new TrackedEvent(key, event.getTimeStart() + EVENT_MAX_AGE_MILLISECONDS);
+            mDecodeEventMap.put(key, trackedEvent);
+            mWheel.get(slot(tick(trackedEvent.expiration()))).add(trackedEvent);
             return false;
         }
 
         /**
-         * Generates a unique event key that is a combinatio of the TO identifier value and the details of the event.
-         * @param event for the key
-         * @return generated key.
+         * Number of tracked events
          */
-        private static String getKey(IDecodeEvent event)
+        public synchronized int size()
         {
-            return event.getIdentifierCollection().getToIdentifier().toString() + event.getDetails();
+            return mDecodeEventMap.size();
         }
 
         /**
-         * Removes all decode events from the duplicate detection map that are too old.
-         * @param timestamp for the current messaging.
+         * Advances the timer wheel to the timestamp and removes the expired tracked events from each slot that the
+         * wheel has moved past.  Events that expire beyond the span of the wheel stay in their slot until a later
+         * revolution.
          */
-        public void ageOff(long timestamp)
+        private void advance(long timestamp)
         {
-            long threshold = timestamp - EVENT_MAX_AGE_MILLISECONDS;
-            List<String> toRemove = new ArrayList<>();
+            long tick = tick(timestamp);
 
-            for(Map.Entry<String,IDecodeEvent> entry: mDecodeEventMap.entrySet())
+            if(mCurrentTick == Long.MIN_VALUE)
             {
-                if(entry.getValue() == null || entry.getValue().getTimeStart() < threshold)
-                {
-                    toRemove.add(entry.getKey());
-                }
+                mCurrentTick = tick;
+                return;
+            }
+
+            if(tick <= mCurrentTick)
+            {
+                return;
             }
 
-            for(String key: toRemove)
+            //Visit each slot at most once, even after a long idle period
+            for(long visit = Math.max(mCurrentTick, tick - WHEEL_SIZE); visit < tick; visit++)
             {
-                mDecodeEventMap.remove(key);
+                List<TrackedEvent> slot = mWheel.get(slot(visit));
+
+                if(!slot.isEmpty())
+                {
+                    slot.removeIf(trackedEvent -> {
+                        if(trackedEvent.expiration() < timestamp)
+                        {
+                            mDecodeEventMap.remove(trackedEvent.key(), trackedEvent);
+                            return true;
+                        }
+
+                        return false;
+                    });
+                }
             }
+
+            mCurrentTick = tick;
+        }
+
+        private static long tick(long timestamp)
+        {
+            return Math.floorDiv(timestamp, TICK_MILLISECONDS);
+        }
+
+        private static int slot(long tick)
+        {
+            return (int)Math.floorMod(tick, WHEEL_SIZE);
         }
     }
 }
@@ -24,7 +24,6 @@ import io.github.dsheirer.eventbus.MyEventBus;
 import io.github.dsheirer.identifier.IdentifierCollection;
 import io.github.dsheirer.preference.PreferenceType;
 import io.github.dsheirer.sample.Listener;
-import java.awt.EventQueue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -73,7 +72,7 @@ public class DecodeEventModel extends ClearableHistoryModel<IDecodeEvent> implem
      */
     public void receive(final IDecodeEvent event)
     {
-        EventQueue.invokeLater(() -> add(event));
+        enqueue(event);
     }
 
     @Override
@@ -0,0 +1,150 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.module.decode.event.store;
+
+import io.github.dsheirer.channel.IChannelDescriptor;
+import io.github.dsheirer.identifier.Form;
+import io.github.dsheirer.identifier.Identifier;
+import io.github.dsheirer.identifier.IdentifierClass;
+import io.github.dsheirer.identifier.IdentifierCollection;
+import io.github.dsheirer.identifier.Role;
+import io.github.dsheirer.identifier.configuration.FrequencyConfigurationIdentifier;
+import io.github.dsheirer.module.decode.event.IDecodeEvent;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Immutable snapshot of a decode event as persisted in the event store.
+ *
+ * @param eventId assigned by the event store.  Updates to the same decode event reuse the event ID.
+ * @param timeStart of the event in milliseconds since epoch
+ * @param duration of the event in milliseconds
+ * @param protocol label
+ * @param eventType label
+ * @param from identifier, or empty string
+ * @param to identifier, or empty string
+ * @param channel descriptor, or empty string
+ * @param frequency of the channel in hertz, or zero
+ * @param timeslot of the event, or -1
+ * @param details for the event, or empty string
+ */
+public record EventRecord(long eventId, long timeStart, long duration, String protocol, String eventType, String from,
+                          String to, String channel, long frequency, int timeslot, String details)
+{
+    private static final int MAX_DETAILS_LENGTH = 4096;
+
+    /**
+     * Creates a snapshot of the current state of the decode event.
+     * @param eventId to assign
+     * @param event to snapshot
+     * @return record
+     */
+    public static EventRecord from(long eventId, IDecodeEvent event)
+    {
+        IdentifierCollection identifiers = event.getIdentifierCollection();
+        String from = "";
+        String to = "";
+        long frequency = 0;
+
+        if(identifiers != null)
+        {
+            Identifier fromIdentifier = identifiers.getFromIdentifier();
+            from = fromIdentifier != null ? fromIdentifier.toString() : "";
+            Identifier toIdentifier = identifiers.getToIdentifier();
+            to = toIdentifier != null ? toIdentifier.toString() : "";
+
+            Identifier frequencyIdentifier = identifiers.getIdentifier(IdentifierClass.CONFIGURATION,
+                Form.CHANNEL_FREQUENCY, Role.ANY);
+
+            if(frequencyIdentifier instanceof FrequencyConfigurationIdentifier fci)
+            {
+                frequency = fci.getValue();
+            }
+        }
+
+        IChannelDescriptor descriptor = event.getChannelDescriptor();
+
+        if(descriptor != null)
+        {
+            frequency = descriptor.getDownlinkFrequency();
+        }
+
+        String details = event.getDetails() != null ? event.getDetails() : "";
+
+        if(details.length() > MAX_DETAILS_LENGTH)
+        {
+            details = details.substring(0, MAX_DETAILS_LENGTH);
+        }
+
+        return new EventRecord(eventId, event.getTimeStart(), Math.max(event.getDuration(), 0),
+            String.valueOf(event.getProtocol()), String.valueOf(event.getEventType()), from, to,
+            descriptor != null ? descriptor.toString() : "", frequency, event.hasTimeslot() ? event.getTimeslot() : -1,
+            details);
+    }
+
+    /**
+     * Serializes this record to a length-prefixed byte array.
+     */
+    public byte[] toBytes()
+    {
+        try
+        {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(0); //Placeholder for record length
+            out.writeLong(eventId);
+            out.writeLong(timeStart);
+            out.writeLong(duration);
+            out.writeUTF(protocol);
+            out.writeUTF(eventType);
+            out.writeUTF(from);
+            out.writeUTF(to);
+            out.writeUTF(channel);
+            out.writeLong(frequency);
+            out.writeInt(timeslot);
+            out.writeUTF(details);
+            out.flush();
+
+            byte[] serialized = bytes.toByteArray();
+            ByteBuffer.wrap(serialized).putInt(0, serialized.length - Integer.BYTES);
+            return serialized;
+        }
+        catch(IOException ioe)
+        {
+            //Not possible with a byte array output stream
+            throw new IllegalStateException("Error serializing event record", ioe);
+        }
+    }
+
+    /**
+     * Deserializes a record from the stream, positioned after the record length prefix.
+     * @param in stream
+     * @return record
+     * @throws IOException if the stream can't be read
+     */
+    public static EventRecord read(DataInputStream in) throws IOException
+    {
+        return new EventRecord(in.readLong(), in.readLong(), in.readLong(), in.readUTF(), in.readUTF(), in.readUTF(),
+            in.readUTF(), in.readUTF(), in.readLong(), in.readInt(), in.readUTF());
+    }
+}
@@ -0,0 +1,691 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.module.decode.event.store;
+
+import io.github.dsheirer.module.decode.event.IDecodeEvent;
+import io.github.dsheirer.sample.Listener;
+import io.github.dsheirer.util.ThreadPool;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Embedded, append-only store of decode events that supports time range and top-N queries by talkgroup and radio.
+ *
+ * Decode events are snapshotted as they are received and appended to the active segment file in batches once per
+ * second.  Segments are rolled hourly or when they reach the maximum segment size.  Decode events are updated and
+ * rebroadcast over the life of a call, so each update is appended with the same event ID and the earlier record is
+ * flagged as superseded.  Superseded flags are not written to the segment files - they are rebuilt across all
+ * segments when the store is loaded.  A periodic maintenance task deletes segments older than the retention period
+ * and compacts sealed segments that contain superseded records.
+ */
+public class EventStore implements Listener<IDecodeEvent>
+{
+    private static final Logger mLog = LoggerFactory.getLogger(EventStore.class);
+    private static final long MAX_SEGMENT_SIZE = 64 * 1024 * 1024;
+    private static final long SEGMENT_DURATION_MS = TimeUnit.HOURS.toMillis(1);
+    private static final long DEFAULT_RETENTION_MS = TimeUnit.DAYS.toMillis(30);
+    private static final int MAX_RECENT_EVENTS = 50_000;
+    private static final double COMPACTION_THRESHOLD = 0.1;
+
+    private final Path mDirectory;
+    private final LinkedTransferQueue<EventRecord> mPendingRecords = new LinkedTransferQueue<>();
+    private final Map<IDecodeEvent,Long> mEventIds = Collections.synchronizedMap(new WeakHashMap<>());
+    private final AtomicLong mNextEventId = new AtomicLong(System.currentTimeMillis() * 1000);
+    private final ReentrantReadWriteLock mLock = new ReentrantReadWriteLock();
+    private final List<EventStoreSegment> mSegments = new ArrayList<>();
+    private final Map<Long,Location> mRecentLocations = new LinkedHashMap<>()
+    {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long,Location> eldest)
+        {
+            return size() > MAX_RECENT_EVENTS;
+        }
+    };
+    private volatile long mRetention = DEFAULT_RETENTION_MS;
+    private ScheduledFuture<?> mFlushFuture;
+    private ScheduledFuture<?> mMaintenanceFuture;
+    private volatile boolean mLoaded;
+
+    /**
+     * Constructs an instance
+     * @param directory for the event store segment files
+     */
+    public EventStore(Path directory)
+    {
+        mDirectory = directory;
+    }
+
+    /**
+     * Sets the retention period for stored events.
+     * @param retention in milliseconds
+     */
+    public void setRetention(long retention)
+    {
+        mRetention = retention;
+    }
+
+    /**
+     * Loads the existing segments in the background and starts the scheduled flush and maintenance tasks.  Events
+     * received before loading completes are queued and appended once loading completes.
+     */
+    public void start()
+    {
+        if(mFlushFuture == null)
+        {
+            ThreadPool.SCHEDULED.submit(this::load);
+            mFlushFuture = ThreadPool.SCHEDULED.scheduleAtFixedRate(this::flushSafely, 1, 1, TimeUnit.SECONDS);
+            mMaintenanceFuture = ThreadPool.SCHEDULED.scheduleAtFixedRate(this::maintainSafely, 10, 10,
+                TimeUnit.MINUTES);
+        }
+    }
+
+    /**
+     * Stops the scheduled tasks, appends any queued events and closes the segment files.
+     */
+    public void stop()
+    {
+        if(mFlushFuture != null)
+        {
+            mFlushFuture.cancel(false);
+            mFlushFuture = null;
+            mMaintenanceFuture.cancel(false);
+            mMaintenanceFuture = null;
+        }
+
+        flushSafely();
+
+        mLock.writeLock().lock();
+
+        try
+        {
+            for(EventStoreSegment segment: mSegments)
+            {
+                segment.close();
+            }
+
+            mSegments.clear();
+            mRecentLocations.clear();
+            mLoaded = false;
+        }
+        finally
+        {
+            mLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Primary receive method for decode events.  Snapshots the event and queues it for appending.
+     */
+    @Override
+    public void receive(IDecodeEvent decodeEvent)
+    {
+        long eventId = mEventIds.computeIfAbsent(decodeEvent, event -> mNextEventId.incrementAndGet());
+        mPendingRecords.add(EventRecord.from(eventId, decodeEvent));
+    }
+
+    /**
+     * Opens the existing segment files from the store directory.
+     */
+    void load()
+    {
+        mLock.writeLock().lock();
+
+        try
+        {
+            Files.createDirectories(mDirectory);
+            List<Path> paths = new ArrayList<>();
+
+            try(DirectoryStream<Path> stream = Files.newDirectoryStream(mDirectory,
+                "*" + EventStoreSegment.FILE_EXTENSION))
+            {
+                for(Path path: stream)
+                {
+                    if(EventStoreSegment.parseCreated(path) >= 0)
+                    {
+                        paths.add(path);
+                    }
+                }
+            }
+
+            paths.sort(Comparator.comparingLong(EventStoreSegment::parseCreated));
+            int count = 0;
+
+            for(Path path: paths)
+            {
+                try
+                {
+                    EventStoreSegment segment = EventStoreSegment.open(path);
+                    mSegments.add(segment);
+                    count += segment.getCount();
+                }
+                catch(IOException ioe)
+                {
+                    mLog.error("Error opening event store segment [" + path + "] - ignoring", ioe);
+                }
+            }
+
+            rebuildSuperseded();
+
+            mLog.info("Event store loaded [" + count + "] events from [" + mSegments.size() + "] segments");
+        }
+        catch(IOException ioe)
+        {
+            mLog.error("Error loading event store from [" + mDirectory + "]", ioe);
+        }
+        finally
+        {
+            mLoaded = true;
+            mLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Flags the records that are superseded by a later record of the same event in a later segment and loads the
+     * recent event locations so that updates appended after loading supersede the loaded records.  Segments only
+     * flag superseded records within the segment when they are opened.  Must be invoked while holding the write lock.
+     */
+    private void rebuildSuperseded()
+    {
+        //Walk the segments newest to oldest - any record with an event ID seen in a later segment is superseded
+        Set<Long> laterEventIds = new HashSet<>();
+
+        for(int x = mSegments.size() - 1; x >= 0; x--)
+        {
+            EventStoreSegment segment = mSegments.get(x);
+            List<Long> segmentEventIds = new ArrayList<>();
+
+            for(int position = 0; position < segment.getCount(); position++)
+            {
+                if(!segment.isSuperseded(position))
+                {
+                    long eventId = segment.getEventId(position);
+
+                    if(laterEventIds.contains(eventId))
+                    {
+                        segment.supersede(position);
+                    }
+                    else
+                    {
+                        segmentEventIds.add(eventId);
+                    }
+                }
+            }
+
+            laterEventIds.addAll(segmentEventIds);
+        }
+
+        //Load the current record locations oldest to newest so that the recent locations retain the newest events
+        mRecentLocations.clear();
+
+        for(EventStoreSegment segment: mSegments)
+        {
+            for(int position = 0; position < segment.getCount(); position++)
+            {
+                if(!segment.isSuperseded(position))
+                {
+                    mRecentLocations.put(segment.getEventId(position), new Location(segment, position));
+                }
+            }
+        }
+    }
+
+    /**
+     * Seals the active segment so that the next append starts a new segment.
+     */
+    void rollSegment() throws IOException
+    {
+        mLock.writeLock().lock();
+
+        try
+        {
+            if(!mSegments.isEmpty())
+            {
+                mSegments.get(mSegments.size() - 1).seal();
+            }
+        }
+        finally
+        {
+            mLock.writeLock().unlock();
+        }
+    }
+
+    private void flushSafely()
+    {
+        try
+        {
+            flush();
+        }
+        catch(Throwable t)
+        {
+            mLog.error("Error appending decode events to the event store", t);
+        }
+    }
+
+    /**
+     * Appends the queued event records to the active segment.
+     */
+    void flush() throws IOException
+    {
+        if(!mLoaded || mPendingRecords.isEmpty())
+        {
+            return;
+        }
+
+        List<EventRecord> records = new ArrayList<>();
+        mPendingRecords.drainTo(records);
+
+        mLock.writeLock().lock();
+
+        try
+        {
+            EventStoreSegment segment = getActiveSegment();
+            int[] positions = segment.append(records);
+
+            for(int x = 0; x < positions.length; x++)
+            {
+                Location previous = mRecentLocations.put(records.get(x).eventId(), new Location(segment, positions[x]));
+
+                if(previous != null)
+                {
+                    previous.segment().supersede(previous.position());
+                }
+            }
+        }
+        finally
+        {
+            mLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Active segment for appending, rolling to a new segment when the current segment is full or expired.  Must be
+     * invoked while holding the write lock.
+     */
+    private EventStoreSegment getActiveSegment() throws IOException
+    {
+        long now = System.currentTimeMillis();
+        EventStoreSegment active = mSegments.isEmpty() ? null : mSegments.get(mSegments.size() - 1);
+
+        if(active != null && !active.isSealed() && active.getSize() < MAX_SEGMENT_SIZE &&
+            (now - active.getCreated()) < SEGMENT_DURATION_MS)
+        {
+            return active;
+        }
+
+        if(active != null)
+        {
+            active.seal();
+        }
+
+        //Ensure segment names are unique and ascending
+        long created = active != null ? Math.max(now, active.getCreated() + 1) : now;
+        EventStoreSegment segment = EventStoreSegment.create(mDirectory, created);
+        mSegments.add(segment);
+        return segment;
+    }
+
+    private void maintainSafely()
+    {
+        try
+        {
+            maintain(System.currentTimeMillis());
+        }
+        catch(Throwable t)
+        {
+            mLog.error("Error during event store maintenance", t);
+        }
+    }
+
+    /**
+     * Deletes segments older than the retention period and compacts sealed segments with superseded records.
+     * @param now current time in milliseconds
+     */
+    void maintain(long now) throws IOException
+    {
+        mLock.writeLock().lock();
+
+        try
+        {
+            Iterator<EventStoreSegment> it = mSegments.iterator();
+
+            while(it.hasNext())
+            {
+                EventStoreSegment segment = it.next();
+
+                if(segment.isSealed() && segment.getCreated() < now - mRetention &&
+                    (segment.getCount() == 0 || segment.getMaxTime() < now - mRetention))
+                {
+                    it.remove();
+                    removeRecentLocations(segment);
+                    segment.delete();
+                }
+            }
+
+            for(int x = 0; x < mSegments.size(); x++)
+            {
+                EventStoreSegment segment = mSegments.get(x);
+
+                if(segment.isSealed() && segment.getSupersededCount() > segment.getCount() * COMPACTION_THRESHOLD)
+                {
+                    EventStoreSegment compacted = segment.compact();
+                    relocateRecentLocations(segment, compacted);
+                    mSegments.set(x, compacted);
+                }
+            }
+        }
+        finally
+        {
+            mLock.writeLock().unlock();
+        }
+    }
+
+    private void removeRecentLocations(EventStoreSegment segment)
+    {
+        mRecentLocations.values().removeIf(location -> location.segment() == segment);
+    }
+
+    /**
+     * Updates the recent event locations that point to records in the segment to point to the same records in the
+     * compacted segment, so that later updates of those events continue to supersede the compacted records.
+     */
+    private void relocateRecentLocations(EventStoreSegment segment, EventStoreSegment compacted)
+    {
+        for(int position = 0; position < compacted.getCount(); position++)
+        {
+            long eventId = compacted.getEventId(position);
+            Location location = mRecentLocations.get(eventId);
+
+            if(location != null && location.segment() == segment)
+            {
+                mRecentLocations.put(eventId, new Location(compacted, position));
+            }
+        }
+
+        removeRecentLocations(segment);
+    }
+
+    /**
+     * Finds the most recent events with a start time within the time range, optionally restricted to a talkgroup
+     * and/or radio, ordered by start time, newest first.
+     * @param start of the time range in milliseconds since epoch, inclusive
+     * @param end of the time range in milliseconds since epoch, inclusive
+     * @param talkgroup (TO identifier) to match, or null for any
+     * @param radio (FROM identifier) to match, or null for any
+     * @param limit maximum number of events to return
+     * @return matching events
+     * @throws IOException if the events can't be read from the segment files
+     */
+    public List<EventRecord> query(long start, long end, String talkgroup, String radio, int limit) throws IOException
+    {
+        mLock.readLock().lock();
+
+        try
+        {
+            //Bounded min-heap of the newest matching records by start time
+            PriorityQueue<Hit> hits = new PriorityQueue<>(Comparator.comparingLong(Hit::time));
+
+            for(EventStoreSegment segment: mSegments)
+            {
+                if(!segment.overlaps(start, end))
+                {
+                    continue;
+                }
+
+                EventStoreSegment.PositionList talkgroupPositions = talkgroup != null ?
+                    segment.getTalkgroupPositions(talkgroup) : null;
+                EventStoreSegment.PositionList radioPositions = radio != null ? segment.getRadioPositions(radio) : null;
+
+                if((talkgroup != null && talkgroupPositions == null) || (radio != null && radioPositions == null))
+                {
+                    continue;
+                }
+
+                if(talkgroupPositions != null && radioPositions != null)
+                {
+                    Set<Integer> radioSet = new HashSet<>();
+
+                    for(int x = 0; x < radioPositions.size(); x++)
+                    {
+                        radioSet.add(radioPositions.get(x));
+                    }
+
+                    for(int x = 0; x < talkgroupPositions.size(); x++)
+                    {
+                        int position = talkgroupPositions.get(x);
+
+                        if(radioSet.contains(position))
+                        {
+                            offer(hits, segment, position, start, end, limit);
+                        }
+                    }
+                }
+                else if(talkgroupPositions != null || radioPositions != null)
+                {
+                    EventStoreSegment.PositionList positions = talkgroupPositions != null ? talkgroupPositions :
+                        radioPositions;
+
+                    for(int x = 0; x < positions.size(); x++)
+                    {
+                        offer(hits, segment, positions.get(x), start, end, limit);
+                    }
+                }
+                else
+                {
+                    for(int position = 0; position < segment.getCount(); position++)
+                    {
+                        offer(hits, segment, position, start, end, limit);
+                    }
+                }
+            }
+
+            List<Hit> ordered = new ArrayList<>(hits);
+            ordered.sort(Comparator.comparingLong(Hit::time).reversed());
+
+            List<EventRecord> records = new ArrayList<>();
+            Set<Long> eventIds = new HashSet<>();
+
+            for(Hit hit: ordered)
+            {
+                //Suppress duplicates of an event that spans segments across an application restart
+                if(eventIds.add(hit.segment().getEventId(hit.position())))
+                {
+                    records.add(hit.segment().read(hit.position()));
+                }
+            }
+
+            return records;
+        }
+        finally
+        {
+            mLock.readLock().unlock();
+        }
+    }
+
+    private static void offer(PriorityQueue<Hit> hits, EventStoreSegment segment, int position, long start, long end,
+                              int limit)
+    {
+        if(limit > 0 && segment.matches(position, start, end))
+        {
+            long time = segment.getTime(position);
+
+            if(hits.size() < limit)
+            {
+                hits.add(new Hit(segment, position, time));
+            }
+            else if(hits.peek().time() < time)
+            {
+                hits.poll();
+                hits.add(new Hit(segment, position, time));
+            }
+        }
+    }
+
+    /**
+     * Finds the talkgroups or radios with the most events within the time range.
+     * @param start of the time range in milliseconds since epoch, inclusive
+     * @param end of the time range in milliseconds since epoch, inclusive
+     * @param byTalkgroup true to rank talkgroups (TO) or false to rank radios (FROM)
+     * @param count maximum number of entries to return
+     * @return identifier and event count entries in descending count order
+     */
+    public List<Map.Entry<String,Long>> top(long start, long end, boolean byTalkgroup, int count)
+    {
+        mLock.readLock().lock();
+
+        try
+        {
+            Map<String,Long> totals = new HashMap<>();
+
+            for(EventStoreSegment segment: mSegments)
+            {
+                if(!segment.overlaps(start, end))
+                {
+                    continue;
+                }
+
+                Map<String,EventStoreSegment.PositionList> index = byTalkgroup ? segment.getTalkgroupIndex() :
+                    segment.getRadioIndex();
+
+                for(Map.Entry<String,EventStoreSegment.PositionList> entry: index.entrySet())
+                {
+                    EventStoreSegment.PositionList positions = entry.getValue();
+                    long matches = 0;
+
+                    for(int x = 0; x < positions.size(); x++)
+                    {
+                        if(segment.matches(positions.get(x), start, end))
+                        {
+                            matches++;
+                        }
+                    }
+
+                    if(matches > 0)
+                    {
+                        totals.merge(entry.getKey(), matches, Long::sum);
+                    }
+                }
+            }
+
+            List<Map.Entry<String,Long>> entries = new ArrayList<>(totals.entrySet());
+            entries.sort(Map.Entry.<String,Long>comparingByValue().reversed());
+            return new ArrayList<>(entries.subList(0, Math.max(Math.min(count, entries.size()), 0)));
+        }
+        finally
+        {
+            mLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of current (non-superseded) events in the store.
+     */
+    public long getEventCount()
+    {
+        mLock.readLock().lock();
+
+        try
+        {
+            long count = 0;
+
+            for(EventStoreSegment segment: mSegments)
+            {
+                count += segment.getCount() - segment.getSupersededCount();
+            }
+
+            return count;
+        }
+        finally
+        {
+            mLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of segment files in the store.
+     */
+    public int getSegmentCount()
+    {
+        mLock.readLock().lock();
+
+        try
+        {
+            return mSegments.size();
+        }
+        finally
+        {
+            mLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Total size of the segment files in bytes.
+     */
+    public long getSize()
+    {
+        mLock.readLock().lock();
+
+        try
+        {
+            long size = 0;
+
+            for(EventStoreSegment segment: mSegments)
+            {
+                size += segment.getSize();
+            }
+
+            return size;
+        }
+        finally
+        {
+            mLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Location of the latest record for an event.
+     */
+    private record Location(EventStoreSegment segment, int position) {}
+
+    /**
+     * Query match
+     */
+    private record Hit(EventStoreSegment segment, int position, long time) {}
+}
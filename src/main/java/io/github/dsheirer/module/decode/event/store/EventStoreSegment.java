@@ -0,0 +1,529 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.module.decode.event.store;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only event store segment file with in-memory time, talkgroup and radio indexes.
+ *
+ * Records are stored as length-prefixed serialized event records.  The segment keeps the start time and file offset
+ * of each record in memory, along with the record positions for each talkgroup (TO) and radio (FROM) identifier, so
+ * that queries only read the matching records from disk.  Records that are superseded by a later update of the same
+ * event are flagged and are removed when the segment is compacted.
+ *
+ * Access is externally synchronized by the event store.
+ */
+public class EventStoreSegment
+{
+    private static final Logger mLog = LoggerFactory.getLogger(EventStoreSegment.class);
+    public static final String FILE_PREFIX = "events_";
+    public static final String FILE_EXTENSION = ".evs";
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final Path mPath;
+    private final long mCreated;
+    private FileChannel mChannel;
+    private long mSize;
+    private int mCount;
+    private long[] mTimes = new long[INITIAL_CAPACITY];
+    private long[] mOffsets = new long[INITIAL_CAPACITY];
+    private long[] mEventIds = new long[INITIAL_CAPACITY];
+    private BitSet mSuperseded = new BitSet();
+    private Map<String,PositionList> mTalkgroupIndex = new HashMap<>();
+    private Map<String,PositionList> mRadioIndex = new HashMap<>();
+    private long mMinTime = Long.MAX_VALUE;
+    private long mMaxTime = Long.MIN_VALUE;
+    private boolean mSealed;
+
+    private EventStoreSegment(Path path, long created, FileChannel channel)
+    {
+        mPath = path;
+        mCreated = created;
+        mChannel = channel;
+    }
+
+    /**
+     * Creates a new, empty segment file in the directory.
+     * @param directory for the segment file
+     * @param created timestamp used to name the segment
+     * @return segment open for appending
+     * @throws IOException if the file can't be created
+     */
+    public static EventStoreSegment create(Path directory, long created) throws IOException
+    {
+        Path path = directory.resolve(FILE_PREFIX + created + FILE_EXTENSION);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        return new EventStoreSegment(path, created, channel);
+    }
+
+    /**
+     * Opens an existing segment file and rebuilds the indexes.  A partially written trailing record, from an
+     * unclean shutdown, is truncated.
+     * @param path to the segment file
+     * @return sealed segment
+     * @throws IOException if the file can't be read
+     */
+    public static EventStoreSegment open(Path path) throws IOException
+    {
+        long created = parseCreated(path);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        EventStoreSegment segment = new EventStoreSegment(path, created, channel);
+        Map<Long,Integer> positions = new HashMap<>();
+
+        try(DataInputStream in = new DataInputStream(Files.newInputStream(path)))
+        {
+            long fileSize = channel.size();
+            long offset = 0;
+
+            while(offset + Integer.BYTES <= fileSize)
+            {
+                int length = in.readInt();
+
+                if(length <= 0 || offset + Integer.BYTES + length > fileSize)
+                {
+                    break;
+                }
+
+                byte[] payload = in.readNBytes(length);
+                EventRecord record = EventRecord.read(new DataInputStream(new ByteArrayInputStream(payload)));
+                int position = segment.index(record, offset);
+                Integer previous = positions.put(record.eventId(), position);
+
+                if(previous != null)
+                {
+                    segment.mSuperseded.set(previous);
+                }
+
+                offset += Integer.BYTES + length;
+            }
+
+            if(offset < fileSize)
+            {
+                mLog.warn("Truncating partial record at offset [" + offset + "] in event store segment [" + path + "]");
+                channel.truncate(offset);
+            }
+
+            segment.mSize = offset;
+        }
+
+        segment.mSealed = true;
+        return segment;
+    }
+
+    /**
+     * Parses the segment creation timestamp from the file name, or returns -1 if the path is not a segment file.
+     */
+    public static long parseCreated(Path path)
+    {
+        String name = path.getFileName().toString();
+
+        if(name.startsWith(FILE_PREFIX) && name.endsWith(FILE_EXTENSION))
+        {
+            try
+            {
+                return Long.parseLong(name.substring(FILE_PREFIX.length(), name.length() - FILE_EXTENSION.length()));
+            }
+            catch(NumberFormatException nfe)
+            {
+                //Not a segment file
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Appends the batch of records to the segment file with a single write and indexes the records.
+     * @param records to append
+     * @return positions of the appended records within this segment, in the same order
+     * @throws IOException if the records can't be written
+     */
+    public int[] append(List<EventRecord> records) throws IOException
+    {
+        if(mSealed)
+        {
+            throw new IllegalStateException("Segment is sealed");
+        }
+
+        byte[][] serialized = new byte[records.size()][];
+        int total = 0;
+
+        for(int x = 0; x < serialized.length; x++)
+        {
+            serialized[x] = records.get(x).toBytes();
+            total += serialized[x].length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(total);
+
+        for(byte[] bytes: serialized)
+        {
+            buffer.put(bytes);
+        }
+
+        buffer.flip();
+
+        while(buffer.hasRemaining())
+        {
+            mChannel.write(buffer, mSize + buffer.position());
+        }
+
+        int[] positions = new int[serialized.length];
+        long offset = mSize;
+
+        for(int x = 0; x < serialized.length; x++)
+        {
+            positions[x] = index(records.get(x), offset);
+            offset += serialized[x].length;
+        }
+
+        mSize = offset;
+        return positions;
+    }
+
+    /**
+     * Adds the record located at the file offset to the indexes
+     * @return position of the record in this segment
+     */
+    private int index(EventRecord record, long offset)
+    {
+        if(mCount == mTimes.length)
+        {
+            int capacity = mTimes.length * 2;
+            mTimes = Arrays.copyOf(mTimes, capacity);
+            mOffsets = Arrays.copyOf(mOffsets, capacity);
+            mEventIds = Arrays.copyOf(mEventIds, capacity);
+        }
+
+        int position = mCount++;
+        mTimes[position] = record.timeStart();
+        mOffsets[position] = offset;
+        mEventIds[position] = record.eventId();
+        mMinTime = Math.min(mMinTime, record.timeStart());
+        mMaxTime = Math.max(mMaxTime, record.timeStart());
+
+        if(!record.to().isEmpty())
+        {
+            mTalkgroupIndex.computeIfAbsent(record.to(), key -> new PositionList()).add(position);
+        }
+
+        if(!record.from().isEmpty())
+        {
+            mRadioIndex.computeIfAbsent(record.from(), key -> new PositionList()).add(position);
+        }
+
+        return position;
+    }
+
+    /**
+     * Reads the record at the position from the segment file.
+     * @param position of the record in this segment
+     * @return record
+     * @throws IOException if the record can't be read
+     */
+    public EventRecord read(int position) throws IOException
+    {
+        long offset = mOffsets[position];
+        ByteBuffer lengthBuffer = ByteBuffer.allocate(Integer.BYTES);
+        readFully(lengthBuffer, offset);
+        ByteBuffer payload = ByteBuffer.allocate(lengthBuffer.getInt(0));
+        readFully(payload, offset + Integer.BYTES);
+        return EventRecord.read(new DataInputStream(new ByteArrayInputStream(payload.array())));
+    }
+
+    private void readFully(ByteBuffer buffer, long offset) throws IOException
+    {
+        while(buffer.hasRemaining())
+        {
+            if(mChannel.read(buffer, offset + buffer.position()) < 0)
+            {
+                throw new IOException("Unexpected end of event store segment [" + mPath + "]");
+            }
+        }
+    }
+
+    /**
+     * Flags the record at the position as superseded by a later update of the same event.
+     */
+    public void supersede(int position)
+    {
+        mSuperseded.set(position);
+    }
+
+    /**
+     * Indicates if the record at the position has been superseded by a later update of the same event.
+     */
+    public boolean isSuperseded(int position)
+    {
+        return mSuperseded.get(position);
+    }
+
+    /**
+     * Indicates if the record at the position is current and has a start time within the time range.
+     */
+    public boolean matches(int position, long start, long end)
+    {
+        return !mSuperseded.get(position) && mTimes[position] >= start && mTimes[position] <= end;
+    }
+
+    /**
+     * Indicates if any record in this segment could have a start time within the time range.
+     */
+    public boolean overlaps(long start, long end)
+    {
+        return mCount > 0 && mMinTime <= end && mMaxTime >= start;
+    }
+
+    /**
+     * Record positions for the talkgroup, or null if the talkgroup is not in this segment.
+     */
+    public PositionList getTalkgroupPositions(String talkgroup)
+    {
+        return mTalkgroupIndex.get(talkgroup);
+    }
+
+    /**
+     * Record positions for the radio, or null if the radio is not in this segment.
+     */
+    public PositionList getRadioPositions(String radio)
+    {
+        return mRadioIndex.get(radio);
+    }
+
+    /**
+     * Talkgroup index for this segment
+     */
+    public Map<String,PositionList> getTalkgroupIndex()
+    {
+        return mTalkgroupIndex;
+    }
+
+    /**
+     * Radio index for this segment
+     */
+    public Map<String,PositionList> getRadioIndex()
+    {
+        return mRadioIndex;
+    }
+
+    /**
+     * Start time of the record at the position
+     */
+    public long getTime(int position)
+    {
+        return mTimes[position];
+    }
+
+    /**
+     * Event ID of the record at the position
+     */
+    public long getEventId(int position)
+    {
+        return mEventIds[position];
+    }
+
+    /**
+     * Number of records in this segment, including superseded records.
+     */
+    public int getCount()
+    {
+        return mCount;
+    }
+
+    /**
+     * Number of superseded records in this segment.
+     */
+    public int getSupersededCount()
+    {
+        return mSuperseded.cardinality();
+    }
+
+    /**
+     * Latest event start time in this segment
+     */
+    public long getMaxTime()
+    {
+        return mMaxTime;
+    }
+
+    /**
+     * Segment file size in bytes
+     */
+    public long getSize()
+    {
+        return mSize;
+    }
+
+    /**
+     * Segment creation timestamp in milliseconds since epoch
+     */
+    public long getCreated()
+    {
+        return mCreated;
+    }
+
+    /**
+     * Path to the segment file
+     */
+    public Path getPath()
+    {
+        return mPath;
+    }
+
+    /**
+     * Seals this segment so that no further records can be appended.
+     */
+    public void seal() throws IOException
+    {
+        if(!mSealed)
+        {
+            mSealed = true;
+            mChannel.force(false);
+        }
+    }
+
+    /**
+     * Indicates if this segment is sealed
+     */
+    public boolean isSealed()
+    {
+        return mSealed;
+    }
+
+    /**
+     * Flushes appended records to the storage device.
+     */
+    public void force() throws IOException
+    {
+        mChannel.force(false);
+    }
+
+    /**
+     * Rewrites this sealed segment without the superseded records.  The rewritten segment replaces the segment file
+     * atomically and this segment must not be used after compaction.
+     * @return compacted segment
+     * @throws IOException if the segment can't be rewritten
+     */
+    public EventStoreSegment compact() throws IOException
+    {
+        Path temporary = mPath.resolveSibling(mPath.getFileName() + ".compact");
+        EventStoreSegment compacted = new EventStoreSegment(temporary, mCreated, FileChannel.open(temporary,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING));
+
+        List<EventRecord> batch = new ArrayList<>();
+
+        for(int position = 0; position < mCount; position++)
+        {
+            if(!mSuperseded.get(position))
+            {
+                batch.add(read(position));
+
+                if(batch.size() >= INITIAL_CAPACITY)
+                {
+                    compacted.append(batch);
+                    batch.clear();
+                }
+            }
+        }
+
+        if(!batch.isEmpty())
+        {
+            compacted.append(batch);
+        }
+
+        compacted.force();
+        compacted.mChannel.close();
+        close();
+        Files.move(temporary, mPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return open(mPath);
+    }
+
+    /**
+     * Closes the segment file.
+     */
+    public void close()
+    {
+        try
+        {
+            mChannel.close();
+        }
+        catch(IOException ioe)
+        {
+            mLog.error("Error closing event store segment [" + mPath + "]", ioe);
+        }
+    }
+
+    /**
+     * Closes and deletes the segment file.
+     */
+    public void delete() throws IOException
+    {
+        close();
+        Files.deleteIfExists(mPath);
+    }
+
+    /**
+     * Growable list of record positions in ascending order.
+     */
+    public static class PositionList
+    {
+        private int[] mPositions = new int[4];
+        private int mSize;
+
+        private void add(int position)
+        {
+            if(mSize == mPositions.length)
+            {
+                mPositions = Arrays.copyOf(mPositions, mSize * 2);
+            }
+
+            mPositions[mSize++] = position;
+        }
+
+        public int size()
+        {
+            return mSize;
+        }
+
+        public int get(int index)
+        {
+            return mPositions[index];
+        }
+    }
+}
@@ -32,12 +32,16 @@ import io.github.dsheirer.dsp.filter.resample.RealResampler;
 import io.github.dsheirer.dsp.fm.FmDemodulatorFactory;
 import io.github.dsheirer.dsp.fm.IDemodulator;
 import io.github.dsheirer.dsp.squelch.INoiseSquelchController;
+import io.github.dsheirer.dsp.squelch.ISquelchIdleGateProvider;
 import io.github.dsheirer.dsp.squelch.NoiseSquelch;
 import io.github.dsheirer.dsp.squelch.NoiseSquelchState;
+import io.github.dsheirer.dsp.squelch.SquelchIdleGate;
 import io.github.dsheirer.dsp.window.WindowType;
 import io.github.dsheirer.module.decode.DecoderType;
 import io.github.dsheirer.module.decode.PrimaryDecoder;
+import io.github.dsheirer.preference.source.TunerPreference;
 import io.github.dsheirer.sample.Listener;
+import io.github.dsheirer.sample.buffer.ScratchBuffer;
 import io.github.dsheirer.sample.complex.ComplexSamples;
 import io.github.dsheirer.sample.complex.IComplexSamplesListener;
 import io.github.dsheirer.sample.real.IRealBufferProvider;
@@ -52,17 +56,26 @@ import org.slf4j.LoggerFactory;
  * and block high-noise audio.  Audio is filtered and resampled to 8 kHz for downstream consumers.
  */
 public class NBFMDecoder extends PrimaryDecoder implements ISourceEventListener, IComplexSamplesListener,
-        Listener<ComplexSamples>, IRealBufferProvider, IDecoderStateEventProvider, INoiseSquelchController
+        Listener<ComplexSamples>, IRealBufferProvider, IDecoderStateEventProvider, INoiseSquelchController,
+        ISquelchIdleGateProvider
 {
     private final static Logger mLog = LoggerFactory.getLogger(NBFMDecoder.class);
     private static final double DEMODULATED_AUDIO_SAMPLE_RATE = 8000.0;
     private final IDemodulator mDemodulator = FmDemodulatorFactory.getFmDemodulator();
     private final SourceEventProcessor mSourceEventProcessor = new SourceEventProcessor();
     private final NoiseSquelch mNoiseSquelch;
+    private final SquelchIdleGate mSquelchIdleGate;
     private IRealFilter mIBasebandFilter;
     private IRealFilter mQBasebandFilter;
     private IRealDecimationFilter mIDecimationFilter;
     private IRealDecimationFilter mQDecimationFilter;
+    private int mDecimationRate = 1;
+    //Per-channel scratch buffers for the intermediate decimation, filter and demodulation stages
+    private final ScratchBuffer mDecimatedI = new ScratchBuffer();
+    private final ScratchBuffer mDecimatedQ = new ScratchBuffer();
+    private final ScratchBuffer mFilteredI = new ScratchBuffer();
+    private final ScratchBuffer mFilteredQ = new ScratchBuffer();
+    private final ScratchBuffer mDemodulated = new ScratchBuffer();
     private Listener<float[]> mResampledBufferListener;
     private Listener<DecoderStateEvent> mDecoderStateEventListener;
     private RealResampler mResampler;
@@ -74,6 +87,17 @@ public class NBFMDecoder extends PrimaryDecoder implements ISourceEventListener,
      * @param config to setup the NBFM decoder and noise squelch control.
      */
     public NBFMDecoder(DecodeConfigNBFM config)
+    {
+        this(config, null);
+    }
+
+    /**
+     * Constructs an instance
+     *
+     * @param config to setup the NBFM decoder and noise squelch control.
+     * @param tunerPreference for the squelch idle mode settings, or null to disable squelch idle mode.
+     */
+    public NBFMDecoder(DecodeConfigNBFM config, TunerPreference tunerPreference)
     {
         super(config);
 
@@ -99,6 +123,20 @@ public class NBFMDecoder extends PrimaryDecoder implements ISourceEventListener,
                 notifyCallStart();
             }
         });
+
+        //Drop to the idle energy detector once squelch has been closed for a while, unless the user is overriding
+        //squelch or viewing the noise squelch state.
+        mSquelchIdleGate = new SquelchIdleGate(this::demodulate, () -> mNoiseSquelch.isSquelched() &&
+                !mNoiseSquelch.isSquelchOverride() && !mNoiseSquelch.hasNoiseSquelchStateListener(), tunerPreference);
+    }
+
+    /**
+     * Squelch idle gate for this decoder.
+     */
+    @Override
+    public SquelchIdleGate getSquelchIdleGate()
+    {
+        return mSquelchIdleGate;
     }
 
     /**
@@ -244,15 +282,18 @@ public class NBFMDecoder extends PrimaryDecoder implements ISourceEventListener,
                     "before it can process complex sample buffers");
         }
 
-        float[] decimatedI = mIDecimationFilter.decimateReal(samples.i());
-        float[] decimatedQ = mQDecimationFilter.decimateReal(samples.q());
+        //Each stage writes into a reusable scratch buffer.  The noise squelch copies the demodulated samples into its
+        //own delay buffer and dispatches audio as new arrays, so none of the scratch buffers escape this method.
+        int length = samples.i().length / mDecimationRate;
 
-        float[] filteredI = mIBasebandFilter.filter(decimatedI);
-        float[] filteredQ = mQBasebandFilter.filter(decimatedQ);
+        float[] decimatedI = mIDecimationFilter.decimateReal(samples.i(), mDecimatedI.get(length));
+        float[] decimatedQ = mQDecimationFilter.decimateReal(samples.q(), mDecimatedQ.get(length));
 
-        float[] demodulated = mDemodulator.demodulate(filteredI, filteredQ);
+        float[] filteredI = mIBasebandFilter.filter(decimatedI, mFilteredI.get(length));
+        float[] filteredQ = mQBasebandFilter.filter(decimatedQ, mFilteredQ.get(length));
 
-        mNoiseSquelch.process(demodulated);
+        //The idle gate copies the filtered samples if it retains them for look-back
+        mSquelchIdleGate.receive(new ComplexSamples(filteredI, filteredQ, samples.timestamp()));
 
         //Once we process the sample buffer, if the ending state is squelch closed, update the decoder state that we
         // are idle.
@@ -262,6 +303,16 @@ public class NBFMDecoder extends PrimaryDecoder implements ISourceEventListener,
         }
     }
 
+    /**
+     * Demodulates the decimated and baseband filtered sample buffer and processes it through the noise squelch.
+     */
+    private void demodulate(ComplexSamples filtered)
+    {
+        float[] demodulated = mDemodulator.demodulate(filtered.i(), filtered.q(),
+                mDemodulated.get(filtered.i().length));
+        mNoiseSquelch.process(demodulated);
+    }
+
     /**
      * Broadcasts a call start state event
      */
@@ -349,6 +400,7 @@ public class NBFMDecoder extends PrimaryDecoder implements ISourceEventListener,
 
         mIDecimationFilter = DecimationFilterFactory.getRealDecimationFilter(decimationRate);
         mQDecimationFilter = DecimationFilterFactory.getRealDecimationFilter(decimationRate);
+        mDecimationRate = Math.max(decimationRate, 1);
 
         if((decimatedSampleRate < (2.0 * mChannelBandwidth)))
         {
@@ -356,6 +408,7 @@ public class NBFMDecoder extends PrimaryDecoder implements ISourceEventListener,
         }
 
         mNoiseSquelch.setSampleRate(decimatedSampleRate);
+        mSquelchIdleGate.setSampleRate(decimatedSampleRate);
 
         int passBandStop = (int) (mChannelBandwidth * .8);
         int stopBandStart = (int) mChannelBandwidth;
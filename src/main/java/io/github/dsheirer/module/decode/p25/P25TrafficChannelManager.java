@@ -167,6 +167,27 @@ public class P25TrafficChannelManager extends TrafficChannelManager implements I
         mFrequencyBandMap.put(frequencyBand.getIdentifier(), frequencyBand);
     }
 
+    /**
+     * Phase 1 and phase 2 traffic channels that are reused across channel grants.
+     */
+    @Override
+    public List<Channel> getManagedTrafficChannels()
+    {
+        List<Channel> channels = new ArrayList<>();
+
+        if(mManagedPhase1TrafficChannels != null)
+        {
+            channels.addAll(mManagedPhase1TrafficChannels);
+        }
+
+        if(mManagedPhase2TrafficChannels != null)
+        {
+            channels.addAll(mManagedPhase2TrafficChannels);
+        }
+
+        return channels;
+    }
+
     /**
      * Notification that the control channel frequency is updated and removes any traffic channel that may be running
      * against the same frequency.
@@ -576,7 +597,7 @@ public class P25TrafficChannelManager extends TrafficChannelManager implements I
                 if(!mAllocatedTrafficChannelMap.containsKey(frequency) && !mIgnoreDataCalls &&
                         (getCurrentControlFrequency() != frequency))
                 {
-                    Channel trafficChannel = mAvailablePhase2TrafficChannelQueue.poll();
+                    Channel trafficChannel = pollTrafficChannel(mAvailablePhase2TrafficChannelQueue);
 
                     if(trafficChannel != null)
                     {
@@ -1243,7 +1264,7 @@ public class P25TrafficChannelManager extends TrafficChannelManager implements I
             //is a traffic channel allocated.  If not, allocate one and update the event description.
             if(!mAllocatedTrafficChannelMap.containsKey(frequency) && !(mIgnoreDataCalls && isDataChannelGrant))
             {
-                Channel trafficChannel = mAvailablePhase1TrafficChannelQueue.poll();
+                Channel trafficChannel = pollTrafficChannel(mAvailablePhase1TrafficChannelQueue);
 
                 if(trafficChannel != null)
                 {
@@ -1300,7 +1321,7 @@ public class P25TrafficChannelManager extends TrafficChannelManager implements I
         //Allocate a traffic channel for the downlink frequency if one isn't already allocated
         if(!mAllocatedTrafficChannelMap.containsKey(frequency))
         {
-            Channel trafficChannel = mAvailablePhase1TrafficChannelQueue.poll();
+            Channel trafficChannel = pollTrafficChannel(mAvailablePhase1TrafficChannelQueue);
 
             if(trafficChannel == null)
             {
@@ -1369,7 +1390,7 @@ public class P25TrafficChannelManager extends TrafficChannelManager implements I
             if(!mAllocatedTrafficChannelMap.containsKey(frequency) && !(mIgnoreDataCalls && isDataChannelGrant) &&
                 (getCurrentControlFrequency() != frequency))
             {
-                Channel trafficChannel = mAvailablePhase2TrafficChannelQueue.poll();
+                Channel trafficChannel = pollTrafficChannel(mAvailablePhase2TrafficChannelQueue);
 
                 if(trafficChannel != null)
                 {
@@ -1415,7 +1436,7 @@ public class P25TrafficChannelManager extends TrafficChannelManager implements I
         //Allocate a traffic channel for the downlink frequency if one isn't already allocated
         if(!mAllocatedTrafficChannelMap.containsKey(frequency) && frequency != getCurrentControlFrequency())
         {
-            Channel trafficChannel = mAvailablePhase2TrafficChannelQueue.poll();
+            Channel trafficChannel = pollTrafficChannel(mAvailablePhase2TrafficChannelQueue);
 
             if(trafficChannel == null)
             {
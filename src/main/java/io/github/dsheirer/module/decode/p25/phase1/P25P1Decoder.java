@@ -20,7 +20,7 @@ package io.github.dsheirer.module.decode.p25.phase1;
 
 import com.google.common.eventbus.Subscribe;
 import io.github.dsheirer.dsp.squelch.PowerMonitor;
-import io.github.dsheirer.dsp.symbol.Dibit;
+import io.github.dsheirer.dsp.symbol.DibitBlockBroadcaster;
 import io.github.dsheirer.dsp.symbol.DibitToByteBufferAssembler;
 import io.github.dsheirer.identifier.Identifier;
 import io.github.dsheirer.identifier.Role;
@@ -28,7 +28,6 @@ import io.github.dsheirer.identifier.patch.PatchGroupIdentifier;
 import io.github.dsheirer.module.decode.DecoderType;
 import io.github.dsheirer.module.decode.FeedbackDecoder;
 import io.github.dsheirer.module.decode.p25.P25FrequencyBandPreloadDataContent;
-import io.github.dsheirer.sample.Broadcaster;
 import io.github.dsheirer.sample.Listener;
 import io.github.dsheirer.sample.buffer.IByteBufferProvider;
 import io.github.dsheirer.sample.complex.ComplexSamples;
@@ -42,7 +41,7 @@ public abstract class P25P1Decoder extends FeedbackDecoder implements ISourceEve
         IComplexSamplesListener, Listener<ComplexSamples>, IByteBufferProvider
 {
     private double mSampleRate;
-    private Broadcaster<Dibit> mDibitBroadcaster = new Broadcaster<>();
+    private DibitBlockBroadcaster mDibitBroadcaster = new DibitBlockBroadcaster();
     private DibitToByteBufferAssembler mByteBufferAssembler = new DibitToByteBufferAssembler(300);
     private P25P1MessageProcessor mMessageProcessor;
     private Listener<SourceEvent> mSourceEventListener;
@@ -84,9 +83,9 @@ public abstract class P25P1Decoder extends FeedbackDecoder implements ISourceEve
     }
 
     /**
-     * Assembler for packaging Dibit stream into reusable byte buffers.
+     * Distributes demodulated dibits to the message framer per symbol and to the byte buffer assembler in blocks.
      */
-    protected Broadcaster<Dibit> getDibitBroadcaster()
+    protected DibitBlockBroadcaster getDibitBroadcaster()
     {
         return mDibitBroadcaster;
     }
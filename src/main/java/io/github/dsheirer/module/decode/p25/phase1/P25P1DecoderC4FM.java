@@ -30,6 +30,7 @@ import io.github.dsheirer.dsp.psk.pll.CostasLoop;
 import io.github.dsheirer.dsp.psk.pll.FrequencyCorrectionSyncMonitor;
 import io.github.dsheirer.dsp.psk.pll.PLLBandwidth;
 import io.github.dsheirer.module.decode.DecoderType;
+import io.github.dsheirer.sample.buffer.ScratchBuffer;
 import io.github.dsheirer.sample.complex.ComplexSamples;
 import io.github.dsheirer.source.SourceEvent;
 import java.util.HashMap;
@@ -48,6 +49,8 @@ public class P25P1DecoderC4FM extends P25P1Decoder
     protected FrequencyCorrectionSyncMonitor mFrequencyCorrectionSyncMonitor;
     protected P25P1MessageFramer mMessageFramer;
     protected IComplexGainControl mAGC = ComplexGainFactory.getComplexGainControl();
+    private final ScratchBuffer mFilteredI = new ScratchBuffer();
+    private final ScratchBuffer mFilteredQ = new ScratchBuffer();
     private Map<Double,float[]> mBasebandFilters = new HashMap<>();
     protected IRealFilter mIBasebandFilter;
     protected IRealFilter mQBasebandFilter;
@@ -91,7 +94,7 @@ public class P25P1DecoderC4FM extends P25P1Decoder
 
         if(mMessageFramer != null)
         {
-            getDibitBroadcaster().removeListener(mMessageFramer);
+            getDibitBroadcaster().setSymbolListener(null);
         }
 
         //The Costas Loop receives symbol-inversion correction requests when detected.
@@ -102,7 +105,7 @@ public class P25P1DecoderC4FM extends P25P1Decoder
         mMessageFramer.setSampleRate(sampleRate);
 
         mQPSKDemodulator.setSymbolListener(getDibitBroadcaster());
-        getDibitBroadcaster().addListener(mMessageFramer);
+        getDibitBroadcaster().setSymbolListener(mMessageFramer);
     }
 
     /**
@@ -114,14 +117,16 @@ public class P25P1DecoderC4FM extends P25P1Decoder
     {
         mMessageFramer.setCurrentTime(System.currentTimeMillis());
 
-        float[] i = mIBasebandFilter.filter(samples.i());
-        float[] q = mQBasebandFilter.filter(samples.q());
+        //Filter into reusable scratch buffers - the power monitor and AGC don't retain the filtered sample arrays
+        float[] i = mIBasebandFilter.filter(samples.i(), mFilteredI.get(samples.i().length));
+        float[] q = mQBasebandFilter.filter(samples.q(), mFilteredQ.get(samples.q().length));
 
         //Process the buffer for power meter measurements (before gain is applied)
         mPowerMonitor.process(i, q);
 
         ComplexSamples amplified = mAGC.process(i, q, samples.timestamp());
         mQPSKDemodulator.receive(amplified);
+        getDibitBroadcaster().flush();
     }
 
     /**
@@ -64,6 +64,7 @@ public class P25P1DecoderC4FMInstrumented extends P25P1DecoderC4FM
 
         ComplexSamples amplified = mAGC.process(i, q, samples.timestamp());
         mQPSKDemodulator.receive(amplified);
+        getDibitBroadcaster().flush();
     }
 
     /**
@@ -86,7 +87,7 @@ public class P25P1DecoderC4FMInstrumented extends P25P1DecoderC4FM
         instrumented.setSymbolDecisionDataListener(mSymbolDecisionDataListener);
         instrumented.setSamplesPerSymbolListener(mSamplesPerSymbolListener);
         instrumented.setSymbolListener(getDibitBroadcaster());
-        getDibitBroadcaster().addListener(mMessageFramer);
+        getDibitBroadcaster().setSymbolListener(mMessageFramer);
     }
 
     public void setComplexSymbolListener(Listener<Complex> listener)
@@ -100,7 +100,7 @@ public class P25P1DecoderLSM extends P25P1Decoder
         //The PLL gain monitor receives sync detect/loss signals from the message framer
         if(mMessageFramer != null)
         {
-            getDibitBroadcaster().removeListener(mMessageFramer);
+            getDibitBroadcaster().setSymbolListener(null);
         }
 
         mMessageFramer = new P25P1MessageFramer(mCostasLoop, DecoderType.P25_PHASE1.getProtocol().getBitRate());
@@ -108,7 +108,7 @@ public class P25P1DecoderLSM extends P25P1Decoder
         mMessageFramer.setListener(getMessageProcessor());
         mMessageFramer.setSampleRate(sampleRate);
         mQPSKDemodulator.setSymbolListener(getDibitBroadcaster());
-        getDibitBroadcaster().addListener(mMessageFramer);
+        getDibitBroadcaster().setSymbolListener(mMessageFramer);
     }
 
     /**
@@ -128,6 +128,7 @@ public class P25P1DecoderLSM extends P25P1Decoder
 
         ComplexSamples amplified = mAGC.process(i, q, samples.timestamp());
         mQPSKDemodulator.receive(amplified);
+        getDibitBroadcaster().flush();
     }
 
     /**
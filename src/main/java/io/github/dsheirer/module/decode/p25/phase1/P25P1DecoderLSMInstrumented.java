@@ -66,6 +66,7 @@ public class P25P1DecoderLSMInstrumented extends P25P1DecoderLSM
 
         ComplexSamples amplified = mAGC.process(i, q, samples.timestamp());
         mQPSKDemodulator.receive(amplified);
+        getDibitBroadcaster().flush();
     }
 
     /**
@@ -87,7 +88,7 @@ public class P25P1DecoderLSMInstrumented extends P25P1DecoderLSM
         instrumented.setSymbolDecisionDataListener(mSymbolDecisionDataListener);
         instrumented.setSamplesPerSymbolListener(mSamplesPerSymbolListener);
         instrumented.setSymbolListener(getDibitBroadcaster());
-        getDibitBroadcaster().addListener(mMessageFramer);
+        getDibitBroadcaster().setSymbolListener(mMessageFramer);
     }
 
     public void setComplexSymbolListener(Listener<Complex> listener)
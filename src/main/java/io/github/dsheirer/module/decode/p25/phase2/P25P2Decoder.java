@@ -20,12 +20,11 @@ package io.github.dsheirer.module.decode.p25.phase2;
 
 import com.google.common.eventbus.Subscribe;
 import io.github.dsheirer.dsp.squelch.PowerMonitor;
-import io.github.dsheirer.dsp.symbol.Dibit;
+import io.github.dsheirer.dsp.symbol.DibitBlockBroadcaster;
 import io.github.dsheirer.dsp.symbol.DibitToByteBufferAssembler;
 import io.github.dsheirer.module.decode.DecoderType;
 import io.github.dsheirer.module.decode.FeedbackDecoder;
 import io.github.dsheirer.module.decode.p25.P25FrequencyBandPreloadDataContent;
-import io.github.dsheirer.sample.Broadcaster;
 import io.github.dsheirer.sample.Listener;
 import io.github.dsheirer.sample.buffer.IByteBufferProvider;
 import io.github.dsheirer.sample.complex.ComplexSamples;
@@ -42,7 +41,7 @@ public abstract class P25P2Decoder extends FeedbackDecoder implements ISourceEve
         IComplexSamplesListener, Listener<ComplexSamples>, IByteBufferProvider
 {
     private double mSampleRate;
-    private Broadcaster<Dibit> mDibitBroadcaster = new Broadcaster<>();
+    private DibitBlockBroadcaster mDibitBroadcaster = new DibitBlockBroadcaster();
     private DibitToByteBufferAssembler mByteBufferAssembler = new DibitToByteBufferAssembler(300);
     private P25P2MessageProcessor mMessageProcessor;
     private double mSymbolRate;
@@ -83,9 +82,9 @@ public abstract class P25P2Decoder extends FeedbackDecoder implements ISourceEve
     }
 
     /**
-     * Assembler for packaging Dibit stream into reusable byte buffers.
+     * Distributes demodulated dibits to the message framer per symbol and to the byte buffer assembler in blocks.
      */
-    protected Broadcaster<Dibit> getDibitBroadcaster()
+    protected DibitBlockBroadcaster getDibitBroadcaster()
     {
         return mDibitBroadcaster;
     }
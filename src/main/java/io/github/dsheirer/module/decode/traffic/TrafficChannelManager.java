@@ -20,7 +20,11 @@
 package io.github.dsheirer.module.decode.traffic;
 
 import io.github.dsheirer.controller.channel.Channel;
+import io.github.dsheirer.controller.channel.ProcessingChainPool;
 import io.github.dsheirer.module.Module;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
 
 /**
  * Traffic Channel Manager base class
@@ -28,6 +32,7 @@ import io.github.dsheirer.module.Module;
 public abstract class TrafficChannelManager extends Module
 {
     private long mCurrentControlFrequency;
+    private ProcessingChainPool mProcessingChainPool;
 
     /**
      * Constructs an instance.
@@ -57,6 +62,49 @@ public abstract class TrafficChannelManager extends Module
         processControlFrequencyUpdate(previous, frequency, parentChannel);
     }
 
+    /**
+     * Traffic channels owned by this manager that are reused across channel grants.  The processing chain pool
+     * pre-builds processing chains for these channels so that a grant doesn't wait on processing chain construction.
+     * @return managed traffic channels or an empty list if this manager doesn't reuse traffic channels.
+     */
+    public List<Channel> getManagedTrafficChannels()
+    {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Sets the processing chain pool that holds pre-built processing chains for the managed traffic channels.
+     * @param processingChainPool to use when selecting the next traffic channel, or null to clear.
+     */
+    public void setProcessingChainPool(ProcessingChainPool processingChainPool)
+    {
+        mProcessingChainPool = processingChainPool;
+    }
+
+    /**
+     * Removes the next traffic channel from the available channel queue, preferring a channel that has a pre-built
+     * processing chain waiting in the processing chain pool.
+     * @param availableChannels queue
+     * @return next traffic channel or null if the queue is empty.
+     */
+    protected Channel pollTrafficChannel(Queue<Channel> availableChannels)
+    {
+        ProcessingChainPool pool = mProcessingChainPool;
+
+        if(pool != null)
+        {
+            for(Channel channel: availableChannels)
+            {
+                if(pool.isPrebuilt(channel) && availableChannels.remove(channel))
+                {
+                    return channel;
+                }
+            }
+        }
+
+        return availableChannels.poll();
+    }
+
     /**
      * Subclass implementation to receive notification that the control channel frequency has changed when the source
      * is set for multiple frequencies, or in the case of DMR when the REST channel changes.  Subclass should remove
@@ -30,6 +30,7 @@ import io.github.dsheirer.identifier.configuration.FrequencyConfigurationIdentif
 import io.github.dsheirer.module.decode.event.IDecodeEvent;
 import io.github.dsheirer.module.decode.event.IDecodeEventListener;
 import io.github.dsheirer.preference.TimestampFormat;
+import io.github.dsheirer.preference.event.DecodeEventPreference;
 import io.github.dsheirer.sample.Listener;
 import java.nio.file.Path;
 import java.text.DecimalFormat;
@@ -57,9 +58,10 @@ public class DecodeEventLogger extends EventLogger implements IDecodeEventListen
             .setQuoteMode(QuoteMode.ALL)
             .build();
 
-    public DecodeEventLogger(AliasModel aliasModel, Path logDirectory, String fileNameSuffix, long frequency)
+    public DecodeEventLogger(AliasModel aliasModel, Path logDirectory, String fileNameSuffix, long frequency,
+                             DecodeEventPreference decodeEventPreference)
     {
-        super(logDirectory, fileNameSuffix, frequency);
+        super(logDirectory, fileNameSuffix, frequency, decodeEventPreference);
         mAliasModel = aliasModel;
     }
 
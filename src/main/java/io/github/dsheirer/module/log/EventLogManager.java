@@ -24,6 +24,7 @@ import io.github.dsheirer.controller.channel.Channel;
 import io.github.dsheirer.module.Module;
 import io.github.dsheirer.module.log.config.EventLogConfiguration;
 import io.github.dsheirer.preference.UserPreferences;
+import io.github.dsheirer.preference.event.DecodeEventPreference;
 import io.github.dsheirer.source.config.SourceConfigTuner;
 import io.github.dsheirer.util.StringUtils;
 import org.slf4j.Logger;
@@ -92,17 +93,22 @@ public class EventLogManager
         sb.append(".log");
 
         Path eventLogDirectory = mUserPreferences.getDirectoryPreference().getDirectoryEventLog();
+        DecodeEventPreference decodeEventPreference = mUserPreferences.getDecodeEventPreference();
 
         switch(eventLogType)
         {
             case CALL_EVENT:
-                return new DecodeEventLogger(mAliasModel, eventLogDirectory, sb.toString(), frequency);
+                return new DecodeEventLogger(mAliasModel, eventLogDirectory, sb.toString(), frequency,
+                    decodeEventPreference);
             case DECODED_MESSAGE:
-                return new MessageEventLogger(eventLogDirectory, sb.toString(), MessageEventLogger.Type.DECODED, frequency);
+                return new MessageEventLogger(eventLogDirectory, sb.toString(), MessageEventLogger.Type.DECODED, frequency,
+                    decodeEventPreference);
             case TRAFFIC_CALL_EVENT:
-                return new DecodeEventLogger(mAliasModel, eventLogDirectory, sb.toString(), frequency);
+                return new DecodeEventLogger(mAliasModel, eventLogDirectory, sb.toString(), frequency,
+                    decodeEventPreference);
             case TRAFFIC_DECODED_MESSAGE:
-                return new MessageEventLogger(eventLogDirectory, sb.toString(), MessageEventLogger.Type.DECODED, frequency);
+                return new MessageEventLogger(eventLogDirectory, sb.toString(), MessageEventLogger.Type.DECODED, frequency,
+                    decodeEventPreference);
             default:
                 return null;
         }
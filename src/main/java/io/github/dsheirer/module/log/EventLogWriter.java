@@ -0,0 +1,399 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.module.log;
+
+import io.github.dsheirer.controller.NamingThreadFactory;
+import io.github.dsheirer.util.TimeStamp;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Shared background writer for event log files.
+ *
+ * Event loggers enqueue log entries on the calling (decoder) thread without blocking and a single writer thread
+ * drains each log file's queue into a buffered file writer.  Log files are flushed to disk once a second, or sooner
+ * when a log file accumulates a large number of pending entries.  Each log file can optionally be gzip compressed and
+ * can be rotated daily, where a new log file (with header) is started with the first entry logged after midnight.
+ */
+public class EventLogWriter
+{
+    private final static Logger mLog = LoggerFactory.getLogger(EventLogWriter.class);
+    private static final long FLUSH_INTERVAL_MS = 1000;
+    private static final int FLUSH_THRESHOLD_CHARS = 32 * 1024;
+    private static final int MAX_PENDING_CHARS = 8 * 1024 * 1024;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final String COMPRESSED_FILE_EXTENSION = ".gz";
+    private static EventLogWriter sInstance;
+
+    private final ScheduledExecutorService mExecutor;
+    private final Set<LogFile> mLogFiles = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructs an instance.
+     */
+    EventLogWriter()
+    {
+        mExecutor = Executors.newSingleThreadScheduledExecutor(new NamingThreadFactory("sdrtrunk event log writer"));
+        mExecutor.scheduleAtFixedRate(this::flushAll, FLUSH_INTERVAL_MS, FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Shared instance
+     */
+    public static synchronized EventLogWriter getInstance()
+    {
+        if(sInstance == null)
+        {
+            sInstance = new EventLogWriter();
+        }
+
+        return sInstance;
+    }
+
+    /**
+     * Opens a log file.  The file is created by the writer thread and the header is written as the first entry of
+     * the file and of each rotated file.
+     *
+     * @param directory for the log file
+     * @param fileNameSuffix for the log file name
+     * @param frequency of the channel, used in the log file name
+     * @param header for the log file
+     * @param compress to gzip compress the log file
+     * @param rotateDaily to start a new log file each day
+     * @return log file to write entries to
+     */
+    public LogFile open(Path directory, String fileNameSuffix, long frequency, String header, boolean compress,
+                        boolean rotateDaily)
+    {
+        LogFile logFile = new LogFile(directory, fileNameSuffix, frequency, header, compress, rotateDaily);
+        mLogFiles.add(logFile);
+        execute(() -> logFile.drain(true));
+        return logFile;
+    }
+
+    /**
+     * Writes all pending entries, closes all log files and stops the writer thread.  Blocks until complete or until
+     * the timeout expires.
+     */
+    public void shutdown()
+    {
+        execute(() -> {
+            for(LogFile logFile: new ArrayList<>(mLogFiles))
+            {
+                logFile.drain(true);
+                logFile.closeWriter();
+            }
+
+            mLogFiles.clear();
+        });
+
+        mExecutor.shutdown();
+
+        try
+        {
+            if(!mExecutor.awaitTermination(10, TimeUnit.SECONDS))
+            {
+                mLog.warn("Timeout while waiting for event log files to close");
+            }
+        }
+        catch(InterruptedException ie)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Number of open log files.
+     */
+    public int getOpenFileCount()
+    {
+        return mLogFiles.size();
+    }
+
+    /**
+     * Writes pending entries for all log files and flushes them to disk.
+     */
+    private void flushAll()
+    {
+        for(LogFile logFile: mLogFiles)
+        {
+            logFile.drain(true);
+        }
+    }
+
+    /**
+     * Executes the task on the writer thread, ignoring the task if the writer has been shutdown.
+     */
+    private void execute(Runnable task)
+    {
+        try
+        {
+            mExecutor.execute(task);
+        }
+        catch(RejectedExecutionException ree)
+        {
+            //Writer is shutdown and all log files are closed
+        }
+    }
+
+    /**
+     * Event log file.  Entries can be written from any thread and the file is only accessed from the writer thread.
+     */
+    public class LogFile
+    {
+        private final Path mDirectory;
+        private final String mFileNameSuffix;
+        private final long mFrequency;
+        private final String mHeader;
+        private final boolean mCompress;
+        private final boolean mRotateDaily;
+        private final Queue<String> mQueue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger mPendingChars = new AtomicInteger();
+        private final AtomicBoolean mDrainScheduled = new AtomicBoolean();
+        private final AtomicBoolean mOverflowLogged = new AtomicBoolean();
+        private volatile boolean mClosed;
+        private volatile String mFileName;
+        private LocalDate mFileDate;
+        private Writer mWriter;
+
+        private LogFile(Path directory, String fileNameSuffix, long frequency, String header, boolean compress,
+                        boolean rotateDaily)
+        {
+            mDirectory = directory;
+            mFileNameSuffix = fileNameSuffix;
+            mFrequency = frequency;
+            mHeader = header;
+            mCompress = compress;
+            mRotateDaily = rotateDaily;
+            mFileName = createFileName();
+        }
+
+        /**
+         * Current log file name, including the directory.
+         */
+        public String getFileName()
+        {
+            return mFileName;
+        }
+
+        /**
+         * Enqueues the entry to be written to the log file, followed by a line separator.  Does not block.
+         * @param entry to write
+         */
+        public void write(String entry)
+        {
+            if(mClosed)
+            {
+                return;
+            }
+
+            String line = (entry != null ? entry : "") + "\n";
+            int pending = mPendingChars.addAndGet(line.length());
+
+            if(pending > MAX_PENDING_CHARS)
+            {
+                mPendingChars.addAndGet(-line.length());
+
+                if(mOverflowLogged.compareAndSet(false, true))
+                {
+                    mLog.warn("Event log writer is falling behind - discarding entries for log file [" + mFileName + "]");
+                }
+
+                return;
+            }
+
+            mQueue.offer(line);
+
+            if(pending >= FLUSH_THRESHOLD_CHARS && mDrainScheduled.compareAndSet(false, true))
+            {
+                execute(() -> {
+                    mDrainScheduled.set(false);
+                    drain(false);
+                });
+            }
+        }
+
+        /**
+         * Closes the log file once all pending entries are written.  Entries written after close are ignored.
+         */
+        public void close()
+        {
+            mClosed = true;
+
+            execute(() -> {
+                drain(true);
+                closeWriter();
+                mLogFiles.remove(this);
+            });
+        }
+
+        /**
+         * Creates a log file name using the current timestamp.
+         */
+        private String createFileName()
+        {
+            StringBuilder sb = new StringBuilder();
+            sb.append(mDirectory);
+            sb.append(File.separator);
+            sb.append(TimeStamp.getLongTimeStamp("_"));
+            sb.append("_");
+            sb.append(mFrequency);
+            sb.append("_Hz_");
+            sb.append(mFileNameSuffix);
+
+            if(mCompress)
+            {
+                sb.append(COMPRESSED_FILE_EXTENSION);
+            }
+
+            return sb.toString();
+        }
+
+        /**
+         * Writes pending entries to the file, opening or rotating the file as needed.  Invoked on the writer thread.
+         * @param flush to flush the file after writing
+         */
+        private void drain(boolean flush)
+        {
+            if(mWriter == null && mFileDate != null)
+            {
+                //The file could not be created - discard entries
+                discardPending();
+                return;
+            }
+
+            try
+            {
+                if(mWriter == null)
+                {
+                    openWriter(mFileName);
+                }
+                else if(mRotateDaily && !mQueue.isEmpty() && !LocalDate.now().equals(mFileDate))
+                {
+                    closeWriter();
+                    openWriter(createFileName());
+                }
+
+                String line;
+
+                while((line = mQueue.poll()) != null)
+                {
+                    mWriter.write(line);
+                    mPendingChars.addAndGet(-line.length());
+                }
+
+                if(flush)
+                {
+                    mWriter.flush();
+                }
+            }
+            catch(IOException ioe)
+            {
+                mLog.error("Error writing to event log file [" + mFileName + "]", ioe);
+                closeWriter();
+                discardPending();
+            }
+        }
+
+        /**
+         * Opens the writer for the file and writes the header.
+         */
+        private void openWriter(String fileName) throws IOException
+        {
+            mFileName = fileName;
+            mFileDate = LocalDate.now();
+
+            try
+            {
+                OutputStream stream = new FileOutputStream(fileName);
+
+                if(mCompress)
+                {
+                    stream = new GZIPOutputStream(stream, WRITE_BUFFER_SIZE, true);
+                }
+
+                mWriter = new BufferedWriter(new OutputStreamWriter(stream), WRITE_BUFFER_SIZE);
+            }
+            catch(IOException ioe)
+            {
+                mLog.error("Couldn't create log file in directory:" + mDirectory);
+                mClosed = true;
+                throw ioe;
+            }
+
+            mWriter.write((mHeader != null ? mHeader : "") + "\n");
+        }
+
+        /**
+         * Flushes and closes the writer, if open.
+         */
+        private void closeWriter()
+        {
+            if(mWriter != null)
+            {
+                try
+                {
+                    mWriter.flush();
+                    mWriter.close();
+                }
+                catch(IOException ioe)
+                {
+                    mLog.error("Couldn't close log file:" + mFileName);
+                }
+
+                mWriter = null;
+            }
+        }
+
+        /**
+         * Discards all pending entries.
+         */
+        private void discardPending()
+        {
+            while(mQueue.poll() != null)
+            {
+                //Discard
+            }
+
+            mPendingChars.set(0);
+        }
+    }
+}
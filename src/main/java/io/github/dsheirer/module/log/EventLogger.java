@@ -19,38 +19,37 @@
 package io.github.dsheirer.module.log;
 
 import io.github.dsheirer.module.Module;
-import io.github.dsheirer.util.TimeStamp;
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
-import java.io.OutputStreamWriter;
-import java.io.Writer;
+import io.github.dsheirer.preference.event.DecodeEventPreference;
 import java.nio.file.Path;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
+/**
+ * Base event logger.  Log entries are handed to the shared event log writer, which buffers and writes them to the
+ * log file on a background thread so that logging never blocks the calling decoder thread.
+ */
 public abstract class EventLogger extends Module
 {
-    private final static Logger mLog = LoggerFactory.getLogger(EventLogger.class);
-
     private Path mLogDirectory;
     private String mFileNameSuffix;
-    private String mLogFileName;
     private long mFrequency;
-    protected Writer mLogFile;
+    private DecodeEventPreference mDecodeEventPreference;
+    private volatile EventLogWriter.LogFile mLogFile;
 
-    public EventLogger(Path logDirectory, String fileNameSuffix, long frequency)
+    public EventLogger(Path logDirectory, String fileNameSuffix, long frequency,
+                       DecodeEventPreference decodeEventPreference)
     {
         mLogDirectory = logDirectory;
         mFileNameSuffix = fileNameSuffix;
         mFrequency = frequency;
+        mDecodeEventPreference = decodeEventPreference;
     }
 
     public String toString()
     {
-        if(mLogFileName != null)
+        EventLogWriter.LogFile logFile = mLogFile;
+
+        if(logFile != null)
         {
-            return mLogFileName;
+            return logFile.getFileName();
         }
         else
         {
@@ -65,26 +64,8 @@ public abstract class EventLogger extends Module
     {
         if(mLogFile == null)
         {
-            try
-            {
-                StringBuilder sb = new StringBuilder();
-                sb.append(mLogDirectory);
-                sb.append(File.separator);
-                sb.append(TimeStamp.getLongTimeStamp("_"));
-                sb.append("_");
-                sb.append(mFrequency);
-                sb.append("_Hz_");
-                sb.append(mFileNameSuffix);
-
-                mLogFileName = sb.toString();
-                mLogFile = new OutputStreamWriter(new FileOutputStream(mLogFileName));
-
-                write(getHeader());
-            }
-            catch(FileNotFoundException e)
-            {
-                mLog.error("Couldn't create log file in directory:" + mLogDirectory);
-            }
+            mLogFile = EventLogWriter.getInstance().open(mLogDirectory, mFileNameSuffix, mFrequency, getHeader(),
+                mDecodeEventPreference.isEventLogCompress(), mDecodeEventPreference.isEventLogRotateDaily());
         }
     }
 
@@ -92,32 +73,18 @@ public abstract class EventLogger extends Module
     {
         if(mLogFile != null)
         {
-            try
-            {
-                mLogFile.flush();
-                mLogFile.close();
-                mLogFile = null;
-            }
-            catch(Exception e)
-            {
-                mLog.error("Couldn't close log file:" + mFileNameSuffix);
-            }
+            mLogFile.close();
+            mLogFile = null;
         }
     }
 
     protected void write(String eventLogEntry)
     {
-        try
-        {
-            if(mLogFile != null)
-            {
-                mLogFile.write((eventLogEntry != null ? eventLogEntry : "") + "\n");
-                mLogFile.flush();
-            }
-        }
-        catch(Exception e)
+        EventLogWriter.LogFile logFile = mLogFile;
+
+        if(logFile != null)
         {
-            mLog.error("Error writing entry to event log file", e);
+            logFile.write(eventLogEntry);
         }
     }
 }
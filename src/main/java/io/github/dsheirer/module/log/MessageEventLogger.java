@@ -19,6 +19,7 @@ package io.github.dsheirer.module.log;
 
 import io.github.dsheirer.message.IMessage;
 import io.github.dsheirer.message.IMessageListener;
+import io.github.dsheirer.preference.event.DecodeEventPreference;
 import io.github.dsheirer.sample.Listener;
 import io.github.dsheirer.util.TimeStamp;
 
@@ -33,9 +34,10 @@ public class MessageEventLogger extends EventLogger implements IMessageListener,
 
     private Type mType;
 
-    public MessageEventLogger(Path logDirectory, String fileNameSuffix, Type type, long frequency)
+    public MessageEventLogger(Path logDirectory, String fileNameSuffix, Type type, long frequency,
+                              DecodeEventPreference decodeEventPreference)
     {
-        super(logDirectory, fileNameSuffix, frequency);
+        super(logDirectory, fileNameSuffix, frequency, decodeEventPreference);
         mType = type;
     }
 
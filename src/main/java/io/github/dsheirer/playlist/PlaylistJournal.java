@@ -0,0 +1,493 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+
+package io.github.dsheirer.playlist;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.github.dsheirer.alias.Alias;
+import io.github.dsheirer.audio.broadcast.BroadcastConfiguration;
+import io.github.dsheirer.controller.channel.Channel;
+import io.github.dsheirer.controller.channel.map.ChannelMap;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only change journal for the playlist.
+ *
+ * Each alias, broadcast configuration, channel and channel map is assigned a session entity identifier in the order
+ * that it appears in the playlist snapshot.  Changes to an entity are recorded as an UPDATE record that carries the
+ * serialized entity, or a REMOVE record, so that the cost of persisting an edit is proportional to the size of the
+ * change rather than the size of the playlist.  On load, the journal is replayed against the snapshot that carries
+ * the same generation number and a journal from any other generation is ignored.
+ *
+ * Journal format: header (magic, version, generation) followed by records of entity type, operation, entity id,
+ * payload length and payload.  A partially written trailing record is discarded during replay.
+ */
+public class PlaylistJournal
+{
+    private final static Logger mLog = LoggerFactory.getLogger(PlaylistJournal.class);
+
+    private static final int MAGIC = 0x504C4A31; //PLJ1
+    private static final int VERSION = 1;
+    private static final int HEADER_LENGTH = 16;
+    private static final int RECORD_HEADER_LENGTH = 14;
+    private static final int MAXIMUM_PAYLOAD_LENGTH = 64 * 1024 * 1024;
+
+    /**
+     * Minimum journal size before compaction is requested, regardless of the snapshot size.
+     */
+    private static final long MINIMUM_COMPACTION_SIZE = 256 * 1024;
+
+    public enum EntityType
+    {
+        ALIAS(Alias.class),
+        BROADCAST(BroadcastConfiguration.class),
+        CHANNEL(Channel.class),
+        CHANNEL_MAP(ChannelMap.class);
+
+        private Class<?> mEntityClass;
+
+        EntityType(Class<?> entityClass)
+        {
+            mEntityClass = entityClass;
+        }
+
+        public Class<?> getEntityClass()
+        {
+            return mEntityClass;
+        }
+
+        /**
+         * Lookup the entity type for the entity
+         * @param entity to lookup
+         * @return type or null if the entity is not a journaled playlist entity
+         */
+        public static EntityType fromEntity(Object entity)
+        {
+            for(EntityType type : values())
+            {
+                if(type.getEntityClass().isInstance(entity))
+                {
+                    return type;
+                }
+            }
+
+            return null;
+        }
+    }
+
+    public enum Operation
+    {
+        UPDATE,
+        REMOVE
+    }
+
+    private final ObjectMapper mObjectMapper;
+    private final ObjectWriter mObjectWriter;
+    private final Map<Object,Long> mEntityIds = new IdentityHashMap<>();
+    private final Map<Object,Operation> mPendingChanges = new IdentityHashMap<>();
+    private final List<Object> mPendingOrder = new ArrayList<>();
+    private long mNextEntityId;
+    private long mGeneration;
+    private long mSnapshotSize;
+    private long mJournalSize;
+    private int mRecordCount;
+    private Path mPath;
+
+    /**
+     * Constructs an instance
+     * @param objectMapper for serializing and deserializing journaled entities.
+     */
+    public PlaylistJournal(ObjectMapper objectMapper)
+    {
+        mObjectMapper = objectMapper;
+        mObjectWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    /**
+     * Snapshot generation that this journal applies to.
+     */
+    public synchronized long getGeneration()
+    {
+        return mGeneration;
+    }
+
+    /**
+     * Number of records appended to the journal since the last snapshot.
+     */
+    public synchronized int getRecordCount()
+    {
+        return mRecordCount;
+    }
+
+    /**
+     * Indicates if the journal has grown large enough, relative to the snapshot, that a full playlist save should be
+     * performed to compact the journal.
+     */
+    public synchronized boolean isCompactionRequired()
+    {
+        return mJournalSize > Math.max(MINIMUM_COMPACTION_SIZE, mSnapshotSize / 2);
+    }
+
+    /**
+     * Records a change to a playlist entity.  Repeated changes to the same entity are coalesced until the next flush.
+     * @param entity that was updated, added or removed
+     * @param operation to record
+     */
+    public synchronized void record(Object entity, Operation operation)
+    {
+        if(entity != null && EntityType.fromEntity(entity) != null)
+        {
+            if(mPendingChanges.put(entity, operation) == null)
+            {
+                mPendingOrder.add(entity);
+            }
+        }
+    }
+
+    /**
+     * Indicates if there are recorded changes that have not yet been flushed to the journal.
+     */
+    public synchronized boolean hasPendingChanges()
+    {
+        return !mPendingChanges.isEmpty();
+    }
+
+    /**
+     * Discards any recorded changes that have not been flushed.  Invoke this prior to capturing the models for a full
+     * playlist save since the snapshot will include those changes.
+     */
+    public synchronized void clearPendingChanges()
+    {
+        mPendingChanges.clear();
+        mPendingOrder.clear();
+    }
+
+    /**
+     * Appends the pending changes to the journal file.
+     * @throws IOException if the journal is not available or there is an error writing the records.  The caller
+     * should fall back to a full playlist save.
+     */
+    public synchronized void flush() throws IOException
+    {
+        if(mPendingChanges.isEmpty())
+        {
+            return;
+        }
+
+        List<Object> entities = new ArrayList<>(mPendingOrder);
+        Map<Object,Operation> changes = new IdentityHashMap<>(mPendingChanges);
+        clearPendingChanges();
+
+        if(mPath == null)
+        {
+            throw new IOException("Playlist journal is not available");
+        }
+
+        long written = 0;
+
+        try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(mPath,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND))))
+        {
+            for(Object entity : entities)
+            {
+                Operation operation = changes.get(entity);
+                EntityType type = EntityType.fromEntity(entity);
+                Long id = mEntityIds.get(entity);
+
+                if(operation == Operation.REMOVE)
+                {
+                    //Entity was added and removed before it was ever persisted
+                    if(id == null)
+                    {
+                        continue;
+                    }
+
+                    mEntityIds.remove(entity);
+                    written += writeRecord(out, type, operation, id, new byte[0]);
+                }
+                else
+                {
+                    if(id == null)
+                    {
+                        id = mNextEntityId++;
+                        mEntityIds.put(entity, id);
+                    }
+
+                    written += writeRecord(out, type, operation, id, mObjectWriter.writeValueAsBytes(entity));
+                }
+
+                mRecordCount++;
+            }
+        }
+        finally
+        {
+            mJournalSize += written;
+        }
+    }
+
+    /**
+     * Writes a single journal record
+     * @return number of bytes written
+     */
+    private static int writeRecord(DataOutputStream out, EntityType type, Operation operation, long id,
+                                   byte[] payload) throws IOException
+    {
+        out.writeByte(type.ordinal());
+        out.writeByte(operation.ordinal());
+        out.writeLong(id);
+        out.writeInt(payload.length);
+        out.write(payload);
+        return RECORD_HEADER_LENGTH + payload.length;
+    }
+
+    /**
+     * Starts a new (empty) journal for the playlist snapshot that was just written.  Entity identifiers are
+     * reassigned in snapshot order.
+     * @param path for the journal file
+     * @param playlist snapshot that was written
+     * @param snapshotSize in bytes of the snapshot file
+     * @throws IOException if the journal file can't be created.  The journal is disabled until the next reset.
+     */
+    public synchronized void reset(Path path, PlaylistV2 playlist, long snapshotSize) throws IOException
+    {
+        mPath = null;
+        mGeneration = playlist.getGeneration();
+        mSnapshotSize = snapshotSize;
+        assignEntityIds(index(playlist));
+        writeHeader(path);
+        mPath = path;
+    }
+
+    /**
+     * Replays the journal file against the playlist snapshot, updating the playlist entity lists in place, and
+     * prepares the journal to record further changes.  A journal that doesn't match the snapshot generation is
+     * replaced with an empty journal.
+     * @param path for the journal file
+     * @param playlist snapshot that was loaded
+     * @param snapshotSize in bytes of the snapshot file
+     * @return number of journal records that were applied to the playlist
+     */
+    public synchronized int replay(Path path, PlaylistV2 playlist, long snapshotSize)
+    {
+        clearPendingChanges();
+        mPath = null;
+        mGeneration = playlist.getGeneration();
+        mSnapshotSize = snapshotSize;
+
+        Map<EntityType,LinkedHashMap<Long,Object>> entities = index(playlist);
+        long nextId = mNextEntityId;
+        int applied = 0;
+        long validLength = 0;
+
+        if(Files.exists(path))
+        {
+            try(DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path))))
+            {
+                if(in.readInt() != MAGIC || in.readInt() != VERSION)
+                {
+                    mLog.warn("Ignoring unrecognized playlist journal [" + path + "]");
+                }
+                else if(in.readLong() != mGeneration)
+                {
+                    mLog.info("Ignoring playlist journal from a previous playlist generation [" + path + "]");
+                }
+                else
+                {
+                    validLength = HEADER_LENGTH;
+
+                    try
+                    {
+                        while(true)
+                        {
+                            int typeOrdinal = in.readUnsignedByte();
+                            int operationOrdinal = in.readUnsignedByte();
+                            long entityId = in.readLong();
+                            int length = in.readInt();
+
+                            if(typeOrdinal >= EntityType.values().length ||
+                               operationOrdinal >= Operation.values().length ||
+                               length < 0 || length > MAXIMUM_PAYLOAD_LENGTH)
+                            {
+                                mLog.warn("Playlist journal contains an invalid record - ignoring remainder");
+                                break;
+                            }
+
+                            byte[] payload = new byte[length];
+                            in.readFully(payload);
+
+                            EntityType type = EntityType.values()[typeOrdinal];
+
+                            if(Operation.values()[operationOrdinal] == Operation.REMOVE)
+                            {
+                                entities.get(type).remove(entityId);
+                            }
+                            else
+                            {
+                                entities.get(type).put(entityId, mObjectMapper.readValue(payload,
+                                    type.getEntityClass()));
+                            }
+
+                            nextId = Math.max(nextId, entityId + 1);
+                            validLength += RECORD_HEADER_LENGTH + length;
+                            applied++;
+                        }
+                    }
+                    catch(EOFException eof)
+                    {
+                        //End of journal, or a partially written trailing record that is discarded
+                    }
+                }
+            }
+            catch(IOException ioe)
+            {
+                mLog.error("Error reading playlist journal [" + path + "] - applied [" + applied + "] records", ioe);
+            }
+        }
+
+        if(applied > 0)
+        {
+            playlist.setAliases(new ArrayList(entities.get(EntityType.ALIAS).values()));
+            playlist.setBroadcastConfigurations(new ArrayList(entities.get(EntityType.BROADCAST).values()));
+            playlist.setChannels(new ArrayList(entities.get(EntityType.CHANNEL).values()));
+            playlist.setChannelMaps(new ArrayList(entities.get(EntityType.CHANNEL_MAP).values()));
+        }
+
+        assignEntityIds(entities);
+        mNextEntityId = nextId;
+        mRecordCount = applied;
+
+        try
+        {
+            if(validLength > 0)
+            {
+                //Discard any partial trailing record so that new records are appended after the last valid record
+                try(FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE))
+                {
+                    channel.truncate(validLength);
+                }
+
+                mJournalSize = validLength - HEADER_LENGTH;
+            }
+            else
+            {
+                writeHeader(path);
+            }
+
+            mPath = path;
+        }
+        catch(IOException ioe)
+        {
+            mLog.error("Unable to open playlist journal [" + path + "] - changes will be saved to the playlist", ioe);
+        }
+
+        if(applied > 0)
+        {
+            mLog.info("Applied [" + applied + "] playlist journal records");
+        }
+
+        return applied;
+    }
+
+    /**
+     * Indexes the playlist entities by entity type and entity identifier, assigning identifiers in snapshot order.
+     */
+    private Map<EntityType,LinkedHashMap<Long,Object>> index(PlaylistV2 playlist)
+    {
+        Map<EntityType,LinkedHashMap<Long,Object>> entities = new EnumMap<>(EntityType.class);
+
+        for(EntityType type : EntityType.values())
+        {
+            entities.put(type, new LinkedHashMap<>());
+        }
+
+        long id = 0;
+
+        for(Alias alias : playlist.getAliases())
+        {
+            entities.get(EntityType.ALIAS).put(id++, alias);
+        }
+        for(BroadcastConfiguration broadcastConfiguration : playlist.getBroadcastConfigurations())
+        {
+            entities.get(EntityType.BROADCAST).put(id++, broadcastConfiguration);
+        }
+        for(Channel channel : playlist.getChannels())
+        {
+            entities.get(EntityType.CHANNEL).put(id++, channel);
+        }
+        for(ChannelMap channelMap : playlist.getChannelMaps())
+        {
+            entities.get(EntityType.CHANNEL_MAP).put(id++, channelMap);
+        }
+
+        mNextEntityId = id;
+        return entities;
+    }
+
+    /**
+     * Rebuilds the entity to identifier lookup map from the indexed entities.
+     */
+    private void assignEntityIds(Map<EntityType,LinkedHashMap<Long,Object>> entities)
+    {
+        mEntityIds.clear();
+
+        for(LinkedHashMap<Long,Object> map : entities.values())
+        {
+            for(Map.Entry<Long,Object> entry : map.entrySet())
+            {
+                mEntityIds.put(entry.getValue(), entry.getKey());
+            }
+        }
+    }
+
+    /**
+     * Creates or truncates the journal file and writes the header for the current generation.
+     */
+    private void writeHeader(Path path) throws IOException
+    {
+        try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path))))
+        {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(mGeneration);
+        }
+
+        mJournalSize = 0;
+        mRecordCount = 0;
+    }
+}
@@ -26,6 +26,7 @@ import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 import io.github.dsheirer.alias.Alias;
 import io.github.dsheirer.alias.AliasModel;
 import io.github.dsheirer.audio.broadcast.BroadcastModel;
+import io.github.dsheirer.controller.channel.Channel;
 import io.github.dsheirer.controller.channel.Channel.ChannelType;
 import io.github.dsheirer.controller.channel.ChannelEvent;
 import io.github.dsheirer.controller.channel.ChannelModel;
@@ -78,6 +79,10 @@ public class PlaylistManager implements Listener<ChannelEvent>
     private RadioReference mRadioReference;
     private AtomicBoolean mPlaylistSavePending = new AtomicBoolean();
     private ScheduledFuture<?> mPlaylistSaveFuture;
+    private AtomicBoolean mJournalFlushPending = new AtomicBoolean();
+    private ScheduledFuture<?> mJournalFlushFuture;
+    private ObjectMapper mObjectMapper = createObjectMapper();
+    private PlaylistJournal mJournal = new PlaylistJournal(mObjectMapper);
     private boolean mPlaylistLoading = false;
     private List<IAliasListRefreshListener> mAliasListRefreshListeners = new ArrayList<>();
 
@@ -85,7 +90,9 @@ public class PlaylistManager implements Listener<ChannelEvent>
      * Playlist manager - manages all channel configurations, channel maps, and alias lists and handles loading or
      * persisting to the current playlist file
      *
-     * Monitors playlist changes to automatically save configuration changes after they occur.
+     * Monitors playlist changes to automatically save configuration changes after they occur.  Individual alias,
+     * channel, channel map and broadcast configuration changes are appended to the playlist change journal and the
+     * full playlist is only rewritten when the journal is compacted.
      *
      * @param userPreferences for user settings
      * @param tunerManager for access to tuner model
@@ -119,17 +126,19 @@ public class PlaylistManager implements Listener<ChannelEvent>
         //save the playlist when there are any changes
         mChannelModel.addListener(this);
 
-        mAliasModel.aliasList().addListener((ListChangeListener<Alias>)c -> schedulePlaylistSave());
+        mAliasModel.aliasList().addListener((ListChangeListener<Alias>)this::recordChanges);
 
-        mChannelMapModel.getChannelMaps().addListener((ListChangeListener<ChannelMap>)c -> schedulePlaylistSave());
+        mChannelMapModel.getChannelMaps().addListener((ListChangeListener<ChannelMap>)this::recordChanges);
 
         mBroadcastModel.addListener(broadcastEvent -> {
             switch(broadcastEvent.getEvent())
             {
                 case CONFIGURATION_ADD:
                 case CONFIGURATION_CHANGE:
+                    recordChange(broadcastEvent.getBroadcastConfiguration(), PlaylistJournal.Operation.UPDATE);
+                    break;
                 case CONFIGURATION_DELETE:
-                    schedulePlaylistSave();
+                    recordChange(broadcastEvent.getBroadcastConfiguration(), PlaylistJournal.Operation.REMOVE);
                     break;
                 default:
                     //Do nothing
@@ -184,6 +193,9 @@ public class PlaylistManager implements Listener<ChannelEvent>
         getAliasModel().renameAliasList(oldName, newName);
         getChannelModel().renameAliasList(oldName, newName);
         refreshAliasListNames();
+
+        //Channel alias list name changes don't produce channel events, so save the full playlist
+        schedulePlaylistSave();
     }
 
     /**
@@ -198,6 +210,9 @@ public class PlaylistManager implements Listener<ChannelEvent>
         getAliasModel().deleteAliasList(aliasListName);
         getChannelModel().deleteAliasList(aliasListName);
         refreshAliasListNames();
+
+        //Channel alias list name changes don't produce channel events, so save the full playlist
+        schedulePlaylistSave();
     }
 
     /**
@@ -303,10 +318,7 @@ public class PlaylistManager implements Listener<ChannelEvent>
             return false;
         }
 
-        JacksonXmlModule xmlModule = new JacksonXmlModule();
-        xmlModule.setDefaultUseWrapper(false);
-        ObjectMapper objectMapper = new XmlMapper(xmlModule)
-            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        ObjectMapper objectMapper = createObjectMapper();
 
         try(InputStream in = Files.newInputStream(path))
         {
@@ -334,11 +346,7 @@ public class PlaylistManager implements Listener<ChannelEvent>
 
         try(OutputStream out = Files.newOutputStream(path))
         {
-            JacksonXmlModule xmlModule = new JacksonXmlModule();
-            xmlModule.setDefaultUseWrapper(false);
-            ObjectMapper objectMapper = new XmlMapper(xmlModule);
-            objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
-            objectMapper.writeValue(out, playlist);
+            mObjectMapper.writeValue(out, playlist);
             out.flush();
         }
         catch(IOException ioe)
@@ -351,6 +359,21 @@ public class PlaylistManager implements Listener<ChannelEvent>
         }
     }
 
+    /**
+     * Creates an XML object mapper for reading and writing playlists.  Object mappers are expensive to create and
+     * are thread-safe once configured, so the playlist manager reuses a single instance for all save, load and journal
+     * operations.
+     */
+    private static ObjectMapper createObjectMapper()
+    {
+        JacksonXmlModule xmlModule = new JacksonXmlModule();
+        xmlModule.setDefaultUseWrapper(false);
+        ObjectMapper objectMapper = new XmlMapper(xmlModule)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
+        return objectMapper;
+    }
+
     private void clearModels()
     {
         mPlaylistLoading = true;
@@ -383,10 +406,33 @@ public class PlaylistManager implements Listener<ChannelEvent>
             mPlaylistSaveFuture = null;
         }
 
+        if(mJournalFlushFuture != null)
+        {
+            mJournalFlushFuture.cancel(false);
+            mJournalFlushFuture = null;
+        }
+
         if(mPlaylistSavePending.getAndSet(false))
         {
             save();
         }
+
+        mJournalFlushPending.set(false);
+        flushJournal();
+    }
+
+    /**
+     * Completes any pending playlist changes and compacts the playlist change journal into the playlist file so that
+     * the playlist file is complete for use by other applications or versions.  Invoke on application shutdown.
+     */
+    public void shutdown()
+    {
+        saveNow();
+
+        if(mJournal.getRecordCount() > 0)
+        {
+            save();
+        }
     }
 
     /**
@@ -428,20 +474,106 @@ public class PlaylistManager implements Listener<ChannelEvent>
             {
                 case NOTIFICATION_ADD:
                 case NOTIFICATION_CONFIGURATION_CHANGE:
+                    recordChange(event.getChannel(), PlaylistJournal.Operation.UPDATE);
+                    break;
                 case NOTIFICATION_DELETE:
-                    schedulePlaylistSave();
+                    recordChange(event.getChannel(), PlaylistJournal.Operation.REMOVE);
                     break;
             }
         }
     }
 
     /**
-     * Saves the current playlist
+     * Records the added, removed and updated entities from an observable list change in the playlist change journal.
      */
-    private void save()
+    private void recordChanges(ListChangeListener.Change<?> change)
+    {
+        while(change.next())
+        {
+            if(change.wasUpdated())
+            {
+                for(int x = change.getFrom(); x < change.getTo(); x++)
+                {
+                    recordChange(change.getList().get(x), PlaylistJournal.Operation.UPDATE);
+                }
+            }
+            else if(!change.wasPermutated())
+            {
+                for(Object removed : change.getRemoved())
+                {
+                    recordChange(removed, PlaylistJournal.Operation.REMOVE);
+                }
+
+                for(Object added : change.getAddedSubList())
+                {
+                    recordChange(added, PlaylistJournal.Operation.UPDATE);
+                }
+            }
+        }
+    }
+
+    /**
+     * Records a change to a playlist entity in the playlist change journal and schedules a journal flush.
+     */
+    private void recordChange(Object entity, PlaylistJournal.Operation operation)
+    {
+        if(!mPlaylistLoading)
+        {
+            mJournal.record(entity, operation);
+            scheduleJournalFlush();
+        }
+    }
+
+    /**
+     * Schedules a playlist save for a change to the channel configuration that doesn't otherwise produce a channel
+     * configuration change event.  Only the channel is written to the playlist change journal.
+     * @param channel that was changed
+     */
+    public void schedulePlaylistSave(Channel channel)
+    {
+        if(channel != null && channel.getChannelType() == ChannelType.STANDARD)
+        {
+            recordChange(channel, PlaylistJournal.Operation.UPDATE);
+        }
+    }
+
+    /**
+     * Appends pending entity changes to the playlist change journal and compacts the journal into a full playlist
+     * save when it grows too large.  Falls back to a full playlist save if the journal can't be written.
+     */
+    private synchronized void flushJournal()
+    {
+        if(!mJournal.hasPendingChanges())
+        {
+            return;
+        }
+
+        try
+        {
+            mJournal.flush();
+
+            if(mJournal.isCompactionRequired())
+            {
+                save();
+            }
+        }
+        catch(IOException ioe)
+        {
+            mLog.error("Error writing playlist change journal - saving full playlist", ioe);
+            save();
+        }
+    }
+
+    /**
+     * Saves the current playlist as a full snapshot and starts a new (empty) playlist change journal.
+     */
+    private synchronized void save()
     {
         PlaylistPreference playlistPreference = mUserPreferences.getPlaylistPreference();
 
+        //The snapshot captures any changes that haven't been flushed to the journal
+        mJournal.clearPendingChanges();
+
         PlaylistV2 playlist = new PlaylistV2();
 
         playlist.setAliases(new ArrayList(mAliasModel.getAliases()));
@@ -449,6 +581,7 @@ public class PlaylistManager implements Listener<ChannelEvent>
         playlist.setChannels(new ArrayList(mChannelModel.getChannels()));
         playlist.setChannelMaps(new ArrayList(mChannelMapModel.getChannelMaps()));
         playlist.setVersion(PLAYLIST_CURRENT_VERSION);
+        playlist.setGeneration(mJournal.getGeneration() + 1);
 
         //Create a backup copy of the current playlist
         if(Files.exists(playlistPreference.getPlaylist()))
@@ -479,13 +612,11 @@ public class PlaylistManager implements Listener<ChannelEvent>
             }
         }
 
+        boolean saved = false;
+
         try(OutputStream out = Files.newOutputStream(playlistPreference.getPlaylist()))
         {
-            JacksonXmlModule xmlModule = new JacksonXmlModule();
-            xmlModule.setDefaultUseWrapper(false);
-            ObjectMapper objectMapper = new XmlMapper(xmlModule);
-            objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
-            objectMapper.writeValue(out, playlist);
+            mObjectMapper.writeValue(out, playlist);
             out.flush();
 
             //Remove the playlist lock file to indicate that we successfully saved the file
@@ -493,6 +624,8 @@ public class PlaylistManager implements Listener<ChannelEvent>
             {
                 Files.delete(playlistPreference.getPlaylistLock());
             }
+
+            saved = true;
         }
         catch(IOException ioe)
         {
@@ -502,6 +635,22 @@ public class PlaylistManager implements Listener<ChannelEvent>
         {
             mLog.error("Error while saving playlist [" + playlistPreference.getPlaylist().toString() + "]", e);
         }
+
+        //Start a new journal for the snapshot.  If the snapshot wasn't saved, the previous journal remains paired
+        //with the backup playlist that is restored on the next load.
+        if(saved)
+        {
+            try
+            {
+                mJournal.reset(playlistPreference.getPlaylistJournal(), playlist,
+                    Files.size(playlistPreference.getPlaylist()));
+            }
+            catch(IOException ioe)
+            {
+                mLog.error("Error creating playlist change journal [" +
+                    playlistPreference.getPlaylistJournal().toString() + "]", ioe);
+            }
+        }
     }
 
     /**
@@ -512,6 +661,7 @@ public class PlaylistManager implements Listener<ChannelEvent>
         PlaylistPreference files = mUserPreferences.getPlaylistPreference();
 
         PlaylistV2 playlist = null;
+        boolean journalReplayed = false;
 
         //Check for a lock file that indicates the previous save attempt was incomplete or had an error
         if(Files.exists(files.getPlaylistLock()))
@@ -543,19 +693,18 @@ public class PlaylistManager implements Listener<ChannelEvent>
         {
             mLog.info("Loading playlist [" + files.getPlaylist().toString() + "]");
 
-            JacksonXmlModule xmlModule = new JacksonXmlModule();
-            xmlModule.setDefaultUseWrapper(false);
-            ObjectMapper objectMapper = new XmlMapper(xmlModule)
-                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-
             try(InputStream in = Files.newInputStream(files.getPlaylist()))
             {
-                playlist = objectMapper.readValue(in, PlaylistV2.class);
+                playlist = mObjectMapper.readValue(in, PlaylistV2.class);
 
                 if(PlaylistUpdater.update(playlist))
                 {
                     schedulePlaylistSave();
                 }
+
+                //Apply changes recorded since the playlist snapshot was saved
+                mJournal.replay(files.getPlaylistJournal(), playlist, Files.size(files.getPlaylist()));
+                journalReplayed = true;
             }
             catch(IOException ioe)
             {
@@ -566,14 +715,9 @@ public class PlaylistManager implements Listener<ChannelEvent>
         {
             mLog.info("Loading legacy playlist [" + files.getLegacyPlaylist().toString() + "]");
 
-            JacksonXmlModule xmlModule = new JacksonXmlModule();
-            xmlModule.setDefaultUseWrapper(false);
-            ObjectMapper objectMapper = new XmlMapper(xmlModule)
-                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-
             try(InputStream in = Files.newInputStream(files.getLegacyPlaylist()))
             {
-                playlist = objectMapper.readValue(in, PlaylistV2.class);
+                playlist = mObjectMapper.readValue(in, PlaylistV2.class);
 
                 //Perform any updates that may be needed for the playist.
                 if(PlaylistUpdater.update(playlist))
@@ -598,12 +742,26 @@ public class PlaylistManager implements Listener<ChannelEvent>
             schedulePlaylistSave();
         }
 
+        //Legacy and new playlists start with an empty journal
+        if(!journalReplayed)
+        {
+            try
+            {
+                mJournal.reset(files.getPlaylistJournal(), playlist, 0);
+            }
+            catch(IOException ioe)
+            {
+                mLog.error("Error creating playlist change journal [" + files.getPlaylistJournal().toString() + "]",
+                    ioe);
+            }
+        }
+
         return playlist;
     }
 
     /**
-     * Schedules a playlist save task.  Subsequent calls to this method will be ignored until the save event occurs,
-     * thus limiting repetitive playlist saving to a minimum.
+     * Schedules a full playlist save task.  Subsequent calls to this method will be ignored until the save event
+     * occurs, thus limiting repetitive playlist saving to a minimum.
      */
     public void schedulePlaylistSave()
     {
@@ -616,6 +774,18 @@ public class PlaylistManager implements Listener<ChannelEvent>
         }
     }
 
+    /**
+     * Schedules a playlist change journal flush task.  Subsequent calls to this method will be ignored until the
+     * flush occurs so that repeated changes to the same entity are coalesced into a single journal record.
+     */
+    private void scheduleJournalFlush()
+    {
+        if(mJournalFlushPending.compareAndSet(false, true))
+        {
+            mJournalFlushFuture = ThreadPool.SCHEDULED.schedule(new JournalFlushTask(), 2, TimeUnit.SECONDS);
+        }
+    }
+
     /**
      * Resets the playlist save pending flag to false and proceeds to save the playlist.
      */
@@ -630,4 +800,18 @@ public class PlaylistManager implements Listener<ChannelEvent>
             mPlaylistSavePending.set(false);
         }
     }
+
+    /**
+     * Resets the journal flush pending flag and appends pending changes to the playlist change journal.
+     */
+    public class JournalFlushTask implements Runnable
+    {
+        @Override
+        public void run()
+        {
+            mJournalFlushFuture = null;
+            mJournalFlushPending.set(false);
+            flushJournal();
+        }
+    }
 }
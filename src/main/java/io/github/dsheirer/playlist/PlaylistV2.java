@@ -35,6 +35,7 @@ import java.util.List;
 public class PlaylistV2
 {
     private int mVersion = PlaylistManager.PLAYLIST_CURRENT_VERSION;
+    private long mGeneration;
     private List<Alias> mAliases = new ArrayList<>();
     private List<BroadcastConfiguration> mBroadcastConfigurations = new ArrayList<>();
     private List<Channel> mChannels = new ArrayList<>();
@@ -61,6 +62,24 @@ public class PlaylistV2
         mVersion = version;
     }
 
+    /**
+     * Snapshot generation for this playlist.  The playlist change journal is only replayed against the snapshot
+     * that carries the same generation number.
+     */
+    @JacksonXmlProperty(isAttribute = true, localName = "generation")
+    public long getGeneration()
+    {
+        return mGeneration;
+    }
+
+    /**
+     * Sets the snapshot generation for this playlist.
+     */
+    public void setGeneration(long generation)
+    {
+        mGeneration = generation;
+    }
+
     @JacksonXmlProperty(isAttribute = false, localName = "alias")
     public List<Alias> getAliases()
     {
@@ -36,6 +36,7 @@ import io.github.dsheirer.preference.record.RecordPreference;
 import io.github.dsheirer.preference.source.ChannelMultiFrequencyPreference;
 import io.github.dsheirer.preference.source.TunerPreference;
 import io.github.dsheirer.preference.swing.SwingPreference;
+import io.github.dsheirer.preference.webstream.WebStreamPreference;
 import io.github.dsheirer.sample.Listener;
 
 /**
@@ -70,6 +71,7 @@ public class UserPreferences implements Listener<PreferenceType>
     private TalkgroupFormatPreference mTalkgroupFormatPreference;
     private TunerPreference mTunerPreference;
     private VectorCalibrationPreference mVectorCalibrationPreference;
+    private WebStreamPreference mWebStreamPreference;
 
     private SwingPreference mSwingPreference = new SwingPreference();
     private JavaFxPreferences mJavaFxPreferences = new JavaFxPreferences();
@@ -196,6 +198,14 @@ public class UserPreferences implements Listener<PreferenceType>
         return mTunerPreference;
     }
 
+    /**
+     * Web UI streaming preferences
+     */
+    public WebStreamPreference getWebStreamPreference()
+    {
+        return mWebStreamPreference;
+    }
+
 
     /**
      * Swing window location/size user preferences
@@ -232,6 +242,7 @@ public class UserPreferences implements Listener<PreferenceType>
         mTalkgroupFormatPreference = new TalkgroupFormatPreference(this::receive);
         mTunerPreference = new TunerPreference(this::receive);
         mVectorCalibrationPreference = new VectorCalibrationPreference(this::receive);
+        mWebStreamPreference = new WebStreamPreference(this::receive);
     }
 
     /**
@@ -30,7 +30,7 @@ import org.slf4j.LoggerFactory;
 import java.util.prefs.Preferences;
 
 /**
- * User preferences for the display of channel decode events
+ * User preferences for the display and logging of channel decode events
  */
 public class DecodeEventPreference extends Preference
 {
@@ -38,6 +38,17 @@ public class DecodeEventPreference extends Preference
     private Preferences mPreferences = Preferences.userNodeForPackage(DecodeEventPreference.class);
     private TimestampFormat mTimestampFormat = TimestampFormat.TIMESTAMP_DEFAULT;
     private static final String TIMESTAMP_FORMAT_KEY = "timestamp.format";
+    private static final String EVENT_LOG_COMPRESS_KEY = "event.log.compress";
+    private static final String EVENT_LOG_ROTATE_DAILY_KEY = "event.log.rotate.daily";
+    private static final String EVENT_STORE_ENABLED_KEY = "event.store.enabled";
+    private static final String EVENT_STORE_RETENTION_DAYS_KEY = "event.store.retention.days";
+    public static final int DEFAULT_EVENT_STORE_RETENTION_DAYS = 30;
+    public static final int MINIMUM_EVENT_STORE_RETENTION_DAYS = 1;
+    public static final int MAXIMUM_EVENT_STORE_RETENTION_DAYS = 3650;
+    private Boolean mEventLogCompress;
+    private Boolean mEventLogRotateDaily;
+    private Boolean mEventStoreEnabled;
+    private Integer mEventStoreRetentionDays;
 
     public DecodeEventPreference(Listener<PreferenceType> updateListener)
     {
@@ -87,4 +98,110 @@ public class DecodeEventPreference extends Preference
         mPreferences.put(TIMESTAMP_FORMAT_KEY, mTimestampFormat.name());
         notifyPreferenceUpdated();
     }
+
+    /**
+     * Indicates if channel event log files should be gzip compressed.
+     * @return true if enabled, default: false
+     */
+    public boolean isEventLogCompress()
+    {
+        if(mEventLogCompress == null)
+        {
+            mEventLogCompress = mPreferences.getBoolean(EVENT_LOG_COMPRESS_KEY, false);
+        }
+
+        return mEventLogCompress;
+    }
+
+    /**
+     * Sets the event log compression preference.  Takes effect for event log files opened after the change.
+     * @param compress true to gzip compress event log files.
+     */
+    public void setEventLogCompress(boolean compress)
+    {
+        mEventLogCompress = compress;
+        mPreferences.putBoolean(EVENT_LOG_COMPRESS_KEY, compress);
+        notifyPreferenceUpdated();
+    }
+
+    /**
+     * Indicates if channel event log files should be rotated daily, starting a new log file with the first entry
+     * logged after midnight.
+     * @return true if enabled, default: false
+     */
+    public boolean isEventLogRotateDaily()
+    {
+        if(mEventLogRotateDaily == null)
+        {
+            mEventLogRotateDaily = mPreferences.getBoolean(EVENT_LOG_ROTATE_DAILY_KEY, false);
+        }
+
+        return mEventLogRotateDaily;
+    }
+
+    /**
+     * Sets the event log daily rotation preference.  Takes effect for event log files opened after the change.
+     * @param rotateDaily true to start a new event log file each day.
+     */
+    public void setEventLogRotateDaily(boolean rotateDaily)
+    {
+        mEventLogRotateDaily = rotateDaily;
+        mPreferences.putBoolean(EVENT_LOG_ROTATE_DAILY_KEY, rotateDaily);
+        notifyPreferenceUpdated();
+    }
+
+    /**
+     * Indicates if decode events should be saved to the event store, which provides the event history for the web
+     * stream server's event query API.
+     * @return true if enabled, default: true
+     */
+    public boolean isEventStoreEnabled()
+    {
+        if(mEventStoreEnabled == null)
+        {
+            mEventStoreEnabled = mPreferences.getBoolean(EVENT_STORE_ENABLED_KEY, true);
+        }
+
+        return mEventStoreEnabled;
+    }
+
+    /**
+     * Sets the event store preference.  Takes effect the next time the application starts.
+     * @param enabled true to save decode events to the event store.
+     */
+    public void setEventStoreEnabled(boolean enabled)
+    {
+        mEventStoreEnabled = enabled;
+        mPreferences.putBoolean(EVENT_STORE_ENABLED_KEY, enabled);
+        notifyPreferenceUpdated();
+    }
+
+    /**
+     * Number of days that decode events are kept in the event store.
+     * @return retention in days, default: 30
+     */
+    public int getEventStoreRetentionDays()
+    {
+        if(mEventStoreRetentionDays == null)
+        {
+            int days = mPreferences.getInt(EVENT_STORE_RETENTION_DAYS_KEY, DEFAULT_EVENT_STORE_RETENTION_DAYS);
+            mEventStoreRetentionDays = Math.min(Math.max(days, MINIMUM_EVENT_STORE_RETENTION_DAYS),
+                MAXIMUM_EVENT_STORE_RETENTION_DAYS);
+        }
+
+        return mEventStoreRetentionDays;
+    }
+
+    /**
+     * Sets the number of days that decode events are kept in the event store.  Takes effect the next time the
+     * application starts.
+     * @param days of retention, limited to 1 - 3650 days.
+     */
+    public void setEventStoreRetentionDays(int days)
+    {
+        mEventStoreRetentionDays = Math.min(Math.max(days, MINIMUM_EVENT_STORE_RETENTION_DAYS),
+            MAXIMUM_EVENT_STORE_RETENTION_DAYS);
+        mPreferences.putInt(EVENT_STORE_RETENTION_DAYS_KEY, mEventStoreRetentionDays);
+        notifyPreferenceUpdated();
+    }
 }
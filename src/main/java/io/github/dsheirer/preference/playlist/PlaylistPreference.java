@@ -109,6 +109,15 @@ public class PlaylistPreference extends Preference
         return Paths.get(playlist + ".backup");
     }
 
+    /**
+     * Change journal for the playlist that records incremental updates between full playlist saves.
+     */
+    public Path getPlaylistJournal()
+    {
+        String playlist = getPlaylist().toString();
+        return Paths.get(playlist + ".journal");
+    }
+
     /**
      * Sets the path to the playlist
      */
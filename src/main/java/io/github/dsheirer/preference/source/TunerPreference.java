@@ -36,9 +36,22 @@ public class TunerPreference extends Preference
     private Preferences mPreferences = Preferences.userNodeForPackage(TunerPreference.class);
     private static final String PREFERENCE_KEY_CHANNELIZER_TYPE = "channelizer.type";
     private static final String PREFERENCE_KEY_RSP_DUO_TUNER_MODE = "rsp.duo.tuner.mode";
+    private static final String PREFERENCE_KEY_SHARED_DISPATCHER_POOL = "shared.dispatcher.pool";
+    private static final String PREFERENCE_KEY_SQUELCH_IDLE_ENABLED = "squelch.idle.enabled";
+    private static final String PREFERENCE_KEY_SQUELCH_IDLE_TIMEOUT_SECONDS = "squelch.idle.timeout.seconds";
+    private static final String PREFERENCE_KEY_SQUELCH_IDLE_WAKE_THRESHOLD_DB = "squelch.idle.wake.threshold.db";
+    private static final String PREFERENCE_KEY_SQUELCH_IDLE_LOOKBACK_MILLISECONDS = "squelch.idle.lookback.milliseconds";
+    public static final int DEFAULT_SQUELCH_IDLE_TIMEOUT_SECONDS = 30;
+    public static final int DEFAULT_SQUELCH_IDLE_WAKE_THRESHOLD_DB = 3;
+    public static final int DEFAULT_SQUELCH_IDLE_LOOKBACK_MILLISECONDS = 300;
 
     private ChannelizerType mChannelizerType;
     private RspDuoSelectionMode mRspDuoSelectionMode;
+    private Boolean mSharedDispatcherPool;
+    private Boolean mSquelchIdleEnabled;
+    private Integer mSquelchIdleTimeoutSeconds;
+    private Integer mSquelchIdleWakeThresholdDb;
+    private Integer mSquelchIdleLookbackMilliseconds;
 
     /**
      * Constructs a tuner preference with the update listener
@@ -122,4 +135,134 @@ public class TunerPreference extends Preference
         mPreferences.put(PREFERENCE_KEY_RSP_DUO_TUNER_MODE, mRspDuoSelectionMode.name());
         notifyPreferenceUpdated();
     }
+
+    /**
+     * Indicates if channel sample dispatchers should use the shared, processor-count sized thread pool instead of a
+     * dedicated thread per channel.
+     * @return true if enabled, default: false
+     */
+    public boolean isSharedDispatcherPool()
+    {
+        if(mSharedDispatcherPool == null)
+        {
+            mSharedDispatcherPool = mPreferences.getBoolean(PREFERENCE_KEY_SHARED_DISPATCHER_POOL, false);
+        }
+
+        return mSharedDispatcherPool;
+    }
+
+    /**
+     * Sets the shared dispatcher thread pool preference.  Requires an application restart to take effect.
+     * @param enabled true to use the shared thread pool.
+     */
+    public void setSharedDispatcherPool(boolean enabled)
+    {
+        mSharedDispatcherPool = enabled;
+        mPreferences.putBoolean(PREFERENCE_KEY_SHARED_DISPATCHER_POOL, enabled);
+        notifyPreferenceUpdated();
+    }
+
+    /**
+     * Indicates if conventional NBFM and AM channels should drop into a low-cost idle mode after the squelch has been
+     * closed for the squelch idle timeout period.
+     * @return true if enabled, default: false
+     */
+    public boolean isSquelchIdleEnabled()
+    {
+        if(mSquelchIdleEnabled == null)
+        {
+            mSquelchIdleEnabled = mPreferences.getBoolean(PREFERENCE_KEY_SQUELCH_IDLE_ENABLED, false);
+        }
+
+        return mSquelchIdleEnabled;
+    }
+
+    /**
+     * Sets the squelch idle mode preference.  Takes effect when a channel is (re)started.
+     * @param enabled true to allow squelch idle mode.
+     */
+    public void setSquelchIdleEnabled(boolean enabled)
+    {
+        mSquelchIdleEnabled = enabled;
+        mPreferences.putBoolean(PREFERENCE_KEY_SQUELCH_IDLE_ENABLED, enabled);
+        notifyPreferenceUpdated();
+    }
+
+    /**
+     * Squelch closed duration before a conventional channel enters idle mode.
+     * @return timeout seconds, default: 30
+     */
+    public int getSquelchIdleTimeoutSeconds()
+    {
+        if(mSquelchIdleTimeoutSeconds == null)
+        {
+            mSquelchIdleTimeoutSeconds = mPreferences.getInt(PREFERENCE_KEY_SQUELCH_IDLE_TIMEOUT_SECONDS,
+                DEFAULT_SQUELCH_IDLE_TIMEOUT_SECONDS);
+        }
+
+        return mSquelchIdleTimeoutSeconds;
+    }
+
+    /**
+     * Sets the squelch idle timeout
+     * @param seconds of squelch closed duration before entering idle mode.
+     */
+    public void setSquelchIdleTimeoutSeconds(int seconds)
+    {
+        mSquelchIdleTimeoutSeconds = seconds;
+        mPreferences.putInt(PREFERENCE_KEY_SQUELCH_IDLE_TIMEOUT_SECONDS, seconds);
+        notifyPreferenceUpdated();
+    }
+
+    /**
+     * Channel power increase over the noise floor that wakes an idle channel.
+     * @return threshold in decibels, default: 3
+     */
+    public int getSquelchIdleWakeThresholdDb()
+    {
+        if(mSquelchIdleWakeThresholdDb == null)
+        {
+            mSquelchIdleWakeThresholdDb = mPreferences.getInt(PREFERENCE_KEY_SQUELCH_IDLE_WAKE_THRESHOLD_DB,
+                DEFAULT_SQUELCH_IDLE_WAKE_THRESHOLD_DB);
+        }
+
+        return mSquelchIdleWakeThresholdDb;
+    }
+
+    /**
+     * Sets the squelch idle wake threshold
+     * @param thresholdDb power increase over the noise floor in decibels.
+     */
+    public void setSquelchIdleWakeThresholdDb(int thresholdDb)
+    {
+        mSquelchIdleWakeThresholdDb = thresholdDb;
+        mPreferences.putInt(PREFERENCE_KEY_SQUELCH_IDLE_WAKE_THRESHOLD_DB, thresholdDb);
+        notifyPreferenceUpdated();
+    }
+
+    /**
+     * Duration of idle samples that are replayed through the demodulator when an idle channel wakes.
+     * @return look-back milliseconds, default: 300
+     */
+    public int getSquelchIdleLookbackMilliseconds()
+    {
+        if(mSquelchIdleLookbackMilliseconds == null)
+        {
+            mSquelchIdleLookbackMilliseconds = mPreferences.getInt(PREFERENCE_KEY_SQUELCH_IDLE_LOOKBACK_MILLISECONDS,
+                DEFAULT_SQUELCH_IDLE_LOOKBACK_MILLISECONDS);
+        }
+
+        return mSquelchIdleLookbackMilliseconds;
+    }
+
+    /**
+     * Sets the squelch idle look-back duration
+     * @param milliseconds of samples to replay when waking.
+     */
+    public void setSquelchIdleLookbackMilliseconds(int milliseconds)
+    {
+        mSquelchIdleLookbackMilliseconds = milliseconds;
+        mPreferences.putInt(PREFERENCE_KEY_SQUELCH_IDLE_LOOKBACK_MILLISECONDS, milliseconds);
+        notifyPreferenceUpdated();
+    }
 }
@@ -0,0 +1,261 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.preference.webstream;
+
+import io.github.dsheirer.audio.broadcast.webstream.WebStreamAudioFormat;
+import io.github.dsheirer.audio.broadcast.webstream.WebStreamWaveformBroadcaster;
+import io.github.dsheirer.preference.Preference;
+import io.github.dsheirer.preference.PreferenceType;
+import io.github.dsheirer.sample.Listener;
+import java.util.prefs.Preferences;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Web UI streaming preferences
+ */
+public class WebStreamPreference extends Preference
+{
+    private final static Logger mLog = LoggerFactory.getLogger(WebStreamPreference.class);
+    private Preferences mPreferences = Preferences.userNodeForPackage(WebStreamPreference.class);
+    private static final String PREFERENCE_KEY_AUDIO_FORMAT = "audio.format";
+    private static final String PREFERENCE_KEY_LIVE_STREAMING = "live.streaming";
+    private static final String PREFERENCE_KEY_WAVEFORM_MODE = "waveform.mode";
+    private static final String PREFERENCE_KEY_WAVEFORM_DECIMATION_FACTOR = "waveform.decimation.factor";
+    private static final String PREFERENCE_KEY_WAVEFORM_FFT_SIZE = "waveform.fft.size";
+    private static final String PREFERENCE_KEY_EVENT_QUERY_REMOTE_ACCESS = "event.query.remote.access";
+    private static final WebStreamAudioFormat DEFAULT_AUDIO_FORMAT = WebStreamAudioFormat.PCM_16;
+    private static final WebStreamWaveformBroadcaster.Mode DEFAULT_WAVEFORM_MODE =
+        WebStreamWaveformBroadcaster.Mode.SPECTRUM;
+
+    private WebStreamAudioFormat mAudioFormat;
+    private Boolean mLiveStreaming;
+    private WebStreamWaveformBroadcaster.Mode mWaveformMode;
+    private Integer mWaveformDecimationFactor;
+    private Integer mWaveformFFTSize;
+    private Boolean mEventQueryRemoteAccess;
+
+    /**
+     * Constructs this preference with an update listener
+     * @param updateListener to receive notifications whenever these preferences change
+     */
+    public WebStreamPreference(Listener<PreferenceType> updateListener)
+    {
+        super(updateListener);
+    }
+
+    @Override
+    public PreferenceType getPreferenceType()
+    {
+        return PreferenceType.WEB_STREAM;
+    }
+
+    /**
+     * Audio format for frames streamed to web UI clients.
+     * @return format, default: PCM 16-bit
+     */
+    public WebStreamAudioFormat getAudioFormat()
+    {
+        if(mAudioFormat == null)
+        {
+            try
+            {
+                String format = mPreferences.get(PREFERENCE_KEY_AUDIO_FORMAT, DEFAULT_AUDIO_FORMAT.name());
+                mAudioFormat = WebStreamAudioFormat.valueOf(format);
+            }
+            catch(Exception e)
+            {
+                mLog.error("Error parsing web stream audio format preference", e);
+            }
+
+            if(mAudioFormat == null)
+            {
+                mAudioFormat = DEFAULT_AUDIO_FORMAT;
+            }
+        }
+
+        return mAudioFormat;
+    }
+
+    /**
+     * Sets the audio format for streamed frames.  Takes effect with the next call.
+     * @param audioFormat to use
+     */
+    public void setAudioFormat(WebStreamAudioFormat audioFormat)
+    {
+        mAudioFormat = audioFormat;
+        mPreferences.put(PREFERENCE_KEY_AUDIO_FORMAT, audioFormat.name());
+        notifyPreferenceUpdated();
+    }
+
+    /**
+     * Indicates if calls are streamed live while in progress (true) or delivered once complete (false).
+     * @return true if live streaming, default: true
+     */
+    public boolean isLiveStreaming()
+    {
+        if(mLiveStreaming == null)
+        {
+            mLiveStreaming = mPreferences.getBoolean(PREFERENCE_KEY_LIVE_STREAMING, true);
+        }
+
+        return mLiveStreaming;
+    }
+
+    /**
+     * Sets live streaming mode.  Takes effect with the next call.
+     * @param liveStreaming true to stream calls while in progress.
+     */
+    public void setLiveStreaming(boolean liveStreaming)
+    {
+        mLiveStreaming = liveStreaming;
+        mPreferences.putBoolean(PREFERENCE_KEY_LIVE_STREAMING, liveStreaming);
+        notifyPreferenceUpdated();
+    }
+
+    /**
+     * Waveform frame mode for web UI clients.
+     * @return mode, default: SPECTRUM
+     */
+    public WebStreamWaveformBroadcaster.Mode getWaveformMode()
+    {
+        if(mWaveformMode == null)
+        {
+            try
+            {
+                String mode = mPreferences.get(PREFERENCE_KEY_WAVEFORM_MODE, DEFAULT_WAVEFORM_MODE.name());
+                mWaveformMode = WebStreamWaveformBroadcaster.Mode.valueOf(mode);
+            }
+            catch(Exception e)
+            {
+                mLog.error("Error parsing web stream waveform mode preference", e);
+            }
+
+            if(mWaveformMode == null)
+            {
+                mWaveformMode = DEFAULT_WAVEFORM_MODE;
+            }
+        }
+
+        return mWaveformMode;
+    }
+
+    /**
+     * Sets the waveform frame mode.  Takes effect with the next waveform frame.
+     * @param mode to use
+     */
+    public void setWaveformMode(WebStreamWaveformBroadcaster.Mode mode)
+    {
+        mWaveformMode = mode;
+        mPreferences.put(PREFERENCE_KEY_WAVEFORM_MODE, mode.name());
+        notifyPreferenceUpdated();
+    }
+
+    /**
+     * Decimation factor applied to I/Q waveform frames.
+     * @return decimation factor, default: 50
+     */
+    public int getWaveformDecimationFactor()
+    {
+        if(mWaveformDecimationFactor == null)
+        {
+            int factor = mPreferences.getInt(PREFERENCE_KEY_WAVEFORM_DECIMATION_FACTOR,
+                WebStreamWaveformBroadcaster.DEFAULT_DECIMATION_FACTOR);
+            mWaveformDecimationFactor = factor >= 1 ? factor : WebStreamWaveformBroadcaster.DEFAULT_DECIMATION_FACTOR;
+        }
+
+        return mWaveformDecimationFactor;
+    }
+
+    /**
+     * Sets the I/Q waveform decimation factor.
+     * @param decimationFactor to use, must be positive.
+     */
+    public void setWaveformDecimationFactor(int decimationFactor)
+    {
+        if(decimationFactor < 1)
+        {
+            throw new IllegalArgumentException("Decimation factor must be positive: " + decimationFactor);
+        }
+
+        mWaveformDecimationFactor = decimationFactor;
+        mPreferences.putInt(PREFERENCE_KEY_WAVEFORM_DECIMATION_FACTOR, decimationFactor);
+        notifyPreferenceUpdated();
+    }
+
+    /**
+     * FFT size used for spectrum waveform frames.
+     * @return FFT size, default: 1024
+     */
+    public int getWaveformFFTSize()
+    {
+        if(mWaveformFFTSize == null)
+        {
+            int size = mPreferences.getInt(PREFERENCE_KEY_WAVEFORM_FFT_SIZE,
+                WebStreamWaveformBroadcaster.DEFAULT_FFT_SIZE);
+            mWaveformFFTSize = (size >= 2 && Integer.bitCount(size) == 1) ? size :
+                WebStreamWaveformBroadcaster.DEFAULT_FFT_SIZE;
+        }
+
+        return mWaveformFFTSize;
+    }
+
+    /**
+     * Sets the spectrum waveform FFT size.
+     * @param fftSize to use, must be a power of two.
+     */
+    public void setWaveformFFTSize(int fftSize)
+    {
+        if(fftSize < 2 || Integer.bitCount(fftSize) != 1)
+        {
+            throw new IllegalArgumentException("FFT size must be a power of two: " + fftSize);
+        }
+
+        mWaveformFFTSize = fftSize;
+        mPreferences.putInt(PREFERENCE_KEY_WAVEFORM_FFT_SIZE, fftSize);
+        notifyPreferenceUpdated();
+    }
+
+    /**
+     * Indicates if the event history query API (/api/events) answers requests from remote hosts.  When disabled, only
+     * requests from the local (loopback) host are answered.
+     * @return true if remote access is allowed, default: false
+     */
+    public boolean isEventQueryRemoteAccess()
+    {
+        if(mEventQueryRemoteAccess == null)
+        {
+            mEventQueryRemoteAccess = mPreferences.getBoolean(PREFERENCE_KEY_EVENT_QUERY_REMOTE_ACCESS, false);
+        }
+
+        return mEventQueryRemoteAccess;
+    }
+
+    /**
+     * Sets remote access for the event history query API.  Takes effect with the next query.
+     * @param remoteAccess true to answer event queries from remote hosts.
+     */
+    public void setEventQueryRemoteAccess(boolean remoteAccess)
+    {
+        mEventQueryRemoteAccess = remoteAccess;
+        mPreferences.putBoolean(PREFERENCE_KEY_EVENT_QUERY_REMOTE_ACCESS, remoteAccess);
+        notifyPreferenceUpdated();
+    }
+}
@@ -20,6 +20,8 @@
 package io.github.dsheirer.record;
 
 import io.github.dsheirer.audio.AudioSegment;
+import io.github.dsheirer.audio.convert.EncodedAudioCache;
+import io.github.dsheirer.controller.NamingThreadFactory;
 import io.github.dsheirer.identifier.Form;
 import io.github.dsheirer.identifier.Identifier;
 import io.github.dsheirer.identifier.IdentifierClass;
@@ -29,6 +31,7 @@ import io.github.dsheirer.identifier.string.StringIdentifier;
 import io.github.dsheirer.identifier.tone.Tone;
 import io.github.dsheirer.identifier.tone.ToneIdentifier;
 import io.github.dsheirer.identifier.tone.ToneSequence;
+import io.github.dsheirer.log.LoggingSuppressor;
 import io.github.dsheirer.preference.UserPreferences;
 import io.github.dsheirer.sample.Listener;
 import io.github.dsheirer.util.StringUtils;
@@ -36,10 +39,23 @@ import io.github.dsheirer.util.ThreadPool;
 import io.github.dsheirer.util.TimeStamp;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
 import org.slf4j.Logger;
@@ -47,13 +63,33 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Monitors audio segments and upon completion records any audio segments that have been flagged as recordable
+ *
+ * Recording filenames are assigned in completion order by a single dispatcher and the encoding and file writing is
+ * performed by a bounded pool of recording workers.  Recordings for the same talkgroup are chained so that they
+ * complete in call order.  When the backlog of completed audio segments exceeds the shed threshold, MP3 recordings
+ * are recorded as WAVE instead so that the backlog can drain without the cost of encoding.
  */
 public class AudioRecordingManager implements Listener<AudioSegment>
 {
     private final static Logger mLog = LoggerFactory.getLogger(AudioRecordingManager.class);
+    private static final LoggingSuppressor LOGGING_SUPPRESSOR = new LoggingSuppressor(mLog);
+    private static final int WORKER_COUNT = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+    private static final int MAX_IN_FLIGHT = WORKER_COUNT * 2;
+    private static final int WAVE_SHED_THRESHOLD = 32;
+    private static final long STOP_TIMEOUT_SECONDS = 30;
+    private final Map<String,CompletableFuture<Void>> mTalkgroupRecordings = new HashMap<>();
+    private final Set<CompletableFuture<Void>> mUnorderedRecordings = new HashSet<>();
+    private final AtomicInteger mQueuedCount = new AtomicInteger();
+    private final AtomicInteger mInFlightCount = new AtomicInteger();
+    private final AtomicLong mRecordedCount = new AtomicLong();
+    private final AtomicLong mShedCount = new AtomicLong();
+    private ExecutorService mRecordingExecutor;
+    private boolean mDispatching;
     private LinkedTransferQueue<AudioSegment> mCompletedAudioSegmentQueue = new LinkedTransferQueue<>();
-    private ScheduledFuture<?> mQueueProcessorHandle;
+    private volatile ScheduledFuture<?> mQueueProcessorHandle;
     private UserPreferences mUserPreferences;
+    private EncodedAudioCache mEncodedAudioCache;
+    private Recorder mRecorder;
     private int mUnknownAudioRecordingIndex = 1;
     private int mDuplicateAudioRecordingSuffix = 1;
     private String mPreviousRecordingPath = null;
@@ -63,8 +99,33 @@ public class AudioRecordingManager implements Listener<AudioSegment>
      * @param userPreferences to determine audio recording format
      */
     public AudioRecordingManager(UserPreferences userPreferences)
+    {
+        this(userPreferences, new EncodedAudioCache());
+    }
+
+    /**
+     * Constructs an instance
+     * @param userPreferences to determine audio recording format
+     * @param encodedAudioCache shared with other audio consumers so that each audio segment is encoded once
+     */
+    public AudioRecordingManager(UserPreferences userPreferences, EncodedAudioCache encodedAudioCache)
     {
         mUserPreferences = userPreferences;
+        mEncodedAudioCache = encodedAudioCache;
+        mRecorder = (audioSegment, path, recordFormat) -> AudioSegmentRecorder.record(audioSegment, path,
+            recordFormat, mUserPreferences, mEncodedAudioCache);
+    }
+
+    /**
+     * Constructs an instance that uses the recorder to write each audio recording.
+     * @param userPreferences to determine audio recording format
+     * @param encodedAudioCache shared with other audio consumers
+     * @param recorder to write audio recordings
+     */
+    AudioRecordingManager(UserPreferences userPreferences, EncodedAudioCache encodedAudioCache, Recorder recorder)
+    {
+        this(userPreferences, encodedAudioCache);
+        mRecorder = recorder;
     }
 
     /**
@@ -72,6 +133,17 @@ public class AudioRecordingManager implements Listener<AudioSegment>
      */
     public void start()
     {
+        mEncodedAudioCache.start();
+
+        synchronized(this)
+        {
+            if(mRecordingExecutor == null)
+            {
+                mRecordingExecutor = Executors.newFixedThreadPool(WORKER_COUNT,
+                    new NamingThreadFactory("sdrtrunk audio recorder"));
+            }
+        }
+
         if(mQueueProcessorHandle == null)
         {
             mQueueProcessorHandle = ThreadPool.SCHEDULED.scheduleAtFixedRate(new QueueProcessor(),
@@ -87,11 +159,81 @@ public class AudioRecordingManager implements Listener<AudioSegment>
         if(mQueueProcessorHandle != null)
         {
             mQueueProcessorHandle.cancel(true);
-            processAudioSegments();
             mQueueProcessorHandle = null;
+            processAudioSegments(true);
+
+            //Chained talkgroup recordings are submitted to the workers as their predecessors complete, so wait for
+            //the last recording of each talkgroup chain, and any unordered recordings, before shutting down the
+            //workers.  Otherwise the workers reject the remaining chained recordings.
+            List<CompletableFuture<Void>> pending;
+
+            synchronized(this)
+            {
+                pending = new ArrayList<>(mTalkgroupRecordings.values());
+                pending.addAll(mUnorderedRecordings);
+            }
+
+            try
+            {
+                CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).get(STOP_TIMEOUT_SECONDS,
+                    TimeUnit.SECONDS);
+            }
+            catch(TimeoutException te)
+            {
+                mLog.warn("Timeout while waiting for [" + mInFlightCount.get() + "] audio recordings to complete");
+            }
+            catch(ExecutionException ee)
+            {
+                //Failed recordings are logged and released as each recording completes
+            }
+            catch(InterruptedException ie)
+            {
+                Thread.currentThread().interrupt();
+            }
+
+            synchronized(this)
+            {
+                if(mRecordingExecutor != null)
+                {
+                    mRecordingExecutor.shutdown();
+                    mRecordingExecutor = null;
+                }
+            }
         }
     }
 
+    /**
+     * Number of completed audio segments waiting to be dispatched for recording.
+     */
+    public int getQueueDepth()
+    {
+        return mQueuedCount.get();
+    }
+
+    /**
+     * Number of audio segments dispatched to the recording workers that have not yet completed.
+     */
+    public int getInFlightCount()
+    {
+        return mInFlightCount.get();
+    }
+
+    /**
+     * Count of audio recordings completed since startup.
+     */
+    public long getRecordedCount()
+    {
+        return mRecordedCount.get();
+    }
+
+    /**
+     * Count of MP3 audio recordings that were recorded as WAVE because the recording backlog exceeded the threshold.
+     */
+    public long getShedCount()
+    {
+        return mShedCount.get();
+    }
+
     /**
      * Primary receive method for incoming audio segments to be recorded
      */
@@ -122,6 +264,7 @@ public class AudioRecordingManager implements Listener<AudioSegment>
 
         if(audioSegment.recordAudioProperty().get())
         {
+            mQueuedCount.incrementAndGet();
             mCompletedAudioSegmentQueue.add(audioSegment);
         }
         else
@@ -131,40 +274,189 @@ public class AudioRecordingManager implements Listener<AudioSegment>
     }
 
     /**
-     * Processes any queued audio segments
+     * Dispatches queued audio segments to the recording workers.  Dispatching stops once the maximum number of
+     * recordings are in flight, unless draining, and resumes as each recording completes.
+     * @param drain to dispatch all queued audio segments regardless of the number of in-flight recordings.
      */
-    private void processAudioSegments()
+    private synchronized void processAudioSegments(boolean drain)
     {
-        RecordFormat recordFormat = mUserPreferences.getRecordPreference().getAudioRecordFormat();
-        AudioSegment audioSegment = mCompletedAudioSegmentQueue.poll();
+        //Prevent re-entrant dispatch from a recording that completes on the dispatching thread
+        if(mDispatching)
+        {
+            return;
+        }
+
+        mDispatching = true;
 
-        while(audioSegment != null)
+        try
         {
-            if(audioSegment.isDuplicate() && mUserPreferences.getCallManagementPreference().isDuplicateRecordingSuppressionEnabled())
-            {
-                audioSegment.decrementConsumerCount();
-            }
-            else
+            while(drain || mInFlightCount.get() < MAX_IN_FLIGHT)
             {
-                Path path = getAudioRecordingPath(audioSegment.getIdentifierCollection(), recordFormat);
+                AudioSegment audioSegment = mCompletedAudioSegmentQueue.poll();
 
-                try
+                if(audioSegment == null)
                 {
-                    AudioSegmentRecorder.record(audioSegment, path, recordFormat, mUserPreferences);
+                    return;
                 }
-                catch(IOException ioe)
+
+                int backlog = mQueuedCount.decrementAndGet();
+
+                if(audioSegment.isDuplicate() && mUserPreferences.getCallManagementPreference().isDuplicateRecordingSuppressionEnabled())
                 {
-                    mLog.error("Error recording audio segment to [" + path.toString() + "]");
+                    audioSegment.decrementConsumerCount();
                 }
+                else
+                {
+                    RecordFormat recordFormat = mUserPreferences.getRecordPreference().getAudioRecordFormat();
+
+                    if(recordFormat == RecordFormat.MP3 && backlog > WAVE_SHED_THRESHOLD)
+                    {
+                        recordFormat = RecordFormat.WAVE;
+                        mShedCount.incrementAndGet();
+                        LOGGING_SUPPRESSOR.info("wave shed", 5, "Audio recording backlog [" + backlog +
+                            "] exceeds threshold - recording as WAVE until the backlog clears");
+                    }
+
+                    Path path = getAudioRecordingPath(audioSegment.getIdentifierCollection(), recordFormat);
+                    dispatch(audioSegment, path, recordFormat);
+                }
+            }
+        }
+        finally
+        {
+            mDispatching = false;
+        }
+    }
+
+    /**
+     * Submits the audio segment to the recording workers, chained after any in-flight recording for the same
+     * talkgroup so that talkgroup recordings complete in call order.
+     */
+    private void dispatch(AudioSegment audioSegment, Path path, RecordFormat recordFormat)
+    {
+        Runnable recording = () -> record(audioSegment, path, recordFormat);
+        String key = getOrderingKey(audioSegment.getIdentifierCollection());
+        mInFlightCount.incrementAndGet();
+
+        CompletableFuture<Void> future = null;
+
+        if(mRecordingExecutor != null)
+        {
+            CompletableFuture<Void> previous = key != null ? mTalkgroupRecordings.get(key) : null;
+
+            try
+            {
+                //Chain on completion rather than success so that a failed predecessor doesn't drop this recording
+                future = previous != null ? previous.exceptionally(t -> null).thenRunAsync(recording,
+                    mRecordingExecutor) : CompletableFuture.runAsync(recording, mRecordingExecutor);
+            }
+            catch(RejectedExecutionException ree)
+            {
+                //Workers are shut down - record on the calling thread
+            }
+        }
 
+        if(future == null)
+        {
+            //Not started or shut down - record on the calling thread
+            recording.run();
+            recordingComplete(key, null);
+            return;
+        }
+
+        if(key != null)
+        {
+            mTalkgroupRecordings.put(key, future);
+        }
+        else
+        {
+            mUnorderedRecordings.add(future);
+        }
+
+        CompletableFuture<Void> dispatched = future;
+
+        future.whenComplete((result, throwable) -> {
+            if(throwable != null)
+            {
+                //The recording didn't run because the workers rejected the chained task - release the audio segment
+                mLog.warn("Audio recording [" + path.toString() + "] was not recorded - " + throwable.getMessage());
                 audioSegment.decrementConsumerCount();
             }
 
-            //Grab the next one to record
-            audioSegment = mCompletedAudioSegmentQueue.poll();
+            recordingComplete(key, dispatched);
+        });
+    }
+
+    /**
+     * Records the audio segment and releases this manager's consumer claim on the segment.
+     */
+    private void record(AudioSegment audioSegment, Path path, RecordFormat recordFormat)
+    {
+        try
+        {
+            mRecorder.record(audioSegment, path, recordFormat);
+            mRecordedCount.incrementAndGet();
+        }
+        catch(IOException ioe)
+        {
+            mLog.error("Error recording audio segment to [" + path.toString() + "]");
+        }
+        catch(Throwable t)
+        {
+            mLog.error("Unexpected error recording audio segment to [" + path.toString() + "]", t);
+        }
+        finally
+        {
+            audioSegment.decrementConsumerCount();
+        }
+    }
+
+    /**
+     * Invoked as each recording completes to release the talkgroup chain and dispatch any waiting audio segments.
+     */
+    private void recordingComplete(String key, CompletableFuture<Void> future)
+    {
+        mInFlightCount.decrementAndGet();
+
+        synchronized(this)
+        {
+            if(future != null)
+            {
+                if(key != null)
+                {
+                    mTalkgroupRecordings.remove(key, future);
+                }
+                else
+                {
+                    mUnorderedRecordings.remove(future);
+                }
+            }
+        }
+
+        if(mQueueProcessorHandle != null)
+        {
+            processAudioSegments(false);
         }
     }
 
+    /**
+     * Key used to order recordings for the same talkgroup, or null when the audio segment has no TO identifier.
+     */
+    private static String getOrderingKey(IdentifierCollection identifierCollection)
+    {
+        if(identifierCollection != null)
+        {
+            Identifier to = identifierCollection.getIdentifier(IdentifierClass.USER, Form.TALKGROUP, Role.TO);
+
+            if(to != null)
+            {
+                return to.toString();
+            }
+        }
+
+        return null;
+    }
+
     /**
      * Base path to recordings folder
      * @return
@@ -319,6 +611,21 @@ public class AudioRecordingManager implements Listener<AudioSegment>
     }
 
 
+    /**
+     * Writes an audio segment to an audio recording file.
+     */
+    interface Recorder
+    {
+        /**
+         * Records the audio segment
+         * @param audioSegment to record
+         * @param path for the recording
+         * @param recordFormat to use (WAVE, MP3)
+         * @throws IOException on any errors
+         */
+        void record(AudioSegment audioSegment, Path path, RecordFormat recordFormat) throws IOException;
+    }
+
     /**
      * Audio segment completion monitor.  Listens for the audio segment's complete flag to be set and then
      * queues the audio segment for recording.
@@ -365,7 +672,7 @@ public class AudioRecordingManager implements Listener<AudioSegment>
         {
             try
             {
-                processAudioSegments();
+                processAudioSegments(false);
             }
             catch(Throwable t)
             {
@@ -21,6 +21,7 @@ package io.github.dsheirer.record;
 
 import io.github.dsheirer.audio.AudioFormats;
 import io.github.dsheirer.audio.AudioSegment;
+import io.github.dsheirer.audio.convert.EncodedAudioCache;
 import io.github.dsheirer.audio.convert.InputAudioFormat;
 import io.github.dsheirer.audio.convert.MP3AudioConverter;
 import io.github.dsheirer.audio.convert.MP3Setting;
@@ -30,6 +31,7 @@ import io.github.dsheirer.record.wave.AudioMetadata;
 import io.github.dsheirer.record.wave.AudioMetadataUtils;
 import io.github.dsheirer.record.wave.WaveWriter;
 import io.github.dsheirer.sample.ConversionUtils;
+import java.io.BufferedOutputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
@@ -49,6 +51,7 @@ public class AudioSegmentRecorder
 
     public static final int MP3_BIT_RATE = 16;
     public static final boolean CONSTANT_BIT_RATE = false;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
 
     /**
      * Records the audio segment to the specified path using the specified recording format
@@ -87,6 +90,55 @@ public class AudioSegmentRecorder
         }
     }
 
+    /**
+     * Records the audio segment to the specified path using the specified recording format, obtaining MP3 encoded
+     * audio from the shared encoded audio cache so that audio already encoded for streaming isn't encoded again.
+     * @param audioSegment to record
+     * @param path for the recording
+     * @param recordFormat to use (WAVE, MP3)
+     * @param encodedAudioCache for shared MP3 encoded audio
+     * @throws IOException on any errors
+     */
+    public static void record(AudioSegment audioSegment, Path path, RecordFormat recordFormat,
+                              UserPreferences userPreferences, EncodedAudioCache encodedAudioCache) throws IOException
+    {
+        if(recordFormat == RecordFormat.MP3)
+        {
+            if(audioSegment.hasAudio())
+            {
+                EncodedAudioCache.EncodedAudio encodedAudio = encodedAudioCache.acquireMP3(audioSegment, userPreferences);
+
+                try(OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(path.toFile()),
+                    WRITE_BUFFER_SIZE))
+                {
+                    outputStream.write(getMP3ID3(audioSegment, audioSegment.getIdentifierCollection()));
+                    outputStream.write(encodedAudio.getBytes());
+                }
+                finally
+                {
+                    encodedAudio.release();
+                }
+            }
+        }
+        else
+        {
+            record(audioSegment, path, recordFormat, userPreferences);
+        }
+    }
+
+    /**
+     * Creates the MP3 ID3 metadata bytes for the audio segment.
+     * @param audioSegment with alias list
+     * @param identifierCollection to use instead of the collection embedded in the audio segment
+     * @return ID3 metadata bytes
+     */
+    public static byte[] getMP3ID3(AudioSegment audioSegment, IdentifierCollection identifierCollection)
+    {
+        Map<AudioMetadata,String> metadataMap = AudioMetadataUtils.getMetadataMap(identifierCollection,
+            audioSegment.getAliasList());
+        return AudioMetadataUtils.getMP3ID3(metadataMap);
+    }
+
     /**
      * Records the audio segment as an MP3 file to the specified path.
      * @param audioSegment to record
@@ -100,7 +152,8 @@ public class AudioSegmentRecorder
     {
         if(audioSegment.hasAudio())
         {
-            OutputStream outputStream = new FileOutputStream(path.toFile());
+            //Buffer the many small MP3 frame writes into large file writes
+            OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(path.toFile()), WRITE_BUFFER_SIZE);
 
             //Write ID3 metadata
             Map<AudioMetadata,String> metadataMap = AudioMetadataUtils.getMetadataMap(identifierCollection,
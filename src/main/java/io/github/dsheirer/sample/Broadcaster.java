@@ -22,6 +22,7 @@ import io.github.dsheirer.log.LoggingSuppressor;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
 import org.slf4j.LoggerFactory;
 
 /**
@@ -123,22 +124,55 @@ public class Broadcaster<T> implements Listener<T>
     {
         for(Listener<T> listener: mListeners)
         {
-            try
+            deliver(listener, t);
+        }
+    }
+
+    /**
+     * Broadcasts the element to all registered listeners and indicates if every listener that received the element
+     * satisfies the test.  The listeners are iterated from a single snapshot so that the returned value exactly
+     * reflects the set of listeners that received the element.
+     * @param t element to broadcast
+     * @param test to apply to each listener
+     * @return true if all listeners satisfy the test
+     */
+    public boolean broadcast(T t, Predicate<Listener<T>> test)
+    {
+        boolean allMatch = true;
+
+        for(Listener<T> listener: mListeners)
+        {
+            if(!test.test(listener))
+            {
+                allMatch = false;
+            }
+
+            deliver(listener, t);
+        }
+
+        return allMatch;
+    }
+
+    /**
+     * Delivers the element to the listener, logging any errors.
+     */
+    private static <T> void deliver(Listener<T> listener, T t)
+    {
+        try
+        {
+            listener.receive(t);
+        }
+        catch(Exception e)
+        {
+            if(t != null)
             {
-                listener.receive(t);
+                sLoggingSuppressor.error(t.getClass().toGenericString(), 5,
+                "Error while broadcasting [" + t.getClass() + "] to listeners", e);
             }
-            catch(Exception e)
+            else
             {
-                if(t != null)
-                {
-                    sLoggingSuppressor.error(t.getClass().toGenericString(), 5,
-                    "Error while broadcasting [" + t.getClass() + "] to listeners", e);
-                }
-                else
-                {
-                    sLoggingSuppressor.error("null broadcast object", 5, "Can't broadcast null " +
-                            "object to listener [" + listener.getClass() + "]", e);
-                }
+                sLoggingSuppressor.error("null broadcast object", 5, "Can't broadcast null " +
+                        "object to listener [" + listener.getClass() + "]", e);
             }
         }
     }
@@ -0,0 +1,55 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+
+package io.github.dsheirer.sample.buffer;
+
+/**
+ * Reusable float array for intermediate sample processing results.  The array is only reallocated when the requested
+ * length changes, which normally only happens once since sample buffers are typically a fixed length.
+ *
+ * Note: the array is overwritten on each use, so it should never be passed to a listener or any other consumer that
+ * holds onto the array beyond the current processing call.
+ */
+public class ScratchBuffer
+{
+    private float[] mBuffer = new float[0];
+
+    /**
+     * Constructs an instance
+     */
+    public ScratchBuffer()
+    {
+    }
+
+    /**
+     * Access the scratch array, resized to the requested length.  Array contents are not cleared between uses.
+     * @param length of the array
+     * @return scratch array
+     */
+    public float[] get(int length)
+    {
+        if(mBuffer.length != length)
+        {
+            mBuffer = new float[length];
+        }
+
+        return mBuffer;
+    }
+}
@@ -20,12 +20,26 @@ package io.github.dsheirer.source.heartbeat;
 
 public class Heartbeat
 {
+    private final long mTimestamp;
+
     /**
      * Periodic pulse that is broadcast to subscribing modules within the demodulating chain so that
      * monitoring of state and other attributes can occur on the primary demodulation and decoding
      * thread.
+     *
+     * @param timestamp for the heartbeat in milliseconds.  This is normally the system time, but follows the sample
+     * timestamps when the source is replaying a recording faster than real time.
+     */
+    public Heartbeat(long timestamp)
+    {
+        mTimestamp = timestamp;
+    }
+
+    /**
+     * Timestamp for this heartbeat in milliseconds
      */
-    public Heartbeat()
+    public long getTimestamp()
     {
+        return mTimestamp;
     }
 }
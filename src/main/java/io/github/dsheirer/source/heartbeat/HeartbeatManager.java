@@ -20,11 +20,12 @@ package io.github.dsheirer.source.heartbeat;
 
 import io.github.dsheirer.sample.Broadcaster;
 import io.github.dsheirer.sample.Listener;
+import java.util.function.LongSupplier;
 
 public class HeartbeatManager
 {
-    private static final Heartbeat HEARTBEAT = new Heartbeat();
     private Broadcaster<Heartbeat> mHeartbeatBroadcaster = new Broadcaster<>();
+    private LongSupplier mClock = System::currentTimeMillis;
 
     /**
      * Broadcasts heartbeat as commanded and handles listener registration details.
@@ -38,7 +39,16 @@ public class HeartbeatManager
      */
     public void broadcast()
     {
-        mHeartbeatBroadcaster.broadcast(HEARTBEAT);
+        mHeartbeatBroadcaster.broadcast(new Heartbeat(mClock.getAsLong()));
+    }
+
+    /**
+     * Sets the clock that provides the timestamp for each heartbeat.  Defaults to the system time.
+     * @param clock providing the current time in milliseconds
+     */
+    public void setClock(LongSupplier clock)
+    {
+        mClock = clock;
     }
 
     /**
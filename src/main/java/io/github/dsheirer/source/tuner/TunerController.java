@@ -20,6 +20,7 @@ package io.github.dsheirer.source.tuner;
 
 import io.github.dsheirer.buffer.INativeBuffer;
 import io.github.dsheirer.buffer.INativeBufferProvider;
+import io.github.dsheirer.buffer.IRetainingNativeBufferListener;
 import io.github.dsheirer.preference.UserPreferences;
 import io.github.dsheirer.record.RecorderFactory;
 import io.github.dsheirer.record.wave.IRecordingStatusListener;
@@ -655,6 +656,15 @@ public abstract class TunerController implements Tunable, ISourceEventProcessor,
         }
     }
 
+    /**
+     * Indicates if this tuner replays recorded samples faster than real time.  Channels sourced from a fast replay
+     * tuner time their state from the sample timestamps and pace the tuner by their processing backlog.
+     */
+    public boolean isFastReplay()
+    {
+        return false;
+    }
+
     /**
      * Indicates if there are any complex buffer listeners registered on this controller
      */
@@ -678,12 +688,20 @@ public abstract class TunerController implements Tunable, ISourceEventProcessor,
     }
 
     /**
-     * Broadcasts the buffer to any registered listeners
+     * Broadcasts the buffer to any registered listeners and releases the producer's reference to the buffer when
+     * every listener participates in reference counting, allowing the buffer's sample arrays to be recycled once the
+     * last listener releases the buffer.  Otherwise, the buffer is left for garbage collection.
      */
     protected void broadcast(INativeBuffer complexSamples)
     {
         //Note: unprotected access to the broadcaster ... the broadcaster uses thread-save internal list
-        mNativeBufferBroadcaster.broadcast(complexSamples);
+        boolean recyclable = mNativeBufferBroadcaster.broadcast(complexSamples,
+                listener -> listener instanceof IRetainingNativeBufferListener);
+
+        if(recyclable)
+        {
+            complexSamples.release();
+        }
     }
 
     /**
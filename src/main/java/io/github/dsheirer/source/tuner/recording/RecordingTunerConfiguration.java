@@ -33,6 +33,7 @@ public class RecordingTunerConfiguration extends TunerConfiguration
 {
     private static final Logger mLog = LoggerFactory.getLogger(RecordingTunerConfiguration.class);
     private String mPath;
+    private boolean mFastReplay;
 
     /**
      * Jackson constructor
@@ -70,6 +71,25 @@ public class RecordingTunerConfiguration extends TunerConfiguration
         mPath = path;
     }
 
+    /**
+     * Indicates if the recording should be replayed once, as fast as the channels can process the samples, instead of
+     * looping at real time.
+     */
+    @JacksonXmlProperty(isAttribute = true, localName = "fast_replay")
+    public boolean isFastReplay()
+    {
+        return mFastReplay;
+    }
+
+    /**
+     * Sets fast replay mode
+     * @param fastReplay true to replay as fast as possible
+     */
+    public void setFastReplay(boolean fastReplay)
+    {
+        mFastReplay = fastReplay;
+    }
+
     public static RecordingTunerConfiguration create()
     {
         return new RecordingTunerConfiguration("Recording " + System.currentTimeMillis());
@@ -44,15 +44,30 @@ public class RecordingTunerController extends TunerController
     private String mPath;
     private long mCenterFrequency;
     private boolean mRunning;
+    private boolean mFastReplay;
 
     /**
      * Constructs an instance
      * @param tunerErrorListener to receive errors from this controller
       */
     public RecordingTunerController(ITunerErrorListener tunerErrorListener, String path, long centerFrequency)
+    {
+        this(tunerErrorListener, path, centerFrequency, false);
+    }
+
+    /**
+     * Constructs an instance
+     * @param tunerErrorListener to receive errors from this controller
+     * @param path to the baseband recording file
+     * @param centerFrequency of the recording
+     * @param fastReplay to replay the recording once, as fast as the channels can process the samples
+     */
+    public RecordingTunerController(ITunerErrorListener tunerErrorListener, String path, long centerFrequency,
+                                    boolean fastReplay)
     {
         super(tunerErrorListener);
         mPath = path;
+        mFastReplay = fastReplay;
         mCenterFrequency = centerFrequency;
         if(mCenterFrequency == 0)
         {
@@ -72,7 +87,7 @@ public class RecordingTunerController extends TunerController
         {
             try
             {
-                mComplexWaveSource = new ComplexWaveSource(new File(mPath), true);
+                mComplexWaveSource = new ComplexWaveSource(new File(mPath), true, mFastReplay);
             }
             catch(IOException ioe)
             {
@@ -81,7 +96,19 @@ public class RecordingTunerController extends TunerController
                 return;
             }
 
-            mComplexWaveSource.setListener(complexSamples -> broadcast(complexSamples));
+            if(mFastReplay)
+            {
+                //Replay buffers don't pool their sample arrays, so the producer reference is always released after the
+                //broadcast, and the buffer signals the replay source once any retaining listeners also release it.
+                mComplexWaveSource.setListener(complexSamples -> {
+                    mNativeBufferBroadcaster.broadcast(complexSamples);
+                    complexSamples.release();
+                });
+            }
+            else
+            {
+                mComplexWaveSource.setListener(complexSamples -> broadcast(complexSamples));
+            }
 
             try
             {
@@ -129,6 +156,12 @@ public class RecordingTunerController extends TunerController
         }
     }
 
+    @Override
+    public boolean isFastReplay()
+    {
+        return mFastReplay;
+    }
+
     @Override
     public TunerType getTunerType()
     {
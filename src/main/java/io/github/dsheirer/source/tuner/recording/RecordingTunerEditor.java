@@ -26,6 +26,7 @@ import net.miginfocom.swing.MigLayout;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.swing.JCheckBox;
 import javax.swing.JLabel;
 import javax.swing.JSeparator;
 
@@ -37,6 +38,7 @@ public class RecordingTunerEditor extends TunerEditor<RecordingTuner,RecordingTu
     private static final long serialVersionUID = 1L;
     private final static Logger mLog = LoggerFactory.getLogger(RecordingTunerEditor.class);
     private JLabel mRecordingPath;
+    private JCheckBox mFastReplayCheckBox;
 
     /**
      * Constructs an instance
@@ -95,6 +97,7 @@ public class RecordingTunerEditor extends TunerEditor<RecordingTuner,RecordingTu
         if(hasConfiguration())
         {
             getRecordingPath().setText(getConfiguration().getPath());
+            getFastReplayCheckBox().setSelected(getConfiguration().isFastReplay());
         }
         setLoading(false);
     }
@@ -102,7 +105,7 @@ public class RecordingTunerEditor extends TunerEditor<RecordingTuner,RecordingTu
     private void init()
     {
         setLayout(new MigLayout("fill,wrap 3", "[right][grow,fill]",
-            "[][][][][][][][grow]"));
+            "[][][][][][][][][grow]"));
 
         add(new JLabel("Tuner:"));
         add(getTunerIdLabel(), "wrap");
@@ -113,6 +116,9 @@ public class RecordingTunerEditor extends TunerEditor<RecordingTuner,RecordingTu
         add(new JLabel("File:"));
         add(getRecordingPath(), "wrap");
 
+        add(new JLabel());
+        add(getFastReplayCheckBox(), "wrap");
+
         add(getButtonPanel(), "span,align left");
         add(new JSeparator(), "span,growx,push");
 
@@ -130,6 +136,19 @@ public class RecordingTunerEditor extends TunerEditor<RecordingTuner,RecordingTu
         return mRecordingPath;
     }
 
+    private JCheckBox getFastReplayCheckBox()
+    {
+        if(mFastReplayCheckBox == null)
+        {
+            mFastReplayCheckBox = new JCheckBox("Fast Replay");
+            mFastReplayCheckBox.setToolTipText("Replay the recording once, as fast as the channels can process it, " +
+                    "instead of looping at real time.  Takes effect when the tuner is restarted.");
+            mFastReplayCheckBox.addActionListener(event -> save());
+        }
+
+        return mFastReplayCheckBox;
+    }
+
     @Override
     public void save()
     {
@@ -137,6 +156,7 @@ public class RecordingTunerEditor extends TunerEditor<RecordingTuner,RecordingTu
         {
             RecordingTunerConfiguration config = getConfiguration();
             config.setFrequency(getFrequencyControl().getFrequency());
+            config.setFastReplay(getFastReplayCheckBox().isSelected());
             getConfiguration().setMinimumFrequency(getMinimumFrequencyTextField().getFrequency());
             getConfiguration().setMaximumFrequency(getMaximumFrequencyTextField().getFrequency());
             saveConfiguration();
@@ -20,6 +20,7 @@
 package io.github.dsheirer.source.tuner.sdrplay;
 
 import io.github.dsheirer.buffer.AbstractNativeBuffer;
+import io.github.dsheirer.buffer.NativeArrayPool;
 import io.github.dsheirer.sample.complex.ComplexSamples;
 import io.github.dsheirer.sample.complex.InterleavedComplexSamples;
 import java.util.Iterator;
@@ -34,6 +35,7 @@ public class RspNativeBuffer extends AbstractNativeBuffer
     private static final float SAMPLE_TO_FLOAT = 1.0f / 32768.0f;
     private short[] mISamples;
     private short[] mQSamples;
+    private NativeArrayPool<short[]> mSamplesPool;
 
     /**
      * Constructs an instance
@@ -43,10 +45,35 @@ public class RspNativeBuffer extends AbstractNativeBuffer
      * @param samplesPerMillisecond used to calculate sub-buffer fragment timestamp offsets from the start of this buffer.
      */
     public RspNativeBuffer(short[] i, short[] q, long timestamp, float samplesPerMillisecond)
+    {
+        this(i, q, timestamp, samplesPerMillisecond, null);
+    }
+
+    /**
+     * Constructs an instance that returns the I and Q sample arrays to the pool once all references are released.
+     * @param i samples array
+     * @param q samples array
+     * @param timestamp for the first sample
+     * @param samplesPerMillisecond used to calculate sub-buffer fragment timestamp offsets from the start of this buffer.
+     * @param samplesPool to receive the sample arrays once released, or null.
+     */
+    public RspNativeBuffer(short[] i, short[] q, long timestamp, float samplesPerMillisecond,
+                           NativeArrayPool<short[]> samplesPool)
     {
         super(timestamp, samplesPerMillisecond);
         mISamples = i;
         mQSamples = q;
+        mSamplesPool = samplesPool;
+    }
+
+    @Override
+    protected void recycle()
+    {
+        if(mSamplesPool != null)
+        {
+            mSamplesPool.recycle(mISamples);
+            mSamplesPool.recycle(mQSamples);
+        }
     }
 
     /**
@@ -19,6 +19,7 @@
 
 package io.github.dsheirer.source.tuner.sdrplay;
 
+import io.github.dsheirer.buffer.NativeArrayPool;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -35,8 +36,10 @@ import java.util.List;
 public class RspNativeBufferFactory
 {
     private RspSampleRate mRspSampleRate;
+    private NativeArrayPool<short[]> mSamplesPool = NativeArrayPool.shorts();
     private short[] mIResidual = new short[0];
     private short[] mQResidual = new short[0];
+    private int mResidualCount = 0;
     private long mResidualTimestamp = System.currentTimeMillis();
     private int mIncomingBufferLength = 0;
     private int mOptimalBufferLength = 128;
@@ -72,41 +75,49 @@ public class RspNativeBufferFactory
     {
         updateBufferLength(i.length);
 
-        short[] iCombined = new short[mIResidual.length + i.length];
-        System.arraycopy(mIResidual, 0, iCombined, 0, mIResidual.length);
-        System.arraycopy(i, 0, iCombined, mIResidual.length, i.length);
+        List<RspNativeBuffer> buffers = Collections.emptyList();
+        int offset = 0;
 
-        short[] qCombined = new short[mQResidual.length + q.length];
-        System.arraycopy(mQResidual, 0, qCombined, 0, mQResidual.length);
-        System.arraycopy(q, 0, qCombined, mQResidual.length, q.length);
-
-        if(iCombined.length < mOptimalBufferLength)
+        while(mResidualCount + (i.length - offset) >= mOptimalBufferLength)
         {
-            mIResidual = iCombined;
-            mQResidual = qCombined;
-            return Collections.emptyList();
-        }
+            short[] iOptimal = mSamplesPool.get(mOptimalBufferLength);
+            short[] qOptimal = mSamplesPool.get(mOptimalBufferLength);
+            System.arraycopy(mIResidual, 0, iOptimal, 0, mResidualCount);
+            System.arraycopy(mQResidual, 0, qOptimal, 0, mResidualCount);
+
+            int toCopy = mOptimalBufferLength - mResidualCount;
+            System.arraycopy(i, offset, iOptimal, mResidualCount, toCopy);
+            System.arraycopy(q, offset, qOptimal, mResidualCount, toCopy);
+            offset += toCopy;
+            mResidualCount = 0;
+
+            if(buffers.isEmpty())
+            {
+                buffers = new ArrayList<>();
+            }
 
-        List<RspNativeBuffer> buffers = new ArrayList<>();
+            buffers.add(new RspNativeBuffer(iOptimal, qOptimal, mResidualTimestamp, mSamplesPerMillisecond,
+                    mSamplesPool));
+            mResidualTimestamp += (long)(mOptimalBufferLength / mSamplesPerMillisecond);
+        }
 
-        while(iCombined.length >= mOptimalBufferLength)
+        //Residual is always smaller than the optimal buffer length after the loop completes
+        if(mIResidual.length < mOptimalBufferLength)
         {
-            short[] iOptimal = Arrays.copyOf(iCombined, mOptimalBufferLength);
-            iCombined = Arrays.copyOfRange(iCombined, mOptimalBufferLength, iCombined.length);
-
-            short[] qOptimal = Arrays.copyOf(qCombined, mOptimalBufferLength);
-            qCombined = Arrays.copyOfRange(qCombined, mOptimalBufferLength, qCombined.length);
-
-            RspNativeBuffer buffer = new RspNativeBuffer(iOptimal, qOptimal, mResidualTimestamp, mSamplesPerMillisecond);
-            buffers.add(buffer);
-            mResidualTimestamp += (long)(mOptimalBufferLength / mSamplesPerMillisecond);
+            mIResidual = Arrays.copyOf(mIResidual, mOptimalBufferLength);
+            mQResidual = Arrays.copyOf(mQResidual, mOptimalBufferLength);
         }
 
-        mIResidual = iCombined;
-        mQResidual = qCombined;
+        int remaining = i.length - offset;
+        System.arraycopy(i, offset, mIResidual, mResidualCount, remaining);
+        System.arraycopy(q, offset, mQResidual, mResidualCount, remaining);
+        mResidualCount += remaining;
 
-        //For simplicity, just update the residual timestamp to be the timestamp for this latest update
-        mResidualTimestamp = timestamp;
+        if(!buffers.isEmpty())
+        {
+            //For simplicity, just update the residual timestamp to be the timestamp for this latest update
+            mResidualTimestamp = timestamp;
+        }
 
         return buffers;
     }
@@ -129,6 +140,12 @@ public class RspNativeBufferFactory
 
             mOptimalBufferLength = optimal;
             mIncomingBufferLength = length;
+
+            //Discard residual samples that no longer fit within a single optimal length buffer
+            if(mResidualCount >= mOptimalBufferLength)
+            {
+                mResidualCount = 0;
+            }
         }
     }
 }
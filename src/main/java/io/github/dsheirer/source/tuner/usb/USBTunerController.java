@@ -763,7 +763,7 @@ public abstract class USBTunerController extends TunerController
             //Pass the transfer's byte buffer so the native buffer factory can make a copy of the byte array contents
             //and package it as a native buffer.
             INativeBuffer nativeBuffer = getNativeBufferFactory().getBuffer(transfer.buffer(), System.currentTimeMillis());
-            mNativeBufferBroadcaster.broadcast(nativeBuffer);
+            broadcast(nativeBuffer);
         }
     }
 
@@ -31,7 +31,8 @@ import io.github.dsheirer.util.ThreadPool;
 import java.io.File;
 import java.io.IOException;
 import java.util.Arrays;
-import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import org.apache.commons.math3.util.FastMath;
 import org.slf4j.Logger;
@@ -42,20 +43,36 @@ import javax.sound.sampled.AudioInputStream;
 import javax.sound.sampled.AudioSystem;
 import javax.sound.sampled.UnsupportedAudioFileException;
 
+/**
+ * Complex I/Q sample wave file source.
+ *
+ * Supports manual frame-by-frame playback, looping playback paced at near real time (auto-replay), and fast replay,
+ * where the recording is played once, as fast as the consumers can process the sample buffers.  Fast replay limits
+ * the quantity of buffers in flight and only reads the next buffer once a previously produced buffer has been released
+ * by all consumers (see INativeBuffer.release()), providing back-pressure from the consumers.  The polyphase channel
+ * manager holds each buffer until the channel processing queues are drained below a small limit, so the back-pressure
+ * extends through the channelizer to the channel decoders.
+ */
 public class ComplexWaveSource extends Source implements IControllableFileSource, AutoCloseable
 {
     private final static Logger mLog = LoggerFactory.getLogger(ComplexWaveSource.class);
+    private static final int FAST_REPLAY_BUFFERS_IN_FLIGHT = 4;
+    private static final long FAST_REPLAY_PERMIT_TIMEOUT_MS = 30000;
 
     private IFrameLocationListener mFrameLocationListener;
     private int mBufferSampleCount = 65536; //Complex samples per buffer
     private int mBytesPerFrame;
-    private int mFrameCounter = 0;
+    private long mBytesRead = 0;
     private long mFrequency = 0;
     private Listener<INativeBuffer> mListener;
     private AudioInputStream mInputStream;
+    private final Object mInputStreamLock = new Object();
     private File mFile;
     private boolean mAutoReplay;
-    private ScheduledFuture<?> mReplayController;
+    private boolean mFastReplay;
+    private long mReplayStartTimestamp;
+    private Semaphore mReplayPermits = new Semaphore(FAST_REPLAY_BUFFERS_IN_FLIGHT);
+    private Future<?> mReplayController;
 
     /**
      * Constructs an instance with optional auto-replay at near real time.
@@ -63,6 +80,18 @@ public class ComplexWaveSource extends Source implements IControllableFileSource
      * @param autoReplay to enable continuous looping, real-time playback of sample data
      */
     public ComplexWaveSource(File file, boolean autoReplay) throws IOException
+    {
+        this(file, autoReplay, false);
+    }
+
+    /**
+     * Constructs an instance with optional auto-replay at near real time or fast replay.
+     * @param file containing complex I/Q sample data
+     * @param autoReplay to enable continuous looping, real-time playback of sample data
+     * @param fastReplay to play the sample data once, as fast as the consumers release each sample buffer.  Fast
+     * replay takes precedence over auto-replay.
+     */
+    public ComplexWaveSource(File file, boolean autoReplay, boolean fastReplay) throws IOException
     {
         if(file == null || !file.exists() || !supports(file))
         {
@@ -76,6 +105,7 @@ public class ComplexWaveSource extends Source implements IControllableFileSource
 
         mFile = file;
         mAutoReplay = autoReplay;
+        mFastReplay = fastReplay;
     }
 
     public ComplexWaveSource(File file) throws IOException
@@ -111,7 +141,7 @@ public class ComplexWaveSource extends Source implements IControllableFileSource
     public void reset()
     {
         stop();
-        mFrameCounter = 0;
+        mBytesRead = 0;
         start();
     }
 
@@ -152,7 +182,13 @@ public class ComplexWaveSource extends Source implements IControllableFileSource
             }
         }
 
-        if(mAutoReplay)
+        if(mFastReplay)
+        {
+            mReplayPermits = new Semaphore(FAST_REPLAY_BUFFERS_IN_FLIGHT);
+            mReplayStartTimestamp = System.currentTimeMillis();
+            mReplayController = ThreadPool.CACHED.submit(new FastReplayController());
+        }
+        else if(mAutoReplay)
         {
             double sampleRate = getSampleRate();
 
@@ -168,11 +204,6 @@ public class ComplexWaveSource extends Source implements IControllableFileSource
     {
         try
         {
-            if(mReplayController != null)
-            {
-                mReplayController.cancel(true);
-            }
-
             close();
         }
         catch(IOException e)
@@ -216,14 +247,23 @@ public class ComplexWaveSource extends Source implements IControllableFileSource
     }
 
     /**
-     * Closes the source file
+     * Stops any replay and closes the source file.  Closing waits for a replay read that is in progress to complete.
      */
     public void close() throws IOException
     {
-        if(mInputStream != null)
+        if(mReplayController != null)
         {
-            mInputStream.close();
-            mInputStream = null;
+            mReplayController.cancel(true);
+            mReplayController = null;
+        }
+
+        synchronized(mInputStreamLock)
+        {
+            if(mInputStream != null)
+            {
+                mInputStream.close();
+                mInputStream = null;
+            }
         }
     }
 
@@ -267,32 +307,53 @@ public class ComplexWaveSource extends Source implements IControllableFileSource
      */
     public void next(int frames, boolean broadcast) throws IOException
     {
-        if(mInputStream != null)
+        byte[] buffer = new byte[mBytesPerFrame * frames];
+        int bytesRead;
+        float samplesPerMillisecond;
+
+        synchronized(mInputStreamLock)
         {
-            byte[] buffer = new byte[mBytesPerFrame * frames];
+            if(mInputStream == null)
+            {
+                return;
+            }
 
-        	/* Fill the buffer with samples from the file */
-            int samplesRead = mInputStream.read(buffer);
+            /* Fill the buffer with samples from the file */
+            bytesRead = mInputStream.read(buffer);
+            samplesPerMillisecond = mInputStream.getFormat().getSampleRate() / 1000.0f;
+
+            if(bytesRead > 0)
+            {
+                mBytesRead += bytesRead;
+            }
+        }
 
-            mFrameCounter += samplesRead;
+        broadcast(mBytesRead);
 
-            broadcast(mFrameCounter);
+        if(broadcast && mListener != null)
+        {
+            if(bytesRead < 0)
+            {
+                throw new IOException("End of file reached");
+            }
 
-            if(broadcast && mListener != null)
+            if(bytesRead < buffer.length)
             {
-                if(samplesRead < 0)
-                {
-                    throw new IOException("End of file reached");
-                }
+                buffer = Arrays.copyOf(buffer, bytesRead);
+            }
 
-                if(samplesRead < buffer.length)
-                {
-                    buffer = Arrays.copyOf(buffer, samplesRead);
-                }
+            float[] samples = ConversionUtils.convertFromSigned16BitSamples(buffer);
 
-                float[] samples = ConversionUtils.convertFromSigned16BitSamples(buffer);
-                mListener.receive(new FloatNativeBuffer(samples, System.currentTimeMillis(),
-                        mInputStream.getFormat().getSampleRate() / 1000.0f));
+            if(mFastReplay)
+            {
+                //Timestamps follow the recording timeline, since buffers are produced faster than real time
+                long framesBefore = (mBytesRead - bytesRead) / mBytesPerFrame;
+                long timestamp = mReplayStartTimestamp + (long)(framesBefore / samplesPerMillisecond);
+                mListener.receive(new ReplayNativeBuffer(samples, timestamp, samplesPerMillisecond, mReplayPermits));
+            }
+            else
+            {
+                mListener.receive(new FloatNativeBuffer(samples, System.currentTimeMillis(), samplesPerMillisecond));
             }
         }
     }
@@ -320,7 +381,7 @@ public class ComplexWaveSource extends Source implements IControllableFileSource
         return mFile;
     }
 
-    private void broadcast(int byteLocation)
+    private void broadcast(long byteLocation)
     {
         int frameLocation = (int)(byteLocation / mBytesPerFrame);
 
@@ -393,4 +454,70 @@ public class ComplexWaveSource extends Source implements IControllableFileSource
             }
         }
     }
+
+    /**
+     * Reads the recording once, as fast as the consumers release the sample buffers.  Each buffer holds one of a
+     * limited quantity of permits until the buffer is released, so reading blocks once the consumers fall behind.
+     */
+    public class FastReplayController implements Runnable
+    {
+        @Override
+        public void run()
+        {
+            long start = System.currentTimeMillis();
+            double sampleRate = getSampleRate();
+
+            try
+            {
+                while(!Thread.currentThread().isInterrupted())
+                {
+                    if(!mReplayPermits.tryAcquire(FAST_REPLAY_PERMIT_TIMEOUT_MS, TimeUnit.MILLISECONDS))
+                    {
+                        //Continuing without the permit would disable the back-pressure, so we stop the replay instead
+                        mLog.error("Fast replay stopped [" + mFile.getName() + "] - sample buffers were not released " +
+                                "by the consumers within " + (FAST_REPLAY_PERMIT_TIMEOUT_MS / 1000) + " seconds");
+                        return;
+                    }
+
+                    next(mBufferSampleCount, true);
+                }
+            }
+            catch(InterruptedException ie)
+            {
+                //Replay was stopped
+            }
+            catch(IOException ioe)
+            {
+                if(sampleRate > 0)
+                {
+                    double elapsed = (System.currentTimeMillis() - start) / 1000.0;
+                    double recorded = (mBytesRead / (double)mBytesPerFrame) / sampleRate;
+                    mLog.info("Fast replay complete [" + mFile.getName() + "] - replayed " +
+                            String.format("%.1f", recorded) + " seconds of samples in " +
+                            String.format("%.1f", elapsed) + " seconds (" +
+                            String.format("%.1f", (elapsed > 0 ? recorded / elapsed : 0)) + "x real time)");
+                }
+            }
+        }
+    }
+
+    /**
+     * Fast replay sample buffer that returns its replay permit once all consumers release the buffer.
+     */
+    private static class ReplayNativeBuffer extends FloatNativeBuffer
+    {
+        private Semaphore mReplayPermits;
+
+        public ReplayNativeBuffer(float[] samples, long timestamp, float samplesPerMillisecond, Semaphore replayPermits)
+        {
+            super(samples, timestamp, samplesPerMillisecond);
+            mReplayPermits = replayPermits;
+        }
+
+        @Override
+        protected void recycle()
+        {
+            mReplayPermits.release();
+        }
+    }
 }
@@ -19,6 +19,7 @@
 package io.github.dsheirer.spectrum;
 
 import io.github.dsheirer.buffer.INativeBuffer;
+import io.github.dsheirer.buffer.IRetainingNativeBufferListener;
 import io.github.dsheirer.controller.NamingThreadFactory;
 import io.github.dsheirer.dsp.window.WindowFactory;
 import io.github.dsheirer.dsp.window.WindowType;
@@ -40,7 +41,8 @@ import org.slf4j.LoggerFactory;
  * Processes both complex samples or float samples and dispatches a float array of DFT results, using configurable fft
  * size and output dispatch timelines.
  */
-public class ComplexDftProcessor<T extends INativeBuffer> implements Listener<T>, IDFTWidthChangeProcessor
+public class ComplexDftProcessor<T extends INativeBuffer> implements Listener<T>, IDFTWidthChangeProcessor,
+        IRetainingNativeBufferListener
 {
     private static final Logger mLog = LoggerFactory.getLogger(ComplexDftProcessor.class);
     private static final String FRAME_RATE_PROPERTY = "spectral.display.frame.rate";
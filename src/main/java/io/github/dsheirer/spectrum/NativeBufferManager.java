@@ -42,6 +42,8 @@ import java.util.concurrent.LinkedTransferQueue;
  * is updated on the consumer side with each request.  This class is designed for the get() operation to consistently
  * request the same size buffer, with occasional changes.
  *
+ * Enqueued native buffers are retained and then released once they are consumed or cleared.
+ *
  * @param <T> native buffer
  */
 public class NativeBufferManager<T extends INativeBuffer>
@@ -77,6 +79,7 @@ public class NativeBufferManager<T extends INativeBuffer>
         //Add this buffer to the producer queue if it's needed to meet the anticipated request size
         if(mProducerAvailable < mRequestSize)
         {
+            nativeBuffer.retain();
             mProducerQueue.add(nativeBuffer);
             mProducerAvailable += nativeBuffer.sampleCount();
         }
@@ -87,9 +90,25 @@ public class NativeBufferManager<T extends INativeBuffer>
      */
     public void clear()
     {
-        mTransferQueue.clear();
-        mProducerQueue.clear();
-        mConsumerQueue.clear();
+        List<T> drained = new ArrayList<>();
+        mTransferQueue.drainTo(drained);
+        release(drained);
+        release(mProducerQueue);
+        release(mConsumerQueue);
+    }
+
+    /**
+     * Releases each of the native buffers and clears the list.
+     * @param buffers to release
+     */
+    private void release(List<T> buffers)
+    {
+        for(T buffer: buffers)
+        {
+            buffer.release();
+        }
+
+        buffers.clear();
     }
 
     /**
@@ -128,7 +147,7 @@ public class NativeBufferManager<T extends INativeBuffer>
 
         for(T buffer: mConsumerQueue)
         {
-            Iterator<InterleavedComplexSamples> iterator = buffer.iteratorInterleaved();
+            Iterator<InterleavedComplexSamples> iterator = buffer.iteratorInterleavedReusable();
 
             while(iterator.hasNext() && samplesPointer < samples.length)
             {
@@ -144,7 +163,7 @@ public class NativeBufferManager<T extends INativeBuffer>
             }
         }
 
-        mConsumerQueue.clear();
+        release(mConsumerQueue);
         return samples;
     }
 }
@@ -55,6 +55,10 @@ public class WaterfallPanel extends JPanel implements DFTResultsListener,
 
     private byte[] mPixels;
     private byte[] mPausedPixels;
+    //The pixel array is a circular buffer of rows.  The newest row is written above the previous newest row and the
+    //image is rendered in two parts split at the newest row so that existing pixels never have to be moved.
+    private int mNewestRow = 0;
+    private int mPausedNewestRow = 0;
     private int mDFTSize = 4096;
     private int mImageHeight = 700;
     private MemoryImageSource mMemoryImageSource;
@@ -109,6 +113,8 @@ public class WaterfallPanel extends JPanel implements DFTResultsListener,
     private void reset()
     {
         mPixels = new byte[mDFTSize * mImageHeight];
+        mNewestRow = 0;
+        mPausedNewestRow = 0;
 
         mMemoryImageSource = new MemoryImageSource(mDFTSize,
             mImageHeight,
@@ -132,10 +138,16 @@ public class WaterfallPanel extends JPanel implements DFTResultsListener,
         if(paused)
         {
             mPausedPixels = mPixels.clone();
+            mPausedNewestRow = mNewestRow;
         }
 
         mPaused = paused;
 
+        if(mMemoryImageSource != null)
+        {
+            mMemoryImageSource.newPixels(mPaused ? mPausedPixels : mPixels, mColorModel, 0, mDFTSize);
+        }
+
         repaint();
     }
 
@@ -294,7 +306,19 @@ public class WaterfallPanel extends JPanel implements DFTResultsListener,
 
         double binPixelWidth = getBinPixelWidth(multiplier);
         int offset = (int)(getPixelOffset(multiplier) - binPixelWidth);
-        g.drawImage(mWaterfallImage, offset, 0, (getWidth() * multiplier) + (int)binPixelWidth, mImageHeight, this);
+        int width = (getWidth() * multiplier) + (int)binPixelWidth;
+        int newestRow = mPaused ? mPausedNewestRow : mNewestRow;
+        int split = mImageHeight - newestRow;
+
+        //Newest row through the bottom of the circular buffer renders at the top of the display, followed by the top
+        //of the buffer through the row preceding the newest row.
+        g.drawImage(mWaterfallImage, offset, 0, offset + width, split, 0, newestRow, mDFTSize, mImageHeight, this);
+
+        if(newestRow > 0)
+        {
+            g.drawImage(mWaterfallImage, offset, split, offset + width, mImageHeight, 0, 0, mDFTSize, newestRow, this);
+        }
+
         Graphics2D graphics = (Graphics2D)g;
         graphics.setColor(mColorSpectrumCursor);
 
@@ -350,6 +374,9 @@ public class WaterfallPanel extends JPanel implements DFTResultsListener,
 
     /**
      * Implements the DFT results listener interface method.  This is the primary method for receiving new frequency bin results.
+     *
+     * Color mapping of the DFT bins to pixel values is performed on the calling thread so that the Swing event thread
+     * only has to copy the new row into the circular pixel buffer.
      */
     @Override
     public void receive(float[] update)
@@ -400,17 +427,14 @@ public class WaterfallPanel extends JPanel implements DFTResultsListener,
                     reset();
                 }
 
-                //Move the pixels down a row and add in the new pixels row
-                System.arraycopy(mPixels, 0, mPixels, mDFTSize, mPixels.length - mDFTSize);
-                System.arraycopy(newPixels, 0, mPixels, 0, newPixels.length);
+                //Overwrite the oldest row with the new pixels row and make it the newest row
+                mNewestRow = (mNewestRow == 0 ? mImageHeight : mNewestRow) - 1;
+                System.arraycopy(newPixels, 0, mPixels, mNewestRow * mDFTSize, newPixels.length);
 
-                if(mPaused)
+                //While paused, the image source continues to display the paused pixels snapshot
+                if(!mPaused)
                 {
-                    mMemoryImageSource.newPixels(mPausedPixels, mColorModel, 0, mDFTSize);
-                }
-                else
-                {
-                    mMemoryImageSource.newPixels(mPixels, mColorModel, 0, mDFTSize);
+                    mMemoryImageSource.newPixels(0, mNewestRow, mDFTSize, 1);
                 }
             }
         });
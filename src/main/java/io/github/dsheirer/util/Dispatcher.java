@@ -25,10 +25,12 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -37,10 +39,22 @@ import org.slf4j.LoggerFactory;
  * registered listener on this consumer/dispatcher thread.  Internally uses a single-thread thread pool to effect a
  * timer-based interval for processing to avoid excessive context switching inherent in a blocking queue.  Sizes the
  * thread pool to a single thread to ensure Garbage Collector can efficiently clean objects created on the thread.
+ *
+ * When the shared dispatcher pool is enabled (see setSharedPoolEnabled()), dispatchers started after that point don't
+ * create a thread.  Instead, enqueuing an element signals a processing task on the application-wide, processor-count
+ * sized ThreadPool.DISPATCHER pool.  Only one processing task is active for a dispatcher at any time, so elements are
+ * still delivered to the listener in order and never concurrently.  Heartbeats continue to be delivered at the
+ * dispatcher interval through the same processing task, even when no elements are queued.
+ *
+ * Listeners on the shared pool must not block (e.g. file I/O) or run for extended periods, since each blocked pool
+ * thread delays the processing of other channels.  Dispatchers for those listeners should be constructed with a
+ * dedicated thread, which is used regardless of the shared pool setting.
  */
 public class Dispatcher<E> implements Listener<E>
 {
     private final static Logger mLog = LoggerFactory.getLogger(Dispatcher.class);
+    private static volatile boolean sSharedPoolEnabled = false;
+    private static final long FLUSH_TIMEOUT_MS = 2000;
     private final LinkedTransferQueue<E> mQueue = new LinkedTransferQueue<>();
     private Listener<E> mListener;
     private final AtomicBoolean mRunning = new AtomicBoolean();
@@ -49,6 +63,13 @@ public class Dispatcher<E> implements Listener<E>
     private ScheduledFuture<?> mScheduledFuture;
     private final long mInterval;
     private HeartbeatManager mHeartbeatManager;
+    private volatile boolean mSharedPoolMode;
+    private final AtomicBoolean mSharedProcessorScheduled = new AtomicBoolean();
+    private final SharedPoolProcessor mSharedPoolProcessor = new SharedPoolProcessor();
+    private volatile boolean mHeartbeatPending;
+    private volatile boolean mFlushing;
+    private final ReentrantLock mSharedProcessorLock = new ReentrantLock();
+    private final boolean mDedicatedThread;
 
     /**
      * Constructs an instance of a Dispatcher with integrated heartbeat support.
@@ -68,9 +89,41 @@ public class Dispatcher<E> implements Listener<E>
      * @param interval for processing each batch in milliseconds.
      */
     public Dispatcher(String threadName, long interval)
+    {
+        this(threadName, interval, false);
+    }
+
+    /**
+     * Constructs an instance
+     * @param threadName to name the dispatcher thread
+     * @param interval for processing each batch in milliseconds.
+     * @param dedicatedThread true to always process on a dedicated thread, even when the shared dispatcher pool is
+     * enabled.  Use for listeners that block or run for extended periods.
+     */
+    public Dispatcher(String threadName, long interval, boolean dedicatedThread)
     {
         mThreadName = threadName;
         mInterval = interval;
+        mDedicatedThread = dedicatedThread;
+    }
+
+    /**
+     * Enables or disables the shared dispatcher pool for all dispatchers that are started after this call, except
+     * for dispatchers that are constructed with a dedicated thread.
+     * @param enabled true to process on the shared pool or false to use a dedicated thread per dispatcher.
+     */
+    public static void setSharedPoolEnabled(boolean enabled)
+    {
+        sSharedPoolEnabled = enabled;
+        mLog.info("Dispatcher processing mode: " + (enabled ? "shared thread pool" : "dedicated thread per dispatcher"));
+    }
+
+    /**
+     * Indicates if the shared dispatcher pool is enabled.
+     */
+    public static boolean isSharedPoolEnabled()
+    {
+        return sSharedPoolEnabled;
     }
 
     /**
@@ -103,6 +156,30 @@ public class Dispatcher<E> implements Listener<E>
         if(mRunning.get())
         {
             mQueue.add(e);
+
+            if(mSharedPoolMode)
+            {
+                signalSharedPoolProcessor();
+            }
+        }
+    }
+
+    /**
+     * Schedules the shared pool processor to run if it isn't already scheduled or running.
+     */
+    private void signalSharedPoolProcessor()
+    {
+        if(mRunning.get() && mSharedProcessorScheduled.compareAndSet(false, true))
+        {
+            try
+            {
+                ThreadPool.DISPATCHER.execute(mSharedPoolProcessor);
+            }
+            catch(RejectedExecutionException ree)
+            {
+                mSharedProcessorScheduled.set(false);
+                mLog.error("Shared dispatcher pool rejected processing task for [" + mThreadName + "]");
+            }
         }
     }
 
@@ -127,10 +204,28 @@ public class Dispatcher<E> implements Listener<E>
             }
 
             mQueue.clear();
-            mExecutorService = Executors.newSingleThreadScheduledExecutor(new NamingThreadFactory(mThreadName));
+            mFlushing = false;
+            mSharedProcessorScheduled.set(false);
+            mSharedPoolMode = sSharedPoolEnabled && !mDedicatedThread;
 
-            Runnable r = (mHeartbeatManager != null ? new ProcessorWithHeartbeat() : new Processor());
-            mScheduledFuture = mExecutorService.scheduleAtFixedRate(r, 0, mInterval, TimeUnit.MILLISECONDS);
+            if(mSharedPoolMode)
+            {
+                //Heartbeats are the only timer-driven work in shared pool mode - elements signal processing on arrival
+                if(mHeartbeatManager != null)
+                {
+                    mScheduledFuture = ThreadPool.SCHEDULED.scheduleAtFixedRate(() -> {
+                        mHeartbeatPending = true;
+                        signalSharedPoolProcessor();
+                    }, 0, mInterval, TimeUnit.MILLISECONDS);
+                }
+            }
+            else
+            {
+                mExecutorService = Executors.newSingleThreadScheduledExecutor(new NamingThreadFactory(mThreadName));
+
+                Runnable r = (mHeartbeatManager != null ? new ProcessorWithHeartbeat() : new Processor());
+                mScheduledFuture = mExecutorService.scheduleAtFixedRate(r, 0, mInterval, TimeUnit.MILLISECONDS);
+            }
         }
     }
 
@@ -147,9 +242,10 @@ public class Dispatcher<E> implements Listener<E>
                 //be able to release those locks or we'll get a deadlock situation.
                 mScheduledFuture.cancel(false);
                 mScheduledFuture = null;
-                mQueue.clear();
             }
 
+            mQueue.clear();
+
             if(mExecutorService != null)
             {
                 mExecutorService.shutdown();
@@ -159,10 +255,14 @@ public class Dispatcher<E> implements Listener<E>
     }
 
     /**
-     * Stops this buffer processor and flushes the queue to the listener
+     * Stops this buffer processor and flushes the queue to the listener.  In shared pool mode, this waits up to two
+     * seconds for a processing task that is already running on the pool to finish, so that elements are not delivered
+     * concurrently.  If the task doesn't finish in time, the queued elements are discarded instead of flushed.
      */
     public void flushAndStop()
     {
+        mFlushing = true;
+
         if(mRunning.compareAndSet(true, false))
         {
             if(mScheduledFuture != null)
@@ -179,28 +279,70 @@ public class Dispatcher<E> implements Listener<E>
                 mExecutorService = null;
             }
 
-            List<E> elements = new ArrayList<>();
+            //Hold the shared processor lock so that no pool task runs while we flush.  The lock is reentrant, so a flush
+            //that is invoked from within the pool task already has exclusive access.
+            boolean locked = false;
 
-            mQueue.drainTo(elements);
+            if(mSharedPoolMode)
+            {
+                try
+                {
+                    locked = mSharedProcessorLock.tryLock(FLUSH_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                }
+                catch(InterruptedException ie)
+                {
+                    Thread.currentThread().interrupt();
+                }
+
+                if(!locked)
+                {
+                    mLog.error("Timeout waiting for the shared pool processing task for [" + mThreadName +
+                            "] to finish - discarding [" + mQueue.size() + "] queued elements instead of flushing");
+                    mQueue.clear();
+                    return;
+                }
+            }
 
-            for(E element: elements)
+            try
             {
-                if(mListener != null)
+                List<E> elements = new ArrayList<>();
+
+                mQueue.drainTo(elements);
+
+                for(E element: elements)
                 {
-                    try
-                    {
-                        mListener.receive(element);
-                    }
-                    catch(Throwable t)
+                    if(mListener != null)
                     {
-                        mLog.error("Error while flusing and dispatching element [" + element.getClass() + "] to listener [" +
-                                mListener.getClass() + "]", t);
+                        try
+                        {
+                            mListener.receive(element);
+                        }
+                        catch(Throwable t)
+                        {
+                            mLog.error("Error while flusing and dispatching element [" + element.getClass() + "] to listener [" +
+                                    mListener.getClass() + "]", t);
+                        }
                     }
                 }
             }
+            finally
+            {
+                if(locked)
+                {
+                    mSharedProcessorLock.unlock();
+                }
+            }
         }
     }
 
+    /**
+     * Quantity of elements that are queued and waiting to be dispatched to the listener.
+     */
+    public int getQueueSize()
+    {
+        return mQueue.size();
+    }
+
     /**
      * Indicates if this processor is currently running
      */
@@ -220,7 +362,8 @@ public class Dispatcher<E> implements Listener<E>
 
         for(E element: elements)
         {
-            if(mRunning.get() && mListener != null)
+            //A flush that is waiting on this processor expects drained elements to be delivered
+            if((mRunning.get() || mFlushing) && mListener != null)
             {
                 try
                 {
@@ -253,6 +396,54 @@ public class Dispatcher<E> implements Listener<E>
         }
     }
 
+    /**
+     * Processor that runs on the shared dispatcher pool to service the buffer queue and distribute the buffers to the
+     * registered listener, and to deliver any pending heartbeat.  Only one instance of this processor is scheduled at
+     * a time for each dispatcher, which preserves element ordering.
+     */
+    class SharedPoolProcessor implements Runnable
+    {
+        @Override
+        public void run()
+        {
+            mSharedProcessorLock.lock();
+
+            try
+            {
+                process();
+
+                if(mHeartbeatPending && mHeartbeatManager != null)
+                {
+                    mHeartbeatPending = false;
+
+                    if(mRunning.get())
+                    {
+                        try
+                        {
+                            mHeartbeatManager.broadcast();
+                        }
+                        catch(Throwable t)
+                        {
+                            mLog.error("Error broadcasting heartbeat during Dispatcher processing interval", t);
+                        }
+                    }
+                }
+            }
+            finally
+            {
+                mSharedProcessorScheduled.set(false);
+                mSharedProcessorLock.unlock();
+            }
+
+            //Elements that arrived after the queue was drained but before the scheduled flag was cleared were not able
+            //to schedule a new task, so we reschedule for them here.
+            if(!mQueue.isEmpty() || mHeartbeatPending)
+            {
+                signalSharedPoolProcessor();
+            }
+        }
+    }
+
     /**
      * Processor to service the buffer queue and distribute the buffers to the registered listener.  Includes a
      * support for commanding a heart beat with each processing interval.
@@ -24,6 +24,8 @@ import org.slf4j.LoggerFactory;
 
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.ScheduledExecutorService;
 
 public class ThreadPool
@@ -33,6 +35,12 @@ public class ThreadPool
             Executors.newScheduledThreadPool(4, new NamingThreadFactory("sdrtrunk scheduled"));
     public static ExecutorService CACHED =
             Executors.newCachedThreadPool(new NamingThreadFactory("sdrtrunk cached"));
+    /**
+     * Work-stealing pool sized to the processor count that is shared by all Dispatcher instances when the shared
+     * dispatcher pool is enabled.  Threads are only created as needed, so this pool costs nothing when not used.
+     */
+    public static ExecutorService DISPATCHER = new ForkJoinPool(Runtime.getRuntime().availableProcessors(),
+            new DispatcherThreadFactory(), null, true);
 
     /**
      * Application-wide shared thread pools and scheduled executor service.
@@ -45,4 +53,18 @@ public class ThreadPool
     {
         mLog.info("Application thread pool created SCHEDULED and CACHED executors threads");
     }
+
+    /**
+     * Names the shared dispatcher pool worker threads.
+     */
+    private static class DispatcherThreadFactory implements ForkJoinPool.ForkJoinWorkerThreadFactory
+    {
+        @Override
+        public ForkJoinWorkerThread newThread(ForkJoinPool pool)
+        {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("sdrtrunk dispatcher thread " + thread.getPoolIndex());
+            return thread;
+        }
+    }
 }
@@ -32,7 +32,11 @@ public abstract class Calibration
 {
     protected static final DecimalFormat DECIMAL_FORMAT = new DecimalFormat("0.0");
     public static final Logger mLog = LoggerFactory.getLogger(Calibration.class);
-    private Preferences mPreferences = Preferences.userNodeForPackage(Calibration.class);
+    public static final int ITERATION_DURATION_MS = 1000;
+    public static final int QUICK_ITERATION_DURATION_MS = 250;
+    private static final String PROFILE_NODE = "profile";
+    private static int sIterationDuration = ITERATION_DURATION_MS;
+    private Preferences mPreferences = getProfilePreferences(CalibrationFingerprint.getInstance());
     private CalibrationType mType;
     private Implementation mImplementation;
 
@@ -50,6 +54,49 @@ public abstract class Calibration
         return mLog;
     }
 
+    /**
+     * Preferences node that stores calibration results for the CPU and JVM identified by the fingerprint.
+     */
+    static Preferences getProfilePreferences(CalibrationFingerprint fingerprint)
+    {
+        return getProfilesPreferences().node(fingerprint.getCpuId()).node(fingerprint.getJvmId());
+    }
+
+    /**
+     * Parent preferences node for all calibration profiles.  Child nodes are CPU identifiers and each CPU node has a
+     * child node per JVM identifier.
+     */
+    static Preferences getProfilesPreferences()
+    {
+        return getLegacyPreferences().node(PROFILE_NODE);
+    }
+
+    /**
+     * Preferences node used prior to calibration profiles where calibration results were not associated with a CPU
+     * or JVM.
+     */
+    static Preferences getLegacyPreferences()
+    {
+        return Preferences.userNodeForPackage(Calibration.class);
+    }
+
+    /**
+     * Duration of each timed test iteration in milliseconds.
+     */
+    protected static int getIterationDuration()
+    {
+        return sIterationDuration;
+    }
+
+    /**
+     * Sets the duration of each timed test iteration for all calibrations.
+     * @param duration in milliseconds
+     */
+    static void setIterationDuration(int duration)
+    {
+        sIterationDuration = duration;
+    }
+
     /**
      * Type of calibration plugin
      */
@@ -0,0 +1,271 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+
+package io.github.dsheirer.vector.calibrate;
+
+import io.github.dsheirer.util.OSType;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import jdk.incubator.vector.FloatVector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Identifies the CPU and JVM that produce a set of calibration results.  Calibration results are only valid for the
+ * CPU model, CPU feature set (SIMD instruction support) and JVM version (vector API implementation) that were used
+ * during calibration.
+ *
+ * The CPU identifier is derived from the OS architecture, the CPU model name, the CPU feature flags and the preferred
+ * vector species length.  The JVM identifier is derived from the JVM vendor, name and runtime version.  Each
+ * identifier is a short hash of the description so that it can be used as a preferences node name.
+ */
+public class CalibrationFingerprint
+{
+    private static final Logger mLog = LoggerFactory.getLogger(CalibrationFingerprint.class);
+    private static final Path LINUX_CPU_INFO = Path.of("/proc/cpuinfo");
+    private static final int ID_LENGTH = 16;
+    private static final long SYSCTL_TIMEOUT_MS = 2000;
+    //Only the SIMD related CPU feature flags are used so that security mitigation and microcode flags that change
+    //with kernel updates don't invalidate the calibrations.
+    private static final List<String> SIMD_FLAG_PREFIXES = List.of("sse", "ssse", "avx", "fma", "f16c", "amx",
+        "asimd", "neon", "sve");
+    private static CalibrationFingerprint sInstance;
+    private final String mCpuDescription;
+    private final String mJvmDescription;
+    private final String mCpuId;
+    private final String mJvmId;
+
+    /**
+     * Constructs an instance
+     * @param cpuDescription describing the CPU model and capabilities
+     * @param jvmDescription describing the JVM version
+     */
+    public CalibrationFingerprint(String cpuDescription, String jvmDescription)
+    {
+        mCpuDescription = cpuDescription;
+        mJvmDescription = jvmDescription;
+        mCpuId = hash(cpuDescription);
+        mJvmId = hash(jvmDescription);
+    }
+
+    /**
+     * Fingerprint for the current computer and JVM.
+     */
+    public static synchronized CalibrationFingerprint getInstance()
+    {
+        if(sInstance == null)
+        {
+            sInstance = new CalibrationFingerprint(detectCpu(), detectJvm());
+        }
+
+        return sInstance;
+    }
+
+    /**
+     * Description of the CPU model and capabilities
+     */
+    public String getCpuDescription()
+    {
+        return mCpuDescription;
+    }
+
+    /**
+     * Description of the JVM
+     */
+    public String getJvmDescription()
+    {
+        return mJvmDescription;
+    }
+
+    /**
+     * Short hash identifier of the CPU description
+     */
+    public String getCpuId()
+    {
+        return mCpuId;
+    }
+
+    /**
+     * Short hash identifier of the JVM description
+     */
+    public String getJvmId()
+    {
+        return mJvmId;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "CPU [" + mCpuDescription + "] ID [" + mCpuId + "] JVM [" + mJvmDescription + "] ID [" + mJvmId + "]";
+    }
+
+    /**
+     * Creates a short hex hash identifier for the description.
+     */
+    private static String hash(String description)
+    {
+        try
+        {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(description.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest).substring(0, ID_LENGTH);
+        }
+        catch(NoSuchAlgorithmException nsae)
+        {
+            //SHA-256 is required to be supported by every JVM implementation
+            throw new IllegalStateException("SHA-256 message digest is not available", nsae);
+        }
+    }
+
+    /**
+     * Describes the current CPU.
+     */
+    private static String detectCpu()
+    {
+        String model = null;
+        String flags = null;
+
+        if(Files.isReadable(LINUX_CPU_INFO))
+        {
+            try
+            {
+                List<String> lines = Files.readAllLines(LINUX_CPU_INFO);
+
+                for(String line: lines)
+                {
+                    if(model == null && line.startsWith("model name"))
+                    {
+                        model = getValue(line);
+                    }
+                    //x86 uses 'flags' and ARM uses 'Features'
+                    else if(flags == null && (line.startsWith("flags") || line.startsWith("Features")))
+                    {
+                        //Sort the flags so that ordering differences between kernel versions don't change the ID
+                        flags = Arrays.stream(getValue(line).split("\\s+"))
+                            .filter(flag -> SIMD_FLAG_PREFIXES.stream().anyMatch(flag::startsWith))
+                            .sorted()
+                            .collect(Collectors.joining(" "));
+                    }
+                }
+            }
+            catch(IOException ioe)
+            {
+                mLog.warn("Unable to read CPU information from " + LINUX_CPU_INFO + " - " + ioe.getMessage());
+            }
+        }
+
+        if(model == null && OSType.getCurrentOSType().isOsx())
+        {
+            //macOS provides the brand string on Intel, otherwise fall back to the hardware model (e.g. Mac14,2)
+            model = sysctl("machdep.cpu.brand_string");
+
+            if(model == null)
+            {
+                model = sysctl("hw.model");
+            }
+        }
+
+        if(model == null)
+        {
+            //Windows provides the CPU family/model/stepping identification as an environment variable
+            model = System.getenv("PROCESSOR_IDENTIFIER");
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(System.getProperty("os.arch"));
+        sb.append(" | ").append(model != null ? model : "unknown model");
+        sb.append(" | vector bits:").append(FloatVector.SPECIES_PREFERRED.vectorBitSize());
+
+        if(flags != null)
+        {
+            sb.append(" | flags:").append(flags);
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Reads a system control value on macOS via the sysctl command.
+     * @param name of the value
+     * @return trimmed value or null if the value is not available.
+     */
+    private static String sysctl(String name)
+    {
+        try
+        {
+            Process process = new ProcessBuilder("sysctl", "-n", name)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+
+            //The output is a single short line, so waiting before reading can't fill the pipe and block sysctl
+            if(!process.waitFor(SYSCTL_TIMEOUT_MS, TimeUnit.MILLISECONDS))
+            {
+                process.destroyForcibly();
+                return null;
+            }
+
+            String value;
+
+            try(InputStream in = process.getInputStream())
+            {
+                value = new String(in.readAllBytes(), StandardCharsets.UTF_8).trim();
+            }
+
+            return process.exitValue() == 0 && !value.isEmpty() ? value : null;
+        }
+        catch(IOException ioe)
+        {
+            mLog.warn("Unable to read CPU information from sysctl [" + name + "] - " + ioe.getMessage());
+        }
+        catch(InterruptedException ie)
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        return null;
+    }
+
+    /**
+     * Describes the current JVM.
+     */
+    private static String detectJvm()
+    {
+        return System.getProperty("java.vm.vendor") + " | " + System.getProperty("java.vm.name") + " | " +
+            System.getProperty("java.runtime.version");
+    }
+
+    /**
+     * Parses the value from a 'key : value' line.
+     */
+    private static String getValue(String line)
+    {
+        int index = line.indexOf(':');
+        return index >= 0 ? line.substring(index + 1).trim() : "";
+    }
+}
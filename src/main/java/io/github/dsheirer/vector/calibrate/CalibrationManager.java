@@ -28,6 +28,7 @@ import io.github.dsheirer.vector.calibrate.airspy.AirspyUnpackedInterleavedCalib
 import io.github.dsheirer.vector.calibrate.demodulator.DifferentialDemodulatorCalibration;
 import io.github.dsheirer.vector.calibrate.demodulator.FmDemodulatorCalibration;
 import io.github.dsheirer.vector.calibrate.filter.FirFilterCalibration;
+import io.github.dsheirer.vector.calibrate.filter.PolyphaseAccumulatorCalibration;
 import io.github.dsheirer.vector.calibrate.filter.RealDcRemovalCalibration;
 import io.github.dsheirer.vector.calibrate.filter.RealHalfBand11TapFilterCalibration;
 import io.github.dsheirer.vector.calibrate.filter.RealHalfBand15TapFilterCalibration;
@@ -43,21 +44,39 @@ import io.github.dsheirer.vector.calibrate.oscillator.ComplexOscillatorCalibrati
 import io.github.dsheirer.vector.calibrate.oscillator.RealOscillatorCalibration;
 import io.github.dsheirer.vector.calibrate.sync.DMRSoftSyncCalibration;
 import io.github.dsheirer.vector.calibrate.window.WindowCalibration;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Properties;
+import java.util.prefs.BackingStoreException;
+import java.util.prefs.Preferences;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Determines the optimal (scalar vs vector) class to use for the current CPU architecture.
+ *
+ * Calibration results are stored in a profile keyed to the CPU/JVM fingerprint of the computer that produced them.
+ * When the fingerprint changes (new computer or JDK upgrade), the calibrations for the new fingerprint are
+ * uncalibrated and must be performed again.  When only the JVM changes, the calibrations are re-validated using
+ * shortened test iterations.  Profiles can be exported and imported to apply one calibration across identical
+ * computers.
  */
 public class CalibrationManager
 {
     private static final Logger mLog = LoggerFactory.getLogger(CalibrationManager.class);
+    private static final String PROFILE_KEY_CPU_ID = "fingerprint.cpu.id";
+    private static final String PROFILE_KEY_JVM_ID = "fingerprint.jvm.id";
+    private static final String PROFILE_KEY_CPU = "fingerprint.cpu";
+    private static final String PROFILE_KEY_JVM = "fingerprint.jvm";
     private Map<CalibrationType, Calibration> mCalibrationMap = new HashMap<>();
     private static CalibrationManager sInstance;
     private static VectorCalibrationPreference sVectorCalibrationPreference;
@@ -113,6 +132,7 @@ public class CalibrationManager
             sInstance.add(new FmDemodulatorCalibration());
             sInstance.add(new InterpolatorCalibration());
             sInstance.add(new MagnitudeCalibration());
+            sInstance.add(new PolyphaseAccumulatorCalibration());
             sInstance.add(new RealDcRemovalCalibration());
             sInstance.add(new RealHalfBand11TapFilterCalibration());
             sInstance.add(new RealHalfBand15TapFilterCalibration());
@@ -122,11 +142,149 @@ public class CalibrationManager
             sInstance.add(new RealOscillatorCalibration());
 //            sInstance.add(new HilbertCalibration()); //Not currently used
             sInstance.add(new WindowCalibration()); //Not currently used
+            sInstance.loadProfile();
         }
 
         return sInstance;
     }
 
+    /**
+     * Checks the calibration profile for the current CPU/JVM fingerprint.  Migrates calibration results from before
+     * calibration profiles were used and selects shortened calibration runs when this CPU has been calibrated
+     * previously under a different JVM.
+     */
+    private void loadProfile()
+    {
+        CalibrationFingerprint fingerprint = CalibrationFingerprint.getInstance();
+        mLog.info("Calibration fingerprint " + fingerprint);
+
+        try
+        {
+            Preferences profile = Calibration.getProfilePreferences(fingerprint);
+            Preferences legacy = Calibration.getLegacyPreferences();
+            Preferences profiles = Calibration.getProfilesPreferences();
+
+            if(legacy.keys().length > 0)
+            {
+                //Assume that results from before calibration profiles were produced on this computer, unless results
+                //for another fingerprint already exist.
+                if(profile.keys().length == 0 && profiles.childrenNames().length == 1 &&
+                    profiles.node(fingerprint.getCpuId()).childrenNames().length == 1)
+                {
+                    mLog.info("Migrating existing calibration results to the calibration profile for this computer");
+
+                    for(String key: legacy.keys())
+                    {
+                        profile.put(key, legacy.get(key, Implementation.UNCALIBRATED.name()));
+                    }
+                }
+
+                legacy.clear();
+            }
+
+            if(profile.keys().length == 0)
+            {
+                if(profiles.node(fingerprint.getCpuId()).childrenNames().length > 1)
+                {
+                    mLog.info("JVM has changed since this computer was last calibrated - calibrations will be " +
+                        "re-validated using shortened test iterations");
+                    Calibration.setIterationDuration(Calibration.QUICK_ITERATION_DURATION_MS);
+                }
+                else if(profiles.childrenNames().length > 1)
+                {
+                    mLog.info("No calibration profile exists for this CPU/JVM fingerprint - calibration is required");
+                }
+            }
+
+            profile.flush();
+        }
+        catch(BackingStoreException bse)
+        {
+            mLog.error("Error accessing calibration profile preferences", bse);
+        }
+    }
+
+    /**
+     * Exports the calibration results for the current CPU/JVM fingerprint to a properties file that can be imported
+     * on computers with an identical CPU/JVM fingerprint.
+     * @param path for the exported file
+     * @throws IOException if there is an error writing the file
+     */
+    public void exportProfile(Path path) throws IOException
+    {
+        CalibrationFingerprint fingerprint = CalibrationFingerprint.getInstance();
+        Properties properties = new Properties();
+        properties.setProperty(PROFILE_KEY_CPU_ID, fingerprint.getCpuId());
+        properties.setProperty(PROFILE_KEY_JVM_ID, fingerprint.getJvmId());
+        properties.setProperty(PROFILE_KEY_CPU, fingerprint.getCpuDescription());
+        properties.setProperty(PROFILE_KEY_JVM, fingerprint.getJvmDescription());
+
+        for(Calibration calibration: mCalibrationMap.values())
+        {
+            if(calibration.isCalibrated())
+            {
+                properties.setProperty(calibration.getType().getPreferenceKey(),
+                    calibration.getImplementation().name());
+            }
+        }
+
+        try(Writer writer = Files.newBufferedWriter(path))
+        {
+            properties.store(writer, "Vector calibration profile");
+        }
+    }
+
+    /**
+     * Imports calibration results from a profile exported on another computer.
+     * @param path to the exported profile file
+     * @param force to import the profile even if the CPU/JVM fingerprint doesn't match this computer
+     * @return number of calibrations that were applied from the profile
+     * @throws IOException if there is an error reading the file
+     * @throws CalibrationException if the profile fingerprint doesn't match this computer and force is false
+     */
+    public int importProfile(Path path, boolean force) throws IOException, CalibrationException
+    {
+        Properties properties = new Properties();
+
+        try(Reader reader = Files.newBufferedReader(path))
+        {
+            properties.load(reader);
+        }
+
+        CalibrationFingerprint fingerprint = CalibrationFingerprint.getInstance();
+
+        if(!force && (!fingerprint.getCpuId().equals(properties.getProperty(PROFILE_KEY_CPU_ID)) ||
+                      !fingerprint.getJvmId().equals(properties.getProperty(PROFILE_KEY_JVM_ID))))
+        {
+            throw new CalibrationException("Calibration profile fingerprint CPU [" +
+                properties.getProperty(PROFILE_KEY_CPU) + "] JVM [" + properties.getProperty(PROFILE_KEY_JVM) +
+                "] does not match this computer " + fingerprint, null);
+        }
+
+        int applied = 0;
+
+        for(Calibration calibration: mCalibrationMap.values())
+        {
+            String value = properties.getProperty(calibration.getType().getPreferenceKey());
+
+            if(value != null)
+            {
+                try
+                {
+                    calibration.setImplementation(Implementation.valueOf(value));
+                    applied++;
+                }
+                catch(IllegalArgumentException iae)
+                {
+                    mLog.warn("Ignoring unrecognized implementation [" + value + "] for calibration type [" +
+                        calibration.getType() + "] in calibration profile");
+                }
+            }
+        }
+
+        return applied;
+    }
+
     /**
      * Adds the calibration to the map of calibrations for this manager.
       * @param calibration to add
@@ -280,6 +438,31 @@ public class CalibrationManager
     public static void main(String[] args)
     {
         CalibrationManager manager = getInstance();
+
+        //Usage: export <file> | import <file> [force]
+        if(args.length >= 2)
+        {
+            try
+            {
+                if(args[0].equals("export"))
+                {
+                    manager.exportProfile(Path.of(args[1]));
+                    System.out.println("Exported calibration profile to " + args[1]);
+                }
+                else if(args[0].equals("import"))
+                {
+                    int applied = manager.importProfile(Path.of(args[1]), args.length > 2 && args[2].equals("force"));
+                    System.out.println("Imported [" + applied + "] calibrations from " + args[1]);
+                }
+            }
+            catch(Exception e)
+            {
+                e.printStackTrace();
+            }
+
+            return;
+        }
+
 //        manager.reset();
         manager.reset(CalibrationType.DIFFERENTIAL_DEMODULATOR);
 
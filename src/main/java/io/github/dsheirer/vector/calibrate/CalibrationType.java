@@ -36,6 +36,7 @@ public enum CalibrationType
     AIRSPY_UNPACKED_INTERLEAVED_ITERATOR("Airspy Unpacked Interleaved Iterator", 1),
     AIRSPY_UNPACKED_ITERATOR("Airspy Unpacked Iterator", 1),
     AM_DEMODULATOR("AM Demodulator", 1),
+    CHANNELIZER_POLYPHASE_ACCUMULATOR("Polyphase Channelizer Accumulator", 1),
     DC_REMOVAL_REAL("Real DC Removal Filter", 1),
     DMR_SOFT_SYNC_DETECTOR("DMR Soft Sync Detector", 1),
     DIFFERENTIAL_DEMODULATOR("DQPSK Demodulator", 1),
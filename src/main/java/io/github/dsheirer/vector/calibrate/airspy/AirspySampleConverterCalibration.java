@@ -32,7 +32,6 @@ import java.nio.ByteBuffer;
 public class AirspySampleConverterCalibration extends Calibration
 {
     private static final int BUFFER_SIZE = 262144;
-    private static final int ITERATION_DURATION_MS = 1000;
     private static final int WARM_UP_ITERATIONS = 5;
     private static final int TEST_ITERATIONS = 5;
 
@@ -109,7 +108,7 @@ public class AirspySampleConverterCalibration extends Calibration
         long count = 0;
         long accumulator = 0;
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             short[] converted = scalor.convert(buffer);
             accumulator += converted[2];
@@ -126,7 +125,7 @@ public class AirspySampleConverterCalibration extends Calibration
         long accumulator = 0;
         long count = 0;
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             short[] converted = vector.convert(buffer);
             accumulator += converted[2];
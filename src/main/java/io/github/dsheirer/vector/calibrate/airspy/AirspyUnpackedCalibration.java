@@ -38,7 +38,6 @@ import org.apache.commons.math3.stat.descriptive.moment.Mean;
 public class AirspyUnpackedCalibration extends Calibration
 {
     private static final int BUFFER_SIZE = 131072;
-    private static final int ITERATION_DURATION_MS = 1000;
     private static final int WARMUP_ITERATIONS = 5;
     private static final int TEST_ITERATIONS = 5;
 
@@ -211,12 +210,12 @@ public class AirspyUnpackedCalibration extends Calibration
         long accumulator = 0;
         long count = 0;
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             AirspyBufferIteratorScalar iterator = new AirspyBufferIteratorScalar(samples, residualI,
                     residualQ, 0.0f, System.currentTimeMillis(), 0.0f);
 
-            while(iterator.hasNext() && ((System.currentTimeMillis() - start) < ITERATION_DURATION_MS))
+            while(iterator.hasNext() && ((System.currentTimeMillis() - start) < getIterationDuration()))
             {
                 accumulator += iterator.next().i()[2];
                 count++;
@@ -232,12 +231,12 @@ public class AirspyUnpackedCalibration extends Calibration
         long accumulator = 0;
         long count = 0;
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             AirspyBufferIteratorVector64Bits iterator = new AirspyBufferIteratorVector64Bits(samples, residualI,
                     residualQ, 0.0f, System.currentTimeMillis(), 0.0f);
 
-            while(iterator.hasNext() && ((System.currentTimeMillis() - start) < ITERATION_DURATION_MS))
+            while(iterator.hasNext() && ((System.currentTimeMillis() - start) < getIterationDuration()))
             {
                 accumulator += iterator.next().i()[2];
                 count++;
@@ -252,12 +251,12 @@ public class AirspyUnpackedCalibration extends Calibration
         long start = System.currentTimeMillis();
         long accumulator = 0;
         long count = 0;
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             AirspyBufferIteratorVector128Bits iterator = new AirspyBufferIteratorVector128Bits(samples, residualI,
                     residualQ, 0.0f, System.currentTimeMillis(), 0.0f);
 
-            while(iterator.hasNext() && ((System.currentTimeMillis() - start) < ITERATION_DURATION_MS))
+            while(iterator.hasNext() && ((System.currentTimeMillis() - start) < getIterationDuration()))
             {
                 accumulator += iterator.next().i()[2];
                 count++;
@@ -273,13 +272,13 @@ public class AirspyUnpackedCalibration extends Calibration
         long accumulator = 0;
         long count = 0;
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             AirspyBufferIteratorVector256Bits iterator =
                     new AirspyBufferIteratorVector256Bits(samples, residualI, residualQ, 0.0f,
                             System.currentTimeMillis(), 0.0f);
 
-            while(iterator.hasNext() && ((System.currentTimeMillis() - start) < ITERATION_DURATION_MS))
+            while(iterator.hasNext() && ((System.currentTimeMillis() - start) < getIterationDuration()))
             {
                 accumulator += iterator.next().i()[2];
                 count++;
@@ -295,13 +294,13 @@ public class AirspyUnpackedCalibration extends Calibration
         long accumulator = 0;
         long count = 0;
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             AirspyBufferIteratorVector512Bits iterator =
                     new AirspyBufferIteratorVector512Bits(samples, residualI, residualQ, 0.0f,
                             System.currentTimeMillis(), 0.0f);
 
-            while(iterator.hasNext() && ((System.currentTimeMillis() - start) < ITERATION_DURATION_MS))
+            while(iterator.hasNext() && ((System.currentTimeMillis() - start) < getIterationDuration()))
             {
                 accumulator += iterator.next().i()[2];
                 count++;
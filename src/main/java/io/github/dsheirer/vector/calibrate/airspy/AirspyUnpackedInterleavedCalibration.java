@@ -38,7 +38,6 @@ import org.apache.commons.math3.stat.descriptive.moment.Mean;
 public class AirspyUnpackedInterleavedCalibration extends Calibration
 {
     private static final int BUFFER_SIZE = 131072;
-    private static final int ITERATION_DURATION_MS = 1000;
     private static final int WARMUP_ITERATIONS = 5;
     private static final int TEST_ITERATIONS = 5;
 
@@ -222,12 +221,12 @@ public class AirspyUnpackedInterleavedCalibration extends Calibration
         long start = System.currentTimeMillis();
         long accumulator = 0;
         long count = 0;
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             AirspyInterleavedBufferIteratorScalar iterator = new AirspyInterleavedBufferIteratorScalar(samples, residualI,
                     residualQ, 0.0f, System.currentTimeMillis(), 0.0f);
 
-            while(iterator.hasNext() && ((System.currentTimeMillis() - start) < ITERATION_DURATION_MS))
+            while(iterator.hasNext() && ((System.currentTimeMillis() - start) < getIterationDuration()))
             {
                 accumulator += iterator.next().samples()[2];
                 count++;
@@ -243,12 +242,12 @@ public class AirspyUnpackedInterleavedCalibration extends Calibration
         long accumulator = 0;
         long count = 0;
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             AirspyInterleavedBufferIteratorVector64Bits iterator = new AirspyInterleavedBufferIteratorVector64Bits(samples, residualI,
                     residualQ, 0.0f, System.currentTimeMillis(), 0.0f);
 
-            while(iterator.hasNext() && ((System.currentTimeMillis() - start) < ITERATION_DURATION_MS))
+            while(iterator.hasNext() && ((System.currentTimeMillis() - start) < getIterationDuration()))
             {
                 accumulator += iterator.next().samples()[2];
                 count++;
@@ -269,7 +268,7 @@ public class AirspyUnpackedInterleavedCalibration extends Calibration
             AirspyInterleavedBufferIteratorVector128Bits iterator = new AirspyInterleavedBufferIteratorVector128Bits(samples, residualI,
                     residualQ, 0.0f, System.currentTimeMillis(), 0.0f);
 
-            while(iterator.hasNext() && ((System.currentTimeMillis() - start) < ITERATION_DURATION_MS))
+            while(iterator.hasNext() && ((System.currentTimeMillis() - start) < getIterationDuration()))
             {
                 accumulator += iterator.next().samples()[2];
                 count++;
@@ -285,12 +284,12 @@ public class AirspyUnpackedInterleavedCalibration extends Calibration
         long accumulator = 0;
         long count = 0;
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             AirspyInterleavedBufferIteratorVector256Bits iterator =
                     new AirspyInterleavedBufferIteratorVector256Bits(samples, residualI, residualQ, 0.0f, System.currentTimeMillis(), 0.0f);
 
-            while(iterator.hasNext() && ((System.currentTimeMillis() - start) < ITERATION_DURATION_MS))
+            while(iterator.hasNext() && ((System.currentTimeMillis() - start) < getIterationDuration()))
             {
                 accumulator += iterator.next().samples()[2];
                 count++;
@@ -306,13 +305,13 @@ public class AirspyUnpackedInterleavedCalibration extends Calibration
         long accumulator = 0;
         long count = 0;
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             AirspyInterleavedBufferIteratorVector512Bits iterator =
                     new AirspyInterleavedBufferIteratorVector512Bits(samples, residualI, residualQ, 0.0f,
                             System.currentTimeMillis(), 0.0f);
 
-            while(iterator.hasNext() && ((System.currentTimeMillis() - start) < ITERATION_DURATION_MS))
+            while(iterator.hasNext() && ((System.currentTimeMillis() - start) < getIterationDuration()))
             {
                 accumulator += iterator.next().samples()[2];
                 count++;
@@ -37,7 +37,6 @@ import org.apache.commons.math3.stat.descriptive.moment.Mean;
 public class DifferentialDemodulatorCalibration extends Calibration
 {
     private static final int BUFFER_SIZE = 2048;
-    private static final int ITERATION_DURATION_MS = 1000;
     private static final int WARMUP_ITERATIONS = 5;
     private static final int TEST_ITERATIONS = 5;
     private DifferentialDemodulator mScalarDemodulator = new DifferentialDemodulatorScalar(50000.0, 4800);
@@ -197,7 +196,7 @@ public class DifferentialDemodulatorCalibration extends Calibration
         float accumulator = 0;
         long start = System.currentTimeMillis();
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             float[] demodulated = mScalarDemodulator.demodulate(i, q);
             accumulator += demodulated[1];
@@ -213,7 +212,7 @@ public class DifferentialDemodulatorCalibration extends Calibration
         float accumulator = 0;
         long start = System.currentTimeMillis();
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             float[] demodulated = mVectorDemodulator64.demodulate(i, q);
             accumulator += demodulated[1];
@@ -229,7 +228,7 @@ public class DifferentialDemodulatorCalibration extends Calibration
         float accumulator = 0;
         long start = System.currentTimeMillis();
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             float[] demodulated = mVectorDemodulator128.demodulate(i, q);
             accumulator += demodulated[1];
@@ -245,7 +244,7 @@ public class DifferentialDemodulatorCalibration extends Calibration
         float accumulator = 0;
         long start = System.currentTimeMillis();
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             float[] demodulated = mVectorDemodulator256.demodulate(i, q);
             accumulator += demodulated[1];
@@ -261,7 +260,7 @@ public class DifferentialDemodulatorCalibration extends Calibration
         float accumulator = 0;
         long start = System.currentTimeMillis();
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             float[] demodulated = mVectorDemodulator512.demodulate(i, q);
             accumulator += demodulated[1];
@@ -44,7 +44,6 @@ public class FirFilterCalibration extends Calibration
 {
     private static final VectorSpecies<Float> VECTOR_SPECIES = FloatVector.SPECIES_PREFERRED;
     private static final int BUFFER_SIZE = 2048;
-    private static final int ITERATION_DURATION_MS = 1000;
     private static final int WARMUP_ITERATIONS = 5;
     private static final int TEST_ITERATIONS = 5;
 
@@ -281,7 +280,7 @@ public class FirFilterCalibration extends Calibration
 
         long start = System.currentTimeMillis();
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             float[] filtered = mScalar.filter(samples);
             accumulator += filtered[0];
@@ -298,7 +297,7 @@ public class FirFilterCalibration extends Calibration
         long start = System.currentTimeMillis();
         long count = 0;
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             float[] filtered = mVector64.filter(samples);
             accumulator += filtered[0];
@@ -315,7 +314,7 @@ public class FirFilterCalibration extends Calibration
 
         long start = System.currentTimeMillis();
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             float[] filtered = mVector128.filter(samples);
             accumulator += filtered[0];
@@ -332,7 +331,7 @@ public class FirFilterCalibration extends Calibration
 
         long start = System.currentTimeMillis();
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             float[] filtered = mVector256.filter(samples);
             accumulator += filtered[0];
@@ -349,7 +348,7 @@ public class FirFilterCalibration extends Calibration
 
         long start = System.currentTimeMillis();
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             float[] filtered = mVector512.filter(samples);
             accumulator += filtered[0];
@@ -366,7 +365,7 @@ public class FirFilterCalibration extends Calibration
 
         long start = System.currentTimeMillis();
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             float[] filtered = mVectorPreferred.filter(samples);
             accumulator += filtered[0];
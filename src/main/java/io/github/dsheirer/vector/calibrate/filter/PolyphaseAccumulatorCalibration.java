@@ -0,0 +1,271 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.vector.calibrate.filter;
+
+import io.github.dsheirer.dsp.filter.channelizer.IPolyphaseAccumulator;
+import io.github.dsheirer.dsp.filter.channelizer.ScalarPolyphaseAccumulator;
+import io.github.dsheirer.dsp.filter.channelizer.VectorPolyphaseAccumulator128;
+import io.github.dsheirer.dsp.filter.channelizer.VectorPolyphaseAccumulator256;
+import io.github.dsheirer.dsp.filter.channelizer.VectorPolyphaseAccumulator512;
+import io.github.dsheirer.dsp.filter.channelizer.VectorPolyphaseAccumulator64;
+import io.github.dsheirer.vector.calibrate.Calibration;
+import io.github.dsheirer.vector.calibrate.CalibrationException;
+import io.github.dsheirer.vector.calibrate.CalibrationType;
+import io.github.dsheirer.vector.calibrate.Implementation;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorSpecies;
+import org.apache.commons.math3.stat.descriptive.moment.Mean;
+
+/**
+ * Calibrates the polyphase channelizer multiply-accumulate filter stage options
+ */
+public class PolyphaseAccumulatorCalibration extends Calibration
+{
+    private static final VectorSpecies<Float> VECTOR_SPECIES = FloatVector.SPECIES_PREFERRED;
+    //Sized for a 10 MHz tuner sample rate (400 channels) and 9 taps per channel
+    private static final int SUB_CHANNEL_COUNT = 800;
+    private static final int TAPS_PER_CHANNEL = 9;
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int TEST_ITERATIONS = 5;
+    private final IPolyphaseAccumulator mScalar = new ScalarPolyphaseAccumulator();
+    private final IPolyphaseAccumulator mVector64 = new VectorPolyphaseAccumulator64();
+    private final IPolyphaseAccumulator mVector128 = new VectorPolyphaseAccumulator128();
+    private final IPolyphaseAccumulator mVector256 = new VectorPolyphaseAccumulator256();
+    private final IPolyphaseAccumulator mVector512 = new VectorPolyphaseAccumulator512();
+
+    /**
+     * Constructs an instance
+     */
+    public PolyphaseAccumulatorCalibration()
+    {
+        super(CalibrationType.CHANNELIZER_POLYPHASE_ACCUMULATOR);
+    }
+
+    @Override public void calibrate() throws CalibrationException
+    {
+        float[] samples = getFloatSamples(SUB_CHANNEL_COUNT * TAPS_PER_CHANNEL * 2);
+        float[] filter = getFloatSamples(SUB_CHANNEL_COUNT * TAPS_PER_CHANNEL);
+
+        Mean scalarMean = new Mean();
+
+        for(int x = 0; x < WARMUP_ITERATIONS; x++)
+        {
+            long score = test(mScalar, samples, filter);
+            scalarMean.increment(score);
+        }
+
+        mLog.info("POLYPHASE ACCUMULATOR WARMUP - SCALAR: " + DECIMAL_FORMAT.format(scalarMean.getResult()));
+
+        Mean vectorMean64 = new Mean();
+
+        if(VECTOR_SPECIES.length() >= 2)
+        {
+            for(int x = 0; x < WARMUP_ITERATIONS; x++)
+            {
+                long score = test(mVector64, samples, filter);
+                vectorMean64.increment(score);
+            }
+
+            mLog.info("POLYPHASE ACCUMULATOR WARMUP - VECTOR 64: " + DECIMAL_FORMAT.format(vectorMean64.getResult()));
+        }
+
+        Mean vectorMean128 = new Mean();
+
+        if(VECTOR_SPECIES.length() >= 4)
+        {
+            for(int x = 0; x < WARMUP_ITERATIONS; x++)
+            {
+                long score = test(mVector128, samples, filter);
+                vectorMean128.increment(score);
+            }
+
+            mLog.info("POLYPHASE ACCUMULATOR WARMUP - VECTOR 128: " + DECIMAL_FORMAT.format(vectorMean128.getResult()));
+        }
+
+        Mean vectorMean256 = new Mean();
+
+        if(VECTOR_SPECIES.length() >= 8)
+        {
+            for(int x = 0; x < WARMUP_ITERATIONS; x++)
+            {
+                long score = test(mVector256, samples, filter);
+                vectorMean256.increment(score);
+            }
+
+            mLog.info("POLYPHASE ACCUMULATOR WARMUP - VECTOR 256: " + DECIMAL_FORMAT.format(vectorMean256.getResult()));
+        }
+
+        Mean vectorMean512 = new Mean();
+
+        if(VECTOR_SPECIES.length() >= 16)
+        {
+            for(int x = 0; x < WARMUP_ITERATIONS; x++)
+            {
+                long score = test(mVector512, samples, filter);
+                vectorMean512.increment(score);
+            }
+
+            mLog.info("POLYPHASE ACCUMULATOR WARMUP - VECTOR 512: " + DECIMAL_FORMAT.format(vectorMean512.getResult()));
+        }
+
+        //Start tests
+        scalarMean.clear();
+
+        for(int x = 0; x < TEST_ITERATIONS; x++)
+        {
+            long score = test(mScalar, samples, filter);
+            scalarMean.increment(score);
+        }
+
+        mLog.info("POLYPHASE ACCUMULATOR - SCALAR: " + DECIMAL_FORMAT.format(scalarMean.getResult()));
+
+        Implementation best = Implementation.SCALAR;
+        double bestScore = scalarMean.getResult();
+
+        if(VECTOR_SPECIES.length() >= 2)
+        {
+            vectorMean64.clear();
+
+            for(int x = 0; x < TEST_ITERATIONS; x++)
+            {
+                long score = test(mVector64, samples, filter);
+                vectorMean64.increment(score);
+            }
+
+            mLog.info("POLYPHASE ACCUMULATOR - VECTOR 64: " + DECIMAL_FORMAT.format(vectorMean64.getResult()));
+
+            if(vectorMean64.getResult() > bestScore)
+            {
+                bestScore = vectorMean64.getResult();
+                best = Implementation.VECTOR_SIMD_64;
+            }
+        }
+
+        if(VECTOR_SPECIES.length() >= 4)
+        {
+            vectorMean128.clear();
+
+            for(int x = 0; x < TEST_ITERATIONS; x++)
+            {
+                long score = test(mVector128, samples, filter);
+                vectorMean128.increment(score);
+            }
+
+            mLog.info("POLYPHASE ACCUMULATOR - VECTOR 128: " + DECIMAL_FORMAT.format(vectorMean128.getResult()));
+
+            if(vectorMean128.getResult() > bestScore)
+            {
+                bestScore = vectorMean128.getResult();
+                best = Implementation.VECTOR_SIMD_128;
+            }
+        }
+
+        if(VECTOR_SPECIES.length() >= 8)
+        {
+            vectorMean256.clear();
+
+            for(int x = 0; x < TEST_ITERATIONS; x++)
+            {
+                long score = test(mVector256, samples, filter);
+                vectorMean256.increment(score);
+            }
+
+            mLog.info("POLYPHASE ACCUMULATOR - VECTOR 256: " + DECIMAL_FORMAT.format(vectorMean256.getResult()));
+
+            if(vectorMean256.getResult() > bestScore)
+            {
+                bestScore = vectorMean256.getResult();
+                best = Implementation.VECTOR_SIMD_256;
+            }
+        }
+
+        if(VECTOR_SPECIES.length() >= 16)
+        {
+            vectorMean512.clear();
+
+            for(int x = 0; x < TEST_ITERATIONS; x++)
+            {
+                long score = test(mVector512, samples, filter);
+                vectorMean512.increment(score);
+            }
+
+            mLog.info("POLYPHASE ACCUMULATOR - VECTOR 512: " + DECIMAL_FORMAT.format(vectorMean512.getResult()));
+
+            if(vectorMean512.getResult() > bestScore)
+            {
+                bestScore = vectorMean512.getResult();
+                best = Implementation.VECTOR_SIMD_512;
+            }
+        }
+
+        setImplementation(best);
+
+        mLog.info("POLYPHASE ACCUMULATOR - SET OPTIMAL IMPLEMENTATION TO:" + getImplementation());
+    }
+
+    /**
+     * Runs the accumulator for the iteration duration, sliding the sample window one block per iteration to mimic
+     * the channelizer's use of the sample history buffer.
+     * @param accumulator to test
+     * @param samples buffer
+     * @param filter coefficients
+     * @return number of iterations completed
+     */
+    private long test(IPolyphaseAccumulator accumulator, float[] samples, float[] filter)
+    {
+        float[] accumulated = new float[SUB_CHANNEL_COUNT];
+        int blockSize = SUB_CHANNEL_COUNT / 2;
+        int maxOffset = samples.length - filter.length;
+        int offset = 0;
+        double sum = 0.0;
+        long count = 0;
+
+        long start = System.currentTimeMillis();
+
+        while((System.currentTimeMillis() - start) < getIterationDuration())
+        {
+            accumulator.accumulate(samples, offset, filter, accumulated, SUB_CHANNEL_COUNT);
+            sum += accumulated[1];
+            offset += blockSize;
+
+            if(offset > maxOffset)
+            {
+                offset = 0;
+            }
+
+            count++;
+        }
+
+        return count + (long)(sum * 0);
+    }
+
+    public static void main(String[] args)
+    {
+        PolyphaseAccumulatorCalibration calibration = new PolyphaseAccumulatorCalibration();
+
+        try
+        {
+            calibration.calibrate();
+        }
+        catch(Exception e)
+        {
+            mLog.error("Error during calibration", e);
+        }
+    }
+}
@@ -35,7 +35,6 @@ public class RealDcRemovalCalibration extends Calibration
 {
     private static final float GAIN = 0.15f;
     private static final int BUFFER_SIZE = 8192;
-    private static final int ITERATION_DURATION_MS = 1000;
     private static final int TEST_ITERATIONS = 5;
     private static final int WARMUP_ITERATIONS = 5;
 
@@ -115,7 +114,7 @@ public class RealDcRemovalCalibration extends Calibration
 
         long start = System.currentTimeMillis();
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             float[] filtered = mScalar.filter(samples);
             accumulator += filtered[0];
@@ -132,7 +131,7 @@ public class RealDcRemovalCalibration extends Calibration
 
         long start = System.currentTimeMillis();
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             float[] filtered = mVector.filter(samples);
             accumulator += filtered[0];
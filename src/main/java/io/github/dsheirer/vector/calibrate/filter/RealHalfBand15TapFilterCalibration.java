@@ -42,7 +42,6 @@ public class RealHalfBand15TapFilterCalibration extends Calibration
 {
     private static final VectorSpecies<Float> VECTOR_SPECIES = FloatVector.SPECIES_PREFERRED;
     private static final int BUFFER_SIZE = 2048;
-    private static final int ITERATION_DURATION_MS = 1_000;
     private static final int WARMUP_ITERATIONS = 5;
     private static final int TEST_ITERATIONS = 5;
 
@@ -235,7 +234,7 @@ public class RealHalfBand15TapFilterCalibration extends Calibration
 
         long start = System.currentTimeMillis();
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             float[] filtered = mScalar.decimateReal(samples);
             accumulator += filtered[0];
@@ -252,7 +251,7 @@ public class RealHalfBand15TapFilterCalibration extends Calibration
 
         long start = System.currentTimeMillis();
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             float[] filtered = mVector512.decimateReal(samples);
             accumulator += filtered[0];
@@ -269,7 +268,7 @@ public class RealHalfBand15TapFilterCalibration extends Calibration
 
         long start = System.currentTimeMillis();
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             float[] filtered = mVector256.decimateReal(samples);
             accumulator += filtered[0];
@@ -286,7 +285,7 @@ public class RealHalfBand15TapFilterCalibration extends Calibration
 
         long start = System.currentTimeMillis();
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             float[] filtered = mVector128.decimateReal(samples);
             accumulator += filtered[0];
@@ -303,7 +302,7 @@ public class RealHalfBand15TapFilterCalibration extends Calibration
 
         long start = System.currentTimeMillis();
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             float[] filtered = mVector64.decimateReal(samples);
             accumulator += filtered[0];
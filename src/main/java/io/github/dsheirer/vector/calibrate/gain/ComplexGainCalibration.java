@@ -35,7 +35,6 @@ import org.apache.commons.math3.stat.descriptive.moment.Mean;
 public class ComplexGainCalibration extends Calibration
 {
     private static final int BUFFER_SIZE = 2048;
-    private static final int ITERATION_DURATION_MS = 1000;
     private static final int WARMUP_ITERATIONS = 5;
     private static final int TEST_ITERATIONS = 5;
     private static final float GAIN = 0.99f;
@@ -119,7 +118,7 @@ public class ComplexGainCalibration extends Calibration
 
         long start = System.currentTimeMillis();
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             ComplexSamples amplified = scalar.apply(i, q, start);
             accumulator += amplified.i()[2];
@@ -138,7 +137,7 @@ public class ComplexGainCalibration extends Calibration
 
         long start = System.currentTimeMillis();
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             ComplexSamples amplified = scalar.apply(i, q, start);
             accumulator += amplified.i()[2];
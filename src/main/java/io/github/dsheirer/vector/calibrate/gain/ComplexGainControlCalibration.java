@@ -35,7 +35,6 @@ import org.apache.commons.math3.stat.descriptive.moment.Mean;
 public class ComplexGainControlCalibration extends Calibration
 {
     private static final int BUFFER_SIZE = 2048;
-    private static final int ITERATION_DURATION_MS = 1000;
     private static final int WARMUP_ITERATIONS = 5;
     private static final int TEST_ITERATIONS = 5;
 
@@ -114,7 +113,7 @@ public class ComplexGainControlCalibration extends Calibration
 
         long start = System.currentTimeMillis();
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             ComplexSamples amplified = mScalarGainControl.process(i, q, 0l);
             accumulator += amplified.i()[2];
@@ -131,7 +130,7 @@ public class ComplexGainControlCalibration extends Calibration
 
         long start = System.currentTimeMillis();
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             ComplexSamples amplified = mVectorGainControl.process(i, q, 0l);
             accumulator += amplified.i()[2];
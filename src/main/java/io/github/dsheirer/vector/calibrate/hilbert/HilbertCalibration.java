@@ -39,7 +39,6 @@ public class HilbertCalibration extends Calibration
 {
     private static final VectorSpecies<Float> VECTOR_SPECIES = FloatVector.SPECIES_PREFERRED;
     private static final int BUFFER_SIZE = 2048;
-    private static final int ITERATION_DURATION_MS = 1000;
     private static final int WARMUP_ITERATIONS = 5;
     private static final int TEST_ITERATIONS = 5;
 
@@ -253,7 +252,7 @@ public class HilbertCalibration extends Calibration
 
         long start = System.currentTimeMillis();
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             ComplexSamples complex = mScalar.filter(samples, start);
             accumulator += complex.i()[0];
@@ -270,7 +269,7 @@ public class HilbertCalibration extends Calibration
 
         long start = System.currentTimeMillis();
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             ComplexSamples complex = mVectorPreferred.filter(samples, start);
             accumulator += complex.i()[0];
@@ -287,7 +286,7 @@ public class HilbertCalibration extends Calibration
 
         long start = System.currentTimeMillis();
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             ComplexSamples complex = mVector512.filter(samples, start);
             accumulator += complex.i()[0];
@@ -304,7 +303,7 @@ public class HilbertCalibration extends Calibration
 
         long start = System.currentTimeMillis();
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             ComplexSamples complex = mVector256.filter(samples, start);
             accumulator += complex.i()[0];
@@ -321,7 +320,7 @@ public class HilbertCalibration extends Calibration
 
         long start = System.currentTimeMillis();
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             ComplexSamples complex = mVector128.filter(samples, start);
             accumulator += complex.i()[0];
@@ -338,7 +337,7 @@ public class HilbertCalibration extends Calibration
 
         long start = System.currentTimeMillis();
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             ComplexSamples complex = mVector64.filter(samples, start);
             accumulator += complex.i()[0];
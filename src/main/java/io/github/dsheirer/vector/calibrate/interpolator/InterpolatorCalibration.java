@@ -39,7 +39,6 @@ public class InterpolatorCalibration extends Calibration
 {
     private static final VectorSpecies<Float> VECTOR_SPECIES = FloatVector.SPECIES_PREFERRED;
     private static final int BUFFER_SIZE = 8;
-    private static final int ITERATION_DURATION_MS = 1000;
     private static final int WARMUP_ITERATIONS = 5;
     private static final int TEST_ITERATIONS = 5;
 
@@ -194,7 +193,7 @@ public class InterpolatorCalibration extends Calibration
 
         long start = System.currentTimeMillis();
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             for(int x = 0; x < interpolationPoints.length; x++)
             {
@@ -214,7 +213,7 @@ public class InterpolatorCalibration extends Calibration
         long start = System.currentTimeMillis();
         long count = 0;
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             for(int x = 0; x < interpolationPoints.length; x++)
             {
@@ -234,7 +233,7 @@ public class InterpolatorCalibration extends Calibration
 
         long start = System.currentTimeMillis();
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             for(int x = 0; x < interpolationPoints.length; x++)
             {
@@ -254,7 +253,7 @@ public class InterpolatorCalibration extends Calibration
 
         long start = System.currentTimeMillis();
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             for(int x = 0; x < interpolationPoints.length; x++)
             {
@@ -37,7 +37,6 @@ import org.apache.commons.math3.stat.descriptive.moment.Mean;
 public class MagnitudeCalibration extends Calibration
 {
     private static final int BUFFER_SIZE = 2048;
-    private static final int ITERATION_DURATION_MS = 1000;
     private static final int WARMUP_ITERATIONS = 5;
     private static final int TEST_ITERATIONS = 5;
     private final IMagnitudeCalculator mScalarMagnitude = new ScalarMagnitudeCalculator();
@@ -198,7 +197,7 @@ public class MagnitudeCalibration extends Calibration
 
         long start = System.currentTimeMillis();
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             float[] demodulated = mScalarMagnitude.calculate(i, q);
             accumulator += demodulated[1];
@@ -214,7 +213,7 @@ public class MagnitudeCalibration extends Calibration
         long count = 0;
         long start = System.currentTimeMillis();
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             float[] demodulated = mVectorMagnitude64.calculate(i, q);
             accumulator += demodulated[1];
@@ -230,7 +229,7 @@ public class MagnitudeCalibration extends Calibration
         long count = 0;
         long start = System.currentTimeMillis();
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             float[] demodulated = mVectorMagnitude128.calculate(i, q);
             accumulator += demodulated[1];
@@ -246,7 +245,7 @@ public class MagnitudeCalibration extends Calibration
         long count = 0;
         long start = System.currentTimeMillis();
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             float[] demodulated = mVectorMagnitude256.calculate(i, q);
             accumulator += demodulated[1];
@@ -262,7 +261,7 @@ public class MagnitudeCalibration extends Calibration
         long count = 0;
         long start = System.currentTimeMillis();
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             float[] demodulated = mVectorMagnitude512.calculate(i, q);
             accumulator += demodulated[1];
@@ -36,7 +36,6 @@ public class ComplexMixerCalibration extends Calibration
     private static final double FREQUENCY = 2.0;
     private static final double SAMPLE_RATE = 10.0;
     private static final int SAMPLE_SIZE = 2048;
-    private static final int ITERATION_DURATION_MS = 1000;
     private static final int WARMUP_ITERATIONS = 5;
     private static final int TEST_ITERATIONS = 5;
     private ScalarComplexMixer mScalarComplexMixer = new ScalarComplexMixer(FREQUENCY, SAMPLE_RATE);
@@ -113,7 +112,7 @@ public class ComplexMixerCalibration extends Calibration
         double accumulator = 0.0;
         long count = 0;
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             ComplexSamples mixed = mScalarComplexMixer.mix(i, q, start);
             accumulator += mixed.i()[2];
@@ -129,7 +128,7 @@ public class ComplexMixerCalibration extends Calibration
         double accumulator = 0.0;
         long count = 0;
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             ComplexSamples mixed = mVectorComplexMixer.mix(i, q, start);
             accumulator += mixed.i()[2];
@@ -36,7 +36,6 @@ public class ComplexOscillatorCalibration extends Calibration
     private static final double FREQUENCY = 5.0d;
     private static final double SAMPLE_RATE = 100.0d;
     private static final int BUFFER_SIZE = 2048;
-    private static final int ITERATION_DURATION_MS = 1000;
     private static final int WARMUP_ITERATIONS = 5;
     private static final int TEST_ITERATIONS = 5;
 
@@ -121,7 +120,7 @@ public class ComplexOscillatorCalibration extends Calibration
 
         long start = System.currentTimeMillis();
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             float[] generated = mScalarOscillator.generate(BUFFER_SIZE);
             accumulator += generated[0];
@@ -142,7 +141,7 @@ public class ComplexOscillatorCalibration extends Calibration
 
         long start = System.currentTimeMillis();
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             float[] generated = mVectorOscillator.generate(BUFFER_SIZE);
             accumulator += generated[0];
@@ -37,7 +37,6 @@ import org.apache.commons.math3.stat.descriptive.moment.Mean;
 public class DMRSoftSyncCalibration extends Calibration
 {
     private static final int BUFFER_SIZE = 2048;
-    private static final int ITERATION_DURATION_MS = 1000;
     private static final int WARMUP_ITERATIONS = 5;
     private static final int TEST_ITERATIONS = 5;
     private final DMRSoftSyncDetector mScalarDetector = new DMRSoftSyncDetectorScalar();
@@ -196,7 +195,7 @@ public class DMRSoftSyncCalibration extends Calibration
 
         long start = System.currentTimeMillis();
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             for(float sample : samples)
             {
@@ -213,7 +212,7 @@ public class DMRSoftSyncCalibration extends Calibration
         long count = 0;
         long start = System.currentTimeMillis();
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             for(float sample : samples)
             {
@@ -230,7 +229,7 @@ public class DMRSoftSyncCalibration extends Calibration
         long count = 0;
         long start = System.currentTimeMillis();
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             for(float sample : samples)
             {
@@ -247,7 +246,7 @@ public class DMRSoftSyncCalibration extends Calibration
         long count = 0;
         long start = System.currentTimeMillis();
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             for(float sample : samples)
             {
@@ -264,7 +263,7 @@ public class DMRSoftSyncCalibration extends Calibration
         long count = 0;
         long start = System.currentTimeMillis();
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             for(float sample : samples)
             {
@@ -35,7 +35,6 @@ import org.apache.commons.math3.stat.descriptive.moment.Mean;
 public class WindowCalibration extends Calibration
 {
     private static final int WINDOW_SIZE = 8192;
-    private static final int ITERATION_DURATION_MS = 1000;
     private static final int WARMUP_ITERATIONS = 5;
     private static final int TEST_ITERATIONS = 5;
     private Window mScalarWindow;
@@ -117,7 +116,7 @@ public class WindowCalibration extends Calibration
         double accumulator = 0.0d;
         long count = 0;
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             mScalarWindow.apply(samples);
             accumulator += samples[3];
@@ -132,7 +131,7 @@ public class WindowCalibration extends Calibration
         double accumulator = 0.0d;
         long count = 0;
 
-        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        while((System.currentTimeMillis() - start) < getIterationDuration())
         {
             mVectorWindow.apply(samples);
             accumulator += samples[3];
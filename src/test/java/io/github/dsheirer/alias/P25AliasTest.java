@@ -260,4 +260,32 @@ public class P25AliasTest
         List<Alias> aliases = aliasList.getAliases(p25FQTG1);
         assertEquals(0, aliases.size(), "Expected 0 matching aliases");
     }
+
+    /**
+     * Tests talkgroup range lookup across multiple ranges, including the range index being updated when an alias is
+     * removed after the lookup result has been cached.
+     */
+    @Test
+    void aliasP25TalkgroupRanges()
+    {
+        AliasList aliasList = new AliasList("Test Alias List");
+
+        Alias aliasRangeLow = new Alias();
+        aliasRangeLow.setName("Alias Range Low");
+        aliasRangeLow.addAliasID(new TalkgroupRange(Protocol.APCO25, 100, 199));
+        aliasList.addAlias(aliasRangeLow);
+
+        Alias aliasRangeHigh = new Alias();
+        aliasRangeHigh.setName("Alias Range High");
+        aliasRangeHigh.addAliasID(new TalkgroupRange(Protocol.APCO25, 300, 399));
+        aliasList.addAlias(aliasRangeHigh);
+
+        assertEquals("Alias Range Low", aliasList.getAliases(APCO25Talkgroup.create(100)).getFirst().getName());
+        assertEquals("Alias Range Low", aliasList.getAliases(APCO25Talkgroup.create(199)).getFirst().getName());
+        assertEquals(0, aliasList.getAliases(APCO25Talkgroup.create(200)).size(), "Expected 0 matching aliases");
+        assertEquals("Alias Range High", aliasList.getAliases(APCO25Talkgroup.create(350)).getFirst().getName());
+
+        aliasList.removeAlias(aliasRangeHigh);
+        assertEquals(0, aliasList.getAliases(APCO25Talkgroup.create(350)).size(), "Expected 0 matching aliases");
+    }
 }
@@ -20,6 +20,7 @@
 package io.github.dsheirer.audio;
 
 import io.github.dsheirer.alias.AliasList;
+import io.github.dsheirer.identifier.IdentifierUpdateNotification;
 import io.github.dsheirer.identifier.configuration.SiteConfigurationIdentifier;
 import io.github.dsheirer.identifier.configuration.SystemConfigurationIdentifier;
 import io.github.dsheirer.identifier.encryption.EncryptionKeyIdentifier;
@@ -214,4 +215,40 @@ public class DuplicateCallDetectionTest
         assertFalse(audioSegment1.isDuplicate(), "Audio segment should not be flagged as duplicate.");
         assertFalse(audioSegment2.isDuplicate(), "Audio segment should not be flagged as duplicate.");
     }
+
+    /**
+     * Test: two calls to the same talkgroup are received before either has audio, and the second call only learns
+     * its talkgroup through a later identifier update notification.
+     *
+     * Success Criteria: the second call is flagged as duplicate as soon as the first call starts receiving audio,
+     * without waiting on a polling interval.
+     */
+    @Test
+    void duplicateDetectedOnIdentifierUpdateAndAudioStart()
+    {
+        AliasList aliasList = new AliasList("test");
+
+        AudioSegment audioSegment1 = new AudioSegment(aliasList, 1);
+        audioSegment1.addIdentifier(SystemConfigurationIdentifier.create("Test System"));
+        audioSegment1.addIdentifier(APCO25Talkgroup.create(1));
+        audioSegment1.incrementConsumerCount();
+
+        AudioSegment audioSegment2 = new AudioSegment(aliasList, 1);
+        audioSegment2.addIdentifier(SystemConfigurationIdentifier.create("Test System"));
+        audioSegment2.incrementConsumerCount();
+
+        ICallManagementProvider provider = new TestCallManagementProvider(true, false);
+        DuplicateCallDetector duplicateCallDetector = new DuplicateCallDetector(provider);
+
+        duplicateCallDetector.receive(audioSegment1);
+        duplicateCallDetector.receive(audioSegment2);
+
+        audioSegment2.receive(new IdentifierUpdateNotification(APCO25Talkgroup.create(1),
+            IdentifierUpdateNotification.Operation.ADD, 1));
+        assertFalse(audioSegment2.isDuplicate(), "Neither call has audio yet");
+
+        audioSegment1.addAudio(new float[2]);
+        assertTrue(audioSegment2.isDuplicate(), "Later call should be flagged when the earlier call has audio");
+        assertFalse(audioSegment1.isDuplicate(), "Earlier call should not be flagged as duplicate");
+    }
 }
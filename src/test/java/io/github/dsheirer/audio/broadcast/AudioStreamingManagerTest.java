@@ -40,9 +40,11 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -126,6 +128,51 @@ public class AudioStreamingManagerTest
                 latch.getCount() + "/" + expectedRecordingsCount + "] streaming recordings");
     }
 
+    /**
+     * Verifies that streamed audio is still available after the streaming manager releases the audio segment when no
+     * other consumer (e.g. the recorder) holds the segment open, since the broadcaster may read the audio later.
+     */
+    @Test
+    public void testStreamingWithRecordingDisabled() throws Exception
+    {
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicReference<AudioRecording> recordingReference = new AtomicReference<>();
+        Listener<AudioRecording> listener = audioRecording -> {
+            recordingReference.set(audioRecording);
+            latch.countDown();
+        };
+
+        UserPreferences userPreferences = new UserPreferences();
+        userPreferences.getCallManagementPreference().setPatchGroupStreamingOption(PatchGroupStreamingOption.PATCH_GROUP);
+        AudioStreamingManager manager = new AudioStreamingManager(listener, BroadcastFormat.MP3, userPreferences);
+        manager.start();
+
+        //The streaming manager is the only consumer of the audio segment
+        AudioSegment audioSegment = getAudioSegment();
+        audioSegment.incrementConsumerCount();
+        manager.receive(audioSegment);
+
+        boolean success = latch.await(5, TimeUnit.SECONDS);
+
+        //Wait for the streaming manager to release the audio segment, which clears the segment's audio buffers
+        long timeout = System.currentTimeMillis() + 5000;
+        while(audioSegment.getAudioBufferCount() > 0 && System.currentTimeMillis() < timeout)
+        {
+            Thread.sleep(10);
+        }
+
+        manager.stop();
+        cleanupStreamingDirectory(userPreferences.getDirectoryPreference().getDirectoryStreaming());
+
+        assertTrue(success, "Streaming manager failed to produce a streaming recording");
+        assertEquals(0, audioSegment.getAudioBufferCount(), "Audio segment was not released by the streaming manager");
+
+        AudioRecording audioRecording = recordingReference.get();
+        assertTrue(audioRecording.getAudioBytes().length > 0, "Streaming recording has no audio after the " +
+                "audio segment was released");
+        audioRecording.dispose();
+    }
+
     /**
      * Cleanup any generated streaming recordings.
      * @param streamingDirectory
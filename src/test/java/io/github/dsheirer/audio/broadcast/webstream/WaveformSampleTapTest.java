@@ -0,0 +1,73 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.audio.broadcast.webstream;
+
+import io.github.dsheirer.buffer.ByteNativeBuffer;
+import io.github.dsheirer.buffer.INativeBuffer;
+import io.github.dsheirer.buffer.IRetainingNativeBufferListener;
+import io.github.dsheirer.buffer.NativeArrayPool;
+import io.github.dsheirer.preference.webstream.WebStreamPreference;
+import io.github.dsheirer.sample.Broadcaster;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * JUnit tests for the waveform sample tap's participation in native buffer reference counting.
+ */
+public class WaveformSampleTapTest
+{
+    private static final int BUFFER_LENGTH = 8192 * 4;
+
+    /**
+     * Test: broadcast pooled native buffers to a waveform sample tap with a connected client, using the same
+     * recycling rule as the tuner controller.
+     *
+     * Success Criteria: every buffer, including the buffers read by the tap, is returned to the pool.
+     */
+    @Test
+    void buffersReturnToPoolWithTapAttached()
+    {
+        WebStreamWaveformBroadcaster waveformBroadcaster = new WebStreamWaveformBroadcaster(
+            new WebStreamPreference(preferenceType -> {}));
+        waveformBroadcaster.addClient(new WaveformWebSocket(waveformBroadcaster));
+
+        Broadcaster<INativeBuffer> broadcaster = new Broadcaster<>();
+        broadcaster.addListener(new WaveformSampleTap(waveformBroadcaster, null));
+
+        NativeArrayPool<byte[]> pool = NativeArrayPool.bytes();
+
+        //The tap reads every third buffer, so broadcast enough buffers to exercise the read path
+        for(int x = 0; x < 6; x++)
+        {
+            byte[] samples = pool.get(BUFFER_LENGTH);
+            INativeBuffer buffer = new ByteNativeBuffer(samples, System.currentTimeMillis(), 127.5f, 2.4f, pool);
+
+            boolean recyclable = broadcaster.broadcast(buffer,
+                listener -> listener instanceof IRetainingNativeBufferListener);
+            assertTrue(recyclable, "Waveform sample tap should participate in reference counting");
+            buffer.release();
+
+            assertSame(samples, pool.get(BUFFER_LENGTH), "Buffer samples array should be returned to the pool");
+            pool.recycle(samples);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.bits;
+
+import java.util.BitSet;
+import java.util.Random;
+
+/**
+ * Timing comparison of word-wise field extraction against the previous bit-by-bit extraction, using the field
+ * layout of a P25 Phase 1 TSBK (opcode, vendor, addresses, channel, service options) and a DMR CSBK style
+ * fragmented field, parsed from a pool of random 96-bit messages.
+ *
+ * Run the main method; results are printed to the console.
+ */
+public class BinaryMessageBenchmark
+{
+    private static final int MESSAGE_COUNT = 1024;
+    private static final int ITERATIONS = 20_000;
+    private static final IntField OPCODE = IntField.range(2, 7);
+    private static final IntField VENDOR = IntField.range(8, 15);
+    private static final IntField SERVICE_OPTIONS = IntField.range(16, 23);
+    private static final IntField CHANNEL = IntField.range(24, 39);
+    private static final IntField TARGET_ADDRESS = IntField.range(40, 63);
+    private static final IntField SOURCE_ADDRESS = IntField.range(64, 87);
+    private static final LongField LONG_FIELD = LongField.range(16, 63);
+    private static final FragmentedIntField FRAGMENTED = FragmentedIntField.of(16, 17, 18, 19, 36, 37, 38, 39, 70, 71);
+
+    /**
+     * Previous bit-by-bit implementation
+     */
+    private static long legacy(BitSet message, int start, int end)
+    {
+        long value = 0;
+
+        for(int index = start; index <= end; index++)
+        {
+            value = Long.rotateLeft(value, 1);
+
+            if(message.get(index))
+            {
+                value++;
+            }
+        }
+
+        return value;
+    }
+
+    private static long legacy(BitSet message, int[] indices)
+    {
+        long value = 0;
+
+        for(int index : indices)
+        {
+            value = Long.rotateLeft(value, 1);
+
+            if(message.get(index))
+            {
+                value++;
+            }
+        }
+
+        return value;
+    }
+
+    private static long parseLegacy(BinaryMessage[] messages)
+    {
+        long accumulator = 0;
+
+        for(BinaryMessage message : messages)
+        {
+            accumulator += legacy(message, OPCODE.start(), OPCODE.end());
+            accumulator += legacy(message, VENDOR.start(), VENDOR.end());
+            accumulator += legacy(message, SERVICE_OPTIONS.start(), SERVICE_OPTIONS.end());
+            accumulator += legacy(message, CHANNEL.start(), CHANNEL.end());
+            accumulator += legacy(message, TARGET_ADDRESS.start(), TARGET_ADDRESS.end());
+            accumulator += legacy(message, SOURCE_ADDRESS.start(), SOURCE_ADDRESS.end());
+            accumulator += legacy(message, LONG_FIELD.start(), LONG_FIELD.end());
+            accumulator += legacy(message, FRAGMENTED.indices());
+        }
+
+        return accumulator;
+    }
+
+    private static long parse(BinaryMessage[] messages)
+    {
+        long accumulator = 0;
+
+        for(BinaryMessage message : messages)
+        {
+            accumulator += message.getInt(OPCODE);
+            accumulator += message.getInt(VENDOR);
+            accumulator += message.getInt(SERVICE_OPTIONS);
+            accumulator += message.getInt(CHANNEL);
+            accumulator += message.getInt(TARGET_ADDRESS);
+            accumulator += message.getInt(SOURCE_ADDRESS);
+            accumulator += message.getLong(LONG_FIELD);
+            accumulator += message.getInt(FRAGMENTED);
+        }
+
+        return accumulator;
+    }
+
+    public static void main(String[] args)
+    {
+        Random random = new Random();
+        BinaryMessage[] messages = new BinaryMessage[MESSAGE_COUNT];
+
+        for(int x = 0; x < MESSAGE_COUNT; x++)
+        {
+            messages[x] = new BinaryMessage(96);
+
+            for(int y = 0; y < 96; y++)
+            {
+                messages[x].set(y, random.nextBoolean());
+            }
+        }
+
+        if(parse(messages) != parseLegacy(messages))
+        {
+            System.out.println("Error: word-wise and bit-by-bit parsing results differ");
+            return;
+        }
+
+        System.out.println("Warming up ...");
+
+        long check = 0;
+
+        for(int x = 0; x < ITERATIONS / 4; x++)
+        {
+            check += parse(messages);
+            check += parseLegacy(messages);
+        }
+
+        long start = System.nanoTime();
+
+        for(int x = 0; x < ITERATIONS; x++)
+        {
+            check += parseLegacy(messages);
+        }
+
+        long legacyDuration = System.nanoTime() - start;
+
+        start = System.nanoTime();
+
+        for(int x = 0; x < ITERATIONS; x++)
+        {
+            check += parse(messages);
+        }
+
+        long duration = System.nanoTime() - start;
+        double messagesParsed = (double)ITERATIONS * MESSAGE_COUNT;
+
+        System.out.println("Bit-by-bit: " + String.format("%.1f", legacyDuration / messagesParsed) + " ns/message");
+        System.out.println(" Word-wise: " + String.format("%.1f", duration / messagesParsed) + " ns/message");
+        System.out.println("   Speedup: " + String.format("%.2f", (double)legacyDuration / duration) + "x (check:" +
+                check + ")");
+    }
+}
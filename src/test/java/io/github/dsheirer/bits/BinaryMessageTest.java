@@ -0,0 +1,171 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.bits;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Verifies word-wise field extraction against bit-by-bit extraction.
+ */
+public class BinaryMessageTest
+{
+    private static final int ITERATIONS = 10_000;
+
+    /**
+     * Bit-by-bit reference extraction with the first index as the MSB.
+     */
+    private static long reference(BinaryMessage message, int... indices)
+    {
+        long value = 0;
+
+        for(int index : indices)
+        {
+            value = (value << 1) | (message.get(index) ? 1 : 0);
+        }
+
+        return value;
+    }
+
+    private static BinaryMessage randomMessage(Random random, int size)
+    {
+        BinaryMessage message = new BinaryMessage(size);
+
+        for(int x = 0; x < size; x++)
+        {
+            message.set(x, random.nextBoolean());
+        }
+
+        return message;
+    }
+
+    @Test
+    void contiguousFields()
+    {
+        Random random = new Random(1);
+
+        for(int x = 0; x < ITERATIONS; x++)
+        {
+            int size = 1 + random.nextInt(300);
+            BinaryMessage message = randomMessage(random, size);
+            int start = random.nextInt(size);
+            int end = Math.min(size - 1, start + random.nextInt(64));
+            int[] indices = BinaryMessage.getFieldIndexes(start, end - start + 1, false);
+
+            assertEquals(reference(message, indices), message.getLong(start, end), "long field " + start + "-" + end);
+
+            if(end - start < 32)
+            {
+                assertEquals((int)reference(message, indices), message.getInt(IntField.range(start, end)),
+                        "int field " + start + "-" + end);
+            }
+        }
+    }
+
+    @Test
+    void fragmentedFields()
+    {
+        Random random = new Random(2);
+
+        for(int x = 0; x < ITERATIONS; x++)
+        {
+            int size = 32 + random.nextInt(200);
+            BinaryMessage message = randomMessage(random, size);
+            int[] indices = new int[1 + random.nextInt(32)];
+            int index = random.nextInt(size);
+
+            for(int y = 0; y < indices.length; y++)
+            {
+                //Mix of contiguous runs and jumps
+                index = random.nextInt(3) == 0 ? random.nextInt(size) : Math.min(size - 1, index + 1);
+                indices[y] = index;
+            }
+
+            int expected = (int)reference(message, indices);
+            assertEquals(expected, message.getInt(FragmentedIntField.of(indices)));
+            assertEquals(expected, message.getInt(indices));
+        }
+    }
+
+    @Test
+    void fieldReadsReflectModifications()
+    {
+        BinaryMessage message = new BinaryMessage(96);
+        IntField field = IntField.range(60, 75);
+        assertEquals(0, message.getInt(field));
+
+        message.set(75);
+        assertEquals(1, message.getInt(field));
+
+        message.flip(60, 76);
+        assertEquals(0xFFFE, message.getInt(field));
+
+        message.xor(message.get(0, 96));
+        assertEquals(0, message.getInt(field));
+
+        message.setInt(0x1234, field);
+        assertEquals(0x1234, message.getInt(field));
+
+        message.clear();
+        assertEquals(0, message.getInt(field));
+    }
+
+    /**
+     * Verifies that field reads stay correct when single bit and bit range modifications, including modifications
+     * beyond the highest set bit, are interleaved with field reads that use the word snapshot.
+     */
+    @Test
+    void fieldReadsReflectInterleavedModifications()
+    {
+        Random random = new Random(3);
+
+        for(int x = 0; x < 1_000; x++)
+        {
+            int size = 1 + random.nextInt(300);
+            BinaryMessage message = new BinaryMessage(size);
+
+            for(int y = 0; y < 50; y++)
+            {
+                int from = random.nextInt(size);
+                int to = from + random.nextInt(size - from + 1);
+
+                switch(random.nextInt(7))
+                {
+                    case 0 -> message.set(from);
+                    case 1 -> message.clear(from);
+                    case 2 -> message.flip(from);
+                    case 3 -> message.set(from, to);
+                    case 4 -> message.clear(from, to);
+                    case 5 -> message.flip(from, to);
+                    default -> message.set(from, to, random.nextBoolean());
+                }
+
+                int start = random.nextInt(size);
+                int end = Math.min(size - 1, start + random.nextInt(64));
+                int[] indices = BinaryMessage.getFieldIndexes(start, end - start + 1, false);
+
+                assertEquals(reference(message, indices), message.getLong(start, end), "long field " + start +
+                        "-" + end);
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.controller.channel;
+
+import io.github.dsheirer.module.decode.DecoderType;
+import io.github.dsheirer.module.decode.p25.phase1.DecodeConfigP25Phase1;
+import io.github.dsheirer.module.decode.p25.phase2.DecodeConfigP25Phase2;
+import io.github.dsheirer.module.decode.traffic.TrafficChannelManager;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * JUnit tests for dividing the pre-built traffic channels of a mixed P25 Phase 1 and Phase 2 traffic channel manager.
+ */
+public class ProcessingChainPoolTest
+{
+    private static final int CHANNELS_PER_PHASE = 6;
+
+    /**
+     * Test: register a manager with Phase 1 traffic channels listed ahead of Phase 2 traffic channels.
+     *
+     * Success Criteria: pre-built channels are divided evenly between Phase 1 and Phase 2.
+     */
+    @Test
+    void mixedManagerInitialDivision()
+    {
+        ProcessingChainPool pool = new ProcessingChainPool((channel, manager) -> Collections.emptyList());
+        TestTrafficChannelManager manager = new TestTrafficChannelManager();
+        pool.register(manager);
+
+        assertEquals(ProcessingChainPool.PREBUILT_CHANNELS_PER_MANAGER / 2, pool.getPrebuiltCount(DecoderType.P25_PHASE1),
+                "Phase 1 pre-built channels");
+        assertEquals(ProcessingChainPool.PREBUILT_CHANNELS_PER_MANAGER / 2, pool.getPrebuiltCount(DecoderType.P25_PHASE2),
+                "Phase 2 pre-built channels");
+    }
+
+    /**
+     * Test: issue Phase 2 grants on a mixed manager.
+     *
+     * Success Criteria: the first Phase 2 grant uses pre-built modules and subsequent Phase 2 grants shift the
+     * pre-built channels from Phase 1 to Phase 2 without exceeding the per-manager maximum.
+     */
+    @Test
+    void mixedManagerPhase2Grants() throws InterruptedException
+    {
+        ProcessingChainPool pool = new ProcessingChainPool((channel, manager) -> Collections.emptyList());
+        TestTrafficChannelManager manager = new TestTrafficChannelManager();
+        pool.register(manager);
+
+        for(Channel channel: manager.mPhase2Channels)
+        {
+            waitForPrebuilt(pool, channel);
+
+            if(pool.isPrebuilt(channel))
+            {
+                assertNotNull(pool.checkout(channel, manager, null), "Pre-built Phase 2 modules");
+            }
+        }
+
+        assertTrue(pool.getHitCount() >= ProcessingChainPool.PREBUILT_CHANNELS_PER_MANAGER / 2,
+                "Phase 2 grants should use pre-built modules");
+
+        //Release the Phase 2 channels so that they are eligible for pre-built modules again
+        for(Channel channel: manager.mPhase2Channels)
+        {
+            pool.release(channel);
+        }
+
+        int phase1 = pool.getPrebuiltCount(DecoderType.P25_PHASE1);
+        int phase2 = pool.getPrebuiltCount(DecoderType.P25_PHASE2);
+        assertTrue(phase2 > phase1, "Phase 2 grants should shift pre-built channels to Phase 2 - phase 1 [" +
+                phase1 + "] phase 2 [" + phase2 + "]");
+        assertEquals(ProcessingChainPool.PREBUILT_CHANNELS_PER_MANAGER, phase1 + phase2,
+                "Total pre-built channels");
+    }
+
+    /**
+     * Waits up to one second for the channel's pre-built modules to finish building.
+     */
+    private static void waitForPrebuilt(ProcessingChainPool pool, Channel channel) throws InterruptedException
+    {
+        long timeout = System.currentTimeMillis() + 1000;
+
+        while(!pool.isPrebuilt(channel) && System.currentTimeMillis() < timeout)
+        {
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * Traffic channel manager with Phase 1 traffic channels listed ahead of Phase 2 traffic channels.
+     */
+    private static class TestTrafficChannelManager extends TrafficChannelManager
+    {
+        private final List<Channel> mPhase1Channels = new ArrayList<>();
+        private final List<Channel> mPhase2Channels = new ArrayList<>();
+
+        public TestTrafficChannelManager()
+        {
+            for(int x = 0; x < CHANNELS_PER_PHASE; x++)
+            {
+                Channel phase1 = new Channel("Phase 1 Traffic " + x, Channel.ChannelType.TRAFFIC);
+                phase1.setDecodeConfiguration(new DecodeConfigP25Phase1());
+                mPhase1Channels.add(phase1);
+
+                Channel phase2 = new Channel("Phase 2 Traffic " + x, Channel.ChannelType.TRAFFIC);
+                phase2.setDecodeConfiguration(new DecodeConfigP25Phase2());
+                mPhase2Channels.add(phase2);
+            }
+        }
+
+        @Override
+        public List<Channel> getManagedTrafficChannels()
+        {
+            List<Channel> channels = new ArrayList<>(mPhase1Channels);
+            channels.addAll(mPhase2Channels);
+            return channels;
+        }
+
+        @Override
+        protected void processControlFrequencyUpdate(long previous, long current, Channel channel)
+        {
+        }
+
+        @Override
+        public void reset()
+        {
+        }
+
+        @Override
+        public void start()
+        {
+        }
+
+        @Override
+        public void stop()
+        {
+        }
+    }
+}
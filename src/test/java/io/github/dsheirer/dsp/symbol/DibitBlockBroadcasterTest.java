@@ -0,0 +1,89 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.dsp.symbol;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * JUnit tests for the dibit block broadcaster.
+ */
+public class DibitBlockBroadcasterTest
+{
+    /**
+     * Test: the symbol listener receives each dibit as it arrives, while the block listener only receives the dibits
+     * once the block is flushed.
+     */
+    @Test
+    void symbolListenerReceivesEachDibitBeforeBlockIsFlushed()
+    {
+        DibitBlockBroadcaster broadcaster = new DibitBlockBroadcaster(8);
+        List<Dibit> symbols = new ArrayList<>();
+        List<byte[]> blocks = new ArrayList<>();
+        broadcaster.setSymbolListener(symbols::add);
+        broadcaster.addListener((dibits, length) -> blocks.add(Arrays.copyOf(dibits, length)));
+
+        broadcaster.receive(Dibit.D01_PLUS_3);
+        broadcaster.receive(Dibit.D11_MINUS_3);
+        broadcaster.receive(Dibit.D10_MINUS_1);
+
+        assertEquals(List.of(Dibit.D01_PLUS_3, Dibit.D11_MINUS_3, Dibit.D10_MINUS_1), symbols);
+        assertEquals(0, blocks.size(), "Block dispatched before flush");
+
+        broadcaster.flush();
+        broadcaster.flush();
+
+        assertEquals(1, blocks.size(), "Expected one block, with no block for an empty flush");
+        assertArrayEquals(new byte[]{1, 3, 2}, blocks.get(0));
+    }
+
+    /**
+     * Test: blocks are dispatched in order whenever the maximum block size is reached, with the remainder dispatched
+     * on flush.
+     */
+    @Test
+    void fullBlocksAreDispatchedWithoutFlush()
+    {
+        DibitBlockBroadcaster broadcaster = new DibitBlockBroadcaster(4);
+        List<byte[]> blocks = new ArrayList<>();
+        broadcaster.addListener((dibits, length) -> blocks.add(Arrays.copyOf(dibits, length)));
+
+        Dibit[] dibits = {Dibit.D00_PLUS_1, Dibit.D01_PLUS_3, Dibit.D10_MINUS_1, Dibit.D11_MINUS_3,
+            Dibit.D11_MINUS_3, Dibit.D10_MINUS_1, Dibit.D01_PLUS_3, Dibit.D00_PLUS_1, Dibit.D01_PLUS_3};
+
+        for(Dibit dibit: dibits)
+        {
+            broadcaster.receive(dibit);
+        }
+
+        assertEquals(2, blocks.size());
+        assertArrayEquals(new byte[]{0, 1, 2, 3}, blocks.get(0));
+        assertArrayEquals(new byte[]{3, 2, 1, 0}, blocks.get(1));
+
+        broadcaster.flush();
+
+        assertEquals(3, blocks.size());
+        assertArrayEquals(new byte[]{1}, blocks.get(2));
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.module.decode.event;
+
+import io.github.dsheirer.identifier.Identifier;
+import io.github.dsheirer.identifier.IdentifierCollection;
+import io.github.dsheirer.module.decode.p25.identifier.radio.APCO25RadioIdentifier;
+import io.github.dsheirer.module.decode.p25.identifier.talkgroup.APCO25Talkgroup;
+import io.github.dsheirer.protocol.Protocol;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Timing comparison of the timer-wheel duplicate event detector against the previous string-keyed detector that aged
+ * off every tracked event on every call.
+ *
+ * The event stream models a busy P25 control channel: 300 non-voice events per second for 30 minutes across
+ * affiliation, registration, paging, query/response, status and data call events for 5,000 radios and 400 talkgroups,
+ * where each control channel message is repeated several times as the system rebroadcasts it.
+ *
+ * Run the main method; results are printed to the console.
+ */
+public class DecodeEventDuplicateDetectorBenchmark
+{
+    private static final int EVENTS_PER_SECOND = 300;
+    private static final int DURATION_SECONDS = 30 * 60;
+    private static final DecodeEventType[] TYPES = {DecodeEventType.AFFILIATE, DecodeEventType.REGISTER,
+        DecodeEventType.DEREGISTER, DecodeEventType.PAGE, DecodeEventType.QUERY, DecodeEventType.RESPONSE,
+        DecodeEventType.STATUS, DecodeEventType.DATA_CALL, DecodeEventType.ACKNOWLEDGE};
+
+    /**
+     * Previous implementation
+     */
+    private static class LegacyDetector
+    {
+        private static final long EVENT_MAX_AGE_MILLISECONDS = 60_000;
+        private Map<DecodeEventType,Map<String,IDecodeEvent>> mTrackerMap = new HashMap<>();
+
+        public synchronized boolean isDuplicate(IDecodeEvent event, long timestamp)
+        {
+            if(event.getEventType() == null || event.getEventType().isVoiceCallEvent())
+            {
+                return false;
+            }
+
+            Map<String,IDecodeEvent> tracker = mTrackerMap.computeIfAbsent(event.getEventType(), t -> new HashMap<>());
+            boolean duplicate = false;
+
+            if(event.getIdentifierCollection().getToIdentifier() != null && event.getDetails() != null)
+            {
+                String key = event.getIdentifierCollection().getToIdentifier().toString() + event.getDetails();
+
+                if(tracker.containsKey(key))
+                {
+                    duplicate = true;
+                }
+                else
+                {
+                    tracker.put(key, event);
+                }
+            }
+
+            long threshold = timestamp - EVENT_MAX_AGE_MILLISECONDS;
+
+            for(Map<String,IDecodeEvent> map: mTrackerMap.values())
+            {
+                List<String> toRemove = new ArrayList<>();
+
+                for(Map.Entry<String,IDecodeEvent> entry: map.entrySet())
+                {
+                    if(entry.getValue().getTimeStart() < threshold)
+                    {
+                        toRemove.add(entry.getKey());
+                    }
+                }
+
+                for(String key: toRemove)
+                {
+                    map.remove(key);
+                }
+            }
+
+            return duplicate;
+        }
+    }
+
+    private static List<IDecodeEvent> createStream()
+    {
+        Random random = new Random(1234);
+        List<IDecodeEvent> events = new ArrayList<>();
+        long start = 1_700_000_000_000L;
+        IDecodeEvent previous = null;
+
+        for(int second = 0; second < DURATION_SECONDS; second++)
+        {
+            for(int x = 0; x < EVENTS_PER_SECOND; x++)
+            {
+                long timestamp = start + second * 1000L + (x * 1000L / EVENTS_PER_SECOND);
+
+                //Control channels rebroadcast messages - roughly half of the events repeat a recent message
+                if(previous != null && random.nextBoolean())
+                {
+                    events.add(copy(previous, timestamp));
+                    continue;
+                }
+
+                DecodeEventType type = TYPES[random.nextInt(TYPES.length)];
+                List<Identifier> identifiers = new ArrayList<>();
+                identifiers.add(APCO25Talkgroup.create(random.nextInt(400) + 1));
+                identifiers.add(APCO25RadioIdentifier.createFrom(random.nextInt(5000) + 1000));
+                previous = DecodeEvent.builder(type, timestamp).protocol(Protocol.APCO25)
+                    .identifiers(new IdentifierCollection(identifiers))
+                    .details(type.name() + " SERVICE OPTIONS:" + random.nextInt(4)).build();
+                events.add(previous);
+            }
+        }
+
+        return events;
+    }
+
+    private static IDecodeEvent copy(IDecodeEvent event, long timestamp)
+    {
+        return DecodeEvent.builder(event.getEventType(), timestamp).protocol(event.getProtocol())
+            .identifiers(event.getIdentifierCollection()).details(event.getDetails()).build();
+    }
+
+    public static void main(String[] args)
+    {
+        List<IDecodeEvent> events = createStream();
+        System.out.println("Events: " + events.size());
+
+        for(int round = 0; round < 3; round++)
+        {
+            LegacyDetector legacy = new LegacyDetector();
+            long legacyStart = System.nanoTime();
+            int legacyDuplicates = 0;
+
+            for(IDecodeEvent event: events)
+            {
+                if(legacy.isDuplicate(event, event.getTimeStart()))
+                {
+                    legacyDuplicates++;
+                }
+            }
+
+            long legacyElapsed = System.nanoTime() - legacyStart;
+
+            DecodeEventDuplicateDetector detector = new DecodeEventDuplicateDetector();
+            long wheelStart = System.nanoTime();
+            int wheelDuplicates = 0;
+
+            for(IDecodeEvent event: events)
+            {
+                if(detector.isDuplicate(event, event.getTimeStart()))
+                {
+                    wheelDuplicates++;
+                }
+            }
+
+            long wheelElapsed = System.nanoTime() - wheelStart;
+
+            System.out.printf("Legacy: %,d ms (%,d duplicates)  Timer wheel: %,d ms (%,d duplicates)  Speedup: %.1fx%n",
+                legacyElapsed / 1_000_000, legacyDuplicates, wheelElapsed / 1_000_000, wheelDuplicates,
+                (double)legacyElapsed / wheelElapsed);
+        }
+    }
+}
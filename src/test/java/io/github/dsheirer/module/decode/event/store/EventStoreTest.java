@@ -0,0 +1,188 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.module.decode.event.store;
+
+import io.github.dsheirer.identifier.Identifier;
+import io.github.dsheirer.identifier.IdentifierCollection;
+import io.github.dsheirer.module.decode.event.DecodeEvent;
+import io.github.dsheirer.module.decode.event.DecodeEventType;
+import io.github.dsheirer.module.decode.p25.identifier.radio.APCO25RadioIdentifier;
+import io.github.dsheirer.module.decode.p25.identifier.talkgroup.APCO25Talkgroup;
+import io.github.dsheirer.protocol.Protocol;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class EventStoreTest
+{
+    @TempDir
+    Path mDirectory;
+
+    private static DecodeEvent event(long start, int talkgroup, int radio)
+    {
+        List<Identifier> identifiers = List.of(APCO25Talkgroup.create(talkgroup), APCO25RadioIdentifier.createFrom(radio));
+        return DecodeEvent.builder(DecodeEventType.CALL, start).protocol(Protocol.APCO25)
+            .identifiers(new IdentifierCollection(identifiers)).details("test").build();
+    }
+
+    private EventStore open() throws Exception
+    {
+        EventStore store = new EventStore(mDirectory);
+        store.load();
+        return store;
+    }
+
+    @Test
+    void queryByTimeTalkgroupAndRadio() throws Exception
+    {
+        EventStore store = open();
+
+        for(int x = 0; x < 1000; x++)
+        {
+            store.receive(event(1000 + x, x % 10, x % 7));
+        }
+
+        store.flush();
+
+        assertEquals(1000, store.getEventCount());
+        assertEquals(100, store.query(0, Long.MAX_VALUE, "3", null, 1000).size());
+        assertEquals(1000, store.query(0, Long.MAX_VALUE, null, null, 5000).size());
+
+        List<EventRecord> newest = store.query(0, Long.MAX_VALUE, null, null, 5);
+        assertEquals(5, newest.size());
+        assertEquals(1999, newest.get(0).timeStart());
+        assertEquals(1995, newest.get(4).timeStart());
+
+        List<EventRecord> range = store.query(1100, 1199, "3", null, 1000);
+        assertEquals(10, range.size());
+
+        //Talkgroup 3 and radio 3 coincide every 70 events
+        List<EventRecord> both = store.query(0, Long.MAX_VALUE, "3", "3", 1000);
+        assertEquals(15, both.size());
+
+        List<Map.Entry<String,Long>> top = store.top(0, Long.MAX_VALUE, false, 3);
+        assertEquals(3, top.size());
+        assertEquals(143L, top.get(0).getValue());
+    }
+
+    @Test
+    void updatesSupersedeAndPersistAcrossRestart() throws Exception
+    {
+        EventStore store = open();
+        DecodeEvent call = event(5000, 1, 2);
+        store.receive(call);
+        store.flush();
+
+        call.update(8000);
+        store.receive(call);
+        store.receive(event(6000, 4, 5));
+        store.flush();
+
+        List<EventRecord> records = store.query(0, Long.MAX_VALUE, "1", null, 10);
+        assertEquals(1, records.size());
+        assertEquals(3000, records.get(0).duration());
+        assertEquals(2, store.getEventCount());
+        store.stop();
+
+        EventStore reopened = open();
+        assertEquals(2, reopened.getEventCount());
+        assertEquals(3000, reopened.query(0, Long.MAX_VALUE, "1", null, 10).get(0).duration());
+
+        //Reopened segments are sealed and compaction removes the superseded record from disk
+        long size = reopened.getSize();
+        reopened.maintain(System.currentTimeMillis());
+        assertEquals(2, reopened.getEventCount());
+        assertEquals(1, reopened.getSegmentCount());
+        assertEquals(true, reopened.getSize() < size);
+        assertEquals(1, Files.list(mDirectory).count());
+        reopened.stop();
+    }
+
+    @Test
+    void updatesSupersedeAcrossSegmentsAfterCompactionAndRestart() throws Exception
+    {
+        EventStore store = open();
+        DecodeEvent call = event(5000, 1, 2);
+        DecodeEvent other = event(6000, 4, 5);
+        store.receive(call);
+        store.receive(other);
+        store.flush();
+        other.update(7000);
+        store.receive(other);
+        store.flush();
+
+        //Seal the first segment and compact it so that the call's record is rewritten into the compacted segment
+        store.rollSegment();
+        store.maintain(System.currentTimeMillis());
+
+        //Update the call after compaction so that the update is appended to a new segment
+        call.update(9000);
+        store.receive(call);
+        store.flush();
+
+        assertEquals(2, store.getSegmentCount());
+        assertEquals(2, store.getEventCount());
+        assertEquals(1L, top(store, "1"));
+        store.stop();
+
+        EventStore reopened = open();
+        assertEquals(2, reopened.getEventCount());
+        assertEquals(1L, top(reopened, "1"));
+        assertEquals(4000, reopened.query(0, Long.MAX_VALUE, "1", null, 10).get(0).duration());
+        assertEquals(0, reopened.top(0, Long.MAX_VALUE, true, -1).size());
+        reopened.stop();
+    }
+
+    /**
+     * Event count for the talkgroup from the top talkgroups query.
+     */
+    private static long top(EventStore store, String talkgroup)
+    {
+        for(Map.Entry<String,Long> entry: store.top(0, Long.MAX_VALUE, true, 10))
+        {
+            if(entry.getKey().equals(talkgroup))
+            {
+                return entry.getValue();
+            }
+        }
+
+        return 0;
+    }
+
+    @Test
+    void retentionDeletesExpiredSegments() throws Exception
+    {
+        EventStore store = open();
+        store.receive(event(1000, 1, 2));
+        store.flush();
+        store.stop();
+
+        EventStore reopened = open();
+        reopened.setRetention(1);
+        reopened.maintain(System.currentTimeMillis() + 10);
+        assertEquals(0, reopened.getSegmentCount());
+        assertEquals(0, Files.list(mDirectory).count());
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.record;
+
+import io.github.dsheirer.alias.AliasList;
+import io.github.dsheirer.audio.AudioSegment;
+import io.github.dsheirer.audio.convert.EncodedAudioCache;
+import io.github.dsheirer.dsp.oscillator.ScalarRealOscillator;
+import io.github.dsheirer.message.TimeslotMessage;
+import io.github.dsheirer.module.decode.p25.identifier.talkgroup.APCO25Talkgroup;
+import io.github.dsheirer.preference.UserPreferences;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Automated testing for the AudioRecordingManager talkgroup recording order and WAVE shedding.
+ */
+public class AudioRecordingManagerTest
+{
+    private static final int TALKGROUP_1 = 100;
+    private static final int TALKGROUP_2 = 200;
+
+    /**
+     * Verifies that recordings for each talkgroup are written in call order and that all queued recordings, including
+     * chained talkgroup recordings, are written before stop() returns.
+     */
+    @Test
+    public void testTalkgroupRecordingOrder()
+    {
+        int callsPerTalkgroup = 20;
+        Map<AudioSegment,Integer> sequences = Collections.synchronizedMap(new IdentityHashMap<>());
+        List<Integer> talkgroup1 = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> talkgroup2 = Collections.synchronizedList(new ArrayList<>());
+
+        AudioRecordingManager.Recorder recorder = (audioSegment, path, recordFormat) -> {
+            //Vary the recording time so that recordings complete out of order unless chained
+            try
+            {
+                Thread.sleep(ThreadLocalRandom.current().nextInt(5));
+            }
+            catch(InterruptedException ie)
+            {
+                Thread.currentThread().interrupt();
+            }
+
+            int sequence = sequences.get(audioSegment);
+            (sequence % 2 == 0 ? talkgroup1 : talkgroup2).add(sequence);
+        };
+
+        UserPreferences userPreferences = new UserPreferences();
+        AudioRecordingManager manager = new AudioRecordingManager(userPreferences, new EncodedAudioCache(), recorder);
+        manager.start();
+
+        for(int x = 0; x < callsPerTalkgroup * 2; x++)
+        {
+            AudioSegment audioSegment = getAudioSegment(x % 2 == 0 ? TALKGROUP_1 : TALKGROUP_2);
+            sequences.put(audioSegment, x);
+            manager.processCompletedAudioSegment(audioSegment);
+        }
+
+        manager.stop();
+
+        assertEquals(callsPerTalkgroup * 2, manager.getRecordedCount(), "Recordings lost during stop");
+        assertEquals(callsPerTalkgroup, talkgroup1.size(), "Talkgroup 1 recording count");
+        assertEquals(callsPerTalkgroup, talkgroup2.size(), "Talkgroup 2 recording count");
+
+        for(int x = 0; x < callsPerTalkgroup; x++)
+        {
+            assertEquals(x * 2, talkgroup1.get(x), "Talkgroup 1 recorded out of order");
+            assertEquals(x * 2 + 1, talkgroup2.get(x), "Talkgroup 2 recorded out of order");
+        }
+    }
+
+    /**
+     * Verifies that MP3 recordings are recorded as WAVE while the backlog exceeds the shed threshold.
+     */
+    @Test
+    public void testWaveSheddingOverBacklog()
+    {
+        int callCount = 40;
+        //Backlog is measured after each segment is removed from the queue, so the first (callCount - 1 - 32)
+        //recordings are dispatched with a backlog that exceeds the shed threshold of 32
+        int expectedShed = callCount - 1 - 32;
+        List<RecordFormat> formats = Collections.synchronizedList(new ArrayList<>());
+        AudioRecordingManager.Recorder recorder = (audioSegment, path, recordFormat) -> formats.add(recordFormat);
+
+        UserPreferences userPreferences = new UserPreferences();
+        RecordFormat previousFormat = userPreferences.getRecordPreference().getAudioRecordFormat();
+        userPreferences.getRecordPreference().setAudioRecordFormat(RecordFormat.MP3);
+
+        try
+        {
+            AudioRecordingManager manager = new AudioRecordingManager(userPreferences, new EncodedAudioCache(),
+                recorder);
+
+            //Queue the backlog before starting so that the first dispatch sees the full backlog
+            for(int x = 0; x < callCount; x++)
+            {
+                manager.processCompletedAudioSegment(getAudioSegment(x % 2 == 0 ? TALKGROUP_1 : TALKGROUP_2));
+            }
+
+            manager.start();
+            manager.stop();
+
+            assertEquals(callCount, formats.size(), "Recording count");
+            assertEquals(expectedShed, manager.getShedCount(), "Shed count");
+            assertEquals(expectedShed, Collections.frequency(formats, RecordFormat.WAVE), "WAVE recording count");
+            assertEquals(callCount - expectedShed, Collections.frequency(formats, RecordFormat.MP3),
+                "MP3 recording count");
+        }
+        finally
+        {
+            userPreferences.getRecordPreference().setAudioRecordFormat(previousFormat);
+        }
+    }
+
+    /**
+     * Creates a recordable audio segment with audio for the talkgroup.
+     * @param talkgroup for the TO identifier
+     * @return audio segment
+     */
+    private static AudioSegment getAudioSegment(int talkgroup)
+    {
+        AudioSegment audioSegment = new AudioSegment(new AliasList("test"), TimeslotMessage.TIMESLOT_0);
+        ScalarRealOscillator oscillator = new ScalarRealOscillator(1000, 8000);
+
+        for(int x = 0; x < 10; x++)
+        {
+            audioSegment.addAudio(oscillator.generate(160));
+        }
+
+        audioSegment.addIdentifier(APCO25Talkgroup.create(talkgroup));
+        audioSegment.recordAudioProperty().set(true);
+        audioSegment.incrementConsumerCount();
+        audioSegment.completeProperty().set(true);
+        return audioSegment;
+    }
+}
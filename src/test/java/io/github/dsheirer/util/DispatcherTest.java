@@ -0,0 +1,139 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2025 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * JUnit tests for the Dispatcher in shared pool mode.
+ */
+public class DispatcherTest
+{
+    /**
+     * Test: flushAndStop() invoked while the shared pool task is dispatching waits for the task to finish and then
+     * flushes the remaining elements, so that every element is delivered once, in order, and never concurrently.
+     */
+    @Test
+    void flushAndStopWaitsForRunningSharedPoolTask() throws Exception
+    {
+        boolean sharedPoolEnabled = Dispatcher.isSharedPoolEnabled();
+        Dispatcher.setSharedPoolEnabled(true);
+
+        try
+        {
+            Dispatcher<Integer> dispatcher = new Dispatcher<>("test dispatcher", 50);
+            List<Integer> delivered = new ArrayList<>();
+            AtomicInteger active = new AtomicInteger();
+            AtomicBoolean concurrent = new AtomicBoolean();
+            CountDownLatch firstDelivered = new CountDownLatch(1);
+
+            dispatcher.setListener(element -> {
+                if(active.incrementAndGet() > 1)
+                {
+                    concurrent.set(true);
+                }
+
+                synchronized(delivered)
+                {
+                    delivered.add(element);
+                }
+
+                firstDelivered.countDown();
+
+                try
+                {
+                    Thread.sleep(20);
+                }
+                catch(InterruptedException ie)
+                {
+                    Thread.currentThread().interrupt();
+                }
+
+                active.decrementAndGet();
+            });
+
+            dispatcher.start();
+
+            for(int x = 0; x < 5; x++)
+            {
+                dispatcher.receive(x);
+            }
+
+            assertTrue(firstDelivered.await(2, TimeUnit.SECONDS), "Shared pool task didn't start");
+
+            for(int x = 5; x < 10; x++)
+            {
+                dispatcher.receive(x);
+            }
+
+            dispatcher.flushAndStop();
+
+            assertFalse(concurrent.get(), "Elements were delivered concurrently");
+            assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), delivered);
+        }
+        finally
+        {
+            Dispatcher.setSharedPoolEnabled(sharedPoolEnabled);
+        }
+    }
+
+    /**
+     * Test: flushAndStop() invoked by the listener from within the shared pool task doesn't wait for itself.
+     */
+    @Test
+    void flushAndStopFromWithinSharedPoolTask() throws Exception
+    {
+        boolean sharedPoolEnabled = Dispatcher.isSharedPoolEnabled();
+        Dispatcher.setSharedPoolEnabled(true);
+
+        try
+        {
+            Dispatcher<Integer> dispatcher = new Dispatcher<>("test dispatcher", 50);
+            CountDownLatch flushed = new CountDownLatch(1);
+
+            dispatcher.setListener(element -> {
+                if(element == 0)
+                {
+                    dispatcher.flushAndStop();
+                    flushed.countDown();
+                }
+            });
+
+            dispatcher.start();
+            dispatcher.receive(0);
+
+            assertTrue(flushed.await(1, TimeUnit.SECONDS), "Flush from within the shared pool task didn't complete");
+            assertFalse(dispatcher.isRunning());
+        }
+        finally
+        {
+            Dispatcher.setSharedPoolEnabled(sharedPoolEnabled);
+        }
+    }
+}